@@ -1,9 +1,17 @@
 package com.voting;
 
+import com.voting.audit.AuditLog;
+import com.voting.service.VotingService;
 import com.voting.ui.VotingSystemUI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
- * Main application class for the Voting System Management
+ * Main application class for the Voting System Management.
+ * An optional argument names a snapshot file to restore the system from.
+ * Every state change is recorded in an audit log in the directory named by the
+ * voting.audit.dir system property, "audit" by default.
  */
 public class VotingSystemApplication {
     
@@ -11,11 +19,23 @@ public class VotingSystemApplication {
         System.out.println("Starting Voting System Management Application...");
         
         try {
-            VotingSystemUI ui = new VotingSystemUI();
-            ui.start();
+            VotingService votingService;
+            if (args.length > 0 && Files.exists(Paths.get(args[0]))) {
+                Path snapshot = Paths.get(args[0]);
+                long start = System.nanoTime();
+                votingService = VotingService.restore(snapshot);
+                System.out.println("Restored from " + snapshot + " in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            } else {
+                votingService = new VotingService();
+            }
+            try (AuditLog auditLog = new AuditLog(Paths.get(System.getProperty("voting.audit.dir", "audit")))) {
+                votingService.addEventListener(auditLog);
+                new VotingSystemUI(votingService).start();
+            }
         } catch (Exception e) {
             System.err.println("Application error: " + e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
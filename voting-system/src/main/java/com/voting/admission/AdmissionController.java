@@ -0,0 +1,49 @@
+package com.voting.admission;
+
+/**
+ * Decides whether a vote request may proceed to validation, before any lookup is made.
+ * Requests are limited per calling source and per claimed voter ID.
+ */
+public class AdmissionController {
+    
+    public enum Decision {
+        ADMITTED,
+        SOURCE_LIMITED,
+        VOTER_LIMITED
+    }
+    
+    private final TokenBucketLimiter sourceLimiter;
+    private final TokenBucketLimiter voterLimiter;
+    
+    /**
+     * Default limits: 50 requests per second per source with bursts of 200,
+     * and one attempt every 10 seconds per voter ID with bursts of 3
+     */
+    public AdmissionController() {
+        this(new TokenBucketLimiter(50, 200, 1 << 14), new TokenBucketLimiter(0.1, 3, 1 << 18));
+    }
+    
+    public AdmissionController(TokenBucketLimiter sourceLimiter, TokenBucketLimiter voterLimiter) {
+        if (sourceLimiter == null || voterLimiter == null) {
+            throw new IllegalArgumentException("Limiters cannot be null");
+        }
+        this.sourceLimiter = sourceLimiter;
+        this.voterLimiter = voterLimiter;
+    }
+    
+    /**
+     * Admit or reject a vote request
+     * @param source The calling client or address; null for trusted local callers
+     * @param voterId The voter ID the request claims
+     * @return The decision
+     */
+    public Decision admit(String source, String voterId) {
+        if (source != null && !sourceLimiter.tryAcquire(source)) {
+            return Decision.SOURCE_LIMITED;
+        }
+        if (!voterLimiter.tryAcquire(voterId != null ? voterId : "")) {
+            return Decision.VOTER_LIMITED;
+        }
+        return Decision.ADMITTED;
+    }
+}
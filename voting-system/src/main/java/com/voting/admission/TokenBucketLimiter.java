@@ -0,0 +1,124 @@
+package com.voting.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token bucket rate limiter with a fixed memory footprint.
+ *
+ * Each bucket is evaluated as a generic cell rate algorithm, so its whole state is
+ * one long: the theoretical arrival time of the next token. Keys are reduced to
+ * 64-bit fingerprints and kept in an open-addressed table split into lock stripes.
+ * A bucket whose arrival time has passed is full again and indistinguishable from
+ * an absent key, so such slots are reused freely; when a probe window holds no
+ * reusable slot the least recently limited key is evicted.
+ */
+public class TokenBucketLimiter {
+    
+    private static final int STRIPES = 64;
+    private static final int PROBE_LIMIT = 8;
+    
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes;
+    private final int slotsPerStripe;
+    
+    /**
+     * @param ratePerSecond Sustained tokens per second per key
+     * @param burst Tokens a key may spend at once after being idle
+     * @param capacity Approximate number of keys tracked before eviction
+     */
+    public TokenBucketLimiter(double ratePerSecond, int burst, int capacity) {
+        this(ratePerSecond, burst, capacity, System::nanoTime);
+    }
+    
+    public TokenBucketLimiter(double ratePerSecond, int burst, int capacity, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1");
+        }
+        if (capacity < STRIPES) {
+            throw new IllegalArgumentException("Capacity must be at least " + STRIPES);
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.slotsPerStripe = Integer.highestOneBit(Math.max(PROBE_LIMIT, capacity / STRIPES - 1) << 1);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(slotsPerStripe);
+        }
+    }
+    
+    /**
+     * Take one token for a key if one is available
+     * @param key The key being limited
+     * @return True if the request is admitted
+     */
+    public boolean tryAcquire(String key) {
+        long fingerprint = fingerprint(key);
+        Stripe stripe = stripes[(int) (fingerprint >>> 58)];
+        int mask = slotsPerStripe - 1;
+        int start = (int) fingerprint & mask;
+        long now = nanoClock.getAsLong();
+        synchronized (stripe) {
+            int reusable = -1;
+            int oldest = start;
+            for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+                int slot = (start + probe) & mask;
+                long slotKey = stripe.keys[slot];
+                if (slotKey == fingerprint) {
+                    return admit(stripe, slot, now);
+                }
+                if (slotKey == 0 || stripe.arrivals[slot] - now <= 0) {
+                    if (reusable < 0) {
+                        reusable = slot;
+                    }
+                } else if (stripe.arrivals[slot] - stripe.arrivals[oldest] < 0) {
+                    oldest = slot;
+                }
+            }
+            int slot = reusable >= 0 ? reusable : oldest;
+            stripe.keys[slot] = fingerprint;
+            stripe.arrivals[slot] = now;
+            return admit(stripe, slot, now);
+        }
+    }
+    
+    private boolean admit(Stripe stripe, int slot, long now) {
+        long arrival = stripe.arrivals[slot];
+        if (arrival - now < 0) {
+            arrival = now;
+        }
+        if (arrival - now > burstToleranceNanos) {
+            return false;
+        }
+        stripe.arrivals[slot] = arrival + emissionIntervalNanos;
+        return true;
+    }
+    
+    /** 64-bit FNV-1a over the key's chars, never zero so zero can mark an empty slot */
+    private static long fingerprint(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash != 0 ? hash : 1;
+    }
+    
+    private static final class Stripe {
+        final long[] keys;
+        final long[] arrivals;
+        
+        Stripe(int slots) {
+            this.keys = new long[slots];
+            this.arrivals = new long[slots];
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.voting.audit;
+
+import com.voting.model.Election;
+import com.voting.model.Voter;
+import com.voting.projection.VotingEvent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of audit log files, shared by the writer and the reader.
+ *
+ * A file starts with a fixed header: magic, version, creation time in epoch
+ * milliseconds and the sequence number of its first record. Records follow back
+ * to back, each framed as an int body length, the body, and a CRC-32C of the body.
+ * A body holds the event type, the sequence number, the event time, a bit mask of
+ * the fields present and then those fields in bit order. Integers are varints,
+ * strings are a varint byte length followed by UTF-8, times are zigzag epoch
+ * seconds (UTC) and nanoseconds, and enums are stored by ordinal.
+ */
+final class AuditFormat {
+    
+    static final int MAGIC = 0x56415544;  // "VAUD"
+    static final int VERSION = 1;
+    // Header: magic, version, created-at millis, first sequence
+    static final int HEADER_SIZE = 24;
+    // Bodies are a few hundred bytes; a longer length means the frame is damaged
+    static final int MAX_RECORD_BYTES = 1 << 20;
+    
+    static final String FILE_PREFIX = "audit-";
+    static final String FILE_SUFFIX = ".log";
+    
+    // Field bits, in encoding order
+    static final int VOTER_ID = 1;
+    static final int CANDIDATE_ID = 1 << 1;
+    static final int ELECTION_ID = 1 << 2;
+    static final int VOTE_ID = 1 << 3;
+    static final int NAME = 1 << 4;
+    static final int PRECINCT_ID = 1 << 5;
+    static final int START_DATE = 1 << 6;
+    static final int END_DATE = 1 << 7;
+    static final int ELECTION_STATUS = 1 << 8;
+    static final int VOTER_STATUS = 1 << 9;
+    static final int COUNT = 1 << 10;
+    static final int REGION_ID = 1 << 11;
+    static final int REGISTRATION_CUTOFF = 1 << 12;
+    static final int REASON = 1 << 13;
+    
+    private static final VotingEvent.Type[] TYPES = VotingEvent.Type.values();
+    private static final Election.ElectionStatus[] ELECTION_STATUSES = Election.ElectionStatus.values();
+    private static final Voter.VoterStatus[] VOTER_STATUSES = Voter.VoterStatus.values();
+    
+    private AuditFormat() {
+    }
+    
+    static void writeHeader(Sink sink, long createdAtMillis, long firstSequence) {
+        sink.writeInt(MAGIC);
+        sink.writeInt(VERSION);
+        sink.writeLong(createdAtMillis);
+        sink.writeLong(firstSequence);
+    }
+    
+    /**
+     * Append one framed record to the sink
+     */
+    static void writeRecord(Sink sink, long sequence, VotingEvent event) {
+        int frameAt = sink.length;
+        sink.writeInt(0);
+        int bodyAt = sink.length;
+        sink.writeByte(event.getType().ordinal());
+        sink.writeVarLong(sequence);
+        sink.writeTime(event.getTimestamp());
+        
+        int fields = (event.getVoterId() != null ? VOTER_ID : 0)
+                | (event.getCandidateId() != null ? CANDIDATE_ID : 0)
+                | (event.getElectionId() != null ? ELECTION_ID : 0)
+                | (event.getVoteId() != null ? VOTE_ID : 0)
+                | (event.getName() != null ? NAME : 0)
+                | (event.getPrecinctId() != null ? PRECINCT_ID : 0)
+                | (event.getStartDate() != null ? START_DATE : 0)
+                | (event.getEndDate() != null ? END_DATE : 0)
+                | (event.getElectionStatus() != null ? ELECTION_STATUS : 0)
+                | (event.getVoterStatus() != null ? VOTER_STATUS : 0)
+                | (event.getCount() != 0 ? COUNT : 0)
+                | (event.getRegionId() != null ? REGION_ID : 0)
+                | (event.getRegistrationCutoff() != null ? REGISTRATION_CUTOFF : 0)
+                | (event.getReason() != null ? REASON : 0);
+        sink.writeVarLong(fields);
+        if ((fields & VOTER_ID) != 0) {
+            sink.writeString(event.getVoterId());
+        }
+        if ((fields & CANDIDATE_ID) != 0) {
+            sink.writeString(event.getCandidateId());
+        }
+        if ((fields & ELECTION_ID) != 0) {
+            sink.writeString(event.getElectionId());
+        }
+        if ((fields & VOTE_ID) != 0) {
+            sink.writeString(event.getVoteId());
+        }
+        if ((fields & NAME) != 0) {
+            sink.writeString(event.getName());
+        }
+        if ((fields & PRECINCT_ID) != 0) {
+            sink.writeString(event.getPrecinctId());
+        }
+        if ((fields & START_DATE) != 0) {
+            sink.writeTime(event.getStartDate());
+        }
+        if ((fields & END_DATE) != 0) {
+            sink.writeTime(event.getEndDate());
+        }
+        if ((fields & ELECTION_STATUS) != 0) {
+            sink.writeByte(event.getElectionStatus().ordinal());
+        }
+        if ((fields & VOTER_STATUS) != 0) {
+            sink.writeByte(event.getVoterStatus().ordinal());
+        }
+        if ((fields & COUNT) != 0) {
+            sink.writeVarLong(event.getCount());
+        }
+        if ((fields & REGION_ID) != 0) {
+            sink.writeString(event.getRegionId());
+        }
+        if ((fields & REGISTRATION_CUTOFF) != 0) {
+            sink.writeTime(event.getRegistrationCutoff());
+        }
+        if ((fields & REASON) != 0) {
+            sink.writeString(event.getReason());
+        }
+        
+        int bodyLength = sink.length - bodyAt;
+        sink.putInt(frameAt, bodyLength);
+        sink.writeInt(checksum(sink.bytes, bodyAt, bodyLength));
+    }
+    
+    /**
+     * Decode a record body whose checksum has already been verified
+     */
+    static AuditRecord readRecord(ByteBuffer body) {
+        int typeOrdinal = body.get() & 0xFF;
+        if (typeOrdinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown audit event type " + typeOrdinal);
+        }
+        long sequence = readVarLong(body);
+        LocalDateTime timestamp = readTime(body);
+        int fields = (int) readVarLong(body);
+        return new AuditRecord(sequence, TYPES[typeOrdinal], timestamp,
+                (fields & VOTER_ID) != 0 ? readString(body) : null,
+                (fields & CANDIDATE_ID) != 0 ? readString(body) : null,
+                (fields & ELECTION_ID) != 0 ? readString(body) : null,
+                (fields & VOTE_ID) != 0 ? readString(body) : null,
+                (fields & NAME) != 0 ? readString(body) : null,
+                (fields & PRECINCT_ID) != 0 ? readString(body) : null,
+                (fields & START_DATE) != 0 ? readTime(body) : null,
+                (fields & END_DATE) != 0 ? readTime(body) : null,
+                (fields & ELECTION_STATUS) != 0 ? ELECTION_STATUSES[body.get()] : null,
+                (fields & VOTER_STATUS) != 0 ? VOTER_STATUSES[body.get()] : null,
+                (fields & COUNT) != 0 ? (int) readVarLong(body) : 0,
+                (fields & REGION_ID) != 0 ? readString(body) : null,
+                (fields & REGISTRATION_CUTOFF) != 0 ? readTime(body) : null,
+                (fields & REASON) != 0 ? readString(body) : null);
+    }
+    
+    static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+    
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+    
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String text = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return text;
+    }
+    
+    private static LocalDateTime readTime(ByteBuffer in) {
+        long zigzag = readVarLong(in);
+        long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+        int nanos = (int) readVarLong(in);
+        return seconds == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+    
+    /**
+     * Growable byte array that the writer thread encodes records into
+     */
+    static final class Sink {
+        private byte[] bytes;
+        private int length;
+        
+        Sink(int initialCapacity) {
+            this.bytes = new byte[initialCapacity];
+        }
+        
+        byte[] array() {
+            return bytes;
+        }
+        
+        int length() {
+            return length;
+        }
+        
+        void clear() {
+            length = 0;
+        }
+        
+        void writeByte(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+        }
+        
+        void writeInt(int value) {
+            ensure(4);
+            putInt(length, value);
+            length += 4;
+        }
+        
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+        
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+        
+        void writeString(String text) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+        
+        void writeTime(LocalDateTime time) {
+            long seconds = time != null ? time.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            writeVarLong((seconds << 1) ^ (seconds >> 63));
+            writeVarLong(time != null ? time.getNano() : 0);
+        }
+        
+        private void putInt(int at, int value) {
+            bytes[at] = (byte) (value >>> 24);
+            bytes[at + 1] = (byte) (value >>> 16);
+            bytes[at + 2] = (byte) (value >>> 8);
+            bytes[at + 3] = (byte) value;
+        }
+        
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
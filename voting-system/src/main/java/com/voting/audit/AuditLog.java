@@ -0,0 +1,376 @@
+package com.voting.audit;
+
+import com.voting.projection.VotingEvent;
+import com.voting.projection.VotingEventListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit trail of every voting event, written in the background.
+ *
+ * Publishing threads hand events to a single writer thread through a bounded ring:
+ * a thread claims a sequence number with one atomic increment and stores the event
+ * in that slot, with no lock. The writer drains the ring in sequence order, encodes
+ * the events in the compact format described by {@link AuditFormat}, and writes them
+ * in batches whenever the ring runs empty. Publishers only wait if the writer falls a
+ * full ring behind. After a quiet spell the writer sleeps, and the next publisher
+ * wakes it; otherwise publishing makes no wake-up call.
+ *
+ * Files are named after their start time and first sequence number, and a new
+ * file is started once the current one reaches the size limit or the age limit.
+ * Records are forced to disk when a file is finished and on {@link #close()};
+ * in between they are in the operating system's cache. Use {@link AuditLogReader}
+ * or {@link AuditLogDecoder} to read the files back.
+ */
+public class AuditLog implements VotingEventListener, Closeable {
+    
+    public static final long DEFAULT_MAX_FILE_BYTES = 64L << 20;
+    public static final Duration DEFAULT_MAX_FILE_AGE = Duration.ofHours(1);
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    
+    private static final int FLUSH_BYTES = 256 << 10;
+    // The idle writer backs off to parks this long, then sleeps until a publisher wakes it
+    private static final long MAX_IDLE_PARK_NANOS = 1_000_000;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    
+    private final Path directory;
+    private final long maxFileBytes;
+    private final long maxFileAgeMillis;
+    private final AtomicReferenceArray<VotingEvent> slots;
+    private final int mask;
+    // Next sequence to hand to a publisher
+    private final AtomicLong claimed = new AtomicLong();
+    // Next sequence the writer will take; slots below it are free for reuse
+    private volatile long consumed;
+    // Events written to a file, and events lost because the log failed or was closed
+    private volatile long written;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    private volatile boolean closed;
+    // Set while the writer sleeps; it re-checks claimed after setting this, so a publisher
+    // that claims a slot either is seen by the writer or sees this and wakes it
+    private volatile boolean sleeping;
+    private volatile boolean terminated;
+    private volatile IOException failure;
+    private volatile Path currentFile;
+    private final Thread writer;
+    
+    // Writer thread state
+    private final AuditFormat.Sink batch = new AuditFormat.Sink(FLUSH_BYTES + 4096);
+    private int batchRecords;
+    private FileChannel channel;
+    private long fileBytes;
+    private long fileStartedAt;
+    
+    /**
+     * Open an audit log with the default file size and age limits
+     * @param directory Directory for the log files; created if missing
+     * @throws IOException if the directory or the first file cannot be created
+     */
+    public AuditLog(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILE_AGE, DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * @param directory Directory for the log files; created if missing
+     * @param maxFileBytes Size at which a new file is started
+     * @param maxFileAge Age at which a new file is started, if the current one has records
+     * @param capacity Events that can be waiting for the writer; rounded up to a power of two
+     * @throws IOException if the directory or the first file cannot be created
+     */
+    public AuditLog(Path directory, long maxFileBytes, Duration maxFileAge, int capacity) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Audit directory cannot be null");
+        }
+        if (maxFileBytes <= AuditFormat.HEADER_SIZE) {
+            throw new IllegalArgumentException("Maximum file size is too small");
+        }
+        if (maxFileAge == null || maxFileAge.isNegative() || maxFileAge.isZero()) {
+            throw new IllegalArgumentException("Maximum file age must be positive");
+        }
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30");
+        }
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFileAgeMillis = maxFileAge.toMillis();
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        Files.createDirectories(directory);
+        openFile(0);
+        this.writer = new Thread(this::drain, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * Queue an event for the log. Called on the publishing thread, usually while the
+     * service holds its commit lock, so this only claims a slot and stores the event.
+     * Events published after {@link #close()} are counted as dropped.
+     */
+    @Override
+    public void onEvent(VotingEvent event) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        if (sequence - consumed >= slots.length()) {
+            awaitSlot(sequence);
+        }
+        slots.lazySet((int) sequence & mask, event);
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+    }
+    
+    private void awaitSlot(long sequence) {
+        stalls.incrementAndGet();
+        for (int spins = 0; sequence - consumed >= slots.length(); spins++) {
+            if (terminated) {
+                return;
+            }
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+    
+    /**
+     * Wait until every event queued before this call has been written to a file
+     * (or dropped, if the log has failed). The data is not forced to disk.
+     */
+    public void flush() {
+        long target = claimed.get();
+        while (written + dropped.get() < target && !terminated) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+    
+    /**
+     * Write out every queued event, force the current file to disk and stop the
+     * writer. Call once the service has stopped publishing; events published while
+     * the log is closing may be lost.
+     * @throws IOException if the log had failed to write
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * @return Number of events written to log files
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+    
+    /**
+     * @return Number of events lost because the log failed or was closed
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * @return Number of times a publisher had to wait because the ring was full
+     */
+    public long getStallCount() {
+        return stalls.get();
+    }
+    
+    /**
+     * @return The write error that stopped the log, or null if it is healthy
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+    
+    public Path getCurrentFile() {
+        return currentFile;
+    }
+    
+    /**
+     * Audit log files in a directory, oldest first
+     * @param directory The log directory
+     * @return The files
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(AuditFormat.FILE_PREFIX) && name.endsWith(AuditFormat.FILE_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+    
+    // Writer thread
+    
+    private void drain() {
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            int index = (int) next & mask;
+            VotingEvent event = slots.get(index);
+            if (event != null) {
+                slots.lazySet(index, null);
+                consumed = ++next;
+                append(next - 1, event);
+                idle = 0;
+                continue;
+            }
+            // Caught up, or a publisher has claimed the slot but not filled it yet
+            writeBatch();
+            if (closed && next == claimed.get()) {
+                break;
+            }
+            if (failure == null && fileBytes > AuditFormat.HEADER_SIZE
+                    && System.currentTimeMillis() - fileStartedAt >= maxFileAgeMillis) {
+                rotate(next);
+            }
+            idle++;
+            if (idle < 50) {
+                Thread.onSpinWait();
+            } else if (1_000L * idle < MAX_IDLE_PARK_NANOS) {
+                LockSupport.parkNanos(this, 1_000L * idle);
+            } else {
+                sleep(next);
+            }
+        }
+        try {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            terminated = true;
+        }
+    }
+    
+    /**
+     * Park until a publisher or close() wakes the writer, or until the current file is
+     * old enough to rotate if it has records
+     */
+    private void sleep(long next) {
+        sleeping = true;
+        if (next == claimed.get() && !closed) {
+            if (failure == null && fileBytes > AuditFormat.HEADER_SIZE) {
+                long remainingMillis = fileStartedAt + maxFileAgeMillis - System.currentTimeMillis();
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1, remainingMillis)));
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        sleeping = false;
+    }
+    
+    private void append(long sequence, VotingEvent event) {
+        if (failure == null && fileBytes + batch.length() >= maxFileBytes) {
+            writeBatch();
+            rotate(sequence);
+        }
+        if (failure != null) {
+            dropped.incrementAndGet();
+            return;
+        }
+        AuditFormat.writeRecord(batch, sequence, event);
+        batchRecords++;
+        if (batch.length() >= FLUSH_BYTES) {
+            writeBatch();
+        }
+    }
+    
+    private void writeBatch() {
+        if (batchRecords == 0) {
+            return;
+        }
+        if (failure != null) {
+            dropped.addAndGet(batchRecords);
+        } else {
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(batch.array(), 0, batch.length());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                fileBytes += batch.length();
+                written += batchRecords;
+            } catch (IOException e) {
+                fail(e);
+                dropped.addAndGet(batchRecords);
+            }
+        }
+        batch.clear();
+        batchRecords = 0;
+    }
+    
+    private void rotate(long firstSequence) {
+        try {
+            channel.force(false);
+            channel.close();
+            openFile(firstSequence);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    private void openFile(long firstSequence) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        Path file = directory.resolve(AuditFormat.FILE_PREFIX + FILE_TIME.format(now)
+                + String.format("-%012d", firstSequence) + AuditFormat.FILE_SUFFIX);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        AuditFormat.Sink header = new AuditFormat.Sink(AuditFormat.HEADER_SIZE);
+        AuditFormat.writeHeader(header, System.currentTimeMillis(), firstSequence);
+        ByteBuffer bytes = ByteBuffer.wrap(header.array(), 0, header.length());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        fileBytes = AuditFormat.HEADER_SIZE;
+        fileStartedAt = System.currentTimeMillis();
+        currentFile = file;
+    }
+    
+    private void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+            // Already failed
+        }
+        channel = null;
+    }
+}
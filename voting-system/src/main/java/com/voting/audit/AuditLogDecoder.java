@@ -0,0 +1,59 @@
+package com.voting.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Prints audit log files as text, one event per line.
+ *
+ * Usage: java -cp out com.voting.audit.AuditLogDecoder &lt;file or directory&gt;...
+ * A directory stands for all the audit log files in it, oldest first.
+ */
+public final class AuditLogDecoder {
+    
+    private AuditLogDecoder() {
+    }
+    
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogDecoder <file or directory>...");
+            System.exit(2);
+        }
+        try {
+            long records = 0;
+            for (String arg : args) {
+                Path path = Paths.get(arg);
+                List<Path> files = Files.isDirectory(path) ? AuditLog.listFiles(path) : List.of(path);
+                for (Path file : files) {
+                    records += decode(file, System.out);
+                }
+            }
+            System.err.println(records + " audit records");
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Print every record in one file
+     * @param file The audit log file
+     * @param out Where to print the records
+     * @return The number of records printed
+     * @throws IOException if the file cannot be read or a record is damaged
+     */
+    public static long decode(Path file, PrintStream out) throws IOException {
+        long records = 0;
+        try (AuditLogReader reader = AuditLogReader.open(file)) {
+            for (AuditRecord record = reader.next(); record != null; record = reader.next()) {
+                out.println(record);
+                records++;
+            }
+        }
+        return records;
+    }
+}
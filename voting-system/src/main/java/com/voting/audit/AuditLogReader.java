@@ -0,0 +1,118 @@
+package com.voting.audit;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Sequential reader for one audit log file written by {@link AuditLog}.
+ *
+ * A record cut short at the end of the file, as left by a crash mid-write, ends
+ * the file like a clean end would; a record whose checksum does not match is
+ * reported as an error.
+ */
+public final class AuditLogReader implements Closeable {
+    
+    private final Path path;
+    private final DataInputStream in;
+    private final LocalDateTime createdAt;
+    private final long firstSequence;
+    private byte[] body = new byte[256];
+    private long offset;
+    
+    private AuditLogReader(Path path, DataInputStream in, LocalDateTime createdAt, long firstSequence) {
+        this.path = path;
+        this.in = in;
+        this.createdAt = createdAt;
+        this.firstSequence = firstSequence;
+        this.offset = AuditFormat.HEADER_SIZE;
+    }
+    
+    /**
+     * Open an audit log file and read its header
+     * @param path The file
+     * @return The reader, positioned at the first record
+     * @throws IOException if the file cannot be read or is not an audit log
+     */
+    public static AuditLogReader open(Path path) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        try {
+            if (in.readInt() != AuditFormat.MAGIC) {
+                throw new IOException("Not an audit log: " + path);
+            }
+            int version = in.readInt();
+            if (version != AuditFormat.VERSION) {
+                throw new IOException("Unsupported audit log version " + version + ": " + path);
+            }
+            LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()),
+                    ZoneId.systemDefault());
+            return new AuditLogReader(path, in, createdAt, in.readLong());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * @return When the file was started, in local time
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    /**
+     * @return Sequence number of the first record in the file
+     */
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+    
+    /**
+     * @return The next record, or null at the end of the file
+     * @throws IOException if the file cannot be read or a record is damaged
+     */
+    public AuditRecord next() throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > AuditFormat.MAX_RECORD_BYTES) {
+            throw new IOException("Damaged audit record at offset " + offset + " of " + path);
+        }
+        if (body.length < length) {
+            body = new byte[Math.max(length, body.length * 2)];
+        }
+        int checksum;
+        try {
+            in.readFully(body, 0, length);
+            checksum = in.readInt();
+        } catch (EOFException e) {
+            // Torn final record
+            return null;
+        }
+        if (checksum != AuditFormat.checksum(body, 0, length)) {
+            throw new IOException("Checksum mismatch in audit record at offset " + offset + " of " + path);
+        }
+        offset += length + 8;
+        try {
+            return AuditFormat.readRecord(ByteBuffer.wrap(body, 0, length));
+        } catch (RuntimeException e) {
+            throw new IOException("Undecodable audit record at offset " + (offset - length - 8) + " of " + path, e);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
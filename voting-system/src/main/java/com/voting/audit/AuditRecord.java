@@ -0,0 +1,165 @@
+package com.voting.audit;
+
+import com.voting.model.Election;
+import com.voting.model.Voter;
+import com.voting.projection.VotingEvent;
+import java.time.LocalDateTime;
+
+/**
+ * One decoded audit log entry: a voting event and its place in the log
+ */
+public final class AuditRecord {
+    
+    private final long sequence;
+    private final VotingEvent.Type type;
+    private final LocalDateTime timestamp;
+    private final String voterId;
+    private final String candidateId;
+    private final String electionId;
+    private final String voteId;
+    private final String name;
+    private final String precinctId;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Election.ElectionStatus electionStatus;
+    private final Voter.VoterStatus voterStatus;
+    private final int count;
+    private final String regionId;
+    private final LocalDateTime registrationCutoff;
+    private final String reason;
+    
+    AuditRecord(long sequence, VotingEvent.Type type, LocalDateTime timestamp, String voterId,
+                String candidateId, String electionId, String voteId, String name, String precinctId,
+                LocalDateTime startDate, LocalDateTime endDate, Election.ElectionStatus electionStatus,
+                Voter.VoterStatus voterStatus, int count, String regionId, LocalDateTime registrationCutoff,
+                String reason) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.voterId = voterId;
+        this.candidateId = candidateId;
+        this.electionId = electionId;
+        this.voteId = voteId;
+        this.name = name;
+        this.precinctId = precinctId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.electionStatus = electionStatus;
+        this.voterStatus = voterStatus;
+        this.count = count;
+        this.regionId = regionId;
+        this.registrationCutoff = registrationCutoff;
+        this.reason = reason;
+    }
+    
+    /**
+     * Position of the event in the log, counted from 0 when the log was opened
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public VotingEvent.Type getType() {
+        return type;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public String getVoterId() {
+        return voterId;
+    }
+    
+    public String getCandidateId() {
+        return candidateId;
+    }
+    
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public String getVoteId() {
+        return voteId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getPrecinctId() {
+        return precinctId;
+    }
+    
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+    
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+    
+    public Election.ElectionStatus getElectionStatus() {
+        return electionStatus;
+    }
+    
+    public Voter.VoterStatus getVoterStatus() {
+        return voterStatus;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public String getRegionId() {
+        return regionId;
+    }
+    
+    public LocalDateTime getRegistrationCutoff() {
+        return registrationCutoff;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    /**
+     * One line of text: sequence, time, type, then each field that is set as key=value.
+     * Values containing spaces, quotes or '=' are quoted.
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(128);
+        line.append('#').append(sequence).append(' ').append(timestamp).append(' ').append(type);
+        appendField(line, "voteId", voteId);
+        appendField(line, "voterId", voterId);
+        appendField(line, "candidateId", candidateId);
+        appendField(line, "electionId", electionId);
+        appendField(line, "precinctId", precinctId);
+        appendField(line, "regionId", regionId);
+        appendField(line, "name", name);
+        appendField(line, "start", startDate);
+        appendField(line, "end", endDate);
+        appendField(line, "electionStatus", electionStatus);
+        appendField(line, "voterStatus", voterStatus);
+        appendField(line, "cutoff", registrationCutoff);
+        appendField(line, "reason", reason);
+        if (count != 0) {
+            appendField(line, "count", count);
+        }
+        return line.toString();
+    }
+    
+    private static void appendField(StringBuilder line, String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        line.append(' ').append(key).append('=');
+        if (text.isEmpty() || text.indexOf(' ') >= 0 || text.indexOf('"') >= 0 || text.indexOf('=') >= 0) {
+            line.append('"').append(text.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else {
+            line.append(text);
+        }
+    }
+}
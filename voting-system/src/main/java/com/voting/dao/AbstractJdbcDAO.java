@@ -0,0 +1,171 @@
+package com.voting.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shared plumbing for the JDBC DAO implementations: connection handling,
+ * batching and column conversions.
+ */
+abstract class AbstractJdbcDAO {
+    
+    /** Rows sent to the driver per executeBatch call */
+    static final int BATCH_SIZE = 500;
+    
+    protected final ConnectionPool pool;
+    
+    protected AbstractJdbcDAO(ConnectionPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Connection pool cannot be null");
+        }
+        this.pool = pool;
+    }
+    
+    @FunctionalInterface
+    interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet row) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    interface BatchBinder<T> {
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+    
+    protected <T> T withConnection(SqlWork<T> work) {
+        Connection connection = null;
+        try {
+            connection = pool.borrow();
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Database operation failed: " + e.getMessage(), e);
+        } finally {
+            pool.release(connection);
+        }
+    }
+    
+    protected <T> T inTransaction(SqlWork<T> work) {
+        return withConnection(connection -> {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+    
+    protected int update(String sql, Binder binder) {
+        return withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                return statement.executeUpdate();
+            }
+        });
+    }
+    
+    protected <T> List<T> query(String sql, Binder binder, RowMapper<T> mapper) {
+        return withConnection(connection -> query(connection, sql, binder, mapper));
+    }
+    
+    protected <T> List<T> query(Connection connection, String sql, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            try (ResultSet rows = statement.executeQuery()) {
+                List<T> result = new ArrayList<>();
+                while (rows.next()) {
+                    result.add(mapper.map(rows));
+                }
+                return result;
+            }
+        }
+    }
+    
+    protected <T> Optional<T> queryOne(String sql, Binder binder, RowMapper<T> mapper) {
+        List<T> rows = query(sql, binder, mapper);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+    
+    protected int queryInt(String sql, Binder binder) {
+        return queryOne(sql, binder, row -> row.getInt(1)).orElse(0);
+    }
+    
+    /**
+     * Upsert a batch portably: batched UPDATEs first, then batched INSERTs for
+     * the rows the update did not touch. Runs in one transaction.
+     */
+    protected <T> void upsertAll(List<T> items, String updateSql, BatchBinder<T> updateBinder,
+                                 String insertSql, BatchBinder<T> insertBinder) {
+        if (items.isEmpty()) {
+            return;
+        }
+        inTransaction(connection -> {
+            List<T> missing = new ArrayList<>();
+            try (PreparedStatement update = connection.prepareStatement(updateSql)) {
+                for (int start = 0; start < items.size(); start += BATCH_SIZE) {
+                    List<T> chunk = items.subList(start, Math.min(start + BATCH_SIZE, items.size()));
+                    for (T item : chunk) {
+                        updateBinder.bind(update, item);
+                        update.addBatch();
+                    }
+                    int[] counts = update.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            missing.add(chunk.get(i));
+                        }
+                    }
+                }
+            }
+            insertAll(connection, missing, insertSql, insertBinder);
+            return null;
+        });
+    }
+    
+    protected <T> void insertAll(Connection connection, List<T> items, String insertSql,
+                                 BatchBinder<T> binder) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+            int pending = 0;
+            for (T item : items) {
+                binder.bind(insert, item);
+                insert.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+    
+    // Column conversions; timestamps are stored as ISO-8601 text for portability
+    protected static String toText(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+    
+    protected static LocalDateTime toDateTime(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
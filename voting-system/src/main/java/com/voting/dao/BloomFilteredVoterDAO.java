@@ -0,0 +1,240 @@
+package com.voting.dao;
+
+import com.voting.index.ScalableBloomFilter;
+import com.voting.model.Voter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * VoterDAO decorator that answers lookups for unknown emails and voter IDs without
+ * touching the underlying store.
+ *
+ * Every email and ID saved through this DAO is added to a Bloom filter before it
+ * reaches the store, so whenever the store holds a voter the filters already know
+ * the keys. A filter saying a key was never added is therefore a definite "not
+ * found"; only keys the filter may have seen are looked up. New registrations,
+ * whose emails are unknown, skip the duplicate lookup almost every time.
+ *
+ * All writes must go through this DAO once it is constructed. Keys of deleted
+ * voters or replaced emails stay in the filters; they only cost a lookup.
+ */
+public class BloomFilteredVoterDAO implements VoterDAO {
+    
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_INITIAL_CAPACITY = 1 << 16;
+    
+    private final VoterDAO delegate;
+    private final ScalableBloomFilter emails;
+    private final ScalableBloomFilter voterIds;
+    private final LookupStats emailStats = new LookupStats();
+    private final LookupStats idStats = new LookupStats();
+    
+    public BloomFilteredVoterDAO(VoterDAO delegate) {
+        this(delegate, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+    
+    /**
+     * Put filters in front of a store, loading them with the voters it already holds
+     * @param delegate The voter store
+     * @param falsePositiveRate Share of lookups for unknown keys that still reach the store, e.g. 0.01
+     */
+    public BloomFilteredVoterDAO(VoterDAO delegate, double falsePositiveRate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Voter DAO cannot be null");
+        }
+        this.delegate = delegate;
+        int initialCapacity = Math.max(MIN_INITIAL_CAPACITY, delegate.count());
+        this.emails = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        this.voterIds = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+        try (Stream<Voter> voters = delegate.streamAll()) {
+            voters.forEach(this::addKeys);
+        }
+    }
+    
+    @Override
+    public Voter save(Voter voter) {
+        addKeys(voter);
+        return delegate.save(voter);
+    }
+    
+    @Override
+    public void saveAll(List<Voter> voters) {
+        for (Voter voter : voters) {
+            addKeys(voter);
+        }
+        delegate.saveAll(voters);
+    }
+    
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        if (voterId == null) {
+            return Optional.empty();
+        }
+        if (!voterIds.mightContain(voterId)) {
+            idStats.skipped.increment();
+            return Optional.empty();
+        }
+        return idStats.record(delegate.findById(voterId));
+    }
+    
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        if (!emails.mightContain(email)) {
+            emailStats.skipped.increment();
+            return Optional.empty();
+        }
+        return emailStats.record(delegate.findByEmail(email));
+    }
+    
+    @Override
+    public boolean existsById(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        if (!voterIds.mightContain(voterId)) {
+            idStats.skipped.increment();
+            return false;
+        }
+        boolean exists = delegate.existsById(voterId);
+        idStats.record(exists);
+        return exists;
+    }
+    
+    @Override
+    public List<Voter> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public Page<Voter> findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+    
+    @Override
+    public Stream<Voter> streamAll() {
+        return delegate.streamAll();
+    }
+    
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+    
+    @Override
+    public List<Voter> findByStatus(Voter.VoterStatus status) {
+        return delegate.findByStatus(status);
+    }
+    
+    @Override
+    public boolean deleteById(String voterId) {
+        return delegate.deleteById(voterId);
+    }
+    
+    @Override
+    public boolean updateStatus(String voterId, Voter.VoterStatus status) {
+        return delegate.updateStatus(voterId, status);
+    }
+    
+    @Override
+    public boolean markAsVoted(String voterId) {
+        return delegate.markAsVoted(voterId);
+    }
+    
+    @Override
+    public boolean clearVoted(String voterId) {
+        return delegate.clearVoted(voterId);
+    }
+    
+    /**
+     * @return Outcomes of lookups by email
+     */
+    public LookupStats getEmailStats() {
+        return emailStats;
+    }
+    
+    /**
+     * @return Outcomes of lookups and existence checks by voter ID
+     */
+    public LookupStats getIdStats() {
+        return idStats;
+    }
+    
+    /**
+     * @return Memory held by both filters, in bytes
+     */
+    public long getFilterBytes() {
+        return emails.getBitArrayBytes() + voterIds.getBitArrayBytes();
+    }
+    
+    private void addKeys(Voter voter) {
+        if (voter.getVoterId() != null) {
+            voterIds.add(voter.getVoterId());
+        }
+        if (voter.getEmail() != null) {
+            emails.add(voter.getEmail());
+        }
+    }
+    
+    /**
+     * Running counts of how lookups of one kind were answered
+     */
+    public static final class LookupStats {
+        
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder found = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        
+        private Optional<Voter> record(Optional<Voter> result) {
+            record(result.isPresent());
+            return result;
+        }
+        
+        private void record(boolean present) {
+            (present ? found : falsePositives).increment();
+        }
+        
+        /**
+         * @return Lookups answered by the filter alone
+         */
+        public long getSkipped() {
+            return skipped.sum();
+        }
+        
+        /**
+         * @return Lookups that went to the store and found a voter
+         */
+        public long getFound() {
+            return found.sum();
+        }
+        
+        /**
+         * @return Lookups that went to the store and found nothing
+         */
+        public long getFalsePositives() {
+            return falsePositives.sum();
+        }
+        
+        /**
+         * @return Share of lookups for absent keys that the filter let through
+         */
+        public double getFalsePositiveRate() {
+            long falsePositives = getFalsePositives();
+            long absent = falsePositives + getSkipped();
+            return absent > 0 ? (double) falsePositives / absent : 0.0;
+        }
+        
+        @Override
+        public String toString() {
+            return "LookupStats{" +
+                    "skipped=" + getSkipped() +
+                    ", found=" + getFound() +
+                    ", falsePositives=" + getFalsePositives() +
+                    '}';
+        }
+    }
+}
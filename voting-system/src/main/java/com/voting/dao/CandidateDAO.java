@@ -0,0 +1,72 @@
+package com.voting.dao;
+
+import com.voting.model.Candidate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object interface for Candidate operations
+ */
+public interface CandidateDAO {
+    
+    /**
+     * Save a new candidate or update existing candidate
+     * @param candidate The candidate to save
+     * @return The saved candidate
+     */
+    Candidate save(Candidate candidate);
+    
+    /**
+     * Save several candidates in one operation
+     * @param candidates The candidates to save
+     */
+    void saveAll(List<Candidate> candidates);
+    
+    /**
+     * Find candidate by ID
+     * @param candidateId The candidate ID
+     * @return Optional containing the candidate if found
+     */
+    Optional<Candidate> findById(String candidateId);
+    
+    /**
+     * Get all candidates
+     * @return List of all candidates
+     */
+    List<Candidate> findAll();
+    
+    /**
+     * Get candidates running for a position
+     * @param position The position
+     * @return List of candidates for the position
+     */
+    List<Candidate> findByPosition(String position);
+    
+    /**
+     * Delete candidate by ID
+     * @param candidateId The candidate ID
+     * @return true if deleted successfully
+     */
+    boolean deleteById(String candidateId);
+    
+    /**
+     * Check if candidate exists
+     * @param candidateId The candidate ID
+     * @return true if candidate exists
+     */
+    boolean existsById(String candidateId);
+    
+    /**
+     * Add to a candidate's stored vote count
+     * @param candidateId The candidate ID
+     * @param delta The number of votes to add
+     * @return true if updated successfully
+     */
+    boolean addVotes(String candidateId, int delta);
+    
+    /**
+     * Count all candidates
+     * @return The number of candidates
+     */
+    int count();
+}
@@ -0,0 +1,127 @@
+package com.voting.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded JDBC connection pool. Connections are opened lazily up to the maximum
+ * size; once that many are in use, callers wait up to the configured timeout.
+ */
+public class ConnectionPool implements AutoCloseable {
+    
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long timeoutMillis;
+    private final BlockingQueue<Connection> idle;
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed;
+    
+    public ConnectionPool(String url, int maxSize) {
+        this(url, null, null, maxSize, 30_000);
+    }
+    
+    public ConnectionPool(String url, String user, String password, int maxSize, long timeoutMillis) {
+        if (url == null || maxSize <= 0) {
+            throw new IllegalArgumentException("URL is required and pool size must be positive");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+    
+    /**
+     * Borrow a connection; it must be handed back through {@link #release(Connection)}
+     * @return An open connection in auto-commit mode
+     * @throws SQLException if no connection becomes available within the timeout
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        Connection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        if (opened.incrementAndGet() <= maxSize) {
+            try {
+                return user != null
+                        ? DriverManager.getConnection(url, user, password)
+                        : DriverManager.getConnection(url);
+            } catch (SQLException e) {
+                opened.decrementAndGet();
+                throw e;
+            }
+        }
+        opened.decrementAndGet();
+        try {
+            connection = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        if (connection == null) {
+            throw new SQLException("Timed out waiting for a connection after " + timeoutMillis + " ms");
+        }
+        return connection;
+    }
+    
+    /**
+     * Return a borrowed connection to the pool
+     * @param connection The connection
+     */
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!closed && !connection.isClosed()) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                if (idle.offer(connection)) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            // Broken connection; drop it below
+        }
+        discard(connection);
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public int getOpenConnections() {
+        return opened.get();
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            discard(connection);
+        }
+    }
+    
+    private void discard(Connection connection) {
+        opened.decrementAndGet();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Nothing more to do with a connection we are throwing away
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.voting.dao;
+
+/**
+ * Unchecked wrapper for failures in a persistent DAO implementation
+ */
+public class DataAccessException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public DataAccessException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.voting.dao;
+
+import com.voting.model.Election;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object interface for Election operations.
+ * Candidates are stored separately; an election only records its roster.
+ */
+public interface ElectionDAO {
+    
+    /**
+     * Save a new election or update existing election, including its candidate roster
+     * @param election The election to save
+     * @return The saved election
+     */
+    Election save(Election election);
+    
+    /**
+     * Find election by ID, with its candidates loaded
+     * @param electionId The election ID
+     * @return Optional containing the election if found
+     */
+    Optional<Election> findById(String electionId);
+    
+    /**
+     * Get all elections
+     * @return List of all elections
+     */
+    List<Election> findAll();
+    
+    /**
+     * Get elections by status
+     * @param status The election status
+     * @return List of elections with the specified status
+     */
+    List<Election> findByStatus(Election.ElectionStatus status);
+    
+    /**
+     * Delete election by ID
+     * @param electionId The election ID
+     * @return true if deleted successfully
+     */
+    boolean deleteById(String electionId);
+    
+    /**
+     * Check if election exists
+     * @param electionId The election ID
+     * @return true if election exists
+     */
+    boolean existsById(String electionId);
+    
+    /**
+     * Update election status
+     * @param electionId The election ID
+     * @param status The new status
+     * @return true if updated successfully
+     */
+    boolean updateStatus(String electionId, Election.ElectionStatus status);
+    
+    /**
+     * Add a candidate to an election's roster
+     * @param electionId The election ID
+     * @param candidateId The candidate ID
+     * @return true if the candidate was added
+     */
+    boolean addCandidate(String electionId, String candidateId);
+    
+    /**
+     * Add to an election's stored vote total
+     * @param electionId The election ID
+     * @param delta The number of votes to add
+     * @return true if updated successfully
+     */
+    boolean addVotes(String electionId, int delta);
+    
+    /**
+     * Count all elections
+     * @return The number of elections
+     */
+    int count();
+}
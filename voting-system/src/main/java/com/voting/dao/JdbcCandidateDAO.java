@@ -0,0 +1,139 @@
+package com.voting.dao;
+
+import com.voting.model.Candidate;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of CandidateDAO for embedded file-mode databases
+ */
+public class JdbcCandidateDAO extends AbstractJdbcDAO implements CandidateDAO {
+    
+    static final String COLUMNS =
+            "candidate_id, first_name, last_name, party, position, biography, vote_count, active";
+    private static final String INSERT =
+            "INSERT INTO candidates (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE candidates SET first_name = ?, last_name = ?, party = ?, position = ?, " +
+            "biography = ?, vote_count = ?, active = ? WHERE candidate_id = ?";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM candidates";
+    
+    public JdbcCandidateDAO(ConnectionPool pool) {
+        super(pool);
+    }
+    
+    @Override
+    public Candidate save(Candidate candidate) {
+        if (candidate == null || candidate.getCandidateId() == null) {
+            throw new IllegalArgumentException("Candidate and candidate ID cannot be null");
+        }
+        saveAll(Collections.singletonList(candidate));
+        return candidate;
+    }
+    
+    @Override
+    public void saveAll(List<Candidate> candidates) {
+        for (Candidate candidate : candidates) {
+            if (candidate == null || candidate.getCandidateId() == null) {
+                throw new IllegalArgumentException("Candidate and candidate ID cannot be null");
+            }
+        }
+        upsertAll(new ArrayList<>(candidates), UPDATE, JdbcCandidateDAO::bindUpdate,
+                INSERT, JdbcCandidateDAO::bindInsert);
+    }
+    
+    @Override
+    public Optional<Candidate> findById(String candidateId) {
+        if (candidateId == null) {
+            return Optional.empty();
+        }
+        return queryOne(SELECT + " WHERE candidate_id = ?", s -> s.setString(1, candidateId),
+                JdbcCandidateDAO::map);
+    }
+    
+    @Override
+    public List<Candidate> findAll() {
+        return query(SELECT, s -> { }, JdbcCandidateDAO::map);
+    }
+    
+    @Override
+    public List<Candidate> findByPosition(String position) {
+        if (position == null) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE position = ?", s -> s.setString(1, position), JdbcCandidateDAO::map);
+    }
+    
+    @Override
+    public boolean deleteById(String candidateId) {
+        if (candidateId == null) {
+            return false;
+        }
+        return update("DELETE FROM candidates WHERE candidate_id = ?", s -> s.setString(1, candidateId)) > 0;
+    }
+    
+    @Override
+    public boolean existsById(String candidateId) {
+        if (candidateId == null) {
+            return false;
+        }
+        return queryInt("SELECT COUNT(*) FROM candidates WHERE candidate_id = ?",
+                s -> s.setString(1, candidateId)) > 0;
+    }
+    
+    @Override
+    public boolean addVotes(String candidateId, int delta) {
+        if (candidateId == null) {
+            return false;
+        }
+        return update("UPDATE candidates SET vote_count = vote_count + ? WHERE candidate_id = ?", s -> {
+            s.setInt(1, delta);
+            s.setString(2, candidateId);
+        }) > 0;
+    }
+    
+    @Override
+    public int count() {
+        return queryInt("SELECT COUNT(*) FROM candidates", s -> { });
+    }
+    
+    private static void bindInsert(PreparedStatement s, Candidate candidate) throws SQLException {
+        s.setString(1, candidate.getCandidateId());
+        s.setString(2, candidate.getFirstName());
+        s.setString(3, candidate.getLastName());
+        s.setString(4, candidate.getParty());
+        s.setString(5, candidate.getPosition());
+        s.setString(6, candidate.getBiography());
+        s.setInt(7, candidate.getVoteCount());
+        s.setBoolean(8, candidate.isActive());
+    }
+    
+    private static void bindUpdate(PreparedStatement s, Candidate candidate) throws SQLException {
+        s.setString(1, candidate.getFirstName());
+        s.setString(2, candidate.getLastName());
+        s.setString(3, candidate.getParty());
+        s.setString(4, candidate.getPosition());
+        s.setString(5, candidate.getBiography());
+        s.setInt(6, candidate.getVoteCount());
+        s.setBoolean(7, candidate.isActive());
+        s.setString(8, candidate.getCandidateId());
+    }
+    
+    static Candidate map(ResultSet row) throws SQLException {
+        Candidate candidate = new Candidate(
+                row.getString("candidate_id"),
+                row.getString("first_name"),
+                row.getString("last_name"),
+                row.getString("party"),
+                row.getString("position"));
+        candidate.setBiography(row.getString("biography"));
+        candidate.setVoteCount(row.getInt("vote_count"));
+        candidate.setActive(row.getBoolean("active"));
+        return candidate;
+    }
+}
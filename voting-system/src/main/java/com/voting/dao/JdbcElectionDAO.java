@@ -0,0 +1,250 @@
+package com.voting.dao;
+
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of ElectionDAO for embedded file-mode databases.
+ * Rosters live in the election_candidates join table and are loaded with one
+ * query per call rather than one per election.
+ */
+public class JdbcElectionDAO extends AbstractJdbcDAO implements ElectionDAO {
+    
+    private static final String COLUMNS =
+            "election_id, title, description, start_date, end_date, status, total_votes, voting_method, " +
+            "registration_cutoff";
+    private static final String INSERT =
+            "INSERT INTO elections (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE elections SET title = ?, description = ?, start_date = ?, end_date = ?, " +
+            "status = ?, total_votes = ?, voting_method = ?, registration_cutoff = ? WHERE election_id = ?";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM elections";
+    private static final String SELECT_ROSTER =
+            "SELECT ec.election_id AS roster_election_id, c.* FROM election_candidates ec " +
+            "JOIN candidates c ON c.candidate_id = ec.candidate_id";
+    private static final String INSERT_ROSTER =
+            "INSERT INTO election_candidates (election_id, candidate_id, roster_order) VALUES (?, ?, ?)";
+    
+    public JdbcElectionDAO(ConnectionPool pool) {
+        super(pool);
+    }
+    
+    @Override
+    public Election save(Election election) {
+        if (election == null || election.getElectionId() == null) {
+            throw new IllegalArgumentException("Election and election ID cannot be null");
+        }
+        inTransaction(connection -> {
+            int updated;
+            try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                bindUpdate(update, election);
+                updated = update.executeUpdate();
+            }
+            if (updated == 0) {
+                try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                    bindInsert(insert, election);
+                    insert.executeUpdate();
+                }
+            }
+            try (PreparedStatement clear = connection.prepareStatement(
+                    "DELETE FROM election_candidates WHERE election_id = ?")) {
+                clear.setString(1, election.getElectionId());
+                clear.executeUpdate();
+            }
+            List<Candidate> roster = election.getCandidates();
+            List<Integer> positions = new ArrayList<>(roster.size());
+            for (int i = 0; i < roster.size(); i++) {
+                positions.add(i);
+            }
+            insertAll(connection, positions, INSERT_ROSTER, (s, i) -> {
+                s.setString(1, election.getElectionId());
+                s.setString(2, roster.get(i).getCandidateId());
+                s.setInt(3, i);
+            });
+            return null;
+        });
+        return election;
+    }
+    
+    @Override
+    public Optional<Election> findById(String electionId) {
+        if (electionId == null) {
+            return Optional.empty();
+        }
+        List<Election> found = load(" WHERE election_id = ?", s -> s.setString(1, electionId));
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+    
+    @Override
+    public List<Election> findAll() {
+        return load("", s -> { });
+    }
+    
+    @Override
+    public List<Election> findByStatus(Election.ElectionStatus status) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return load(" WHERE status = ?", s -> s.setString(1, status.name()));
+    }
+    
+    @Override
+    public boolean deleteById(String electionId) {
+        if (electionId == null) {
+            return false;
+        }
+        return inTransaction(connection -> {
+            try (PreparedStatement roster = connection.prepareStatement(
+                    "DELETE FROM election_candidates WHERE election_id = ?");
+                 PreparedStatement election = connection.prepareStatement(
+                    "DELETE FROM elections WHERE election_id = ?")) {
+                roster.setString(1, electionId);
+                roster.executeUpdate();
+                election.setString(1, electionId);
+                return election.executeUpdate() > 0;
+            }
+        });
+    }
+    
+    @Override
+    public boolean existsById(String electionId) {
+        if (electionId == null) {
+            return false;
+        }
+        return queryInt("SELECT COUNT(*) FROM elections WHERE election_id = ?",
+                s -> s.setString(1, electionId)) > 0;
+    }
+    
+    @Override
+    public boolean updateStatus(String electionId, Election.ElectionStatus status) {
+        if (electionId == null || status == null) {
+            return false;
+        }
+        return update("UPDATE elections SET status = ? WHERE election_id = ?", s -> {
+            s.setString(1, status.name());
+            s.setString(2, electionId);
+        }) > 0;
+    }
+    
+    @Override
+    public boolean addCandidate(String electionId, String candidateId) {
+        if (electionId == null || candidateId == null) {
+            return false;
+        }
+        return inTransaction(connection -> {
+            int next = query(connection,
+                    "SELECT COUNT(*) FROM election_candidates WHERE election_id = ?",
+                    s -> s.setString(1, electionId), row -> row.getInt(1)).get(0);
+            int existing = query(connection,
+                    "SELECT COUNT(*) FROM election_candidates WHERE election_id = ? AND candidate_id = ?",
+                    s -> {
+                        s.setString(1, electionId);
+                        s.setString(2, candidateId);
+                    }, row -> row.getInt(1)).get(0);
+            if (existing > 0) {
+                return false;
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ROSTER)) {
+                insert.setString(1, electionId);
+                insert.setString(2, candidateId);
+                insert.setInt(3, next);
+                return insert.executeUpdate() > 0;
+            }
+        });
+    }
+    
+    @Override
+    public boolean addVotes(String electionId, int delta) {
+        if (electionId == null) {
+            return false;
+        }
+        return update("UPDATE elections SET total_votes = total_votes + ? WHERE election_id = ?", s -> {
+            s.setInt(1, delta);
+            s.setString(2, electionId);
+        }) > 0;
+    }
+    
+    @Override
+    public int count() {
+        return queryInt("SELECT COUNT(*) FROM elections", s -> { });
+    }
+    
+    private List<Election> load(String where, Binder binder) {
+        return withConnection(connection -> {
+            List<Election> elections = query(connection, SELECT + where, binder, JdbcElectionDAO::map);
+            if (elections.isEmpty()) {
+                return elections;
+            }
+            Map<String, List<Candidate>> rosters = loadRosters(connection, elections.size() == 1
+                    ? elections.get(0).getElectionId() : null);
+            for (Election election : elections) {
+                List<Candidate> roster = rosters.get(election.getElectionId());
+                if (roster != null) {
+                    election.setCandidates(roster);
+                }
+            }
+            return elections;
+        });
+    }
+    
+    private Map<String, List<Candidate>> loadRosters(Connection connection, String electionId)
+            throws SQLException {
+        String sql = SELECT_ROSTER + (electionId != null ? " WHERE ec.election_id = ?" : "")
+                + " ORDER BY ec.election_id, ec.roster_order";
+        Map<String, List<Candidate>> rosters = new HashMap<>();
+        query(connection, sql, s -> {
+            if (electionId != null) {
+                s.setString(1, electionId);
+            }
+        }, row -> rosters.computeIfAbsent(row.getString("roster_election_id"), k -> new ArrayList<>())
+                .add(JdbcCandidateDAO.map(row)));
+        return rosters;
+    }
+    
+    private static void bindInsert(PreparedStatement s, Election election) throws SQLException {
+        s.setString(1, election.getElectionId());
+        s.setString(2, election.getTitle());
+        s.setString(3, election.getDescription());
+        s.setString(4, toText(election.getStartDate()));
+        s.setString(5, toText(election.getEndDate()));
+        s.setString(6, election.getStatus().name());
+        s.setInt(7, election.getTotalVotes());
+        s.setString(8, election.getVotingMethod().name());
+        s.setString(9, toText(election.getRegistrationCutoff()));
+    }
+    
+    private static void bindUpdate(PreparedStatement s, Election election) throws SQLException {
+        s.setString(1, election.getTitle());
+        s.setString(2, election.getDescription());
+        s.setString(3, toText(election.getStartDate()));
+        s.setString(4, toText(election.getEndDate()));
+        s.setString(5, election.getStatus().name());
+        s.setInt(6, election.getTotalVotes());
+        s.setString(7, election.getVotingMethod().name());
+        s.setString(8, toText(election.getRegistrationCutoff()));
+        s.setString(9, election.getElectionId());
+    }
+    
+    private static Election map(ResultSet row) throws SQLException {
+        Election election = new Election(
+                row.getString("election_id"),
+                row.getString("title"),
+                row.getString("description"),
+                toDateTime(row.getString("start_date")),
+                toDateTime(row.getString("end_date")));
+        election.setStatus(Election.ElectionStatus.valueOf(row.getString("status")));
+        election.setTotalVotes(row.getInt("total_votes"));
+        election.setVotingMethod(Election.VotingMethod.valueOf(row.getString("voting_method")));
+        election.setRegistrationCutoff(toDateTime(row.getString("registration_cutoff")));
+        return election;
+    }
+}
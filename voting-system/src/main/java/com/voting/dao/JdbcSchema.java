@@ -0,0 +1,91 @@
+package com.voting.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DDL for the JDBC DAOs. Statements use only syntax shared by embedded
+ * file-mode databases such as H2 and SQLite.
+ */
+public final class JdbcSchema {
+    
+    private static final String[] STATEMENTS = {
+        "CREATE TABLE IF NOT EXISTS voters (" +
+                "voter_id VARCHAR(64) PRIMARY KEY, " +
+                "first_name VARCHAR(100), " +
+                "last_name VARCHAR(100), " +
+                "email VARCHAR(160), " +
+                "phone_number VARCHAR(32), " +
+                "registration_date VARCHAR(32), " +
+                "has_voted BOOLEAN NOT NULL, " +
+                "status VARCHAR(16) NOT NULL, " +
+                "precinct_id VARCHAR(64))",
+        "CREATE INDEX IF NOT EXISTS idx_voters_email ON voters (email)",
+        "CREATE INDEX IF NOT EXISTS idx_voters_status ON voters (status)",
+        "CREATE TABLE IF NOT EXISTS candidates (" +
+                "candidate_id VARCHAR(64) PRIMARY KEY, " +
+                "first_name VARCHAR(100), " +
+                "last_name VARCHAR(100), " +
+                "party VARCHAR(100), " +
+                "position VARCHAR(100), " +
+                "biography VARCHAR(4000), " +
+                "vote_count INTEGER NOT NULL, " +
+                "active BOOLEAN NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS idx_candidates_position ON candidates (position)",
+        "CREATE TABLE IF NOT EXISTS elections (" +
+                "election_id VARCHAR(64) PRIMARY KEY, " +
+                "title VARCHAR(200), " +
+                "description VARCHAR(4000), " +
+                "start_date VARCHAR(32), " +
+                "end_date VARCHAR(32), " +
+                "status VARCHAR(16) NOT NULL, " +
+                "total_votes INTEGER NOT NULL, " +
+                "voting_method VARCHAR(16) NOT NULL, " +
+                "registration_cutoff VARCHAR(32))",
+        "CREATE INDEX IF NOT EXISTS idx_elections_status ON elections (status)",
+        "CREATE TABLE IF NOT EXISTS election_candidates (" +
+                "election_id VARCHAR(64) NOT NULL, " +
+                "candidate_id VARCHAR(64) NOT NULL, " +
+                "roster_order INTEGER NOT NULL, " +
+                "PRIMARY KEY (election_id, candidate_id))",
+        "CREATE TABLE IF NOT EXISTS votes (" +
+                "vote_id VARCHAR(64) PRIMARY KEY, " +
+                "voter_id VARCHAR(64) NOT NULL, " +
+                "candidate_id VARCHAR(64) NOT NULL, " +
+                "election_id VARCHAR(64) NOT NULL, " +
+                "cast_at VARCHAR(32), " +
+                "valid BOOLEAN NOT NULL, " +
+                "precinct_id VARCHAR(64))",
+        "CREATE INDEX IF NOT EXISTS idx_votes_voter ON votes (voter_id)",
+        "CREATE INDEX IF NOT EXISTS idx_votes_election ON votes (election_id, candidate_id)",
+        "CREATE TABLE IF NOT EXISTS vote_rankings (" +
+                "vote_id VARCHAR(64) NOT NULL, " +
+                "rank_position INTEGER NOT NULL, " +
+                "candidate_id VARCHAR(64) NOT NULL, " +
+                "PRIMARY KEY (vote_id, rank_position))"
+    };
+    
+    private JdbcSchema() {
+    }
+    
+    /**
+     * Create any missing tables and indexes
+     * @param pool The pool to run the DDL on
+     */
+    public static void create(ConnectionPool pool) {
+        Connection connection = null;
+        try {
+            connection = pool.borrow();
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : STATEMENTS) {
+                    statement.execute(sql);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to create schema: " + e.getMessage(), e);
+        } finally {
+            pool.release(connection);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.voting.dao;
+
+import com.voting.model.Vote;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of VoteDAO for embedded file-mode databases.
+ * Votes are append-only, so bulk saves are plain batched inserts. A ranked ballot's
+ * preferences live in the vote_rankings child table and are loaded with one query
+ * per call rather than one per vote.
+ */
+public class JdbcVoteDAO extends AbstractJdbcDAO implements VoteDAO {
+    
+    private static final String COLUMNS = "vote_id, voter_id, candidate_id, election_id, cast_at, valid, precinct_id";
+    private static final String INSERT = "INSERT INTO votes (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM votes";
+    private static final String INSERT_RANKING =
+            "INSERT INTO vote_rankings (vote_id, rank_position, candidate_id) VALUES (?, ?, ?)";
+    private static final String SELECT_RANKINGS =
+            "SELECT vote_id, candidate_id FROM vote_rankings WHERE vote_id IN (SELECT vote_id FROM votes";
+    
+    public JdbcVoteDAO(ConnectionPool pool) {
+        super(pool);
+    }
+    
+    @Override
+    public Vote save(Vote vote) {
+        saveAll(Collections.singletonList(vote));
+        return vote;
+    }
+    
+    @Override
+    public void saveAll(List<Vote> votes) {
+        for (Vote vote : votes) {
+            if (vote == null || vote.getVoteId() == null) {
+                throw new IllegalArgumentException("Vote and vote ID cannot be null");
+            }
+        }
+        if (votes.isEmpty()) {
+            return;
+        }
+        List<Ranking> rankings = new ArrayList<>();
+        for (Vote vote : votes) {
+            List<String> ranked = vote.getRankedCandidateIds();
+            if (ranked != null) {
+                for (int i = 0; i < ranked.size(); i++) {
+                    rankings.add(new Ranking(vote.getVoteId(), i, ranked.get(i)));
+                }
+            }
+        }
+        inTransaction(connection -> {
+            insertAll(connection, votes, INSERT, JdbcVoteDAO::bind);
+            insertAll(connection, rankings, INSERT_RANKING, (s, ranking) -> {
+                s.setString(1, ranking.voteId);
+                s.setInt(2, ranking.position);
+                s.setString(3, ranking.candidateId);
+            });
+            return null;
+        });
+    }
+    
+    @Override
+    public Optional<Vote> findById(String voteId) {
+        if (voteId == null) {
+            return Optional.empty();
+        }
+        List<Vote> found = load(" WHERE vote_id = ?", s -> s.setString(1, voteId));
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+    
+    @Override
+    public List<Vote> findByVoter(String voterId) {
+        if (voterId == null) {
+            return new ArrayList<>();
+        }
+        return load(" WHERE voter_id = ?", s -> s.setString(1, voterId));
+    }
+    
+    @Override
+    public List<Vote> findByElection(String electionId) {
+        if (electionId == null) {
+            return new ArrayList<>();
+        }
+        return load(" WHERE election_id = ?", s -> s.setString(1, electionId));
+    }
+    
+    @Override
+    public int countByElection(String electionId) {
+        if (electionId == null) {
+            return 0;
+        }
+        return queryInt("SELECT COUNT(*) FROM votes WHERE election_id = ?", s -> s.setString(1, electionId));
+    }
+    
+    @Override
+    public int count() {
+        return queryInt("SELECT COUNT(*) FROM votes", s -> { });
+    }
+    
+    private List<Vote> load(String where, Binder binder) {
+        return withConnection(connection -> {
+            List<Vote> votes = query(connection, SELECT + where, binder, JdbcVoteDAO::map);
+            if (votes.isEmpty()) {
+                return votes;
+            }
+            Map<String, List<String>> rankings = loadRankings(connection, where, binder);
+            for (Vote vote : votes) {
+                List<String> ranked = rankings.get(vote.getVoteId());
+                if (ranked != null) {
+                    vote.setRankedCandidateIds(ranked);
+                }
+            }
+            return votes;
+        });
+    }
+    
+    private Map<String, List<String>> loadRankings(Connection connection, String where, Binder binder)
+            throws SQLException {
+        Map<String, List<String>> rankings = new HashMap<>();
+        query(connection, SELECT_RANKINGS + where + ") ORDER BY vote_id, rank_position", binder,
+                row -> rankings.computeIfAbsent(row.getString("vote_id"), k -> new ArrayList<>())
+                        .add(row.getString("candidate_id")));
+        return rankings;
+    }
+    
+    private static void bind(PreparedStatement s, Vote vote) throws SQLException {
+        s.setString(1, vote.getVoteId());
+        s.setString(2, vote.getVoterId());
+        s.setString(3, vote.getCandidateId());
+        s.setString(4, vote.getElectionId());
+        s.setString(5, toText(vote.getTimestamp()));
+        s.setBoolean(6, vote.isValid());
+        s.setString(7, vote.getPrecinctId());
+    }
+    
+    private static Vote map(ResultSet row) throws SQLException {
+        Vote vote = new Vote(
+                row.getString("vote_id"),
+                row.getString("voter_id"),
+                row.getString("candidate_id"),
+                row.getString("election_id"));
+        vote.setTimestamp(toDateTime(row.getString("cast_at")));
+        vote.setValid(row.getBoolean("valid"));
+        vote.setPrecinctId(row.getString("precinct_id"));
+        return vote;
+    }
+    
+    private static final class Ranking {
+        private final String voteId;
+        private final int position;
+        private final String candidateId;
+        
+        Ranking(String voteId, int position, String candidateId) {
+            this.voteId = voteId;
+            this.position = position;
+            this.candidateId = candidateId;
+        }
+    }
+}
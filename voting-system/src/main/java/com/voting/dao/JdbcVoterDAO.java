@@ -0,0 +1,186 @@
+package com.voting.dao;
+
+import com.voting.model.Voter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of VoterDAO for embedded file-mode databases
+ */
+public class JdbcVoterDAO extends AbstractJdbcDAO implements VoterDAO {
+    
+    private static final String COLUMNS =
+            "voter_id, first_name, last_name, email, phone_number, registration_date, has_voted, status, precinct_id";
+    private static final String INSERT =
+            "INSERT INTO voters (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE voters SET first_name = ?, last_name = ?, email = ?, phone_number = ?, " +
+            "registration_date = ?, has_voted = ?, status = ?, precinct_id = ? WHERE voter_id = ?";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM voters";
+    
+    public JdbcVoterDAO(ConnectionPool pool) {
+        super(pool);
+    }
+    
+    @Override
+    public Voter save(Voter voter) {
+        if (voter == null || voter.getVoterId() == null) {
+            throw new IllegalArgumentException("Voter and voter ID cannot be null");
+        }
+        saveAll(Collections.singletonList(voter));
+        return voter;
+    }
+    
+    @Override
+    public void saveAll(List<Voter> voters) {
+        for (Voter voter : voters) {
+            if (voter == null || voter.getVoterId() == null) {
+                throw new IllegalArgumentException("Voter and voter ID cannot be null");
+            }
+        }
+        upsertAll(new ArrayList<>(voters), UPDATE, JdbcVoterDAO::bindUpdate, INSERT, JdbcVoterDAO::bindInsert);
+    }
+    
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        if (voterId == null) {
+            return Optional.empty();
+        }
+        return queryOne(SELECT + " WHERE voter_id = ?", s -> s.setString(1, voterId), JdbcVoterDAO::map);
+    }
+    
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return queryOne(SELECT + " WHERE email = ?", s -> s.setString(1, email), JdbcVoterDAO::map);
+    }
+    
+    @Override
+    public List<Voter> findAll() {
+        return query(SELECT, s -> { }, JdbcVoterDAO::map);
+    }
+    
+    @Override
+    public Page<Voter> findPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        // Fetch one extra row to learn whether another page follows
+        List<Voter> rows = cursor == null
+                ? query(SELECT + " ORDER BY voter_id LIMIT ?", s -> s.setInt(1, limit + 1), JdbcVoterDAO::map)
+                : query(SELECT + " WHERE voter_id > ? ORDER BY voter_id LIMIT ?", s -> {
+                    s.setString(1, cursor);
+                    s.setInt(2, limit + 1);
+                }, JdbcVoterDAO::map);
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<Voter> page = new ArrayList<>(rows.subList(0, limit));
+        return new Page<>(page, page.get(limit - 1).getVoterId());
+    }
+    
+    @Override
+    public int count() {
+        return queryInt("SELECT COUNT(*) FROM voters", s -> { });
+    }
+    
+    @Override
+    public List<Voter> findByStatus(Voter.VoterStatus status) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return query(SELECT + " WHERE status = ?", s -> s.setString(1, status.name()), JdbcVoterDAO::map);
+    }
+    
+    @Override
+    public boolean deleteById(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        return update("DELETE FROM voters WHERE voter_id = ?", s -> s.setString(1, voterId)) > 0;
+    }
+    
+    @Override
+    public boolean existsById(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        return queryInt("SELECT COUNT(*) FROM voters WHERE voter_id = ?", s -> s.setString(1, voterId)) > 0;
+    }
+    
+    @Override
+    public boolean updateStatus(String voterId, Voter.VoterStatus status) {
+        if (voterId == null || status == null) {
+            return false;
+        }
+        return update("UPDATE voters SET status = ? WHERE voter_id = ?", s -> {
+            s.setString(1, status.name());
+            s.setString(2, voterId);
+        }) > 0;
+    }
+    
+    @Override
+    public boolean markAsVoted(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        return update("UPDATE voters SET has_voted = ? WHERE voter_id = ?", s -> {
+            s.setBoolean(1, true);
+            s.setString(2, voterId);
+        }) > 0;
+    }
+    
+    @Override
+    public boolean clearVoted(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        return update("UPDATE voters SET has_voted = ? WHERE voter_id = ?", s -> {
+            s.setBoolean(1, false);
+            s.setString(2, voterId);
+        }) > 0;
+    }
+    
+    private static void bindInsert(PreparedStatement s, Voter voter) throws SQLException {
+        s.setString(1, voter.getVoterId());
+        s.setString(2, voter.getFirstName());
+        s.setString(3, voter.getLastName());
+        s.setString(4, voter.getEmail());
+        s.setString(5, voter.getPhoneNumber());
+        s.setString(6, toText(voter.getRegistrationDate()));
+        s.setBoolean(7, voter.hasVoted());
+        s.setString(8, voter.getStatus().name());
+        s.setString(9, voter.getPrecinctId());
+    }
+    
+    private static void bindUpdate(PreparedStatement s, Voter voter) throws SQLException {
+        s.setString(1, voter.getFirstName());
+        s.setString(2, voter.getLastName());
+        s.setString(3, voter.getEmail());
+        s.setString(4, voter.getPhoneNumber());
+        s.setString(5, toText(voter.getRegistrationDate()));
+        s.setBoolean(6, voter.hasVoted());
+        s.setString(7, voter.getStatus().name());
+        s.setString(8, voter.getPrecinctId());
+        s.setString(9, voter.getVoterId());
+    }
+    
+    private static Voter map(ResultSet row) throws SQLException {
+        Voter voter = new Voter(
+                row.getString("voter_id"),
+                row.getString("first_name"),
+                row.getString("last_name"),
+                row.getString("email"),
+                row.getString("phone_number"));
+        voter.setRegistrationDate(toDateTime(row.getString("registration_date")));
+        voter.setHasVoted(row.getBoolean("has_voted"));
+        voter.setStatus(Voter.VoterStatus.valueOf(row.getString("status")));
+        voter.setPrecinctId(row.getString("precinct_id"));
+        return voter;
+    }
+}
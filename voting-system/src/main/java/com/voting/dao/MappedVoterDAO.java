@@ -0,0 +1,681 @@
+package com.voting.dao;
+
+import com.voting.model.Voter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent implementation of VoterDAO backed by memory-mapped files.
+ *
+ * Voters are stored as fixed-width records in {@code voters.dat}; {@code voters.idx}
+ * holds two open-addressing hash tables (voter ID and email) that map keys to record
+ * slots. Both files are mapped rather than read, so opening an existing roll only
+ * touches the headers and lookups are served from the OS page cache. Status and
+ * voted flags are written in place.
+ */
+public class MappedVoterDAO implements VoterDAO, Closeable {
+    
+    static final String DATA_FILE = "voters.dat";
+    static final String INDEX_FILE = "voters.idx";
+    
+    private static final int DATA_MAGIC = 0x564F5452;   // "VOTR"
+    private static final int INDEX_MAGIC = 0x56494458;  // "VIDX"
+    private static final int FORMAT_VERSION = 1;
+    
+    // Data file header: magic, version, record size, slot count, live count
+    private static final int DATA_HEADER_SIZE = 64;
+    private static final int HDR_SLOT_COUNT = 12;
+    private static final int HDR_LIVE_COUNT = 16;
+    
+    // Record layout
+    static final int RECORD_SIZE = 512;
+    private static final int OFF_FLAGS = 0;
+    private static final int OFF_STATUS = 1;
+    private static final int OFF_VOTED = 2;
+    private static final int OFF_REG_SECONDS = 4;
+    private static final int OFF_REG_NANOS = 12;
+    private static final int OFF_VOTER_ID = 16;
+    private static final int LEN_VOTER_ID = 64;
+    private static final int OFF_FIRST_NAME = OFF_VOTER_ID + LEN_VOTER_ID;
+    private static final int LEN_FIRST_NAME = 96;
+    private static final int OFF_LAST_NAME = OFF_FIRST_NAME + LEN_FIRST_NAME;
+    private static final int LEN_LAST_NAME = 96;
+    private static final int OFF_EMAIL = OFF_LAST_NAME + LEN_LAST_NAME;
+    private static final int LEN_EMAIL = 160;
+    private static final int OFF_PHONE = OFF_EMAIL + LEN_EMAIL;
+    private static final int LEN_PHONE = 32;
+    // Added in the record's spare tail; older files read back as no precinct
+    private static final int OFF_PRECINCT = OFF_PHONE + LEN_PHONE;
+    private static final int LEN_PRECINCT = 48;
+    
+    private static final byte FLAG_IN_USE = 1;
+    private static final byte FLAG_DELETED = 2;
+    
+    // Records are mapped in fixed segments so the roll can grow past 2 GB
+    private static final int RECORDS_PER_SEGMENT = 1 << 16;
+    private static final long SEGMENT_BYTES = (long) RECORDS_PER_SEGMENT * RECORD_SIZE;
+    
+    // Index file header: magic, version, capacity, id entries, email entries
+    private static final int INDEX_HEADER_SIZE = 32;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int MAX_CAPACITY = 1 << 29;
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+    
+    private static final Voter.VoterStatus[] STATUSES = Voter.VoterStatus.values();
+    
+    private final Path directory;
+    private final FileChannel dataChannel;
+    private final MappedByteBuffer dataHeader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private MappedByteBuffer[] segments;
+    private HashIndex index;
+    private int slotCount;
+    private int liveCount;
+    
+    /**
+     * Open the voter roll stored in the given directory, creating it if it does not exist
+     * @param directory Directory holding the data and index files
+     * @throws IOException if the files cannot be opened or are not valid voter roll files
+     */
+    public MappedVoterDAO(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.dataChannel = FileChannel.open(directory.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean created = dataChannel.size() == 0;
+        this.dataHeader = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, DATA_HEADER_SIZE);
+        if (created) {
+            dataHeader.putInt(0, DATA_MAGIC);
+            dataHeader.putInt(4, FORMAT_VERSION);
+            dataHeader.putInt(8, RECORD_SIZE);
+            dataHeader.putInt(HDR_SLOT_COUNT, 0);
+            dataHeader.putInt(HDR_LIVE_COUNT, 0);
+        } else if (dataHeader.getInt(0) != DATA_MAGIC || dataHeader.getInt(8) != RECORD_SIZE) {
+            dataChannel.close();
+            throw new IOException("Not a voter roll data file: " + directory.resolve(DATA_FILE));
+        }
+        this.slotCount = dataHeader.getInt(HDR_SLOT_COUNT);
+        this.liveCount = dataHeader.getInt(HDR_LIVE_COUNT);
+        this.segments = new MappedByteBuffer[0];
+        ensureSegments(slotCount);
+        
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (Files.exists(indexPath) && Files.size(indexPath) > 0) {
+            this.index = HashIndex.open(indexPath);
+        } else {
+            this.index = HashIndex.create(indexPath, capacityFor(slotCount));
+            rebuildIndex(index);
+        }
+    }
+    
+    @Override
+    public Voter save(Voter voter) {
+        if (voter == null || voter.getVoterId() == null) {
+            throw new IllegalArgumentException("Voter and voter ID cannot be null");
+        }
+        byte[] idKey = utf8(voter.getVoterId());
+        byte[] emailKey = voter.getEmail() != null ? utf8(voter.getEmail()) : null;
+        lock.writeLock().lock();
+        try {
+            int slot = index.find(HashIndex.ID_TABLE, idKey, this::recordIdMatches);
+            if (slot >= 0) {
+                byte[] oldEmail = readField(slot, OFF_EMAIL);
+                boolean emailAdded = emailKey != null && !Arrays.equals(oldEmail, emailKey);
+                if (emailAdded) {
+                    // Resizing rebuilds from the stored records, so it must happen before they change
+                    ensureCapacityForInsert();
+                }
+                if (oldEmail.length > 0 && (emailKey == null || !Arrays.equals(oldEmail, emailKey))) {
+                    index.remove(HashIndex.EMAIL_TABLE, oldEmail, slot);
+                }
+                writeRecord(slot, voter);
+                if (emailAdded) {
+                    index.insert(HashIndex.EMAIL_TABLE, emailKey, slot);
+                }
+            } else {
+                ensureCapacityForInsert();
+                slot = slotCount;
+                ensureSegments(slot + 1);
+                writeRecord(slot, voter);
+                index.insert(HashIndex.ID_TABLE, idKey, slot);
+                if (emailKey != null) {
+                    index.insert(HashIndex.EMAIL_TABLE, emailKey, slot);
+                }
+                slotCount++;
+                liveCount++;
+                dataHeader.putInt(HDR_SLOT_COUNT, slotCount);
+                dataHeader.putInt(HDR_LIVE_COUNT, liveCount);
+            }
+            return voter;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        if (voterId == null) {
+            return Optional.empty();
+        }
+        byte[] key = utf8(voterId);
+        lock.readLock().lock();
+        try {
+            int slot = index.find(HashIndex.ID_TABLE, key, this::recordIdMatches);
+            return slot >= 0 ? Optional.of(readRecord(slot)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        byte[] key = utf8(email);
+        lock.readLock().lock();
+        try {
+            int slot = index.find(HashIndex.EMAIL_TABLE, key, this::recordEmailMatches);
+            return slot >= 0 ? Optional.of(readRecord(slot)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Voter> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Voter> result = new ArrayList<>(liveCount);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (isLive(slot)) {
+                    result.add(readRecord(slot));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Pages follow record order, which is registration order; the cursor is the last record slot
+     */
+    @Override
+    public Page<Voter> findPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        int start;
+        try {
+            start = cursor == null ? 0 : Integer.parseInt(cursor) + 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        lock.readLock().lock();
+        try {
+            List<Voter> page = new ArrayList<>(Math.min(limit, 1024));
+            int lastSlot = -1;
+            for (int slot = start; slot < slotCount; slot++) {
+                if (!isLive(slot)) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    return new Page<>(page, Integer.toString(lastSlot));
+                }
+                page.add(readRecord(slot));
+                lastSlot = slot;
+            }
+            return new Page<>(page, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Voter> findByStatus(Voter.VoterStatus status) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            List<Voter> result = new ArrayList<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (isLive(slot) && segment(slot).get(offset(slot) + OFF_STATUS) == status.ordinal()) {
+                    result.add(readRecord(slot));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean deleteById(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        byte[] key = utf8(voterId);
+        lock.writeLock().lock();
+        try {
+            int slot = index.find(HashIndex.ID_TABLE, key, this::recordIdMatches);
+            if (slot < 0) {
+                return false;
+            }
+            byte[] email = readField(slot, OFF_EMAIL);
+            if (email.length > 0) {
+                index.remove(HashIndex.EMAIL_TABLE, email, slot);
+            }
+            index.remove(HashIndex.ID_TABLE, key, slot);
+            segment(slot).put(offset(slot) + OFF_FLAGS, (byte) (FLAG_IN_USE | FLAG_DELETED));
+            liveCount--;
+            dataHeader.putInt(HDR_LIVE_COUNT, liveCount);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean existsById(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        byte[] key = utf8(voterId);
+        lock.readLock().lock();
+        try {
+            return index.find(HashIndex.ID_TABLE, key, this::recordIdMatches) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean updateStatus(String voterId, Voter.VoterStatus status) {
+        if (voterId == null || status == null) {
+            return false;
+        }
+        return writeByteInPlace(voterId, OFF_STATUS, (byte) status.ordinal());
+    }
+    
+    @Override
+    public boolean markAsVoted(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        return writeByteInPlace(voterId, OFF_VOTED, (byte) 1);
+    }
+    
+    @Override
+    public boolean clearVoted(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        return writeByteInPlace(voterId, OFF_VOTED, (byte) 0);
+    }
+    
+    @Override
+    public int count() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Force all pending changes in the mapped files to storage
+     */
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            dataHeader.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            index.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            flush();
+            index.close();
+            dataChannel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Record access
+    private boolean writeByteInPlace(String voterId, int fieldOffset, byte value) {
+        byte[] key = utf8(voterId);
+        lock.writeLock().lock();
+        try {
+            int slot = index.find(HashIndex.ID_TABLE, key, this::recordIdMatches);
+            if (slot < 0) {
+                return false;
+            }
+            segment(slot).put(offset(slot) + fieldOffset, value);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void writeRecord(int slot, Voter voter) {
+        MappedByteBuffer buffer = segment(slot);
+        int base = offset(slot);
+        LocalDateTime registered = voter.getRegistrationDate() != null
+                ? voter.getRegistrationDate() : LocalDateTime.now();
+        putField(buffer, base + OFF_VOTER_ID, LEN_VOTER_ID, voter.getVoterId(), "voter ID");
+        putField(buffer, base + OFF_FIRST_NAME, LEN_FIRST_NAME, voter.getFirstName(), "first name");
+        putField(buffer, base + OFF_LAST_NAME, LEN_LAST_NAME, voter.getLastName(), "last name");
+        putField(buffer, base + OFF_EMAIL, LEN_EMAIL, voter.getEmail(), "email");
+        putField(buffer, base + OFF_PHONE, LEN_PHONE, voter.getPhoneNumber(), "phone number");
+        putField(buffer, base + OFF_PRECINCT, LEN_PRECINCT, voter.getPrecinctId(), "precinct");
+        buffer.putLong(base + OFF_REG_SECONDS, registered.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(base + OFF_REG_NANOS, registered.getNano());
+        buffer.put(base + OFF_STATUS, (byte) (voter.getStatus() != null ? voter.getStatus() : Voter.VoterStatus.ACTIVE).ordinal());
+        buffer.put(base + OFF_VOTED, (byte) (voter.hasVoted() ? 1 : 0));
+        // Flag last so a record is never visible half-written
+        buffer.put(base + OFF_FLAGS, FLAG_IN_USE);
+    }
+    
+    private Voter readRecord(int slot) {
+        MappedByteBuffer buffer = segment(slot);
+        int base = offset(slot);
+        Voter voter = new Voter(
+                getField(buffer, base + OFF_VOTER_ID),
+                getField(buffer, base + OFF_FIRST_NAME),
+                getField(buffer, base + OFF_LAST_NAME),
+                getField(buffer, base + OFF_EMAIL),
+                getField(buffer, base + OFF_PHONE));
+        voter.setRegistrationDate(LocalDateTime.ofEpochSecond(
+                buffer.getLong(base + OFF_REG_SECONDS), buffer.getInt(base + OFF_REG_NANOS), ZoneOffset.UTC));
+        voter.setStatus(STATUSES[buffer.get(base + OFF_STATUS)]);
+        voter.setHasVoted(buffer.get(base + OFF_VOTED) != 0);
+        voter.setPrecinctId(getField(buffer, base + OFF_PRECINCT));
+        return voter;
+    }
+    
+    private boolean isLive(int slot) {
+        return segment(slot).get(offset(slot) + OFF_FLAGS) == FLAG_IN_USE;
+    }
+    
+    private boolean recordIdMatches(int slot, byte[] key) {
+        return fieldEquals(slot, OFF_VOTER_ID, key);
+    }
+    
+    private boolean recordEmailMatches(int slot, byte[] key) {
+        return fieldEquals(slot, OFF_EMAIL, key);
+    }
+    
+    private boolean fieldEquals(int slot, int fieldOffset, byte[] key) {
+        MappedByteBuffer buffer = segment(slot);
+        int pos = offset(slot) + fieldOffset;
+        int length = buffer.getShort(pos);
+        if (length != key.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(pos + 2 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private byte[] readField(int slot, int fieldOffset) {
+        MappedByteBuffer buffer = segment(slot);
+        int pos = offset(slot) + fieldOffset;
+        byte[] bytes = new byte[buffer.getShort(pos)];
+        buffer.get(pos + 2, bytes);
+        return bytes;
+    }
+    
+    private static void putField(MappedByteBuffer buffer, int pos, int width, String value, String name) {
+        if (value == null) {
+            buffer.putShort(pos, (short) 0);
+            return;
+        }
+        byte[] bytes = utf8(value);
+        if (bytes.length > width - 2) {
+            throw new IllegalArgumentException("Voter " + name + " exceeds " + (width - 2) + " bytes");
+        }
+        buffer.putShort(pos, (short) bytes.length);
+        buffer.put(pos + 2, bytes);
+    }
+    
+    private static String getField(MappedByteBuffer buffer, int pos) {
+        int length = buffer.getShort(pos);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private MappedByteBuffer segment(int slot) {
+        return segments[slot / RECORDS_PER_SEGMENT];
+    }
+    
+    private static int offset(int slot) {
+        return (slot % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+    }
+    
+    private void ensureSegments(int slots) throws UncheckedIOException {
+        int needed = (slots + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT;
+        if (needed <= segments.length) {
+            return;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(segments, needed);
+        try {
+            for (int i = segments.length; i < needed; i++) {
+                grown[i] = dataChannel.map(FileChannel.MapMode.READ_WRITE,
+                        DATA_HEADER_SIZE + i * SEGMENT_BYTES, SEGMENT_BYTES);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map voter roll segment", e);
+        }
+        segments = grown;
+    }
+    
+    // Index maintenance
+    private void ensureCapacityForInsert() {
+        if (!index.needsResize()) {
+            return;
+        }
+        int capacity = index.capacity() * 2;
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Voter roll index is full");
+        }
+        Path indexPath = directory.resolve(INDEX_FILE);
+        Path tmpPath = directory.resolve(INDEX_FILE + ".tmp");
+        try {
+            Files.deleteIfExists(tmpPath);
+            HashIndex grown = HashIndex.create(tmpPath, capacity);
+            rebuildIndex(grown);
+            grown.force();
+            grown.close();
+            index.close();
+            Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index = HashIndex.open(indexPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resize voter roll index", e);
+        }
+    }
+    
+    private void rebuildIndex(HashIndex target) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (isLive(slot)) {
+                target.insert(HashIndex.ID_TABLE, readField(slot, OFF_VOTER_ID), slot);
+                byte[] email = readField(slot, OFF_EMAIL);
+                if (email.length > 0) {
+                    target.insert(HashIndex.EMAIL_TABLE, email, slot);
+                }
+            }
+        }
+    }
+    
+    private static int capacityFor(int slots) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < slots * 2 && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+    
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @FunctionalInterface
+    private interface SlotMatcher {
+        boolean matches(int slot, byte[] key);
+    }
+    
+    /**
+     * Persistent open-addressing hash tables mapping keys to record slots.
+     * Entries hold {@code slot + 1}; keys are verified against the record itself.
+     */
+    private static final class HashIndex {
+        static final int ID_TABLE = 0;
+        static final int EMAIL_TABLE = 1;
+        
+        private final FileChannel channel;
+        private final MappedByteBuffer header;
+        private final MappedByteBuffer[] tables;
+        private final int capacity;
+        private final int mask;
+        
+        private HashIndex(FileChannel channel, int capacity) throws IOException {
+            this.channel = channel;
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            long tableBytes = (long) capacity * Integer.BYTES;
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE);
+            this.tables = new MappedByteBuffer[] {
+                    channel.map(FileChannel.MapMode.READ_WRITE, INDEX_HEADER_SIZE, tableBytes),
+                    channel.map(FileChannel.MapMode.READ_WRITE, INDEX_HEADER_SIZE + tableBytes, tableBytes)
+            };
+        }
+        
+        static HashIndex create(Path path, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            HashIndex index = new HashIndex(channel, capacity);
+            index.header.putInt(0, INDEX_MAGIC);
+            index.header.putInt(4, FORMAT_VERSION);
+            index.header.putInt(8, capacity);
+            return index;
+        }
+        
+        static HashIndex open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, INDEX_HEADER_SIZE);
+            if (header.getInt(0) != INDEX_MAGIC) {
+                channel.close();
+                throw new IOException("Not a voter roll index file: " + path);
+            }
+            return new HashIndex(channel, header.getInt(8));
+        }
+        
+        int capacity() {
+            return capacity;
+        }
+        
+        boolean needsResize() {
+            // Keep both tables at most half full, counting tombstones
+            int used = Math.max(header.getInt(12 + ID_TABLE * 4), header.getInt(12 + EMAIL_TABLE * 4));
+            return (used + 1) * 2 > capacity;
+        }
+        
+        int find(int table, byte[] key, SlotMatcher matcher) {
+            MappedByteBuffer buffer = tables[table];
+            int i = hash(key) & mask;
+            while (true) {
+                int entry = buffer.getInt(i * Integer.BYTES);
+                if (entry == EMPTY) {
+                    return -1;
+                }
+                if (entry != TOMBSTONE && matcher.matches(entry - 1, key)) {
+                    return entry - 1;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+        
+        void insert(int table, byte[] key, int slot) {
+            MappedByteBuffer buffer = tables[table];
+            int i = hash(key) & mask;
+            while (buffer.getInt(i * Integer.BYTES) > 0) {
+                i = (i + 1) & mask;
+            }
+            if (buffer.getInt(i * Integer.BYTES) == EMPTY) {
+                int countOffset = 12 + table * 4;
+                header.putInt(countOffset, header.getInt(countOffset) + 1);
+            }
+            buffer.putInt(i * Integer.BYTES, slot + 1);
+        }
+        
+        void remove(int table, byte[] key, int slot) {
+            MappedByteBuffer buffer = tables[table];
+            int i = hash(key) & mask;
+            while (true) {
+                int entry = buffer.getInt(i * Integer.BYTES);
+                if (entry == EMPTY) {
+                    return;
+                }
+                if (entry == slot + 1) {
+                    buffer.putInt(i * Integer.BYTES, TOMBSTONE);
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+        
+        void force() {
+            header.force();
+            tables[ID_TABLE].force();
+            tables[EMAIL_TABLE].force();
+        }
+        
+        void close() throws IOException {
+            channel.close();
+        }
+        
+        private static int hash(byte[] key) {
+            int h = Arrays.hashCode(key);
+            // Murmur3 finalizer to spread sequential IDs across the table
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+    }
+}
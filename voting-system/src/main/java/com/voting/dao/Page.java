@@ -0,0 +1,109 @@
+package com.voting.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * One page of a keyset-paginated listing. The cursor is opaque to callers:
+ * pass {@link #getNextCursor()} back to fetch the following page.
+ * @param <T> The element type
+ */
+public final class Page<T> {
+    
+    private final List<T> items;
+    private final String nextCursor;
+    
+    public Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    /**
+     * Cursor for the next page
+     * @return The cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+    
+    /**
+     * Page through a map sorted by ID, starting after the cursor key
+     * @param map The sorted map
+     * @param afterKey The last key of the previous page, or null for the first page
+     * @param limit Maximum number of items on the page
+     * @return The page
+     */
+    public static <T> Page<T> fromSorted(NavigableMap<String, T> map, String afterKey, int limit) {
+        checkLimit(limit);
+        NavigableMap<String, T> tail = afterKey == null ? map : map.tailMap(afterKey, false);
+        List<T> items = new ArrayList<>(Math.min(limit, 1024));
+        String lastKey = null;
+        for (Map.Entry<String, T> entry : tail.entrySet()) {
+            if (items.size() == limit) {
+                return new Page<>(items, lastKey);
+            }
+            items.add(entry.getValue());
+            lastKey = entry.getKey();
+        }
+        return new Page<>(items, null);
+    }
+    
+    /**
+     * Lazily stream every item by fetching one page at a time, so memory use is
+     * bounded by the page size rather than the collection size
+     * @param fetch Fetches the page after the given cursor (null for the first page)
+     * @return A sequential stream over all pages
+     */
+    public static <T> Stream<T> stream(Function<String, Page<T>> fetch) {
+        Iterator<T> iterator = new Iterator<T>() {
+            private Page<T> page = fetch.apply(null);
+            private int position;
+            
+            @Override
+            public boolean hasNext() {
+                while (position == page.items.size()) {
+                    if (!page.hasNext()) {
+                        return false;
+                    }
+                    page = fetch.apply(page.nextCursor);
+                    position = 0;
+                }
+                return true;
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.items.get(position++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+    }
+}
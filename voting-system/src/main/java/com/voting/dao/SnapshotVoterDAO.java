@@ -0,0 +1,212 @@
+package com.voting.dao;
+
+import com.voting.model.Voter;
+import com.voting.snapshot.VotingSnapshot;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * VoterDAO serving a voter roll restored from a snapshot.
+ *
+ * The store is usable as soon as it is constructed: a point lookup decodes the
+ * voter from the mapped snapshot and keeps it on the heap, while a background
+ * thread copies the rest of the roll into an in-memory store. Operations that
+ * need the whole roll (listings, paging, status queries) wait for that copy to
+ * finish; once it has, the snapshot is no longer consulted.
+ */
+public class SnapshotVoterDAO implements VoterDAO {
+    
+    private final VotingSnapshot snapshot;
+    private final VoterDAOImpl heap = new VoterDAOImpl();
+    // Snapshot voters deleted before hydration reached them
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    // Voters saved since the snapshot that it does not contain
+    private final AtomicInteger added = new AtomicInteger();
+    private final CountDownLatch hydrated = new CountDownLatch(1);
+    private volatile boolean hydrationDone;
+    private volatile RuntimeException hydrationFailure;
+    
+    /**
+     * Serve the voter roll from a snapshot and start hydrating it in the background
+     * @param snapshot The opened snapshot
+     */
+    public SnapshotVoterDAO(VotingSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Snapshot cannot be null");
+        }
+        this.snapshot = snapshot;
+        Thread hydrator = new Thread(this::hydrate, "voter-hydrator");
+        hydrator.setDaemon(true);
+        hydrator.start();
+    }
+    
+    /**
+     * Whether every snapshot voter has been copied to the heap
+     */
+    public boolean isHydrated() {
+        return hydrationDone;
+    }
+    
+    /**
+     * Block until the whole roll is on the heap
+     */
+    public void awaitHydration() {
+        try {
+            hydrated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the voter roll", e);
+        }
+        if (hydrationFailure != null) {
+            throw new IllegalStateException("Voter roll could not be loaded from " + snapshot.getPath(),
+                    hydrationFailure);
+        }
+    }
+    
+    @Override
+    public Voter save(Voter voter) {
+        if (voter == null || voter.getVoterId() == null) {
+            throw new IllegalArgumentException("Voter and voter ID cannot be null");
+        }
+        if (!hydrationDone) {
+            String voterId = voter.getVoterId();
+            if (snapshot.findVoter(voterId) < 0) {
+                if (!heap.existsById(voterId)) {
+                    added.incrementAndGet();
+                }
+            } else {
+                deleted.remove(voterId);
+            }
+        }
+        return heap.save(voter);
+    }
+    
+    @Override
+    public Optional<Voter> findById(String voterId) {
+        if (voterId == null) {
+            return Optional.empty();
+        }
+        Optional<Voter> voter = heap.findById(voterId);
+        if (voter.isPresent() || hydrationDone || deleted.contains(voterId)) {
+            return voter;
+        }
+        long record = snapshot.findVoter(voterId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        // The first reader installs the decoded voter; everyone else gets that instance
+        Voter loaded = heap.saveIfAbsent(snapshot.readVoter(record));
+        if (deleted.contains(voterId)) {
+            heap.deleteById(voterId);
+            return Optional.empty();
+        }
+        return Optional.of(loaded);
+    }
+    
+    @Override
+    public Optional<Voter> findByEmail(String email) {
+        Optional<Voter> voter = heap.findByEmail(email);
+        if (voter.isPresent() || hydrationDone) {
+            return voter;
+        }
+        long record = snapshot.findVoterByEmail(email);
+        return record < 0 ? Optional.empty() : findById(snapshot.readVoterId(record));
+    }
+    
+    @Override
+    public List<Voter> findAll() {
+        awaitHydration();
+        return heap.findAll();
+    }
+    
+    @Override
+    public Page<Voter> findPage(String cursor, int limit) {
+        awaitHydration();
+        return heap.findPage(cursor, limit);
+    }
+    
+    @Override
+    public Stream<Voter> streamAll() {
+        awaitHydration();
+        return heap.streamAll();
+    }
+    
+    @Override
+    public int count() {
+        if (hydrationDone) {
+            return heap.count();
+        }
+        return snapshot.getVoterCount() + added.get() - deleted.size();
+    }
+    
+    @Override
+    public List<Voter> findByStatus(Voter.VoterStatus status) {
+        awaitHydration();
+        return heap.findByStatus(status);
+    }
+    
+    @Override
+    public boolean deleteById(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        if (hydrationDone) {
+            return heap.deleteById(voterId);
+        }
+        boolean inSnapshot = snapshot.findVoter(voterId) >= 0;
+        boolean newlyDeleted = inSnapshot && deleted.add(voterId);
+        boolean removed = heap.deleteById(voterId);
+        if (removed && !inSnapshot) {
+            added.decrementAndGet();
+        }
+        return newlyDeleted || removed;
+    }
+    
+    @Override
+    public boolean existsById(String voterId) {
+        return findById(voterId).isPresent();
+    }
+    
+    @Override
+    public boolean updateStatus(String voterId, Voter.VoterStatus status) {
+        // Loading the voter first makes the heap copy the one that is changed
+        return findById(voterId).isPresent() && heap.updateStatus(voterId, status);
+    }
+    
+    @Override
+    public boolean markAsVoted(String voterId) {
+        return findById(voterId).isPresent() && heap.markAsVoted(voterId);
+    }
+    
+    @Override
+    public boolean clearVoted(String voterId) {
+        return findById(voterId).isPresent() && heap.clearVoted(voterId);
+    }
+    
+    private void hydrate() {
+        try {
+            int voterCount = snapshot.getVoterCount();
+            for (long record = 0; record < voterCount; record++) {
+                String voterId = snapshot.readVoterId(record);
+                if (deleted.contains(voterId)) {
+                    continue;
+                }
+                heap.saveIfAbsent(snapshot.readVoter(record));
+                // A delete that raced with the copy above wins
+                if (deleted.contains(voterId)) {
+                    heap.deleteById(voterId);
+                }
+            }
+        } catch (RuntimeException e) {
+            hydrationFailure = e;
+        } finally {
+            hydrationDone = hydrationFailure == null;
+            hydrated.countDown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.voting.dao;
+
+import com.voting.model.Vote;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data Access Object interface for Vote operations
+ */
+public interface VoteDAO {
+    
+    /**
+     * Save a vote
+     * @param vote The vote to save
+     * @return The saved vote
+     */
+    Vote save(Vote vote);
+    
+    /**
+     * Save several votes in one operation
+     * @param votes The votes to save
+     */
+    void saveAll(List<Vote> votes);
+    
+    /**
+     * Find vote by ID
+     * @param voteId The vote ID
+     * @return Optional containing the vote if found
+     */
+    Optional<Vote> findById(String voteId);
+    
+    /**
+     * Get all votes cast by a voter
+     * @param voterId The voter ID
+     * @return List of the voter's votes
+     */
+    List<Vote> findByVoter(String voterId);
+    
+    /**
+     * Get all votes cast in an election
+     * @param electionId The election ID
+     * @return List of votes in the election
+     */
+    List<Vote> findByElection(String electionId);
+    
+    /**
+     * Count votes cast in an election
+     * @param electionId The election ID
+     * @return The number of votes in the election
+     */
+    int countByElection(String electionId);
+    
+    /**
+     * Count all votes
+     * @return The number of votes
+     */
+    int count();
+}
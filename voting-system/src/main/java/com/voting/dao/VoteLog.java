@@ -0,0 +1,206 @@
+package com.voting.dao;
+
+import com.voting.model.Vote;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, in-memory log of votes in commit order. A vote's position in the
+ * log is its sequence number, so "every vote before position n" is a consistent
+ * cut that later appends never disturb. Storage is split into fixed segments so
+ * the log grows without copying.
+ *
+ * A log restored from a snapshot starts with a prefix of positions whose votes are
+ * decoded on first access rather than up front.
+ */
+public class VoteLog {
+    
+    private static final int DEFAULT_SEGMENT_BITS = 16;
+    private static final int INITIAL_SEGMENTS = 16;
+    
+    private final int segmentBits;
+    private final int segmentMask;
+    private final AtomicLong size = new AtomicLong();
+    // Positions below restoredCount are filled from the loader when first read
+    private final long restoredCount;
+    private final LongFunction<Vote> loader;
+    // Replaced only under the log's monitor, when a segment is installed or the directory grows
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Vote>> segments =
+            new AtomicReferenceArray<>(INITIAL_SEGMENTS);
+    
+    public VoteLog() {
+        this(DEFAULT_SEGMENT_BITS);
+    }
+    
+    /**
+     * Create a log with a given segment size; small segments suit many short logs
+     * @param segmentBits Log2 of the number of votes per segment
+     */
+    public VoteLog(int segmentBits) {
+        this(segmentBits, 0, null);
+    }
+    
+    /**
+     * Create a log whose first votes live elsewhere and are loaded lazily
+     * @param restoredCount Number of votes already in the log
+     * @param loader Decodes the vote at a sequence number below restoredCount
+     */
+    public VoteLog(long restoredCount, LongFunction<Vote> loader) {
+        this(DEFAULT_SEGMENT_BITS, restoredCount, loader);
+        if (loader == null) {
+            throw new IllegalArgumentException("Vote loader cannot be null");
+        }
+    }
+    
+    private VoteLog(int segmentBits, long restoredCount, LongFunction<Vote> loader) {
+        if (segmentBits < 4 || segmentBits > 20) {
+            throw new IllegalArgumentException("Segment bits must be between 4 and 20");
+        }
+        if (restoredCount < 0) {
+            throw new IllegalArgumentException("Restored count cannot be negative");
+        }
+        this.segmentBits = segmentBits;
+        this.segmentMask = (1 << segmentBits) - 1;
+        this.restoredCount = restoredCount;
+        this.loader = loader;
+        this.size.set(restoredCount);
+    }
+    
+    /**
+     * Append a vote
+     * @param vote The vote
+     * @return The vote's sequence number
+     */
+    public long append(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+        long sequence = size.getAndIncrement();
+        long segmentIndex = sequence >>> segmentBits;
+        if (segmentIndex >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vote log is full");
+        }
+        AtomicReferenceArray<Vote> segment = segment((int) segmentIndex);
+        if (segment == null) {
+            segment = installSegment((int) segmentIndex);
+        }
+        segment.set((int) (sequence & segmentMask), vote);
+        return sequence;
+    }
+    
+    /**
+     * Append several votes at consecutive sequence numbers
+     * @param votes The votes, in order
+     * @return The sequence number of the first vote
+     */
+    public long appendAll(List<Vote> votes) {
+        if (votes == null || votes.isEmpty()) {
+            throw new IllegalArgumentException("Votes cannot be empty");
+        }
+        for (Vote vote : votes) {
+            if (vote == null) {
+                throw new IllegalArgumentException("Vote cannot be null");
+            }
+        }
+        long first = size.getAndAdd(votes.size());
+        if (((first + votes.size() - 1) >>> segmentBits) >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vote log is full");
+        }
+        long sequence = first;
+        for (Vote vote : votes) {
+            int segmentIndex = (int) (sequence >>> segmentBits);
+            AtomicReferenceArray<Vote> segment = segment(segmentIndex);
+            if (segment == null) {
+                segment = installSegment(segmentIndex);
+            }
+            segment.set((int) (sequence & segmentMask), vote);
+            sequence++;
+        }
+        return first;
+    }
+    
+    /**
+     * Get the vote at a sequence number
+     * @param sequence The sequence number
+     * @return The vote, or null if that position is still being written
+     */
+    public Vote get(long sequence) {
+        if (sequence < 0 || sequence >= size.get()) {
+            throw new IndexOutOfBoundsException("No vote at sequence " + sequence);
+        }
+        AtomicReferenceArray<Vote> segment = segment((int) (sequence >>> segmentBits));
+        Vote vote = segment != null ? segment.get((int) (sequence & segmentMask)) : null;
+        if (vote == null && sequence < restoredCount) {
+            vote = load(sequence, segment);
+        }
+        return vote;
+    }
+    
+    /**
+     * Number of votes the log started with
+     * @return The restored prefix length
+     */
+    public long restoredCount() {
+        return restoredCount;
+    }
+    
+    /**
+     * Number of sequence numbers handed out so far
+     * @return The log size
+     */
+    public long size() {
+        return size.get();
+    }
+    
+    /**
+     * Stream the votes in sequence order, skipping positions still being written
+     * @return Stream over the log as of this call
+     */
+    public Stream<Vote> stream() {
+        return LongStream.range(0, size.get())
+                .mapToObj(this::get)
+                .filter(Objects::nonNull);
+    }
+    
+    private Vote load(long sequence, AtomicReferenceArray<Vote> segment) {
+        if (segment == null) {
+            segment = installSegment((int) (sequence >>> segmentBits));
+        }
+        Vote decoded = loader.apply(sequence);
+        int slot = (int) (sequence & segmentMask);
+        // Concurrent first reads decode twice but all callers see the same instance
+        return segment.compareAndSet(slot, null, decoded) ? decoded : segment.get(slot);
+    }
+    
+    private AtomicReferenceArray<Vote> segment(int segmentIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<Vote>> directory = segments;
+        return segmentIndex < directory.length() ? directory.get(segmentIndex) : null;
+    }
+    
+    private synchronized AtomicReferenceArray<Vote> installSegment(int segmentIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<Vote>> directory = segments;
+        if (segmentIndex >= directory.length()) {
+            int length = directory.length();
+            while (length <= segmentIndex) {
+                length = length > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : length * 2;
+            }
+            AtomicReferenceArray<AtomicReferenceArray<Vote>> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < directory.length(); i++) {
+                grown.set(i, directory.get(i));
+            }
+            directory = grown;
+            segments = grown;
+        }
+        AtomicReferenceArray<Vote> segment = directory.get(segmentIndex);
+        if (segment == null) {
+            segment = new AtomicReferenceArray<>(1 << segmentBits);
+            directory.set(segmentIndex, segment);
+        }
+        return segment;
+    }
+}
@@ -3,6 +3,7 @@ package com.voting.dao;
 import com.voting.model.Voter;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object interface for Voter operations
@@ -16,6 +17,16 @@ public interface VoterDAO {
      */
     Voter save(Voter voter);
     
+    /**
+     * Save several voters in one operation
+     * @param voters The voters to save
+     */
+    default void saveAll(List<Voter> voters) {
+        for (Voter voter : voters) {
+            save(voter);
+        }
+    }
+    
     /**
      * Find voter by ID
      * @param voterId The voter ID
@@ -36,6 +47,28 @@ public interface VoterDAO {
      */
     List<Voter> findAll();
     
+    /**
+     * Get one page of voters in a stable order
+     * @param cursor The cursor from the previous page, or null for the first page
+     * @param limit Maximum number of voters to return
+     * @return The page of voters
+     */
+    Page<Voter> findPage(String cursor, int limit);
+    
+    /**
+     * Lazily iterate over all voters, one page at a time
+     * @return Stream of all voters in the same order as {@link #findPage(String, int)}
+     */
+    default Stream<Voter> streamAll() {
+        return Page.stream(cursor -> findPage(cursor, 1000));
+    }
+    
+    /**
+     * Count all voters without loading them
+     * @return The number of voters
+     */
+    int count();
+    
     /**
      * Get voters by status
      * @param status The voter status
@@ -71,4 +104,11 @@ public interface VoterDAO {
      * @return true if updated successfully
      */
     boolean markAsVoted(String voterId);
+    
+    /**
+     * Mark voter as not having voted, after their last valid vote was retracted
+     * @param voterId The voter ID
+     * @return true if updated successfully
+     */
+    boolean clearVoted(String voterId);
 }
\ No newline at end of file
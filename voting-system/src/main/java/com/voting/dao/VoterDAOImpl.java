@@ -3,6 +3,7 @@ package com.voting.dao;
 import com.voting.model.Voter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
 
 /**
@@ -11,6 +12,8 @@ import java.util.stream.Collectors;
 public class VoterDAOImpl implements VoterDAO {
     
     private final Map<String, Voter> voters = new ConcurrentHashMap<>();
+    // Sorted view of the IDs for keyset pagination; lookups stay on the hash map
+    private final NavigableSet<String> voterIds = new ConcurrentSkipListSet<>();
     
     @Override
     public Voter save(Voter voter) {
@@ -18,6 +21,24 @@ public class VoterDAOImpl implements VoterDAO {
             throw new IllegalArgumentException("Voter and voter ID cannot be null");
         }
         voters.put(voter.getVoterId(), voter);
+        voterIds.add(voter.getVoterId());
+        return voter;
+    }
+    
+    /**
+     * Store a voter unless one with the same ID is already present
+     * @param voter The voter
+     * @return The stored voter: the existing one if the ID was taken, otherwise the given one
+     */
+    public Voter saveIfAbsent(Voter voter) {
+        if (voter == null || voter.getVoterId() == null) {
+            throw new IllegalArgumentException("Voter and voter ID cannot be null");
+        }
+        Voter existing = voters.putIfAbsent(voter.getVoterId(), voter);
+        if (existing != null) {
+            return existing;
+        }
+        voterIds.add(voter.getVoterId());
         return voter;
     }
     
@@ -44,6 +65,31 @@ public class VoterDAOImpl implements VoterDAO {
         return new ArrayList<>(voters.values());
     }
     
+    @Override
+    public Page<Voter> findPage(String cursor, int limit) {
+        Page.checkLimit(limit);
+        Set<String> tail = cursor == null ? voterIds : voterIds.tailSet(cursor, false);
+        List<Voter> page = new ArrayList<>(Math.min(limit, 1024));
+        String lastId = null;
+        for (String voterId : tail) {
+            Voter voter = voters.get(voterId);
+            if (voter == null) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new Page<>(page, lastId);
+            }
+            page.add(voter);
+            lastId = voterId;
+        }
+        return new Page<>(page, null);
+    }
+    
+    @Override
+    public int count() {
+        return voters.size();
+    }
+    
     @Override
     public List<Voter> findByStatus(Voter.VoterStatus status) {
         if (status == null) {
@@ -59,6 +105,7 @@ public class VoterDAOImpl implements VoterDAO {
         if (voterId == null) {
             return false;
         }
+        voterIds.remove(voterId);
         return voters.remove(voterId) != null;
     }
     
@@ -93,6 +140,19 @@ public class VoterDAOImpl implements VoterDAO {
         return false;
     }
     
+    @Override
+    public boolean clearVoted(String voterId) {
+        if (voterId == null) {
+            return false;
+        }
+        Voter voter = voters.get(voterId);
+        if (voter != null) {
+            voter.setHasVoted(false);
+            return true;
+        }
+        return false;
+    }
+    
     /**
      * Get the total number of voters
      * @return The count of voters
@@ -106,5 +166,6 @@ public class VoterDAOImpl implements VoterDAO {
      */
     public void clear() {
         voters.clear();
+        voterIds.clear();
     }
 }
\ No newline at end of file
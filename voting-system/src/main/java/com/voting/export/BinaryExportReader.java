@@ -0,0 +1,135 @@
+package com.voting.export;
+
+import com.voting.model.Vote;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sequential reader for files written in {@link ExportFormat#BINARY}.
+ *
+ * The file starts with a magic number, a format version and the record type;
+ * records follow back to back until the end of the file. Strings are an int
+ * byte length (-1 for null) followed by UTF-8, times are UTC epoch seconds and
+ * nanoseconds, and all numbers are big-endian.
+ */
+public final class BinaryExportReader implements Closeable {
+    
+    private final DataInputStream in;
+    private final int recordType;
+    
+    private BinaryExportReader(DataInputStream in, int recordType) {
+        this.in = in;
+        this.recordType = recordType;
+    }
+    
+    /**
+     * Open a binary export and read its header
+     * @param path The export file
+     * @return The reader, positioned at the first record
+     * @throws IOException if the file cannot be read or is not a binary export
+     */
+    public static BinaryExportReader open(Path path) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+        try {
+            if (in.readInt() != RecordEncoder.BINARY_MAGIC) {
+                throw new IOException("Not a binary export: " + path);
+            }
+            int version = in.readInt();
+            if (version != RecordEncoder.BINARY_VERSION) {
+                throw new IOException("Unsupported export version " + version + ": " + path);
+            }
+            return new BinaryExportReader(in, in.readInt());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    public boolean containsVotes() {
+        return recordType == RecordEncoder.BINARY_VOTES;
+    }
+    
+    public boolean containsResults() {
+        return recordType == RecordEncoder.BINARY_RESULTS;
+    }
+    
+    /**
+     * @return The next vote, or null at the end of the file
+     * @throws IOException if the file cannot be read or holds results rather than votes
+     */
+    public Vote readVote() throws IOException {
+        if (!containsVotes()) {
+            throw new IOException("Export does not contain votes");
+        }
+        String voteId;
+        try {
+            voteId = readString(in.readInt());
+        } catch (EOFException e) {
+            return null;
+        }
+        Vote vote = new Vote(voteId, readString(), readString(), readString());
+        vote.setPrecinctId(readString());
+        vote.setTimestamp(readTime());
+        vote.setValid(in.readByte() != 0);
+        int rankingSize = in.readInt();
+        if (rankingSize >= 0) {
+            List<String> ranking = new ArrayList<>(rankingSize);
+            for (int i = 0; i < rankingSize; i++) {
+                ranking.add(readString());
+            }
+            vote.setRankedCandidateIds(ranking);
+        }
+        return vote;
+    }
+    
+    /**
+     * @return The next result row, or null at the end of the file
+     * @throws IOException if the file cannot be read or holds votes rather than results
+     */
+    public ResultRecord readResult() throws IOException {
+        if (!containsResults()) {
+            throw new IOException("Export does not contain results");
+        }
+        String electionId;
+        try {
+            electionId = readString(in.readInt());
+        } catch (EOFException e) {
+            return null;
+        }
+        return new ResultRecord(electionId, readString(), readString(), readString(), readString(), in.readInt());
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    private String readString() throws IOException {
+        return readString(in.readInt());
+    }
+    
+    private String readString(int length) throws IOException {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private LocalDateTime readTime() throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return seconds == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,269 @@
+package com.voting.export;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that one encoder thread fills with a chunk of records.
+ * Text is written straight into the array as UTF-8, without intermediate strings.
+ */
+final class ExportBuffer {
+    
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    
+    private byte[] bytes;
+    private int length;
+    
+    ExportBuffer(int initialCapacity) {
+        this.bytes = new byte[initialCapacity];
+    }
+    
+    byte[] array() {
+        return bytes;
+    }
+    
+    int length() {
+        return length;
+    }
+    
+    void clear() {
+        length = 0;
+    }
+    
+    void writeByte(int value) {
+        ensure(1);
+        bytes[length++] = (byte) value;
+    }
+    
+    void writeAscii(String text) {
+        int count = text.length();
+        ensure(count);
+        for (int i = 0; i < count; i++) {
+            bytes[length++] = (byte) text.charAt(i);
+        }
+    }
+    
+    // Text formats
+    
+    /**
+     * Write a string as UTF-8 with no escaping
+     */
+    void writeText(String text) {
+        int count = text.length();
+        ensure(count);
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Room was reserved for one byte per char, which no longer holds
+                for (; i < count; i++) {
+                    c = text.charAt(i);
+                    if (c < 0x80) {
+                        writeByte(c);
+                    } else {
+                        i = writeNonAscii(text, i);
+                    }
+                }
+                return;
+            }
+            bytes[length++] = (byte) c;
+        }
+    }
+    
+    /**
+     * Write a CSV field, quoting it only if it contains a delimiter, quote or line break
+     */
+    void writeCsvField(String text) {
+        if (text == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writeText(text);
+            return;
+        }
+        writeByte('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writeByte('"');
+                writeByte('"');
+            } else if (c < 0x80) {
+                writeByte(c);
+            } else {
+                i = writeNonAscii(text, i);
+            }
+        }
+        writeByte('"');
+    }
+    
+    /**
+     * Write a JSON string literal, or null
+     */
+    void writeJsonString(String text) {
+        if (text == null) {
+            writeAscii("null");
+            return;
+        }
+        writeByte('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                writeByte('\\');
+                writeByte(c);
+            } else if (c < 0x20) {
+                writeAscii("\\u00");
+                writeByte(HEX[c >> 4]);
+                writeByte(HEX[c & 0xF]);
+            } else if (c < 0x80) {
+                writeByte(c);
+            } else {
+                i = writeNonAscii(text, i);
+            }
+        }
+        writeByte('"');
+    }
+    
+    void writeDecimal(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        ensure(19);
+        int start = length;
+        do {
+            bytes[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Digits were written least significant first
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte swap = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = swap;
+        }
+    }
+    
+    /**
+     * Write a timestamp in ISO-8601 form with all nine fraction digits, which
+     * {@link LocalDateTime#parse(CharSequence)} reads back exactly
+     */
+    void writeIsoTime(LocalDateTime time) {
+        ensure(29);
+        writeDigits(time.getYear(), 4);
+        bytes[length++] = '-';
+        writeDigits(time.getMonthValue(), 2);
+        bytes[length++] = '-';
+        writeDigits(time.getDayOfMonth(), 2);
+        bytes[length++] = 'T';
+        writeDigits(time.getHour(), 2);
+        bytes[length++] = ':';
+        writeDigits(time.getMinute(), 2);
+        bytes[length++] = ':';
+        writeDigits(time.getSecond(), 2);
+        bytes[length++] = '.';
+        writeDigits(time.getNano(), 9);
+    }
+    
+    private void writeDigits(int value, int width) {
+        for (int i = length + width - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += width;
+    }
+    
+    // Binary format, big-endian like DataOutput
+    
+    void writeInt(int value) {
+        ensure(4);
+        bytes[length++] = (byte) (value >>> 24);
+        bytes[length++] = (byte) (value >>> 16);
+        bytes[length++] = (byte) (value >>> 8);
+        bytes[length++] = (byte) value;
+    }
+    
+    void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+    
+    /**
+     * Write a length-prefixed UTF-8 string; a length of -1 stands for null
+     */
+    void writeString(String text) {
+        if (text == null) {
+            writeInt(-1);
+            return;
+        }
+        int lengthAt = length;
+        writeInt(0);
+        writeText(text);
+        int byteCount = length - lengthAt - 4;
+        bytes[lengthAt] = (byte) (byteCount >>> 24);
+        bytes[lengthAt + 1] = (byte) (byteCount >>> 16);
+        bytes[lengthAt + 2] = (byte) (byteCount >>> 8);
+        bytes[lengthAt + 3] = (byte) byteCount;
+    }
+    
+    /**
+     * Write a timestamp as UTC epoch seconds and nanoseconds; null is Long.MIN_VALUE seconds
+     */
+    void writeTime(LocalDateTime time) {
+        if (time == null) {
+            writeLong(Long.MIN_VALUE);
+            writeInt(0);
+        } else {
+            writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            writeInt(time.getNano());
+        }
+    }
+    
+    /**
+     * Encode the non-ASCII character at index i
+     * @return The index of the last char consumed
+     */
+    private int writeNonAscii(String text, int i) {
+        ensure(4);
+        char c = text.charAt(i);
+        if (c < 0x800) {
+            bytes[length++] = (byte) (0xC0 | (c >> 6));
+            bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            return i;
+        }
+        if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+            bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+            bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            return i + 1;
+        }
+        if (Character.isSurrogate(c)) {
+            // Unpaired surrogate, replaced as String.getBytes would
+            bytes[length++] = '?';
+            return i;
+        }
+        bytes[length++] = (byte) (0xE0 | (c >> 12));
+        bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[length++] = (byte) (0x80 | (c & 0x3F));
+        return i;
+    }
+    
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) {
+            long wanted = Math.max((long) bytes.length * 2, (long) length + extra);
+            if (wanted > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Export chunk is too large");
+            }
+            bytes = Arrays.copyOf(bytes, (int) wanted);
+        }
+    }
+}
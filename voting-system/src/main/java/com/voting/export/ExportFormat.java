@@ -0,0 +1,26 @@
+package com.voting.export;
+
+/**
+ * File formats for bulk export
+ */
+public enum ExportFormat {
+    /** Comma-separated values with a header row (RFC 4180 quoting) */
+    CSV("csv"),
+    /** One JSON object per line */
+    JSON_LINES("jsonl"),
+    /** Length-prefixed binary records after a short header; see {@link BinaryExportReader} */
+    BINARY("bin");
+    
+    private final String extension;
+    
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+    
+    /**
+     * Conventional file extension, without the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
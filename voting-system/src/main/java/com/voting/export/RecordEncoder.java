@@ -0,0 +1,194 @@
+package com.voting.export;
+
+import com.voting.model.Vote;
+import java.util.List;
+
+/**
+ * Encodes records of one type in one export format. Encoders are stateless, so
+ * one instance serves every chunk-encoding thread.
+ */
+abstract class RecordEncoder<T> {
+    
+    static final int BINARY_MAGIC = 0x56455850;  // "VEXP"
+    static final int BINARY_VERSION = 1;
+    static final int BINARY_VOTES = 1;
+    static final int BINARY_RESULTS = 2;
+    
+    abstract void writeHeader(ExportBuffer out);
+    
+    abstract void encode(T record, ExportBuffer out);
+    
+    static RecordEncoder<Vote> votes(ExportFormat format) {
+        return switch (format) {
+            case CSV -> new RecordEncoder<>() {
+                @Override
+                void writeHeader(ExportBuffer out) {
+                    out.writeAscii("vote_id,voter_id,candidate_id,election_id,precinct_id,cast_at,valid,ranking\n");
+                }
+                
+                @Override
+                void encode(Vote vote, ExportBuffer out) {
+                    out.writeCsvField(vote.getVoteId());
+                    out.writeByte(',');
+                    out.writeCsvField(vote.getVoterId());
+                    out.writeByte(',');
+                    out.writeCsvField(vote.getCandidateId());
+                    out.writeByte(',');
+                    out.writeCsvField(vote.getElectionId());
+                    out.writeByte(',');
+                    out.writeCsvField(vote.getPrecinctId());
+                    out.writeByte(',');
+                    if (vote.getTimestamp() != null) {
+                        out.writeIsoTime(vote.getTimestamp());
+                    }
+                    out.writeByte(',');
+                    out.writeAscii(vote.isValid() ? "true" : "false");
+                    out.writeByte(',');
+                    // Preferences separated by spaces, which candidate IDs never contain
+                    List<String> ranking = vote.getRankedCandidateIds();
+                    if (ranking != null) {
+                        out.writeCsvField(String.join(" ", ranking));
+                    }
+                    out.writeByte('\n');
+                }
+            };
+            case JSON_LINES -> new RecordEncoder<>() {
+                @Override
+                void writeHeader(ExportBuffer out) {
+                }
+                
+                @Override
+                void encode(Vote vote, ExportBuffer out) {
+                    out.writeAscii("{\"voteId\":");
+                    out.writeJsonString(vote.getVoteId());
+                    out.writeAscii(",\"voterId\":");
+                    out.writeJsonString(vote.getVoterId());
+                    out.writeAscii(",\"candidateId\":");
+                    out.writeJsonString(vote.getCandidateId());
+                    out.writeAscii(",\"electionId\":");
+                    out.writeJsonString(vote.getElectionId());
+                    out.writeAscii(",\"precinctId\":");
+                    out.writeJsonString(vote.getPrecinctId());
+                    out.writeAscii(",\"castAt\":");
+                    if (vote.getTimestamp() != null) {
+                        out.writeByte('"');
+                        out.writeIsoTime(vote.getTimestamp());
+                        out.writeByte('"');
+                    } else {
+                        out.writeAscii("null");
+                    }
+                    out.writeAscii(vote.isValid() ? ",\"valid\":true" : ",\"valid\":false");
+                    List<String> ranking = vote.getRankedCandidateIds();
+                    if (ranking != null) {
+                        out.writeAscii(",\"ranking\":[");
+                        for (int i = 0; i < ranking.size(); i++) {
+                            if (i > 0) {
+                                out.writeByte(',');
+                            }
+                            out.writeJsonString(ranking.get(i));
+                        }
+                        out.writeByte(']');
+                    }
+                    out.writeAscii("}\n");
+                }
+            };
+            case BINARY -> new RecordEncoder<>() {
+                @Override
+                void writeHeader(ExportBuffer out) {
+                    writeBinaryHeader(out, BINARY_VOTES);
+                }
+                
+                @Override
+                void encode(Vote vote, ExportBuffer out) {
+                    out.writeString(vote.getVoteId());
+                    out.writeString(vote.getVoterId());
+                    out.writeString(vote.getCandidateId());
+                    out.writeString(vote.getElectionId());
+                    out.writeString(vote.getPrecinctId());
+                    out.writeTime(vote.getTimestamp());
+                    out.writeByte(vote.isValid() ? 1 : 0);
+                    List<String> ranking = vote.getRankedCandidateIds();
+                    if (ranking == null) {
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(ranking.size());
+                        for (String candidateId : ranking) {
+                            out.writeString(candidateId);
+                        }
+                    }
+                }
+            };
+        };
+    }
+    
+    static RecordEncoder<ResultRecord> results(ExportFormat format) {
+        return switch (format) {
+            case CSV -> new RecordEncoder<>() {
+                @Override
+                void writeHeader(ExportBuffer out) {
+                    out.writeAscii("election_id,election_title,region_id,candidate_id,candidate_name,votes\n");
+                }
+                
+                @Override
+                void encode(ResultRecord row, ExportBuffer out) {
+                    out.writeCsvField(row.getElectionId());
+                    out.writeByte(',');
+                    out.writeCsvField(row.getElectionTitle());
+                    out.writeByte(',');
+                    out.writeCsvField(row.getRegionId());
+                    out.writeByte(',');
+                    out.writeCsvField(row.getCandidateId());
+                    out.writeByte(',');
+                    out.writeCsvField(row.getCandidateName());
+                    out.writeByte(',');
+                    out.writeDecimal(row.getVotes());
+                    out.writeByte('\n');
+                }
+            };
+            case JSON_LINES -> new RecordEncoder<>() {
+                @Override
+                void writeHeader(ExportBuffer out) {
+                }
+                
+                @Override
+                void encode(ResultRecord row, ExportBuffer out) {
+                    out.writeAscii("{\"electionId\":");
+                    out.writeJsonString(row.getElectionId());
+                    out.writeAscii(",\"electionTitle\":");
+                    out.writeJsonString(row.getElectionTitle());
+                    out.writeAscii(",\"regionId\":");
+                    out.writeJsonString(row.getRegionId());
+                    out.writeAscii(",\"candidateId\":");
+                    out.writeJsonString(row.getCandidateId());
+                    out.writeAscii(",\"candidateName\":");
+                    out.writeJsonString(row.getCandidateName());
+                    out.writeAscii(",\"votes\":");
+                    out.writeDecimal(row.getVotes());
+                    out.writeAscii("}\n");
+                }
+            };
+            case BINARY -> new RecordEncoder<>() {
+                @Override
+                void writeHeader(ExportBuffer out) {
+                    writeBinaryHeader(out, BINARY_RESULTS);
+                }
+                
+                @Override
+                void encode(ResultRecord row, ExportBuffer out) {
+                    out.writeString(row.getElectionId());
+                    out.writeString(row.getElectionTitle());
+                    out.writeString(row.getRegionId());
+                    out.writeString(row.getCandidateId());
+                    out.writeString(row.getCandidateName());
+                    out.writeInt(row.getVotes());
+                }
+            };
+        };
+    }
+    
+    private static void writeBinaryHeader(ExportBuffer out, int recordType) {
+        out.writeInt(BINARY_MAGIC);
+        out.writeInt(BINARY_VERSION);
+        out.writeInt(recordType);
+    }
+}
@@ -0,0 +1,65 @@
+package com.voting.export;
+
+/**
+ * One row of an exported results table: a candidate's votes in an election,
+ * either election-wide or within one region
+ */
+public final class ResultRecord {
+    private final String electionId;
+    private final String electionTitle;
+    private final String regionId;
+    private final String candidateId;
+    private final String candidateName;
+    private final int votes;
+    
+    /**
+     * @param regionId The region the votes were counted in, or null for the whole election
+     */
+    public ResultRecord(String electionId, String electionTitle, String regionId,
+                        String candidateId, String candidateName, int votes) {
+        this.electionId = electionId;
+        this.electionTitle = electionTitle;
+        this.regionId = regionId;
+        this.candidateId = candidateId;
+        this.candidateName = candidateName;
+        this.votes = votes;
+    }
+    
+    // Getters
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public String getElectionTitle() {
+        return electionTitle;
+    }
+    
+    /**
+     * @return The region, or null for an election-wide row
+     */
+    public String getRegionId() {
+        return regionId;
+    }
+    
+    public String getCandidateId() {
+        return candidateId;
+    }
+    
+    public String getCandidateName() {
+        return candidateName;
+    }
+    
+    public int getVotes() {
+        return votes;
+    }
+    
+    @Override
+    public String toString() {
+        return "ResultRecord{" +
+                "electionId='" + electionId + '\'' +
+                ", regionId='" + regionId + '\'' +
+                ", candidateId='" + candidateId + '\'' +
+                ", votes=" + votes +
+                '}';
+    }
+}
@@ -0,0 +1,189 @@
+package com.voting.export;
+
+import com.voting.model.Vote;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Bulk export of votes and results to files.
+ *
+ * Records are read straight from the source by position in fixed-size chunks.
+ * Worker threads encode chunks in parallel into reusable buffers, and the calling
+ * thread writes the finished chunks to the file in order. At most two chunks per
+ * worker are in flight at a time, so memory use is bounded by the chunk size, not
+ * by the number of records. Like snapshots, the export is written to a temporary
+ * file and moved into place once complete.
+ */
+public class StreamingExporter {
+    
+    private static final int DEFAULT_RECORDS_PER_CHUNK = 16_384;
+    private static final int INITIAL_BUFFER_BYTES = 1 << 20;
+    
+    private final int threads;
+    private final int recordsPerChunk;
+    
+    public StreamingExporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_RECORDS_PER_CHUNK);
+    }
+    
+    /**
+     * @param threads Number of encoding threads
+     * @param recordsPerChunk Records encoded as one unit of work
+     */
+    public StreamingExporter(int threads, int recordsPerChunk) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        if (recordsPerChunk < 1) {
+            throw new IllegalArgumentException("Records per chunk must be positive");
+        }
+        this.threads = threads;
+        this.recordsPerChunk = recordsPerChunk;
+    }
+    
+    /**
+     * Export votes by position
+     * @param target The file to write; an existing file is replaced
+     * @param format The file format
+     * @param count Number of positions to export, starting at 0
+     * @param votes The vote at a position; null positions are skipped
+     * @return The number of votes written
+     * @throws IOException if the file cannot be written
+     */
+    public long exportVotes(Path target, ExportFormat format, long count, LongFunction<Vote> votes)
+            throws IOException {
+        return export(target, count, votes, RecordEncoder.votes(format));
+    }
+    
+    /**
+     * Export result rows
+     * @param target The file to write; an existing file is replaced
+     * @param format The file format
+     * @param rows The rows, in output order
+     * @return The number of rows written
+     * @throws IOException if the file cannot be written
+     */
+    public long exportResults(Path target, ExportFormat format, List<ResultRecord> rows) throws IOException {
+        return export(target, rows.size(), position -> rows.get((int) position), RecordEncoder.results(format));
+    }
+    
+    private <T> long export(Path target, long count, LongFunction<T> source, RecordEncoder<T> encoder)
+            throws IOException {
+        if (target == null) {
+            throw new IllegalArgumentException("Export path cannot be null");
+        }
+        Path absolute = target.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        int maxInFlight = threads * 2;
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new EncoderThreadFactory());
+        // Buffers are handed out and returned only by the writing thread
+        Deque<ExportBuffer> free = new ArrayDeque<>();
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        boolean complete = false;
+        try {
+            long exported = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ExportBuffer header = new ExportBuffer(64);
+                encoder.writeHeader(header);
+                long position = write(channel, 0, header);
+                long next = 0;
+                while (next < count || !pending.isEmpty()) {
+                    while (next < count && pending.size() < maxInFlight) {
+                        long from = next;
+                        long to = Math.min(count, from + recordsPerChunk);
+                        ExportBuffer buffer = free.isEmpty() ? new ExportBuffer(INITIAL_BUFFER_BYTES) : free.pop();
+                        pending.add(workers.submit(() -> encode(source, encoder, from, to, buffer)));
+                        next = to;
+                    }
+                    Chunk chunk = await(pending.poll());
+                    position = write(channel, position, chunk.buffer);
+                    exported += chunk.records;
+                    free.push(chunk.buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            complete = true;
+            return exported;
+        } finally {
+            workers.shutdownNow();
+            if (!complete) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+    
+    private static <T> Chunk encode(LongFunction<T> source, RecordEncoder<T> encoder, long from, long to,
+                                    ExportBuffer buffer) {
+        buffer.clear();
+        int records = 0;
+        for (long position = from; position < to; position++) {
+            T record = source.apply(position);
+            if (record != null) {
+                encoder.encode(record, buffer);
+                records++;
+            }
+        }
+        return new Chunk(buffer, records);
+    }
+    
+    private static long write(FileChannel channel, long position, ExportBuffer buffer) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.array(), 0, buffer.length());
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+        return position;
+    }
+    
+    private static Chunk await(Future<Chunk> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while exporting");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Export chunk failed", e.getCause());
+        }
+    }
+    
+    private static final class Chunk {
+        private final ExportBuffer buffer;
+        private final int records;
+        
+        Chunk(ExportBuffer buffer, int records) {
+            this.buffer = buffer;
+            this.records = records;
+        }
+    }
+    
+    private static final class EncoderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "export-encoder-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.voting.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index over people's names answering prefix and typo-tolerant queries.
+ *
+ * Names are split into normalized terms (lower case, accents stripped). Distinct
+ * terms are kept in a sorted map for prefix scans and in a trigram index for
+ * fuzzy lookups, so query cost depends on the number of distinct terms matched
+ * rather than on the number of people indexed. Results are ranked exact match
+ * first, then prefix, then by edit distance.
+ */
+public class NameSearchIndex {
+    
+    private static final int MAX_TERMS_PER_TOKEN = 256;
+    private static final int MIN_CANDIDATES = 64;
+    private static final int SCORE_EXACT = 0;
+    private static final int SCORE_PREFIX = 1;
+    private static final int SCORE_FUZZY = 2;
+    
+    private final ConcurrentNavigableMap<String, Set<Person>> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+    private final Map<String, Person> entries = new ConcurrentHashMap<>();
+    
+    /**
+     * Index a person's name, replacing any name previously indexed under the same ID
+     * @param id The voter or candidate ID
+     * @param names The name parts, e.g. first and last name
+     */
+    public void add(String id, String... names) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        String[] tokens = tokenize(String.join(" ", nonNull(names)));
+        for (int i = 0; i < tokens.length; i++) {
+            // Entries share the index's own term strings rather than each holding a copy
+            String indexed = terms.ceilingKey(tokens[i]);
+            if (tokens[i].equals(indexed)) {
+                tokens[i] = indexed;
+            }
+        }
+        Person person = new Person(id, tokens);
+        Person previous = entries.put(id, person);
+        if (previous != null) {
+            unlink(previous);
+        }
+        for (String token : tokens) {
+            terms.compute(token, (term, people) -> {
+                if (people == null) {
+                    people = ConcurrentHashMap.newKeySet();
+                    for (String gram : trigramsOf(term)) {
+                        trigrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(term);
+                    }
+                }
+                people.add(person);
+                return people;
+            });
+        }
+    }
+    
+    /**
+     * Remove a person from the index
+     * @param id The voter or candidate ID
+     */
+    public void remove(String id) {
+        Person person = id != null ? entries.remove(id) : null;
+        if (person != null) {
+            unlink(person);
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public void clear() {
+        terms.clear();
+        trigrams.clear();
+        entries.clear();
+    }
+    
+    /**
+     * Search by name. Every query word must match one of the person's name terms
+     * exactly, as a prefix, or within a small edit distance.
+     * @param query Free-text query such as "smi" or "jon smtih"
+     * @param limit Maximum number of results
+     * @return Matching IDs, best match first
+     */
+    public List<String> search(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return Collections.emptyList();
+        }
+        // Only a bounded number of candidates is scored, which keeps very common names cheap
+        int maxCandidates = Math.max(MIN_CANDIDATES, limit * 8);
+        List<String> result = search(tokens, limit, maxCandidates, maxCandidates);
+        if (result.isEmpty() && tokens.length > 1) {
+            // A misspelt word can still be the prefix of common names that none of the other
+            // words go with, so look for typo matches even behind plenty of prefix matches
+            result = search(tokens, limit, maxCandidates, Long.MAX_VALUE);
+        }
+        return result;
+    }
+    
+    private List<String> search(String[] tokens, int limit, int maxCandidates, long enough) {
+        List<TokenMatches> matches = new ArrayList<>(tokens.length);
+        int driver = 0;
+        int bestTotal = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            TokenMatches tokenMatches = matchTerms(tokens[i], enough);
+            if (tokenMatches.scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+            matches.add(tokenMatches);
+            bestTotal += tokenMatches.best;
+            if (tokenMatches.postings < matches.get(driver).postings) {
+                driver = i;
+            }
+        }
+        
+        // Walk the most selective token's postings best-first; check the other tokens per person
+        Map<Person, Integer> scored = new HashMap<>();
+        int otherBest = bestTotal - matches.get(driver).best;
+        for (Map.Entry<String, Integer> term : byScore(matches.get(driver).scores)) {
+            // Nobody reached from here on can beat a result already scoring at most this
+            if (settled(scored, term.getValue() + otherBest) >= limit) {
+                break;
+            }
+            Set<Person> people = terms.get(term.getKey());
+            if (people == null) {
+                continue;
+            }
+            for (Person person : people) {
+                if (scored.containsKey(person)) {
+                    continue;
+                }
+                int score = scoreEntry(person, matches, driver, term.getValue());
+                if (score >= 0) {
+                    scored.put(person, score);
+                    if (scored.size() >= maxCandidates) {
+                        break;
+                    }
+                }
+            }
+            if (scored.size() >= maxCandidates) {
+                break;
+            }
+        }
+        
+        List<Map.Entry<Person, Integer>> ranked = new ArrayList<>(scored.entrySet());
+        ranked.sort(Map.Entry.<Person, Integer>comparingByValue().thenComparing(entry -> entry.getKey().id));
+        List<String> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && result.size() < limit; i++) {
+            // A person renamed during the search can be seen under both names
+            String id = ranked.get(i).getKey().id;
+            if (!result.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+    
+    private static int settled(Map<Person, Integer> scored, int bound) {
+        int count = 0;
+        for (int score : scored.values()) {
+            if (score <= bound) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private int scoreEntry(Person person, List<TokenMatches> matches, int driver, int driverScore) {
+        int total = driverScore;
+        for (int i = 0; i < matches.size(); i++) {
+            if (i == driver) {
+                continue;
+            }
+            int best = -1;
+            for (String term : person.terms) {
+                Integer score = matches.get(i).scores.get(term);
+                if (score != null && (best < 0 || score < best)) {
+                    best = score;
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+    
+    /**
+     * Find the indexed terms a query word can match, with their match score
+     */
+    private TokenMatches matchTerms(String token, long enough) {
+        TokenMatches matched = new TokenMatches();
+        // Exact and prefix matches come from one range scan of the sorted term map
+        for (Map.Entry<String, Set<Person>> term
+                : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            matched.add(term.getKey(), term.getKey().equals(token) ? SCORE_EXACT : SCORE_PREFIX, term.getValue());
+            if (matched.scores.size() >= MAX_TERMS_PER_TOKEN) {
+                return matched;
+            }
+        }
+        // Fuzzy matches always rank below these, so skip them when there are already plenty
+        int maxEdits = token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+        if (maxEdits == 0 || matched.postings >= enough) {
+            return matched;
+        }
+        
+        // Widen one edit at a time, and only while nothing matches: a word that is itself a name
+        // or one typo away from one is not expanded to everything two edits away
+        List<Set<String>> postings = new ArrayList<>();
+        for (String gram : new HashSet<>(trigramsOf(token))) {
+            postings.add(trigrams.getOrDefault(gram, Collections.emptySet()));
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        for (int edits = 1; edits <= maxEdits && (edits == 1 || matched.scores.isEmpty()); edits++) {
+            addFuzzyTerms(token, postings, edits, matched);
+        }
+        return matched;
+    }
+    
+    /**
+     * Add the terms within the given edit distance of a query word
+     * @param postings The term postings of the word's distinct trigrams, smallest first
+     */
+    private void addFuzzyTerms(String token, List<Set<String>> postings, int edits, TokenMatches matched) {
+        // A substitution destroys at most three trigrams and a transposition four, so a term
+        // within the bound contains at least one of any 4 * edits + 1 of them: scan the rarest
+        int seeds = Math.min(postings.size(), 4 * edits + 1);
+        Set<String> candidates = new HashSet<>();
+        for (Set<String> posting : postings.subList(0, seeds)) {
+            for (String term : posting) {
+                if (Math.abs(term.length() - token.length()) <= edits) {
+                    candidates.add(term);
+                }
+            }
+        }
+        for (String term : candidates) {
+            if (matched.scores.containsKey(term)) {
+                continue;
+            }
+            int distance = editDistance(token, term, edits);
+            Set<Person> people = distance <= edits ? terms.get(term) : null;
+            if (people != null) {
+                matched.add(term, SCORE_FUZZY + distance, people);
+                if (matched.scores.size() >= MAX_TERMS_PER_TOKEN) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private static List<Map.Entry<String, Integer>> byScore(Map<String, Integer> matched) {
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(matched.entrySet());
+        sorted.sort(Map.Entry.comparingByValue());
+        return sorted;
+    }
+    
+    private void unlink(Person person) {
+        for (String token : person.terms) {
+            terms.computeIfPresent(token, (term, people) -> {
+                people.remove(person);
+                if (!people.isEmpty()) {
+                    return people;
+                }
+                for (String gram : trigramsOf(term)) {
+                    trigrams.computeIfPresent(gram, (g, posting) -> {
+                        posting.remove(term);
+                        return posting.isEmpty() ? null : posting;
+                    });
+                }
+                return null;
+            });
+        }
+    }
+    
+    /**
+     * Optimal string alignment distance, abandoned early once it exceeds the bound
+     */
+    static int editDistance(String a, String b, int bound) {
+        if (bound == 1) {
+            return oneEditDistance(a, b);
+        }
+        int n = a.length();
+        int m = b.length();
+        int[] prevPrev = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, current[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = current;
+            current = recycled;
+        }
+        return prev[m];
+    }
+    
+    /**
+     * Linear check for the common bound of one edit: 0, 1, or 2 for anything further
+     */
+    private static int oneEditDistance(String a, String b) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > 1) {
+            return 2;
+        }
+        int i = 0;
+        while (i < n && i < m && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == n && i == m) {
+            return 0;
+        }
+        if (n > m) {
+            return a.regionMatches(i + 1, b, i, m - i) ? 1 : 2;
+        }
+        if (m > n) {
+            return b.regionMatches(i + 1, a, i, n - i) ? 1 : 2;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, n - i - 1)) {
+            return 1;
+        }
+        boolean transposed = i + 1 < n && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i);
+        return transposed && a.regionMatches(i + 2, b, i + 2, n - i - 2) ? 1 : 2;
+    }
+    
+    static String[] tokenize(String text) {
+        String folded = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>(2);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && token.length() > 0) {
+                String term = token.toString();
+                if (!tokens.contains(term)) {
+                    tokens.add(term);
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+    
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static List<String> trigramsOf(String term) {
+        String padded = "$$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+    
+    private static String[] nonNull(String[] names) {
+        return Arrays.stream(names).filter(name -> name != null).toArray(String[]::new);
+    }
+    
+    /**
+     * The indexed terms one query word matches, with their scores, best score and total number of postings
+     */
+    private static final class TokenMatches {
+        final Map<String, Integer> scores = new LinkedHashMap<>();
+        int best = Integer.MAX_VALUE;
+        long postings;
+        
+        void add(String term, int score, Set<Person> people) {
+            scores.put(term, score);
+            best = Math.min(best, score);
+            postings += people.size();
+        }
+    }
+    
+    /**
+     * An indexed person. Postings hold these rather than IDs so a candidate's terms are
+     * checked without a lookup in the entry map; equality is identity.
+     */
+    private static final class Person {
+        final String id;
+        final String[] terms;
+        
+        Person(String id, String[] terms) {
+            this.id = id;
+            this.terms = terms;
+        }
+    }
+}
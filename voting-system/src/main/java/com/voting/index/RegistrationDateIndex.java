@@ -0,0 +1,195 @@
+package com.voting.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Voters ordered by registration time, for range counts and range scans.
+ *
+ * Entries sit in a skip list sorted by time and then voter ID, so a scan starts
+ * in O(log n) and visits only the voters in the range. Each day also keeps a
+ * running count, so counting a range sums whole days and only walks the entries
+ * of the partial days at either end; counting the voters registered before a
+ * cutoff years in the past costs a few thousand additions rather than a walk
+ * over the whole roll. Reads see concurrent registrations or miss them, like any
+ * other weakly consistent concurrent collection.
+ */
+public class RegistrationDateIndex {
+    
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> byVoter = new ConcurrentHashMap<>();
+    // Days that lose all their voters keep a zero count; there is at most one per calendar day
+    private final ConcurrentNavigableMap<Long, AtomicInteger> perDay = new ConcurrentSkipListMap<>();
+    
+    /**
+     * Index a voter's registration time, replacing any time previously indexed for the voter
+     * @param voterId The voter ID
+     * @param registeredAt When the voter registered
+     */
+    public void add(String voterId, LocalDateTime registeredAt) {
+        if (voterId == null || registeredAt == null) {
+            throw new IllegalArgumentException("Voter ID and registration time cannot be null");
+        }
+        Entry entry = new Entry(registeredAt, voterId);
+        byVoter.compute(voterId, (id, previous) -> {
+            if (previous != null) {
+                unlink(previous);
+            }
+            entries.add(entry);
+            perDay.computeIfAbsent(dayOf(registeredAt), day -> new AtomicInteger()).incrementAndGet();
+            return entry;
+        });
+    }
+    
+    /**
+     * Remove a voter from the index
+     * @param voterId The voter ID
+     */
+    public void remove(String voterId) {
+        if (voterId == null) {
+            return;
+        }
+        byVoter.computeIfPresent(voterId, (id, previous) -> {
+            unlink(previous);
+            return null;
+        });
+    }
+    
+    public int size() {
+        return byVoter.size();
+    }
+    
+    /**
+     * Count the voters registered in a time range
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return The number of voters registered at or after from and before to
+     */
+    public int countBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+        long firstDay = dayOf(from);
+        long lastDay = dayOf(to);
+        if (firstDay == lastDay) {
+            return countEntries(from, to);
+        }
+        int count = countEntries(from, startOf(firstDay + 1)) + countEntries(startOf(lastDay), to);
+        for (AtomicInteger day : perDay.subMap(firstDay + 1, lastDay).values()) {
+            count += day.get();
+        }
+        return count;
+    }
+    
+    /**
+     * Count the voters registered before a cutoff
+     * @param cutoff The cutoff, exclusive
+     * @return The number of voters registered before it
+     */
+    public int countBefore(LocalDateTime cutoff) {
+        if (perDay.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime earliest = startOf(perDay.firstKey());
+        return countBetween(earliest, cutoff);
+    }
+    
+    /**
+     * Voter IDs registered in a time range, earliest registration first
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return Lazily evaluated stream over the range
+     */
+    public Stream<String> streamBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Stream.empty();
+        }
+        return range(from, to).stream().map(entry -> entry.voterId);
+    }
+    
+    /**
+     * Voter IDs registered in a time range, latest registration first
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return Lazily evaluated stream over the range
+     */
+    public Stream<String> streamBetweenDescending(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Stream.empty();
+        }
+        return range(from, to).descendingSet().stream().map(entry -> entry.voterId);
+    }
+    
+    public void clear() {
+        byVoter.clear();
+        entries.clear();
+        perDay.clear();
+    }
+    
+    private void unlink(Entry entry) {
+        if (entries.remove(entry)) {
+            AtomicInteger day = perDay.get(dayOf(entry.registeredAt));
+            if (day != null) {
+                day.decrementAndGet();
+            }
+        }
+    }
+    
+    private int countEntries(LocalDateTime from, LocalDateTime to) {
+        return range(from, to).size();
+    }
+    
+    private NavigableSet<Entry> range(LocalDateTime from, LocalDateTime to) {
+        return entries.subSet(Entry.lowest(from), true, Entry.lowest(to), false);
+    }
+    
+    private static long dayOf(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay();
+    }
+    
+    private static LocalDateTime startOf(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay();
+    }
+    
+    private static final class Entry implements Comparable<Entry> {
+        
+        private final LocalDateTime registeredAt;
+        private final String voterId;
+        
+        Entry(LocalDateTime registeredAt, String voterId) {
+            this.registeredAt = registeredAt;
+            this.voterId = voterId;
+        }
+        
+        /**
+         * A bound that sorts before every voter registered at the given time
+         */
+        static Entry lowest(LocalDateTime registeredAt) {
+            return new Entry(registeredAt, "");
+        }
+        
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = registeredAt.compareTo(other.registeredAt);
+            return byTime != 0 ? byTime : voterId.compareTo(other.voterId);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && compareTo((Entry) o) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            return voterId.hashCode();
+        }
+    }
+}
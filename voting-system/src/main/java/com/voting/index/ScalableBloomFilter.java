@@ -0,0 +1,207 @@
+package com.voting.index;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent Bloom filter over strings that grows with the number of keys added.
+ *
+ * The filter is a chain of fixed-size stages. New keys go into the newest stage;
+ * once it holds its capacity, a stage twice as large with half the false-positive
+ * rate is started, so the rates form a geometric series and the filter as a whole
+ * stays within the configured rate however many keys arrive. Lookups check every
+ * stage, which is a few stages even for rolls thousands of times the initial
+ * capacity.
+ *
+ * Bits are set with an atomic OR and read with acquire semantics, so adds and
+ * lookups need no locking; only starting a stage is synchronized. A key that has
+ * been added is always reported as possibly present; keys cannot be removed.
+ */
+public class ScalableBloomFilter {
+    
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final double GROWTH = 2.0;
+    private static final double TIGHTENING = 0.5;
+    private static final int MAX_WORDS = 1 << 30;
+    
+    private final double falsePositiveRate;
+    private volatile Stage[] stages;
+    
+    /**
+     * @param initialCapacity Keys the first stage holds before a second is started
+     * @param falsePositiveRate Target rate of false "possibly present" answers, e.g. 0.01
+     */
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // The stage rates sum to the target: p(1-r) + p(1-r)r + p(1-r)r^2 + ... = p
+        this.stages = new Stage[] {new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+    
+    /**
+     * Add a key
+     * @param key The key
+     * @return False if the filter already reported the key as possibly present
+     */
+    public boolean add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(h1, h2)) {
+                return false;
+            }
+        }
+        Stage newest = current[current.length - 1];
+        newest.put(h1, h2);
+        if (newest.count.incrementAndGet() >= newest.capacity) {
+            grow(newest);
+        }
+        return true;
+    }
+    
+    /**
+     * @param key The key
+     * @return False if the key has definitely never been added
+     */
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * @return Approximate number of distinct keys added
+     */
+    public long size() {
+        long size = 0;
+        for (Stage stage : stages) {
+            size += stage.count.get();
+        }
+        return size;
+    }
+    
+    public int getStageCount() {
+        return stages.length;
+    }
+    
+    /**
+     * @return Memory held by the bit arrays, in bytes
+     */
+    public long getBitArrayBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += (long) stage.words.length * Long.BYTES;
+        }
+        return bytes;
+    }
+    
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+    
+    /**
+     * @return Expected false-positive rate for the keys added so far
+     */
+    public double getExpectedFalsePositiveRate() {
+        double allMiss = 1;
+        for (Stage stage : stages) {
+            allMiss *= 1 - stage.expectedFalsePositiveRate();
+        }
+        return 1 - allMiss;
+    }
+    
+    private synchronized void grow(Stage full) {
+        Stage[] current = stages;
+        if (current[current.length - 1] != full) {
+            return;
+        }
+        Stage next = new Stage((long) Math.min(full.capacity * GROWTH, Long.MAX_VALUE / 2),
+                full.falsePositiveRate * TIGHTENING);
+        Stage[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = next;
+        stages = grown;
+    }
+    
+    private static long hash(String key) {
+        // 64-bit FNV-1a over the UTF-16 code units, then a full avalanche
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+    
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private static final class Stage {
+        
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final int hashes;
+        private final long[] words;
+        private final long bitMask;
+        private final AtomicLong count = new AtomicLong();
+        
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // Optimal size is n * ln(1/p) / ln(2)^2 bits, rounded up to a power of two
+            // so a probe is a mask rather than a division
+            double optimalBits = capacity * -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+            long words = Long.highestOneBit(Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE)) * 2 - 1);
+            this.words = new long[(int) Math.min(words, MAX_WORDS)];
+            this.bitMask = (long) this.words.length * Long.SIZE - 1;
+            this.hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        }
+        
+        void put(long h1, long h2) {
+            long probe = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = probe & bitMask;
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if (((long) WORDS.getAcquire(words, word) & mask) == 0) {
+                    WORDS.getAndBitwiseOr(words, word, mask);
+                }
+                probe += h2;
+            }
+        }
+        
+        boolean mightContain(long h1, long h2) {
+            long probe = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = probe & bitMask;
+                if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                probe += h2;
+            }
+            return true;
+        }
+        
+        double expectedFalsePositiveRate() {
+            double bits = (double) words.length * Long.SIZE;
+            return Math.pow(1 - Math.exp(-hashes * count.get() / bits), hashes);
+        }
+    }
+}
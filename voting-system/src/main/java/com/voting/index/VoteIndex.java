@@ -0,0 +1,250 @@
+package com.voting.index;
+
+import com.voting.dao.VoteLog;
+import com.voting.model.Vote;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Lookup structures over cast votes: by receipt ID, by voter and by election.
+ * Adding a vote is also how a voter's single place in an election is claimed, and
+ * releasing it is how a retracted vote gives that place up.
+ *
+ * Most voters hold one ballot, so the per-voter entry is the vote itself and only
+ * becomes an array once a voter has ballots in several elections; arrays are
+ * replaced, never mutated, so readers need no locking. Each election keeps its own
+ * small-segment log of its votes in commit order.
+ */
+public class VoteIndex {
+    
+    private static final int ELECTION_SEGMENT_BITS = 10;
+    
+    private final Map<String, Vote> byId = new ConcurrentHashMap<>();
+    // Value is a Vote, or a Vote[] once the voter has more than one ballot
+    private final Map<String, Object> byVoter = new ConcurrentHashMap<>();
+    private final Map<String, VoteLog> byElection = new ConcurrentHashMap<>();
+    
+    /**
+     * Index a newly cast vote, claiming the voter's place in its election
+     * @param vote The vote
+     * @return False if the voter already has a vote in that election; nothing is indexed then
+     */
+    public boolean add(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+        String electionId = vote.getElectionId();
+        Object entry = byVoter.compute(vote.getVoterId(), (id, existing) -> {
+            if (existing == null) {
+                return vote;
+            }
+            return contains(existing, electionId) ? existing : append(existing, vote);
+        });
+        if (entry != vote && !(entry instanceof Vote[] && last((Vote[]) entry) == vote)) {
+            return false;
+        }
+        byId.put(vote.getVoteId(), vote);
+        byElection.computeIfAbsent(electionId, id -> new VoteLog(ELECTION_SEGMENT_BITS)).append(vote);
+        return true;
+    }
+    
+    /**
+     * Index the votes of one multi-contest ballot, claiming the voter's place in every
+     * election at once: either all votes are indexed or none are
+     * @param votes One voter's votes, each in a different election
+     * @return False if the voter already has a vote in any of the elections; nothing is indexed then
+     */
+    public boolean addAll(List<Vote> votes) {
+        if (votes == null || votes.isEmpty()) {
+            throw new IllegalArgumentException("Votes cannot be empty");
+        }
+        if (votes.size() == 1) {
+            return add(votes.get(0));
+        }
+        String voterId = votes.get(0).getVoterId();
+        Vote[] batch = votes.toArray(new Vote[0]);
+        for (int i = 0; i < batch.length; i++) {
+            if (!batch[i].getVoterId().equals(voterId)) {
+                throw new IllegalArgumentException("All votes in a ballot must belong to one voter");
+            }
+            for (int j = 0; j < i; j++) {
+                if (batch[j].getElectionId().equals(batch[i].getElectionId())) {
+                    throw new IllegalArgumentException("Ballot has two votes in election " + batch[i].getElectionId());
+                }
+            }
+        }
+        Object entry = byVoter.compute(voterId, (id, existing) -> {
+            if (existing == null) {
+                return batch;
+            }
+            for (Vote vote : batch) {
+                if (contains(existing, vote.getElectionId())) {
+                    return existing;
+                }
+            }
+            Vote[] current = existing instanceof Vote ? new Vote[] {(Vote) existing} : (Vote[]) existing;
+            Vote[] grown = Arrays.copyOf(current, current.length + batch.length);
+            System.arraycopy(batch, 0, grown, current.length, batch.length);
+            return grown;
+        });
+        if (!(entry instanceof Vote[] && last((Vote[]) entry) == last(batch))) {
+            return false;
+        }
+        for (Vote vote : batch) {
+            byId.put(vote.getVoteId(), vote);
+            byElection.computeIfAbsent(vote.getElectionId(), id -> new VoteLog(ELECTION_SEGMENT_BITS)).append(vote);
+        }
+        return true;
+    }
+    
+    /**
+     * Index a vote that was retracted before it was loaded, such as one restored from a
+     * snapshot: it can be found by receipt ID and among its election's votes, but holds
+     * no place for its voter
+     * @param vote The retracted vote
+     */
+    public void addRetracted(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+        byId.put(vote.getVoteId(), vote);
+        byElection.computeIfAbsent(vote.getElectionId(), id -> new VoteLog(ELECTION_SEGMENT_BITS)).append(vote);
+    }
+    
+    /**
+     * Give up a voter's place in the vote's election, as when the vote is retracted. The
+     * vote can still be found by its receipt ID and in its election's votes; only one
+     * caller can release a given vote.
+     * @param vote The vote
+     * @return False if the vote does not currently hold the voter's place
+     */
+    public boolean release(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+        boolean[] released = new boolean[1];
+        byVoter.computeIfPresent(vote.getVoterId(), (id, existing) -> {
+            if (existing == vote) {
+                released[0] = true;
+                return null;
+            }
+            if (!(existing instanceof Vote[])) {
+                return existing;
+            }
+            Vote[] votes = (Vote[]) existing;
+            for (int i = 0; i < votes.length; i++) {
+                if (votes[i] == vote) {
+                    released[0] = true;
+                    if (votes.length == 2) {
+                        return votes[1 - i];
+                    }
+                    Vote[] shrunk = new Vote[votes.length - 1];
+                    System.arraycopy(votes, 0, shrunk, 0, i);
+                    System.arraycopy(votes, i + 1, shrunk, i, votes.length - i - 1);
+                    return shrunk;
+                }
+            }
+            return existing;
+        });
+        return released[0];
+    }
+    
+    /**
+     * Check whether a voter has a vote in an election
+     * @param voterId The voter ID
+     * @param electionId The election ID
+     * @return True if the voter has voted in that election
+     */
+    public boolean hasVoted(String voterId, String electionId) {
+        Object entry = voterId != null ? byVoter.get(voterId) : null;
+        return entry != null && contains(entry, electionId);
+    }
+    
+    /**
+     * Find a vote by its receipt ID
+     * @param voteId The vote ID
+     * @return Optional containing the vote if found
+     */
+    public Optional<Vote> findById(String voteId) {
+        return voteId != null ? Optional.ofNullable(byId.get(voteId)) : Optional.empty();
+    }
+    
+    /**
+     * Find all ballots cast by a voter that still hold their place
+     * @param voterId The voter ID
+     * @return The voter's votes in the order they were cast, without released votes
+     */
+    public List<Vote> findByVoter(String voterId) {
+        Object entry = voterId != null ? byVoter.get(voterId) : null;
+        if (entry == null) {
+            return List.of();
+        }
+        return entry instanceof Vote ? List.of((Vote) entry) : List.of((Vote[]) entry);
+    }
+    
+    /**
+     * Find a voter's ballot in one election
+     * @param voterId The voter ID
+     * @param electionId The election ID
+     * @return Optional containing the vote if the voter has voted in that election
+     */
+    public Optional<Vote> findByVoterAndElection(String voterId, String electionId) {
+        Object entry = voterId != null ? byVoter.get(voterId) : null;
+        if (entry instanceof Vote) {
+            Vote vote = (Vote) entry;
+            return vote.getElectionId().equals(electionId) ? Optional.of(vote) : Optional.empty();
+        }
+        if (entry != null) {
+            for (Vote vote : (Vote[]) entry) {
+                if (vote.getElectionId().equals(electionId)) {
+                    return Optional.of(vote);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Stream the votes cast in an election, in commit order
+     * @param electionId The election ID
+     * @return Stream of the election's votes
+     */
+    public Stream<Vote> streamByElection(String electionId) {
+        VoteLog log = electionId != null ? byElection.get(electionId) : null;
+        return log != null ? log.stream() : Stream.empty();
+    }
+    
+    public int count() {
+        return byId.size();
+    }
+    
+    private static boolean contains(Object entry, String electionId) {
+        if (entry instanceof Vote) {
+            return ((Vote) entry).getElectionId().equals(electionId);
+        }
+        for (Vote vote : (Vote[]) entry) {
+            if (vote.getElectionId().equals(electionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static Vote last(Vote[] votes) {
+        return votes[votes.length - 1];
+    }
+    
+    private static Object append(Object existing, Object vote) {
+        if (existing instanceof Vote) {
+            return new Vote[] {(Vote) existing, (Vote) vote};
+        }
+        Vote[] votes = (Vote[]) existing;
+        Vote[] grown = Arrays.copyOf(votes, votes.length + 1);
+        grown[votes.length] = (Vote) vote;
+        return grown;
+    }
+}
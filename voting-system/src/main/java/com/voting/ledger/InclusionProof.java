@@ -0,0 +1,63 @@
+package com.voting.ledger;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evidence that one vote is recorded in the ledger as of a checkpoint
+ */
+public final class InclusionProof {
+    
+    private final String voteId;
+    private final long leafIndex;
+    private final byte[] leafHash;
+    private final List<byte[]> auditPath;
+    private final LedgerCheckpoint checkpoint;
+    
+    InclusionProof(String voteId, long leafIndex, byte[] leafHash, List<byte[]> auditPath,
+                   LedgerCheckpoint checkpoint) {
+        this.voteId = voteId;
+        this.leafIndex = leafIndex;
+        this.leafHash = leafHash.clone();
+        this.auditPath = Collections.unmodifiableList(auditPath);
+        this.checkpoint = checkpoint;
+    }
+    
+    public String getVoteId() {
+        return voteId;
+    }
+    
+    public long getLeafIndex() {
+        return leafIndex;
+    }
+    
+    public byte[] getLeafHash() {
+        return leafHash.clone();
+    }
+    
+    public List<byte[]> getAuditPath() {
+        return auditPath;
+    }
+    
+    public LedgerCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+    
+    /**
+     * Check the audit path against the checkpoint's root hash
+     */
+    public boolean verify() {
+        return MerkleTree.verifyInclusion(leafHash, leafIndex, checkpoint.getTreeSize(),
+                auditPath, checkpoint.getRootHash());
+    }
+    
+    @Override
+    public String toString() {
+        return "InclusionProof{" +
+                "voteId='" + voteId + '\'' +
+                ", leafIndex=" + leafIndex +
+                ", pathLength=" + auditPath.size() +
+                ", checkpoint=" + checkpoint +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.voting.ledger;
+
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Signed-off state of the ledger at one size: the Merkle root and the head of the hash chain
+ */
+public final class LedgerCheckpoint {
+    
+    private final long treeSize;
+    private final byte[] rootHash;
+    private final byte[] chainHead;
+    private final LocalDateTime createdAt;
+    
+    LedgerCheckpoint(long treeSize, byte[] rootHash, byte[] chainHead, LocalDateTime createdAt) {
+        this.treeSize = treeSize;
+        this.rootHash = rootHash.clone();
+        this.chainHead = chainHead.clone();
+        this.createdAt = createdAt;
+    }
+    
+    public long getTreeSize() {
+        return treeSize;
+    }
+    
+    public byte[] getRootHash() {
+        return rootHash.clone();
+    }
+    
+    public byte[] getChainHead() {
+        return chainHead.clone();
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public String getRootHex() {
+        return HexFormat.of().formatHex(rootHash);
+    }
+    
+    @Override
+    public String toString() {
+        return "LedgerCheckpoint{" +
+                "treeSize=" + treeSize +
+                ", root='" + getRootHex() + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,294 @@
+package com.voting.ledger;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only SHA-256 Merkle tree laid out as in RFC 6962.
+ *
+ * Every complete, aligned subtree hash is stored once, level by level, so appending
+ * a leaf only hashes the new right edge and any root, inclusion proof or consistency
+ * proof is built from O(log n) stored nodes. Leaves are hashed as H(0x00 || data)
+ * and interior nodes as H(0x01 || left || right).
+ *
+ * Not thread-safe; the owning ledger serializes access.
+ */
+public class MerkleTree {
+    
+    public static final int HASH_SIZE = 32;
+    
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+    
+    private final List<HashList> levels = new ArrayList<>();
+    private long size;
+    
+    public MerkleTree() {
+        levels.add(new HashList());
+    }
+    
+    /**
+     * Append a leaf
+     * @param leafHash The leaf hash, as returned by {@link #leafHash(byte[])}
+     */
+    public void append(byte[] leafHash) {
+        levels.get(0).add(leafHash);
+        long index = size;
+        int level = 0;
+        while ((index & 1) == 1) {
+            HashList nodes = levels.get(level);
+            byte[] parent = nodeHash(nodes.get(index - 1), nodes.get(index));
+            level++;
+            if (levels.size() == level) {
+                levels.add(new HashList());
+            }
+            levels.get(level).add(parent);
+            index >>>= 1;
+        }
+        size++;
+    }
+    
+    public long size() {
+        return size;
+    }
+    
+    /**
+     * Get a stored leaf hash
+     * @param index The leaf index
+     * @return The leaf hash
+     */
+    public byte[] getLeaf(long index) {
+        checkIndex(index, size);
+        return levels.get(0).get(index);
+    }
+    
+    /**
+     * Root hash of the tree as it was when it held the given number of leaves
+     * @param treeSize A tree size no larger than the current size
+     * @return The root hash; the hash of empty input for an empty tree
+     */
+    public byte[] rootHash(long treeSize) {
+        if (treeSize < 0 || treeSize > size) {
+            throw new IllegalArgumentException("Tree size " + treeSize + " is outside 0.." + size);
+        }
+        if (treeSize == 0) {
+            return SHA256.get().digest();
+        }
+        return subtreeHash(0, treeSize);
+    }
+    
+    /**
+     * Audit path proving a leaf is included in the tree of the given size
+     * @param index The leaf index
+     * @param treeSize The tree size the proof is for
+     * @return Sibling hashes from the leaf up to the root
+     */
+    public List<byte[]> inclusionProof(long index, long treeSize) {
+        if (treeSize < 1 || treeSize > size) {
+            throw new IllegalArgumentException("Tree size " + treeSize + " is outside 1.." + size);
+        }
+        checkIndex(index, treeSize);
+        List<byte[]> proof = new ArrayList<>();
+        path(index, 0, treeSize, proof);
+        return proof;
+    }
+    
+    /**
+     * Proof that the tree of size {@code second} is an append-only extension of size {@code first}
+     * @param first The earlier tree size
+     * @param second The later tree size
+     * @return The consistency proof
+     */
+    public List<byte[]> consistencyProof(long first, long second) {
+        if (first < 1 || first > second || second > size) {
+            throw new IllegalArgumentException("Invalid tree sizes " + first + " and " + second);
+        }
+        List<byte[]> proof = new ArrayList<>();
+        subproof(first, 0, second, true, proof);
+        return proof;
+    }
+    
+    private void path(long index, long start, long n, List<byte[]> proof) {
+        if (n == 1) {
+            return;
+        }
+        long k = splitPoint(n);
+        if (index < k) {
+            path(index, start, k, proof);
+            proof.add(subtreeHash(start + k, n - k));
+        } else {
+            path(index - k, start + k, n - k, proof);
+            proof.add(subtreeHash(start, k));
+        }
+    }
+    
+    private void subproof(long m, long start, long n, boolean complete, List<byte[]> proof) {
+        if (m == n) {
+            if (!complete) {
+                proof.add(subtreeHash(start, n));
+            }
+            return;
+        }
+        long k = splitPoint(n);
+        if (m <= k) {
+            subproof(m, start, k, complete, proof);
+            proof.add(subtreeHash(start + k, n - k));
+        } else {
+            subproof(m - k, start + k, n - k, false, proof);
+            proof.add(subtreeHash(start, k));
+        }
+    }
+    
+    private byte[] subtreeHash(long start, long n) {
+        if (Long.bitCount(n) == 1 && start % n == 0) {
+            int level = Long.numberOfTrailingZeros(n);
+            return levels.get(level).get(start >>> level);
+        }
+        long k = splitPoint(n);
+        return nodeHash(subtreeHash(start, k), subtreeHash(start + k, n - k));
+    }
+    
+    /** Largest power of two strictly less than n */
+    private static long splitPoint(long n) {
+        return Long.highestOneBit(n - 1);
+    }
+    
+    private static void checkIndex(long index, long treeSize) {
+        if (index < 0 || index >= treeSize) {
+            throw new IllegalArgumentException("Leaf index " + index + " is outside 0.." + (treeSize - 1));
+        }
+    }
+    
+    // Hashing
+    public static byte[] leafHash(byte[] data) {
+        MessageDigest digest = SHA256.get();
+        digest.update((byte) 0x00);
+        return digest.digest(data);
+    }
+    
+    public static byte[] nodeHash(byte[] left, byte[] right) {
+        MessageDigest digest = SHA256.get();
+        digest.update((byte) 0x01);
+        digest.update(left);
+        return digest.digest(right);
+    }
+    
+    static byte[] chainHash(byte[] previous, byte[] leafHash) {
+        MessageDigest digest = SHA256.get();
+        digest.update(previous);
+        return digest.digest(leafHash);
+    }
+    
+    // Verification (RFC 9162, sections 2.1.3.2 and 2.1.4.2)
+    /**
+     * Check an inclusion proof against a root hash
+     * @return True if the leaf is at the given index of the tree with that root
+     */
+    public static boolean verifyInclusion(byte[] leafHash, long index, long treeSize,
+                                          List<byte[]> proof, byte[] rootHash) {
+        if (index < 0 || index >= treeSize) {
+            return false;
+        }
+        long fn = index;
+        long sn = treeSize - 1;
+        byte[] r = leafHash;
+        for (byte[] p : proof) {
+            if (sn == 0) {
+                return false;
+            }
+            if ((fn & 1) == 1 || fn == sn) {
+                r = nodeHash(p, r);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>>= 1;
+                    sn >>>= 1;
+                }
+            } else {
+                r = nodeHash(r, p);
+            }
+            fn >>>= 1;
+            sn >>>= 1;
+        }
+        return sn == 0 && Arrays.equals(r, rootHash);
+    }
+    
+    /**
+     * Check a consistency proof between two root hashes
+     * @return True if the second tree extends the first without rewriting it
+     */
+    public static boolean verifyConsistency(long first, long second, byte[] firstRoot, byte[] secondRoot,
+                                            List<byte[]> proof) {
+        if (first < 1 || first > second) {
+            return false;
+        }
+        if (first == second) {
+            return proof.isEmpty() && Arrays.equals(firstRoot, secondRoot);
+        }
+        List<byte[]> path = new ArrayList<>(proof);
+        if (Long.bitCount(first) == 1) {
+            path.add(0, firstRoot);
+        }
+        if (path.isEmpty()) {
+            return false;
+        }
+        long fn = first - 1;
+        long sn = second - 1;
+        while ((fn & 1) == 1) {
+            fn >>>= 1;
+            sn >>>= 1;
+        }
+        byte[] fr = path.get(0);
+        byte[] sr = path.get(0);
+        for (byte[] c : path.subList(1, path.size())) {
+            if (sn == 0) {
+                return false;
+            }
+            if ((fn & 1) == 1 || fn == sn) {
+                fr = nodeHash(c, fr);
+                sr = nodeHash(c, sr);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>>= 1;
+                    sn >>>= 1;
+                }
+            } else {
+                sr = nodeHash(sr, c);
+            }
+            fn >>>= 1;
+            sn >>>= 1;
+        }
+        return sn == 0 && Arrays.equals(fr, firstRoot) && Arrays.equals(sr, secondRoot);
+    }
+    
+    /**
+     * Growable list of fixed-size hashes packed into large chunks
+     */
+    private static final class HashList {
+        private static final int CHUNK_BITS = 12;
+        private static final int CHUNK_ENTRIES = 1 << CHUNK_BITS;
+        
+        private final List<byte[]> chunks = new ArrayList<>();
+        private long count;
+        
+        void add(byte[] hash) {
+            int offset = (int) (count & (CHUNK_ENTRIES - 1));
+            if (offset == 0) {
+                chunks.add(new byte[CHUNK_ENTRIES * HASH_SIZE]);
+            }
+            System.arraycopy(hash, 0, chunks.get((int) (count >>> CHUNK_BITS)), offset * HASH_SIZE, HASH_SIZE);
+            count++;
+        }
+        
+        byte[] get(long index) {
+            int offset = (int) (index & (CHUNK_ENTRIES - 1)) * HASH_SIZE;
+            byte[] chunk = chunks.get((int) (index >>> CHUNK_BITS));
+            return Arrays.copyOfRange(chunk, offset, offset + HASH_SIZE);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.voting.ledger;
+
+import com.voting.model.Vote;
+import java.io.Closeable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Tamper-evident, append-only ledger of committed votes.
+ *
+ * Each vote is encoded when it is committed and queued; a background thread hashes
+ * queued entries in batches (in parallel for large batches), appends them to a
+ * Merkle tree and folds them into a running hash chain. Committing a vote therefore
+ * costs one encoding and a queue insert. Any later change to a recorded vote's
+ * fields no longer matches its leaf hash, and any rewrite of history breaks the
+ * consistency proofs between checkpoints. Votes are never removed: a retraction is
+ * recorded as an entry of its own.
+ */
+public class VoteLedger implements Closeable {
+    
+    public enum EntryType {
+        VOTE,
+        RETRACTION
+    }
+    
+    private static final int MAX_BATCH = 8_192;
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    // An idle hasher thread exits after this long and is restarted by the next append
+    private static final long IDLE_EXIT_NANOS = 1_000_000_000L;
+    
+    private final Queue<PendingEntry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong appended = new AtomicLong();
+    private final Object progress = new Object();
+    private volatile long hashed;
+    
+    private final ReentrantReadWriteLock treeLock = new ReentrantReadWriteLock();
+    private final MerkleTree tree = new MerkleTree();
+    private final Map<String, Long> voteIndex = new ConcurrentHashMap<>();
+    private byte[] chainHead = new byte[MerkleTree.HASH_SIZE];
+    
+    private final AtomicReference<Thread> hasher = new AtomicReference<>();
+    private volatile boolean closed;
+    
+    /**
+     * Queue a committed vote for hashing
+     * @param vote The vote as committed
+     */
+    public void appendVote(Vote vote) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ledger is closed");
+        }
+        pending.add(new PendingEntry(vote.getVoteId(), encodeVote(vote)));
+        appended.incrementAndGet();
+        if (hasher.get() == null) {
+            startHasher();
+        }
+    }
+    
+    /**
+     * Queue the votes of one ballot for hashing
+     * @param votes The votes as committed
+     */
+    public void appendVotes(List<Vote> votes) {
+        if (votes == null) {
+            throw new IllegalArgumentException("Votes cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ledger is closed");
+        }
+        List<PendingEntry> entries = new ArrayList<>(votes.size());
+        // Votes on one ballot usually share a cast time, which is then formatted once
+        LocalDateTime sharedTime = null;
+        String sharedTimeText = null;
+        for (Vote vote : votes) {
+            if (vote == null) {
+                throw new IllegalArgumentException("Vote cannot be null");
+            }
+            if (vote.getTimestamp() != null && vote.getTimestamp() != sharedTime) {
+                sharedTime = vote.getTimestamp();
+                sharedTimeText = sharedTime.toString();
+            }
+            entries.add(new PendingEntry(vote.getVoteId(),
+                    encodeVote(vote, vote.getTimestamp() != null ? sharedTimeText : null)));
+        }
+        pending.addAll(entries);
+        appended.addAndGet(entries.size());
+        if (hasher.get() == null) {
+            startHasher();
+        }
+    }
+    
+    /**
+     * Queue the retraction of a recorded vote for hashing. The vote's own entry is left
+     * as it was, so its inclusion proof still holds; the retraction follows it in the chain.
+     * @param vote The retracted vote
+     * @param reason Why it was retracted, or null
+     * @param retractedAt When it was retracted, or null if not known
+     */
+    public void appendRetraction(Vote vote, String reason, LocalDateTime retractedAt) {
+        if (vote == null) {
+            throw new IllegalArgumentException("Vote cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Ledger is closed");
+        }
+        String time = retractedAt != null ? retractedAt.toString() : null;
+        byte[] out = new byte[1 + nullableLength(vote.getVoteId()) + nullableLength(reason) + nullableLength(time)];
+        out[0] = (byte) EntryType.RETRACTION.ordinal();
+        int position = writeNullable(out, 1, vote.getVoteId());
+        position = writeNullable(out, position, reason);
+        writeNullable(out, position, time);
+        // No vote ID on the pending entry: proofs for the vote keep pointing at its own entry
+        pending.add(new PendingEntry(null, out));
+        appended.incrementAndGet();
+        if (hasher.get() == null) {
+            startHasher();
+        }
+    }
+    
+    /**
+     * Wait until every entry appended before this call has been hashed into the tree
+     */
+    public void sync() {
+        long target = appended.get();
+        if (hashed >= target) {
+            return;
+        }
+        LockSupport.unpark(hasher.get());
+        synchronized (progress) {
+            while (hashed < target) {
+                try {
+                    progress.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the ledger", e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Current root hash and chain head, after hashing everything appended so far
+     * @return The checkpoint
+     */
+    public LedgerCheckpoint checkpoint() {
+        sync();
+        treeLock.readLock().lock();
+        try {
+            return new LedgerCheckpoint(tree.size(), tree.rootHash(tree.size()), chainHead, LocalDateTime.now());
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Prove that a vote is recorded in the ledger
+     * @param voteId The vote receipt ID
+     * @return Optional containing the proof against the current checkpoint, empty if the vote is not recorded
+     */
+    public Optional<InclusionProof> getInclusionProof(String voteId) {
+        sync();
+        Long index = voteId != null ? voteIndex.get(voteId) : null;
+        if (index == null) {
+            return Optional.empty();
+        }
+        treeLock.readLock().lock();
+        try {
+            long size = tree.size();
+            LedgerCheckpoint checkpoint = new LedgerCheckpoint(size, tree.rootHash(size), chainHead,
+                    LocalDateTime.now());
+            return Optional.of(new InclusionProof(voteId, index, tree.getLeaf(index),
+                    tree.inclusionProof(index, size), checkpoint));
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Prove that the ledger at one checkpoint size is an append-only extension of an earlier one
+     * @param firstSize The earlier checkpoint's tree size
+     * @param secondSize The later checkpoint's tree size
+     * @return The consistency proof
+     */
+    public List<byte[]> getConsistencyProof(long firstSize, long secondSize) {
+        sync();
+        treeLock.readLock().lock();
+        try {
+            return tree.consistencyProof(firstSize, secondSize);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Check a vote's current fields against the leaf recorded when it was committed
+     * @param vote The vote to check
+     * @return True if the vote is recorded and unchanged
+     */
+    public boolean verifyVote(Vote vote) {
+        sync();
+        Long index = vote != null ? voteIndex.get(vote.getVoteId()) : null;
+        if (index == null) {
+            return false;
+        }
+        byte[] expected;
+        treeLock.readLock().lock();
+        try {
+            expected = tree.getLeaf(index);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+        return Arrays.equals(expected, MerkleTree.leafHash(encodeVote(vote)));
+    }
+    
+    /**
+     * Recompute the hash chain over every recorded leaf and compare it with the chain head
+     * @return True if the chain is intact
+     */
+    public boolean verifyChain() {
+        sync();
+        treeLock.readLock().lock();
+        try {
+            byte[] head = new byte[MerkleTree.HASH_SIZE];
+            for (long i = 0; i < tree.size(); i++) {
+                head = MerkleTree.chainHash(head, tree.getLeaf(i));
+            }
+            return Arrays.equals(head, chainHead);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of entries appended, hashed or not
+     */
+    public long size() {
+        return appended.get();
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        Thread thread = hasher.get();
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private void startHasher() {
+        Thread thread = new Thread(this::runHasher, "vote-ledger-hasher");
+        thread.setDaemon(true);
+        if (hasher.compareAndSet(null, thread)) {
+            thread.start();
+        }
+    }
+    
+    private void runHasher() {
+        PendingEntry[] batch = new PendingEntry[MAX_BATCH];
+        long idleSince = System.nanoTime();
+        while (true) {
+            int count = 0;
+            PendingEntry entry;
+            while (count < MAX_BATCH && (entry = pending.poll()) != null) {
+                batch[count++] = entry;
+            }
+            if (count > 0) {
+                commitBatch(batch, count);
+                Arrays.fill(batch, 0, count, null);
+                idleSince = System.nanoTime();
+                continue;
+            }
+            if (closed || System.nanoTime() - idleSince > IDLE_EXIT_NANOS) {
+                // Step down, then take the role back if an append raced with stepping down
+                hasher.set(null);
+                if (closed || pending.isEmpty() || !hasher.compareAndSet(null, Thread.currentThread())) {
+                    return;
+                }
+                continue;
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+    
+    private void commitBatch(PendingEntry[] batch, int count) {
+        byte[][] leaves = new byte[count][];
+        IntStream indexes = IntStream.range(0, count);
+        if (count >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> leaves[i] = MerkleTree.leafHash(batch[i].data));
+        
+        treeLock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                long index = tree.size();
+                tree.append(leaves[i]);
+                chainHead = MerkleTree.chainHash(chainHead, leaves[i]);
+                if (batch[i].voteId != null) {
+                    voteIndex.put(batch[i].voteId, index);
+                }
+            }
+        } finally {
+            treeLock.writeLock().unlock();
+        }
+        synchronized (progress) {
+            hashed += count;
+            progress.notifyAll();
+        }
+    }
+    
+    /**
+     * Canonical encoding of a vote's recorded ballot; the validity flag is not part of it
+     */
+    static byte[] encodeVote(Vote vote) {
+        return encodeVote(vote, vote.getTimestamp() != null ? vote.getTimestamp().toString() : null);
+    }
+    
+    // Same bytes as writing through a DataOutputStream, without its per-string buffers
+    private static byte[] encodeVote(Vote vote, String timestamp) {
+        List<String> ranking = vote.getRankedCandidateIds();
+        int size = 1 + nullableLength(vote.getVoteId()) + nullableLength(vote.getVoterId())
+                + nullableLength(vote.getCandidateId()) + nullableLength(vote.getElectionId())
+                + nullableLength(timestamp) + Integer.BYTES;
+        if (ranking != null) {
+            for (String candidateId : ranking) {
+                size += nullableLength(candidateId);
+            }
+        }
+        byte[] out = new byte[size];
+        out[0] = (byte) EntryType.VOTE.ordinal();
+        int position = 1;
+        position = writeNullable(out, position, vote.getVoteId());
+        position = writeNullable(out, position, vote.getVoterId());
+        position = writeNullable(out, position, vote.getCandidateId());
+        position = writeNullable(out, position, vote.getElectionId());
+        position = writeNullable(out, position, timestamp);
+        int count = ranking != null ? ranking.size() : -1;
+        out[position++] = (byte) (count >>> 24);
+        out[position++] = (byte) (count >>> 16);
+        out[position++] = (byte) (count >>> 8);
+        out[position++] = (byte) count;
+        if (ranking != null) {
+            for (String candidateId : ranking) {
+                position = writeNullable(out, position, candidateId);
+            }
+        }
+        return out;
+    }
+    
+    private static int nullableLength(String value) {
+        return value == null ? 1 : 3 + utfLength(value);
+    }
+    
+    // Length in modified UTF-8, as used by DataOutput.writeUTF
+    private static int utfLength(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                length += c >= 0x800 ? 2 : 1;
+            }
+        }
+        if (length > 0xFFFF) {
+            throw new IllegalArgumentException("Vote field is too long for the ledger encoding");
+        }
+        return length;
+    }
+    
+    private static int writeNullable(byte[] out, int position, String value) {
+        if (value == null) {
+            out[position] = 0;
+            return position + 1;
+        }
+        out[position++] = 1;
+        int length = utfLength(value);
+        out[position++] = (byte) (length >>> 8);
+        out[position++] = (byte) length;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x01 && c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+    
+    private static final class PendingEntry {
+        final String voteId;
+        final byte[] data;
+        
+        PendingEntry(String voteId, byte[] data) {
+            this.voteId = voteId;
+            this.data = data;
+        }
+    }
+}
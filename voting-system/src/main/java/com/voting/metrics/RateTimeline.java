@@ -0,0 +1,108 @@
+package com.voting.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free event counter over fixed time buckets at several resolutions.
+ *
+ * Each resolution is a ring of packed longs: the high 32 bits hold the bucket's
+ * epoch (its index since the timeline started) and the low 32 bits its count. A
+ * recorder bumps the current bucket with a CAS, or resets it when the slot still
+ * holds an older epoch, so stale buckets age out without a sweeper. Every event is
+ * counted at every resolution, giving second-level detail for recent minutes and
+ * coarser buckets for the full length of a long election.
+ */
+public class RateTimeline {
+    
+    private static final long[] BUCKET_MILLIS = {1_000L, 60_000L, 900_000L};
+    private static final int[] CAPACITY = {300, 180, 960};
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+    
+    private final LongSupplier clock;
+    private final long originMillis;
+    private final AtomicLongArray[] rings;
+    
+    public RateTimeline() {
+        this(System::currentTimeMillis);
+    }
+    
+    /**
+     * @param clock Source of wall-clock milliseconds
+     */
+    public RateTimeline(LongSupplier clock) {
+        this.clock = clock;
+        // Align the origin so buckets at every resolution start on whole units
+        long now = clock.getAsLong();
+        this.originMillis = now - Math.floorMod(now, BUCKET_MILLIS[BUCKET_MILLIS.length - 1]);
+        this.rings = new AtomicLongArray[BUCKET_MILLIS.length];
+        for (int level = 0; level < rings.length; level++) {
+            rings[level] = new AtomicLongArray(CAPACITY[level]);
+        }
+    }
+    
+    /**
+     * Count one event at the current time
+     */
+    public void record() {
+        long elapsed = clock.getAsLong() - originMillis;
+        if (elapsed < 0) {
+            return;
+        }
+        for (int level = 0; level < rings.length; level++) {
+            increment(rings[level], elapsed / BUCKET_MILLIS[level]);
+        }
+    }
+    
+    private static void increment(AtomicLongArray ring, long epoch) {
+        int slot = (int) (epoch % ring.length());
+        while (true) {
+            long current = ring.get(slot);
+            long currentEpoch = current >>> 32;
+            long next;
+            if (currentEpoch == epoch) {
+                if ((current & COUNT_MASK) == COUNT_MASK) {
+                    return;
+                }
+                next = current + 1;
+            } else if (currentEpoch < epoch) {
+                next = (epoch << 32) | 1;
+            } else {
+                // The slot already moved on to a newer bucket; this event arrived too late to count
+                return;
+            }
+            if (ring.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Counts for the most recent window, at the finest resolution that covers it
+     * @param window How far back to look
+     * @return Bucket counts, oldest first, ending with the current bucket
+     */
+    public VoteRateSeries snapshot(Duration window) {
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        long windowMillis = window.toMillis();
+        int level = 0;
+        while (level < rings.length - 1 && (long) CAPACITY[level] * BUCKET_MILLIS[level] < windowMillis) {
+            level++;
+        }
+        long bucketMillis = BUCKET_MILLIS[level];
+        AtomicLongArray ring = rings[level];
+        int buckets = (int) Math.min(ring.length(), (windowMillis + bucketMillis - 1) / bucketMillis);
+        long nowEpoch = Math.max(0, clock.getAsLong() - originMillis) / bucketMillis;
+        long firstEpoch = Math.max(0, nowEpoch - buckets + 1);
+        long[] counts = new long[(int) (nowEpoch - firstEpoch + 1)];
+        for (int i = 0; i < counts.length; i++) {
+            long epoch = firstEpoch + i;
+            long packed = ring.get((int) (epoch % ring.length()));
+            counts[i] = (packed >>> 32) == epoch ? packed & COUNT_MASK : 0;
+        }
+        return new VoteRateSeries(originMillis + firstEpoch * bucketMillis, bucketMillis, counts);
+    }
+}
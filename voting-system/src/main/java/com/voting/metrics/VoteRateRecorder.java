@@ -0,0 +1,61 @@
+package com.voting.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Vote arrival timelines per election and per candidate within an election
+ */
+public class VoteRateRecorder {
+    
+    private final LongSupplier clock;
+    private final Map<String, RateTimeline> elections = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, RateTimeline>> candidates = new ConcurrentHashMap<>();
+    
+    public VoteRateRecorder() {
+        this(System::currentTimeMillis);
+    }
+    
+    public VoteRateRecorder(LongSupplier clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Count a vote arriving now
+     * @param electionId The election voted in
+     * @param candidateId The candidate voted for
+     */
+    public void record(String electionId, String candidateId) {
+        elections.computeIfAbsent(electionId, id -> new RateTimeline(clock)).record();
+        candidates.computeIfAbsent(electionId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(candidateId, id -> new RateTimeline(clock))
+                .record();
+    }
+    
+    /**
+     * Recent vote arrivals in an election
+     * @param electionId The election ID
+     * @param window How far back to look
+     * @return Optional containing the series, empty if no vote has arrived yet
+     */
+    public Optional<VoteRateSeries> getElectionRate(String electionId, Duration window) {
+        RateTimeline timeline = electionId != null ? elections.get(electionId) : null;
+        return timeline != null ? Optional.of(timeline.snapshot(window)) : Optional.empty();
+    }
+    
+    /**
+     * Recent vote arrivals for one candidate in an election
+     * @param electionId The election ID
+     * @param candidateId The candidate ID
+     * @param window How far back to look
+     * @return Optional containing the series, empty if the candidate has no votes yet
+     */
+    public Optional<VoteRateSeries> getCandidateRate(String electionId, String candidateId, Duration window) {
+        Map<String, RateTimeline> byCandidate = electionId != null ? candidates.get(electionId) : null;
+        RateTimeline timeline = byCandidate != null && candidateId != null ? byCandidate.get(candidateId) : null;
+        return timeline != null ? Optional.of(timeline.snapshot(window)) : Optional.empty();
+    }
+}
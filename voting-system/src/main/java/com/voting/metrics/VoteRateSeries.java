@@ -0,0 +1,73 @@
+package com.voting.metrics;
+
+import java.time.Instant;
+
+/**
+ * Vote counts over consecutive, equally sized time buckets
+ */
+public final class VoteRateSeries {
+    
+    private final long startMillis;
+    private final long bucketMillis;
+    private final long[] counts;
+    
+    VoteRateSeries(long startMillis, long bucketMillis, long[] counts) {
+        this.startMillis = startMillis;
+        this.bucketMillis = bucketMillis;
+        this.counts = counts;
+    }
+    
+    /**
+     * Start of the oldest bucket
+     */
+    public Instant getStart() {
+        return Instant.ofEpochMilli(startMillis);
+    }
+    
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+    
+    /**
+     * Counts per bucket, oldest first; the last bucket is still filling
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+    
+    public long getTotal() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Highest bucket count, expressed in votes per second
+     */
+    public double getPeakPerSecond() {
+        long peak = 0;
+        for (long count : counts) {
+            peak = Math.max(peak, count);
+        }
+        return peak * 1000.0 / bucketMillis;
+    }
+    
+    /**
+     * Mean rate across the whole series, in votes per second
+     */
+    public double getAveragePerSecond() {
+        return counts.length > 0 ? getTotal() * 1000.0 / (counts.length * bucketMillis) : 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        return "VoteRateSeries{" +
+                "start=" + getStart() +
+                ", bucketMillis=" + bucketMillis +
+                ", buckets=" + counts.length +
+                ", total=" + getTotal() +
+                '}';
+    }
+}
@@ -0,0 +1,116 @@
+package com.voting.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A voter's selections across several contests, cast together as one unit.
+ * Each contest is an election: a single choice for plurality elections, or a
+ * ranking for ranked-choice elections.
+ */
+public class Ballot {
+    private final String voterId;
+    private final List<Contest> contests;
+    
+    public Ballot(String voterId) {
+        this.voterId = voterId;
+        this.contests = new ArrayList<>();
+    }
+    
+    /**
+     * Choose one candidate in a contest
+     * @param electionId The election
+     * @param candidateId The candidate chosen
+     */
+    public void select(String electionId, String candidateId) {
+        addContest(new Contest(electionId, Collections.singletonList(candidateId), false));
+    }
+    
+    /**
+     * Rank candidates in a ranked-choice contest
+     * @param electionId The election
+     * @param rankedCandidateIds Candidate IDs in order of preference, most preferred first
+     */
+    public void rank(String electionId, List<String> rankedCandidateIds) {
+        List<String> ranking = rankedCandidateIds != null
+                ? Collections.unmodifiableList(new ArrayList<>(rankedCandidateIds))
+                : Collections.emptyList();
+        addContest(new Contest(electionId, ranking, true));
+    }
+    
+    private void addContest(Contest contest) {
+        if (contest.getElectionId() == null) {
+            throw new IllegalArgumentException("Election ID cannot be null");
+        }
+        for (Contest existing : contests) {
+            if (existing.getElectionId().equals(contest.getElectionId())) {
+                throw new IllegalArgumentException("Ballot already has a selection for election "
+                        + contest.getElectionId());
+            }
+        }
+        contests.add(contest);
+    }
+    
+    // Getters
+    public String getVoterId() {
+        return voterId;
+    }
+    
+    public List<Contest> getContests() {
+        return Collections.unmodifiableList(contests);
+    }
+    
+    public int getContestCount() {
+        return contests.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "Ballot{" +
+                "voterId='" + voterId + '\'' +
+                ", contests=" + contests +
+                '}';
+    }
+    
+    /**
+     * The selection made in one election
+     */
+    public static final class Contest {
+        private final String electionId;
+        private final List<String> candidateIds;
+        private final boolean ranked;
+        
+        private Contest(String electionId, List<String> candidateIds, boolean ranked) {
+            this.electionId = electionId;
+            this.candidateIds = candidateIds;
+            this.ranked = ranked;
+        }
+        
+        public String getElectionId() {
+            return electionId;
+        }
+        
+        /**
+         * The chosen candidate, or the ranking in order of preference
+         */
+        public List<String> getCandidateIds() {
+            return candidateIds;
+        }
+        
+        /**
+         * Whether the selection was given as a ranking rather than a single choice
+         */
+        public boolean isRanked() {
+            return ranked;
+        }
+        
+        @Override
+        public String toString() {
+            return "Contest{" +
+                    "electionId='" + electionId + '\'' +
+                    ", candidateIds=" + candidateIds +
+                    '}';
+        }
+    }
+}
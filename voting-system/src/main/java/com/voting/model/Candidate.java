@@ -1,6 +1,7 @@
 package com.voting.model;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a candidate in an election
@@ -9,26 +10,27 @@ public class Candidate {
     private String candidateId;
     private String firstName;
     private String lastName;
+    private String fullName;
     private String party;
     private String position;
     private String biography;
-    private int voteCount;
+    private final AtomicInteger voteCount;
     private boolean isActive;
     
     // Default constructor
     public Candidate() {
-        this.voteCount = 0;
+        this.voteCount = new AtomicInteger();
         this.isActive = true;
     }
     
     // Parameterized constructor
     public Candidate(String candidateId, String firstName, String lastName, String party, String position) {
         this();
-        this.candidateId = candidateId;
+        this.candidateId = Flyweights.id(candidateId);
         this.firstName = firstName;
         this.lastName = lastName;
-        this.party = party;
-        this.position = position;
+        this.party = Flyweights.party(party);
+        this.position = Flyweights.position(position);
     }
     
     // Getters and Setters
@@ -37,7 +39,7 @@ public class Candidate {
     }
     
     public void setCandidateId(String candidateId) {
-        this.candidateId = candidateId;
+        this.candidateId = Flyweights.id(candidateId);
     }
     
     public String getFirstName() {
@@ -46,6 +48,7 @@ public class Candidate {
     
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        this.fullName = null;
     }
     
     public String getLastName() {
@@ -54,6 +57,7 @@ public class Candidate {
     
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        this.fullName = null;
     }
     
     public String getParty() {
@@ -61,7 +65,7 @@ public class Candidate {
     }
     
     public void setParty(String party) {
-        this.party = party;
+        this.party = Flyweights.party(party);
     }
     
     public String getPosition() {
@@ -69,7 +73,7 @@ public class Candidate {
     }
     
     public void setPosition(String position) {
-        this.position = position;
+        this.position = Flyweights.position(position);
     }
     
     public String getBiography() {
@@ -81,11 +85,11 @@ public class Candidate {
     }
     
     public int getVoteCount() {
-        return voteCount;
+        return voteCount.get();
     }
     
     public void setVoteCount(int voteCount) {
-        this.voteCount = voteCount;
+        this.voteCount.set(voteCount);
     }
     
     public boolean isActive() {
@@ -97,11 +101,21 @@ public class Candidate {
     }
     
     public String getFullName() {
-        return firstName + " " + lastName;
+        // Built on first use and kept until a name part changes
+        String name = fullName;
+        if (name == null) {
+            name = firstName + " " + lastName;
+            fullName = name;
+        }
+        return name;
     }
     
     public void incrementVoteCount() {
-        this.voteCount++;
+        voteCount.incrementAndGet();
+    }
+    
+    public void decrementVoteCount() {
+        voteCount.decrementAndGet();
     }
     
     @Override
@@ -124,7 +138,7 @@ public class Candidate {
                 ", name='" + getFullName() + '\'' +
                 ", party='" + party + '\'' +
                 ", position='" + position + '\'' +
-                ", voteCount=" + voteCount +
+                ", voteCount=" + voteCount.get() +
                 ", isActive=" + isActive +
                 '}';
     }
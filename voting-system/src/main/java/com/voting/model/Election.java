@@ -4,40 +4,44 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
- * Represents an election with candidates and voting period
+ * Represents an election with candidates and voting period.
+ * Status, voting window, voting method, registration cutoff and roster live in one immutable
+ * {@link ElectionSnapshot}; every change publishes a new version atomically.
  */
 public class Election {
     private String electionId;
     private String title;
     private String description;
-    private LocalDateTime startDate;
-    private LocalDateTime endDate;
-    private List<Candidate> candidates;
-    private ElectionStatus status;
-    private int totalVotes;
+    private final AtomicReference<ElectionSnapshot> snapshot;
+    private final AtomicInteger totalVotes;
     
     public enum ElectionStatus {
         SCHEDULED, ACTIVE, COMPLETED, CANCELLED
     }
     
+    public enum VotingMethod {
+        PLURALITY, RANKED_CHOICE
+    }
+    
     // Default constructor
     public Election() {
-        this.candidates = new ArrayList<>();
-        this.status = ElectionStatus.SCHEDULED;
-        this.totalVotes = 0;
+        this.snapshot = new AtomicReference<>(ElectionSnapshot.initial());
+        this.totalVotes = new AtomicInteger();
     }
     
     // Parameterized constructor
     public Election(String electionId, String title, String description, 
                    LocalDateTime startDate, LocalDateTime endDate) {
         this();
-        this.electionId = electionId;
+        this.electionId = Flyweights.id(electionId);
         this.title = title;
         this.description = description;
-        this.startDate = startDate;
-        this.endDate = endDate;
+        this.snapshot.set(ElectionSnapshot.initial().withWindow(startDate, endDate));
     }
     
     // Getters and Setters
@@ -46,7 +50,7 @@ public class Election {
     }
     
     public void setElectionId(String electionId) {
-        this.electionId = electionId;
+        this.electionId = Flyweights.id(electionId);
     }
     
     public String getTitle() {
@@ -65,83 +69,194 @@ public class Election {
         this.description = description;
     }
     
+    /**
+     * Current configuration, read with a single volatile load
+     * @return The current snapshot
+     */
+    public ElectionSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+    
     public LocalDateTime getStartDate() {
-        return startDate;
+        return snapshot.get().getStartDate();
     }
     
     public void setStartDate(LocalDateTime startDate) {
-        this.startDate = startDate;
+        update(current -> current.withWindow(startDate, current.getEndDate()));
     }
     
     public LocalDateTime getEndDate() {
-        return endDate;
+        return snapshot.get().getEndDate();
     }
     
     public void setEndDate(LocalDateTime endDate) {
-        this.endDate = endDate;
+        update(current -> current.withWindow(current.getStartDate(), endDate));
     }
     
     public List<Candidate> getCandidates() {
-        return new ArrayList<>(candidates);
+        return new ArrayList<>(snapshot.get().getCandidates());
     }
     
     public void setCandidates(List<Candidate> candidates) {
-        this.candidates = new ArrayList<>(candidates);
+        List<Candidate> roster = new ArrayList<>(candidates);
+        update(current -> current.withCandidates(roster));
     }
     
     public ElectionStatus getStatus() {
-        return status;
+        return snapshot.get().getStatus();
     }
     
     public void setStatus(ElectionStatus status) {
-        this.status = status;
+        update(current -> current.withStatus(status));
+    }
+    
+    /**
+     * Move to a new status only if the election is still in the expected one
+     * @param expected The status the election must be in
+     * @param status The new status
+     * @return True if this call made the transition
+     */
+    public boolean transitionStatus(ElectionStatus expected, ElectionStatus status) {
+        while (true) {
+            ElectionSnapshot current = snapshot.get();
+            if (current.getStatus() != expected) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, current.withStatus(status))) {
+                return true;
+            }
+        }
+    }
+    
+    public VotingMethod getVotingMethod() {
+        return snapshot.get().getVotingMethod();
+    }
+    
+    public void setVotingMethod(VotingMethod votingMethod) {
+        update(current -> current.withVotingMethod(votingMethod));
+    }
+    
+    public boolean isRankedChoice() {
+        return snapshot.get().isRankedChoice();
+    }
+    
+    public LocalDateTime getRegistrationCutoff() {
+        return snapshot.get().getRegistrationCutoff();
+    }
+    
+    public void setRegistrationCutoff(LocalDateTime registrationCutoff) {
+        update(current -> current.withRegistrationCutoff(registrationCutoff));
+    }
+    
+    /**
+     * Change the registration cutoff only while the election is in the given status
+     * @param required The status the election must be in
+     * @param registrationCutoff The new cutoff, or null for none
+     * @return True if this call set the cutoff
+     */
+    public boolean setRegistrationCutoffIfStatus(ElectionStatus required, LocalDateTime registrationCutoff) {
+        while (true) {
+            ElectionSnapshot current = snapshot.get();
+            if (current.getStatus() != required) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, current.withRegistrationCutoff(registrationCutoff))) {
+                return true;
+            }
+        }
     }
     
     public int getTotalVotes() {
-        return totalVotes;
+        return totalVotes.get();
     }
     
     public void setTotalVotes(int totalVotes) {
-        this.totalVotes = totalVotes;
+        this.totalVotes.set(totalVotes);
     }
     
     // Business methods
     public void addCandidate(Candidate candidate) {
-        if (candidate != null && !candidates.contains(candidate)) {
-            candidates.add(candidate);
+        if (candidate != null) {
+            update(current -> withCandidate(current, candidate));
+        }
+    }
+    
+    /**
+     * Add a candidate only while the election is in the given status
+     * @param required The status the election must be in
+     * @param candidate The candidate to add
+     * @return True if the candidate is on the roster of a version in the required status
+     */
+    public boolean addCandidateIfStatus(ElectionStatus required, Candidate candidate) {
+        if (candidate == null) {
+            return false;
+        }
+        while (true) {
+            ElectionSnapshot current = snapshot.get();
+            if (current.getStatus() != required) {
+                return false;
+            }
+            ElectionSnapshot next = withCandidate(current, candidate);
+            if (next == current || snapshot.compareAndSet(current, next)) {
+                return true;
+            }
         }
     }
     
     public void removeCandidate(Candidate candidate) {
-        candidates.remove(candidate);
+        update(current -> {
+            List<Candidate> roster = new ArrayList<>(current.getCandidates());
+            return roster.remove(candidate) ? current.withCandidates(roster) : current;
+        });
+    }
+    
+    /**
+     * Check whether a candidate is on this election's roster without copying the list
+     */
+    public boolean hasCandidate(String candidateId) {
+        return snapshot.get().hasCandidate(candidateId);
     }
     
     public boolean isActive() {
-        LocalDateTime now = LocalDateTime.now();
-        return status == ElectionStatus.ACTIVE && 
-               (now.isAfter(startDate) || now.isEqual(startDate)) && 
-               now.isBefore(endDate);
+        return snapshot.get().isActive(LocalDateTime.now());
     }
     
     public boolean isCompleted() {
-        return status == ElectionStatus.COMPLETED || 
-               LocalDateTime.now().isAfter(endDate);
+        return snapshot.get().isCompleted(LocalDateTime.now());
     }
     
     public void incrementTotalVotes() {
-        this.totalVotes++;
+        totalVotes.incrementAndGet();
+    }
+    
+    public void decrementTotalVotes() {
+        totalVotes.decrementAndGet();
     }
     
     public Candidate getWinner() {
-        if (!isCompleted() || candidates.isEmpty()) {
+        ElectionSnapshot current = snapshot.get();
+        if (!current.isCompleted(LocalDateTime.now()) || current.getCandidates().isEmpty()) {
             return null;
         }
         
-        return candidates.stream()
+        return current.getCandidates().stream()
                 .max((c1, c2) -> Integer.compare(c1.getVoteCount(), c2.getVoteCount()))
                 .orElse(null);
     }
     
+    private void update(UnaryOperator<ElectionSnapshot> change) {
+        snapshot.updateAndGet(change);
+    }
+    
+    private static ElectionSnapshot withCandidate(ElectionSnapshot current, Candidate candidate) {
+        if (current.getCandidates().contains(candidate)) {
+            return current;
+        }
+        List<Candidate> roster = new ArrayList<>(current.getCandidates());
+        roster.add(candidate);
+        return current.withCandidates(roster);
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -157,12 +272,14 @@ public class Election {
     
     @Override
     public String toString() {
+        ElectionSnapshot current = snapshot.get();
         return "Election{" +
                 "electionId='" + electionId + '\'' +
                 ", title='" + title + '\'' +
-                ", status=" + status +
-                ", totalVotes=" + totalVotes +
-                ", candidatesCount=" + candidates.size() +
+                ", status=" + current.getStatus() +
+                ", votingMethod=" + current.getVotingMethod() +
+                ", totalVotes=" + totalVotes.get() +
+                ", candidatesCount=" + current.getCandidates().size() +
                 '}';
     }
 }
\ No newline at end of file
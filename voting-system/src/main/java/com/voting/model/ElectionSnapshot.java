@@ -0,0 +1,146 @@
+package com.voting.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of an election's configuration: status, voting window,
+ * voting method, registration cutoff and candidate roster. Readers get all of them
+ * from one consistent version.
+ */
+public final class ElectionSnapshot {
+    
+    private final long version;
+    private final Election.ElectionStatus status;
+    private final Election.VotingMethod votingMethod;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final LocalDateTime registrationCutoff;
+    private final List<Candidate> candidates;
+    private final Set<String> candidateIds;
+    
+    ElectionSnapshot(long version, Election.ElectionStatus status, Election.VotingMethod votingMethod,
+                     LocalDateTime startDate, LocalDateTime endDate, LocalDateTime registrationCutoff,
+                     List<Candidate> candidates) {
+        this.version = version;
+        this.status = status;
+        this.votingMethod = votingMethod;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.registrationCutoff = registrationCutoff;
+        this.candidates = Collections.unmodifiableList(new ArrayList<>(candidates));
+        Set<String> ids = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            ids.add(candidate.getCandidateId());
+        }
+        this.candidateIds = Collections.unmodifiableSet(ids);
+    }
+    
+    static ElectionSnapshot initial() {
+        return new ElectionSnapshot(0, Election.ElectionStatus.SCHEDULED, Election.VotingMethod.PLURALITY,
+                null, null, null, List.of());
+    }
+    
+    ElectionSnapshot withStatus(Election.ElectionStatus status) {
+        return new ElectionSnapshot(version + 1, status, votingMethod, startDate, endDate, registrationCutoff, candidates);
+    }
+    
+    ElectionSnapshot withVotingMethod(Election.VotingMethod votingMethod) {
+        return new ElectionSnapshot(version + 1, status, votingMethod, startDate, endDate, registrationCutoff, candidates);
+    }
+    
+    ElectionSnapshot withWindow(LocalDateTime startDate, LocalDateTime endDate) {
+        return new ElectionSnapshot(version + 1, status, votingMethod, startDate, endDate, registrationCutoff, candidates);
+    }
+    
+    ElectionSnapshot withRegistrationCutoff(LocalDateTime registrationCutoff) {
+        return new ElectionSnapshot(version + 1, status, votingMethod, startDate, endDate, registrationCutoff,
+                candidates);
+    }
+    
+    ElectionSnapshot withCandidates(List<Candidate> candidates) {
+        return new ElectionSnapshot(version + 1, status, votingMethod, startDate, endDate, registrationCutoff, candidates);
+    }
+    
+    // Getters
+    public long getVersion() {
+        return version;
+    }
+    
+    public Election.ElectionStatus getStatus() {
+        return status;
+    }
+    
+    public Election.VotingMethod getVotingMethod() {
+        return votingMethod;
+    }
+    
+    public boolean isRankedChoice() {
+        return votingMethod == Election.VotingMethod.RANKED_CHOICE;
+    }
+    
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+    
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+    
+    /**
+     * @return The time voters must have registered before to vote, or null for no cutoff
+     */
+    public LocalDateTime getRegistrationCutoff() {
+        return registrationCutoff;
+    }
+    
+    /**
+     * Check whether a voter registered at the given time may vote in this election
+     * @param registeredAt The voter's registration time, or null if unknown
+     */
+    public boolean isRegistrationEligible(LocalDateTime registeredAt) {
+        return registrationCutoff == null || registeredAt == null || registeredAt.isBefore(registrationCutoff);
+    }
+    
+    /**
+     * @return The roster; unmodifiable
+     */
+    public List<Candidate> getCandidates() {
+        return candidates;
+    }
+    
+    public boolean hasCandidate(String candidateId) {
+        return candidateIds.contains(candidateId);
+    }
+    
+    /**
+     * Check whether votes are accepted at the given time
+     */
+    public boolean isActive(LocalDateTime now) {
+        return status == Election.ElectionStatus.ACTIVE &&
+               startDate != null && endDate != null &&
+               !now.isBefore(startDate) && now.isBefore(endDate);
+    }
+    
+    public boolean isCompleted(LocalDateTime now) {
+        return status == Election.ElectionStatus.COMPLETED ||
+               (endDate != null && now.isAfter(endDate));
+    }
+    
+    @Override
+    public String toString() {
+        return "ElectionSnapshot{" +
+                "version=" + version +
+                ", status=" + status +
+                ", votingMethod=" + votingMethod +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", registrationCutoff=" + registrationCutoff +
+                ", candidatesCount=" + candidates.size() +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.voting.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical shared instances of the strings that repeat across model objects.
+ *
+ * A million votes name the same handful of election, candidate and precinct IDs,
+ * and candidates share a few parties and positions; decoded from a snapshot or a
+ * database, each of those would otherwise be a separate String. The model classes
+ * pass such values through here when they are set, so equal values share one
+ * instance. Each table stops growing at a fixed size, after which new values are
+ * kept as they are, so unexpected data cannot turn a table into a leak.
+ *
+ * Setting the system property voting.flyweights to false turns canonicalization
+ * off, so the savings can be measured.
+ */
+public final class Flyweights {
+    
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("voting.flyweights"));
+    private static final int MAX_TABLE_SIZE = 1 << 16;
+    
+    private static final Map<String, String> IDS = new ConcurrentHashMap<>();
+    private static final Map<String, String> PARTIES = new ConcurrentHashMap<>();
+    private static final Map<String, String> POSITIONS = new ConcurrentHashMap<>();
+    private static final Map<String, String> LABELS = new ConcurrentHashMap<>();
+    
+    private Flyweights() {
+    }
+    
+    /**
+     * Shared instance of an ID that other records refer to: an election, candidate or region ID
+     */
+    public static String id(String value) {
+        return canonical(IDS, value);
+    }
+    
+    public static String party(String value) {
+        return canonical(PARTIES, value);
+    }
+    
+    public static String position(String value) {
+        return canonical(POSITIONS, value);
+    }
+    
+    /**
+     * Shared instance of a short status-like label, such as a region level
+     */
+    public static String label(String value) {
+        return canonical(LABELS, value);
+    }
+    
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+    
+    private static String canonical(Map<String, String> table, String value) {
+        if (value == null || !ENABLED) {
+            return value;
+        }
+        String shared = table.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (table.size() >= MAX_TABLE_SIZE) {
+            return value;
+        }
+        shared = table.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+}
@@ -1,10 +1,12 @@
 package com.voting.model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 /**
- * Represents a vote cast by a voter for a candidate in an election
+ * Represents a vote cast by a voter for a candidate in an election.
+ * The IDs it refers to are shared through {@link Flyweights}.
  */
 public class Vote {
     private String voteId;
@@ -12,7 +14,12 @@ public class Vote {
     private String candidateId;
     private String electionId;
     private LocalDateTime timestamp;
-    private boolean isValid;
+    // Read without locks by tally audits, after the retraction that clears it is sequenced
+    private volatile boolean isValid;
+    // Full preference order for ranked-choice ballots; null for plurality votes
+    private List<String> rankedCandidateIds;
+    // Voter's precinct when the vote was cast; null if the voter had none
+    private String precinctId;
     
     // Default constructor
     public Vote() {
@@ -25,8 +32,20 @@ public class Vote {
         this();
         this.voteId = voteId;
         this.voterId = voterId;
-        this.candidateId = candidateId;
-        this.electionId = electionId;
+        this.candidateId = Flyweights.id(candidateId);
+        this.electionId = Flyweights.id(electionId);
+    }
+    
+    /**
+     * Create a vote with a given cast time, such as the shared time of a multi-contest ballot
+     */
+    public Vote(String voteId, String voterId, String candidateId, String electionId, LocalDateTime timestamp) {
+        this.voteId = voteId;
+        this.voterId = voterId;
+        this.candidateId = Flyweights.id(candidateId);
+        this.electionId = Flyweights.id(electionId);
+        this.timestamp = timestamp;
+        this.isValid = true;
     }
     
     // Getters and Setters
@@ -51,7 +70,7 @@ public class Vote {
     }
     
     public void setCandidateId(String candidateId) {
-        this.candidateId = candidateId;
+        this.candidateId = Flyweights.id(candidateId);
     }
     
     public String getElectionId() {
@@ -59,7 +78,7 @@ public class Vote {
     }
     
     public void setElectionId(String electionId) {
-        this.electionId = electionId;
+        this.electionId = Flyweights.id(electionId);
     }
     
     public LocalDateTime getTimestamp() {
@@ -70,6 +89,26 @@ public class Vote {
         this.timestamp = timestamp;
     }
     
+    public List<String> getRankedCandidateIds() {
+        return rankedCandidateIds;
+    }
+    
+    public void setRankedCandidateIds(List<String> rankedCandidateIds) {
+        this.rankedCandidateIds = rankedCandidateIds;
+    }
+    
+    public boolean isRanked() {
+        return rankedCandidateIds != null;
+    }
+    
+    public String getPrecinctId() {
+        return precinctId;
+    }
+    
+    public void setPrecinctId(String precinctId) {
+        this.precinctId = Flyweights.id(precinctId);
+    }
+    
     public boolean isValid() {
         return isValid;
     }
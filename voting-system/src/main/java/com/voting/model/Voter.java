@@ -10,11 +10,14 @@ public class Voter {
     private String voterId;
     private String firstName;
     private String lastName;
+    private String fullName;
     private String email;
     private String phoneNumber;
     private LocalDateTime registrationDate;
     private boolean hasVoted;
     private VoterStatus status;
+    // Region the voter is registered in; null if not assigned
+    private String precinctId;
     
     public enum VoterStatus {
         ACTIVE, INACTIVE, SUSPENDED
@@ -52,6 +55,7 @@ public class Voter {
     
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        this.fullName = null;
     }
     
     public String getLastName() {
@@ -60,6 +64,7 @@ public class Voter {
     
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        this.fullName = null;
     }
     
     public String getEmail() {
@@ -102,8 +107,22 @@ public class Voter {
         this.status = status;
     }
     
+    public String getPrecinctId() {
+        return precinctId;
+    }
+    
+    public void setPrecinctId(String precinctId) {
+        this.precinctId = Flyweights.id(precinctId);
+    }
+    
     public String getFullName() {
-        return firstName + " " + lastName;
+        // Built on first use and kept until a name part changes
+        String name = fullName;
+        if (name == null) {
+            name = firstName + " " + lastName;
+            fullName = name;
+        }
+        return name;
     }
     
     @Override
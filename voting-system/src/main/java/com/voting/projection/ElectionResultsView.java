@@ -0,0 +1,197 @@
+package com.voting.projection;
+
+import com.voting.model.Election;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, read-optimized view of a single election and its tallies.
+ * Every update produces a new instance, so a reader always sees a total that
+ * agrees with the candidate counts it was published with.
+ */
+public final class ElectionResultsView {
+    
+    private final String electionId;
+    private final String title;
+    private final Election.ElectionStatus status;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final List<CandidateTally> tallies;
+    private final int totalVotes;
+    private final long version;
+    
+    private ElectionResultsView(String electionId, String title, Election.ElectionStatus status,
+                                LocalDateTime startDate, LocalDateTime endDate,
+                                List<CandidateTally> tallies, int totalVotes, long version) {
+        this.electionId = electionId;
+        this.title = title;
+        this.status = status;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.tallies = tallies;
+        this.totalVotes = totalVotes;
+        this.version = version;
+    }
+    
+    static ElectionResultsView created(String electionId, String title, Election.ElectionStatus status,
+                                       LocalDateTime startDate, LocalDateTime endDate) {
+        return new ElectionResultsView(electionId, title, status, startDate, endDate,
+                Collections.emptyList(), 0, 0);
+    }
+    
+    // Copy-on-write transitions
+    ElectionResultsView withStatus(Election.ElectionStatus newStatus) {
+        return new ElectionResultsView(electionId, title, newStatus, startDate, endDate,
+                tallies, totalVotes, version + 1);
+    }
+    
+    ElectionResultsView withCandidate(String candidateId, String fullName) {
+        for (CandidateTally tally : tallies) {
+            if (tally.getCandidateId().equals(candidateId)) {
+                return this;
+            }
+        }
+        List<CandidateTally> updated = new ArrayList<>(tallies.size() + 1);
+        updated.addAll(tallies);
+        updated.add(new CandidateTally(candidateId, fullName, 0));
+        return new ElectionResultsView(electionId, title, status, startDate, endDate,
+                Collections.unmodifiableList(updated), totalVotes, version + 1);
+    }
+    
+    ElectionResultsView withVote(String candidateId) {
+        return withVotes(candidateId, 1);
+    }
+    
+    ElectionResultsView withVotes(String candidateId, int count) {
+        List<CandidateTally> updated = new ArrayList<>(tallies.size());
+        for (CandidateTally tally : tallies) {
+            updated.add(tally.getCandidateId().equals(candidateId)
+                    ? new CandidateTally(candidateId, tally.getFullName(), tally.getVotes() + count)
+                    : tally);
+        }
+        return new ElectionResultsView(electionId, title, status, startDate, endDate,
+                Collections.unmodifiableList(updated), totalVotes + count, version + 1);
+    }
+    
+    // Getters
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public Election.ElectionStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+    
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+    
+    public List<CandidateTally> getTallies() {
+        return tallies;
+    }
+    
+    public int getTotalVotes() {
+        return totalVotes;
+    }
+    
+    /**
+     * Number of updates applied to this view since the election was created
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    // Queries
+    public boolean isActive(LocalDateTime now) {
+        return status == Election.ElectionStatus.ACTIVE &&
+               (now.isAfter(startDate) || now.isEqual(startDate)) &&
+               now.isBefore(endDate);
+    }
+    
+    public boolean isCompleted(LocalDateTime now) {
+        return status == Election.ElectionStatus.COMPLETED || now.isAfter(endDate);
+    }
+    
+    /**
+     * Results keyed by candidate full name, in roster order
+     * @return Map of candidate name to vote count
+     */
+    public Map<String, Integer> getResults() {
+        Map<String, Integer> results = new LinkedHashMap<>();
+        for (CandidateTally tally : tallies) {
+            results.merge(tally.getFullName(), tally.getVotes(), Integer::sum);
+        }
+        return results;
+    }
+    
+    /**
+     * Candidate with the most votes; ties go to the candidate added first
+     * @return Optional containing the leading tally, empty if there are no candidates
+     */
+    public Optional<CandidateTally> getLeader() {
+        CandidateTally leader = null;
+        for (CandidateTally tally : tallies) {
+            if (leader == null || tally.getVotes() > leader.getVotes()) {
+                leader = tally;
+            }
+        }
+        return Optional.ofNullable(leader);
+    }
+    
+    @Override
+    public String toString() {
+        return "ElectionResultsView{" +
+                "electionId='" + electionId + '\'' +
+                ", title='" + title + '\'' +
+                ", status=" + status +
+                ", totalVotes=" + totalVotes +
+                ", version=" + version +
+                ", tallies=" + tallies +
+                '}';
+    }
+    
+    /**
+     * Immutable vote count for one candidate within an election view
+     */
+    public static final class CandidateTally {
+        private final String candidateId;
+        private final String fullName;
+        private final int votes;
+        
+        CandidateTally(String candidateId, String fullName, int votes) {
+            this.candidateId = candidateId;
+            this.fullName = fullName;
+            this.votes = votes;
+        }
+        
+        public String getCandidateId() {
+            return candidateId;
+        }
+        
+        public String getFullName() {
+            return fullName;
+        }
+        
+        public int getVotes() {
+            return votes;
+        }
+        
+        @Override
+        public String toString() {
+            return fullName + "=" + votes;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.voting.projection;
+
+import com.voting.region.Region;
+import com.voting.region.RegionTree;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read model of election tallies by region. A vote is added to its precinct and
+ * to every region above it as it is cast, so a region's results are a single
+ * lookup and a breakdown by sub-region costs one lookup per child, however many
+ * votes there are.
+ */
+public class RegionResultsProjection implements VotingEventListener {
+    
+    private final RegionTree regions;
+    private volatile State state = new State();
+    
+    public RegionResultsProjection(RegionTree regions) {
+        if (regions == null) {
+            throw new IllegalArgumentException("Region tree cannot be null");
+        }
+        this.regions = regions;
+    }
+    
+    @Override
+    public void onEvent(VotingEvent event) {
+        state.apply(event, regions);
+    }
+    
+    /**
+     * Discard all tallies and rebuild them by replaying the given events
+     * @param events The events to replay, in order
+     */
+    public void rebuild(Iterable<VotingEvent> events) {
+        State rebuilt = new State();
+        for (VotingEvent event : events) {
+            rebuilt.apply(event, regions);
+        }
+        state = rebuilt;
+    }
+    
+    /**
+     * Results for a region, including all regions below it
+     * @param regionId The region ID
+     * @param electionId The election ID
+     * @return Optional containing the view, empty if the region does not exist
+     */
+    public Optional<RegionResultsView> getRegionView(String regionId, String electionId) {
+        if (!regions.contains(regionId) || electionId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(view(state, regionId, electionId));
+    }
+    
+    /**
+     * Results for each direct child of a region
+     * @param regionId The region ID
+     * @param electionId The election ID
+     * @return One view per child region, in the order the children were added
+     */
+    public List<RegionResultsView> getChildViews(String regionId, String electionId) {
+        State current = state;
+        List<Region> children = regions.getChildren(regionId);
+        List<RegionResultsView> views = new ArrayList<>(children.size());
+        for (Region child : children) {
+            views.add(view(current, child.getRegionId(), electionId));
+        }
+        return views;
+    }
+    
+    /**
+     * Votes recorded directly against each region rather than one below it; the
+     * rolled-up views can be rebuilt from these by replaying them up the tree
+     * @return Votes per candidate ID, per region ID, per election ID; regions without votes are absent
+     */
+    public Map<String, Map<String, Map<String, Integer>>> getOwnTallies() {
+        State current = state;
+        Map<String, Map<String, Map<String, Integer>>> own = new LinkedHashMap<>();
+        current.views.forEach((regionId, byElection) -> byElection.forEach((electionId, ref) -> {
+            Map<String, Integer> tallies = new HashMap<>(ref.get().getTallies());
+            for (Region child : regions.getChildren(regionId)) {
+                view(current, child.getRegionId(), electionId).getTallies()
+                        .forEach((candidateId, votes) -> tallies.merge(candidateId, -votes, Integer::sum));
+            }
+            tallies.values().removeIf(votes -> votes == 0);
+            if (!tallies.isEmpty()) {
+                own.computeIfAbsent(electionId, id -> new LinkedHashMap<>()).put(regionId, tallies);
+            }
+        }));
+        return own;
+    }
+    
+    private static RegionResultsView view(State state, String regionId, String electionId) {
+        Map<String, AtomicReference<RegionResultsView>> byElection = state.views.get(regionId);
+        AtomicReference<RegionResultsView> ref = byElection != null ? byElection.get(electionId) : null;
+        return ref != null ? ref.get() : RegionResultsView.empty(regionId, electionId);
+    }
+    
+    /**
+     * Projection state; swapped as a whole on rebuild
+     */
+    private static final class State {
+        // Region ID -> election ID -> rolled-up view
+        private final Map<String, Map<String, AtomicReference<RegionResultsView>>> views = new ConcurrentHashMap<>();
+        
+        void apply(VotingEvent event, RegionTree regions) {
+            switch (event.getType()) {
+                case VOTE_CAST -> add(regions, event, 1);
+                case VOTES_RESTORED -> add(regions, event, event.getCount());
+                case VOTE_RETRACTED -> add(regions, event, -1);
+                default -> { /* Not part of this read model */ }
+            }
+        }
+        
+        private void add(RegionTree regions, VotingEvent event, int count) {
+            String[] path = regions.pathToRoot(event.getPrecinctId());
+            if (path == null || count == 0) {
+                return;
+            }
+            String electionId = event.getElectionId();
+            String candidateId = event.getCandidateId();
+            for (String regionId : path) {
+                views.computeIfAbsent(regionId, id -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(electionId,
+                                id -> new AtomicReference<>(RegionResultsView.empty(regionId, electionId)))
+                        .updateAndGet(view -> view.withVotes(candidateId, count));
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.voting.projection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable tallies for one election within one region, including every region
+ * below it. Like {@link ElectionResultsView}, each update produces a new instance
+ * so the total always agrees with the candidate counts.
+ */
+public final class RegionResultsView {
+    
+    private static final String[] NO_CANDIDATES = new String[0];
+    private static final int[] NO_VOTES = new int[0];
+    
+    private final String regionId;
+    private final String electionId;
+    // Candidates in the order they first received a vote in this region
+    private final String[] candidateIds;
+    private final int[] votes;
+    private final int totalVotes;
+    
+    private RegionResultsView(String regionId, String electionId, String[] candidateIds, int[] votes, int totalVotes) {
+        this.regionId = regionId;
+        this.electionId = electionId;
+        this.candidateIds = candidateIds;
+        this.votes = votes;
+        this.totalVotes = totalVotes;
+    }
+    
+    static RegionResultsView empty(String regionId, String electionId) {
+        return new RegionResultsView(regionId, electionId, NO_CANDIDATES, NO_VOTES, 0);
+    }
+    
+    // Copy-on-write transition
+    RegionResultsView withVotes(String candidateId, int count) {
+        for (int i = 0; i < candidateIds.length; i++) {
+            if (candidateIds[i].equals(candidateId)) {
+                int[] updated = votes.clone();
+                updated[i] += count;
+                return new RegionResultsView(regionId, electionId, candidateIds, updated, totalVotes + count);
+            }
+        }
+        String[] ids = Arrays.copyOf(candidateIds, candidateIds.length + 1);
+        int[] updated = Arrays.copyOf(votes, votes.length + 1);
+        ids[ids.length - 1] = candidateId;
+        updated[updated.length - 1] = count;
+        return new RegionResultsView(regionId, electionId, ids, updated, totalVotes + count);
+    }
+    
+    // Getters
+    public String getRegionId() {
+        return regionId;
+    }
+    
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public int getTotalVotes() {
+        return totalVotes;
+    }
+    
+    /**
+     * @return Votes for the candidate in this region, 0 if it has none
+     */
+    public int getVotes(String candidateId) {
+        for (int i = 0; i < candidateIds.length; i++) {
+            if (candidateIds[i].equals(candidateId)) {
+                return votes[i];
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Votes per candidate ID; candidates without votes in this region are absent
+     * @return Map of candidate ID to vote count
+     */
+    public Map<String, Integer> getTallies() {
+        Map<String, Integer> tallies = new LinkedHashMap<>();
+        for (int i = 0; i < candidateIds.length; i++) {
+            tallies.put(candidateIds[i], votes[i]);
+        }
+        return Collections.unmodifiableMap(tallies);
+    }
+    
+    @Override
+    public String toString() {
+        return "RegionResultsView{" +
+                "regionId='" + regionId + '\'' +
+                ", electionId='" + electionId + '\'' +
+                ", totalVotes=" + totalVotes +
+                ", tallies=" + getTallies() +
+                '}';
+    }
+}
@@ -0,0 +1,120 @@
+package com.voting.projection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read model that folds the voting event stream into immutable per-election
+ * result views and system statistics. Readers only ever see published views,
+ * never the mutable write-side objects.
+ */
+public class ResultsProjection implements VotingEventListener {
+    
+    private volatile State state = new State();
+    
+    @Override
+    public void onEvent(VotingEvent event) {
+        state.apply(event);
+    }
+    
+    /**
+     * Discard all views and rebuild them by replaying the given events.
+     * The new views are published in one step once the replay completes.
+     * @param events The events to replay, in order
+     */
+    public void rebuild(Iterable<VotingEvent> events) {
+        State rebuilt = new State();
+        for (VotingEvent event : events) {
+            rebuilt.apply(event);
+        }
+        state = rebuilt;
+    }
+    
+    public Optional<ElectionResultsView> getElectionView(String electionId) {
+        if (electionId == null) {
+            return Optional.empty();
+        }
+        AtomicReference<ElectionResultsView> ref = state.elections.get(electionId);
+        return ref != null ? Optional.of(ref.get()) : Optional.empty();
+    }
+    
+    public List<ElectionResultsView> getElectionViews() {
+        Collection<AtomicReference<ElectionResultsView>> refs = state.elections.values();
+        List<ElectionResultsView> views = new ArrayList<>(refs.size());
+        for (AtomicReference<ElectionResultsView> ref : refs) {
+            views.add(ref.get());
+        }
+        return Collections.unmodifiableList(views);
+    }
+    
+    public List<ElectionResultsView> getActiveElectionViews(LocalDateTime now) {
+        List<ElectionResultsView> active = new ArrayList<>();
+        for (AtomicReference<ElectionResultsView> ref : state.elections.values()) {
+            ElectionResultsView view = ref.get();
+            if (view.isActive(now)) {
+                active.add(view);
+            }
+        }
+        return active;
+    }
+    
+    public SystemStatisticsView getStatistics() {
+        return state.statistics.get();
+    }
+    
+    /**
+     * Projection state; swapped as a whole on rebuild
+     */
+    private static final class State {
+        private final Map<String, AtomicReference<ElectionResultsView>> elections = new ConcurrentHashMap<>();
+        private final AtomicReference<SystemStatisticsView> statistics =
+                new AtomicReference<>(SystemStatisticsView.EMPTY);
+        
+        void apply(VotingEvent event) {
+            switch (event.getType()) {
+                case VOTER_REGISTERED -> statistics.updateAndGet(SystemStatisticsView::withVoter);
+                case VOTER_ROLL_LOADED -> statistics.updateAndGet(view -> view.withVoters(event.getCount()));
+                case CANDIDATE_REGISTERED -> statistics.updateAndGet(SystemStatisticsView::withCandidate);
+                case ELECTION_CREATED -> {
+                    ElectionResultsView view = ElectionResultsView.created(event.getElectionId(),
+                            event.getName(), event.getElectionStatus(), event.getStartDate(), event.getEndDate());
+                    if (elections.putIfAbsent(event.getElectionId(), new AtomicReference<>(view)) == null) {
+                        statistics.updateAndGet(SystemStatisticsView::withElection);
+                    }
+                }
+                case ELECTION_STATUS_CHANGED ->
+                        update(event.getElectionId(), view -> view.withStatus(event.getElectionStatus()));
+                case CANDIDATE_ADDED_TO_ELECTION ->
+                        update(event.getElectionId(), view -> view.withCandidate(event.getCandidateId(), event.getName()));
+                case VOTE_CAST -> {
+                    update(event.getElectionId(), view -> view.withVote(event.getCandidateId()));
+                    statistics.updateAndGet(SystemStatisticsView::withVote);
+                }
+                case VOTE_RETRACTED -> {
+                    update(event.getElectionId(), view -> view.withVotes(event.getCandidateId(), -1));
+                    statistics.updateAndGet(view -> view.withVotes(-1));
+                }
+                case VOTES_RESTORED -> {
+                    update(event.getElectionId(), view -> view.withVotes(event.getCandidateId(), event.getCount()));
+                    statistics.updateAndGet(view -> view.withVotes(event.getCount()));
+                }
+                default -> { /* Not part of this read model */ }
+            }
+        }
+        
+        private void update(String electionId, UnaryOperator<ElectionResultsView> change) {
+            AtomicReference<ElectionResultsView> ref = elections.get(electionId);
+            if (ref != null) {
+                ref.updateAndGet(change);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.voting.projection;
+
+/**
+ * Immutable snapshot of system-wide counters maintained by the results projection
+ */
+public final class SystemStatisticsView {
+    
+    static final SystemStatisticsView EMPTY = new SystemStatisticsView(0, 0, 0, 0);
+    
+    private final int totalVoters;
+    private final int totalElections;
+    private final int totalCandidates;
+    private final int totalVotes;
+    
+    private SystemStatisticsView(int totalVoters, int totalElections, int totalCandidates, int totalVotes) {
+        this.totalVoters = totalVoters;
+        this.totalElections = totalElections;
+        this.totalCandidates = totalCandidates;
+        this.totalVotes = totalVotes;
+    }
+    
+    // Copy-on-write transitions
+    SystemStatisticsView withVoter() {
+        return new SystemStatisticsView(totalVoters + 1, totalElections, totalCandidates, totalVotes);
+    }
+    
+    SystemStatisticsView withVoters(int count) {
+        return new SystemStatisticsView(totalVoters + count, totalElections, totalCandidates, totalVotes);
+    }
+    
+    SystemStatisticsView withElection() {
+        return new SystemStatisticsView(totalVoters, totalElections + 1, totalCandidates, totalVotes);
+    }
+    
+    SystemStatisticsView withCandidate() {
+        return new SystemStatisticsView(totalVoters, totalElections, totalCandidates + 1, totalVotes);
+    }
+    
+    SystemStatisticsView withVote() {
+        return withVotes(1);
+    }
+    
+    SystemStatisticsView withVotes(int count) {
+        return new SystemStatisticsView(totalVoters, totalElections, totalCandidates, totalVotes + count);
+    }
+    
+    // Getters
+    public int getTotalVoters() {
+        return totalVoters;
+    }
+    
+    public int getTotalElections() {
+        return totalElections;
+    }
+    
+    public int getTotalCandidates() {
+        return totalCandidates;
+    }
+    
+    public int getTotalVotes() {
+        return totalVotes;
+    }
+    
+    @Override
+    public String toString() {
+        return "SystemStatisticsView{" +
+                "totalVoters=" + totalVoters +
+                ", totalElections=" + totalElections +
+                ", totalCandidates=" + totalCandidates +
+                ", totalVotes=" + totalVotes +
+                '}';
+    }
+}
@@ -0,0 +1,287 @@
+package com.voting.projection;
+
+import com.voting.model.Election;
+import com.voting.model.Vote;
+import com.voting.model.Voter;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of a state change on the write side of the voting system.
+ * Events are published by the service and consumed by read-model projections.
+ */
+public final class VotingEvent {
+    
+    // Audit logs store the ordinal, so new types go at the end
+    public enum Type {
+        VOTER_REGISTERED,
+        VOTER_ROLL_LOADED,
+        VOTER_STATUS_CHANGED,
+        CANDIDATE_REGISTERED,
+        ELECTION_CREATED,
+        ELECTION_STATUS_CHANGED,
+        CANDIDATE_ADDED_TO_ELECTION,
+        VOTE_CAST,
+        VOTES_RESTORED,
+        VOTER_PRECINCT_CHANGED,
+        REGION_ADDED,
+        VOTE_RETRACTED,
+        REGISTRATION_CUTOFF_CHANGED
+    }
+    
+    private final Type type;
+    private final LocalDateTime timestamp;
+    private final String voterId;
+    private final String candidateId;
+    private final String electionId;
+    private final String voteId;
+    private final String name;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Election.ElectionStatus electionStatus;
+    private final Voter.VoterStatus voterStatus;
+    private final int count;
+    private final String precinctId;
+    private final String regionId;
+    private final LocalDateTime registrationCutoff;
+    private final String reason;
+    
+    private VotingEvent(Type type, String voterId, String candidateId, String electionId, String voteId,
+                        String name, LocalDateTime startDate, LocalDateTime endDate,
+                        Election.ElectionStatus electionStatus, Voter.VoterStatus voterStatus) {
+        this(type, voterId, candidateId, electionId, voteId, name, startDate, endDate,
+                electionStatus, voterStatus, 0);
+    }
+    
+    private VotingEvent(Type type, String voterId, String candidateId, String electionId, String voteId,
+                        String name, LocalDateTime startDate, LocalDateTime endDate,
+                        Election.ElectionStatus electionStatus, Voter.VoterStatus voterStatus, int count) {
+        this(type, LocalDateTime.now(), voterId, candidateId, electionId, voteId, name, startDate, endDate,
+                electionStatus, voterStatus, count, null);
+    }
+    
+    private VotingEvent(Type type, LocalDateTime timestamp, String voterId, String candidateId, String electionId,
+                        String voteId, String name, LocalDateTime startDate, LocalDateTime endDate,
+                        Election.ElectionStatus electionStatus, Voter.VoterStatus voterStatus, int count,
+                        String precinctId) {
+        this(type, timestamp, voterId, candidateId, electionId, voteId, name, startDate, endDate,
+                electionStatus, voterStatus, count, precinctId, null, null, null);
+    }
+    
+    private VotingEvent(Type type, LocalDateTime timestamp, String voterId, String candidateId, String electionId,
+                        String voteId, String name, LocalDateTime startDate, LocalDateTime endDate,
+                        Election.ElectionStatus electionStatus, Voter.VoterStatus voterStatus, int count,
+                        String precinctId, String regionId, LocalDateTime registrationCutoff, String reason) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.voterId = voterId;
+        this.candidateId = candidateId;
+        this.electionId = electionId;
+        this.voteId = voteId;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.electionStatus = electionStatus;
+        this.voterStatus = voterStatus;
+        this.count = count;
+        this.precinctId = precinctId;
+        this.regionId = regionId;
+        this.registrationCutoff = registrationCutoff;
+        this.reason = reason;
+    }
+    
+    // Factory methods
+    public static VotingEvent voterRegistered(String voterId, String fullName) {
+        return new VotingEvent(Type.VOTER_REGISTERED, voterId, null, null, null,
+                fullName, null, null, null, Voter.VoterStatus.ACTIVE);
+    }
+    
+    /**
+     * Bulk event for a voter roll that was already populated when the service attached to it
+     */
+    public static VotingEvent voterRollLoaded(int voterCount) {
+        return new VotingEvent(Type.VOTER_ROLL_LOADED, null, null, null, null,
+                null, null, null, null, null, voterCount);
+    }
+    
+    public static VotingEvent voterStatusChanged(String voterId, Voter.VoterStatus status) {
+        return new VotingEvent(Type.VOTER_STATUS_CHANGED, voterId, null, null, null,
+                null, null, null, null, status);
+    }
+    
+    /**
+     * A voter moved to another precinct
+     * @param precinctId The new precinct, or null for none
+     */
+    public static VotingEvent voterPrecinctChanged(String voterId, String precinctId) {
+        return new VotingEvent(Type.VOTER_PRECINCT_CHANGED, LocalDateTime.now(), voterId, null, null, null,
+                null, null, null, null, null, 0, precinctId);
+    }
+    
+    public static VotingEvent candidateRegistered(String candidateId, String fullName) {
+        return new VotingEvent(Type.CANDIDATE_REGISTERED, null, candidateId, null, null,
+                fullName, null, null, null, null);
+    }
+    
+    public static VotingEvent electionCreated(String electionId, String title, LocalDateTime startDate,
+                                              LocalDateTime endDate, Election.ElectionStatus status) {
+        return new VotingEvent(Type.ELECTION_CREATED, null, null, electionId, null,
+                title, startDate, endDate, status, null);
+    }
+    
+    public static VotingEvent electionStatusChanged(String electionId, Election.ElectionStatus status) {
+        return new VotingEvent(Type.ELECTION_STATUS_CHANGED, null, null, electionId, null,
+                null, null, null, status, null);
+    }
+    
+    public static VotingEvent candidateAddedToElection(String electionId, String candidateId, String fullName) {
+        return new VotingEvent(Type.CANDIDATE_ADDED_TO_ELECTION, null, candidateId, electionId, null,
+                fullName, null, null, null, null);
+    }
+    
+    /**
+     * A committed vote, stamped with the time it was cast
+     */
+    public static VotingEvent voteCast(Vote vote) {
+        return new VotingEvent(Type.VOTE_CAST, vote.getTimestamp(), vote.getVoterId(), vote.getCandidateId(),
+                vote.getElectionId(), vote.getVoteId(), null, null, null, null, null, 0, vote.getPrecinctId());
+    }
+    
+    /**
+     * A counted vote that was invalidated; it is taken off the tallies of its candidate and precinct
+     * @param reason Why the vote was retracted
+     */
+    public static VotingEvent voteRetracted(Vote vote, String reason) {
+        return new VotingEvent(Type.VOTE_RETRACTED, LocalDateTime.now(), vote.getVoterId(), vote.getCandidateId(),
+                vote.getElectionId(), vote.getVoteId(), null, null, null, null, null, 0, vote.getPrecinctId(),
+                null, null, reason);
+    }
+    
+    /**
+     * Votes for a candidate carried over from a snapshot as a single count
+     */
+    public static VotingEvent votesRestored(String electionId, String candidateId, int voteCount) {
+        return votesRestored(electionId, candidateId, null, voteCount);
+    }
+    
+    /**
+     * Votes for a candidate from one precinct carried over from a snapshot as a single count
+     * @param precinctId The precinct the votes were cast in, or null for votes without one
+     */
+    public static VotingEvent votesRestored(String electionId, String candidateId, String precinctId, int voteCount) {
+        return new VotingEvent(Type.VOTES_RESTORED, LocalDateTime.now(), null, candidateId, electionId, null,
+                null, null, null, null, null, voteCount, precinctId);
+    }
+    
+    /**
+     * A region added to the reporting hierarchy
+     */
+    public static VotingEvent regionAdded(String regionId, String name) {
+        return new VotingEvent(Type.REGION_ADDED, LocalDateTime.now(), null, null, null, null,
+                name, null, null, null, null, 0, null, regionId, null, null);
+    }
+    
+    /**
+     * An election's registration cutoff set or cleared
+     * @param cutoff The new cutoff, or null if it was cleared
+     */
+    public static VotingEvent registrationCutoffChanged(String electionId, LocalDateTime cutoff) {
+        return new VotingEvent(Type.REGISTRATION_CUTOFF_CHANGED, LocalDateTime.now(), null, null, electionId, null,
+                null, null, null, null, null, 0, null, null, cutoff, null);
+    }
+    
+    // Getters
+    public Type getType() {
+        return type;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public String getVoterId() {
+        return voterId;
+    }
+    
+    public String getCandidateId() {
+        return candidateId;
+    }
+    
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public String getVoteId() {
+        return voteId;
+    }
+    
+    /**
+     * Display name carried by the event: the election title, the voter/candidate full name,
+     * or the region name
+     */
+    public String getName() {
+        return name;
+    }
+    
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+    
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+    
+    public Election.ElectionStatus getElectionStatus() {
+        return electionStatus;
+    }
+    
+    public Voter.VoterStatus getVoterStatus() {
+        return voterStatus;
+    }
+    
+    /**
+     * Precinct a vote was cast or retracted in, or a voter's new precinct; null if there is none
+     */
+    public String getPrecinctId() {
+        return precinctId;
+    }
+    
+    /**
+     * The region that was added to the reporting hierarchy
+     */
+    public String getRegionId() {
+        return regionId;
+    }
+    
+    /**
+     * An election's new registration cutoff; null if it was cleared or the event is of another type
+     */
+    public LocalDateTime getRegistrationCutoff() {
+        return registrationCutoff;
+    }
+    
+    /**
+     * Why a vote was retracted
+     */
+    public String getReason() {
+        return reason;
+    }
+    
+    /**
+     * Number of records covered by a bulk event
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    @Override
+    public String toString() {
+        return "VotingEvent{" +
+                "type=" + type +
+                ", timestamp=" + timestamp +
+                ", voterId='" + voterId + '\'' +
+                ", candidateId='" + candidateId + '\'' +
+                ", electionId='" + electionId + '\'' +
+                ", voteId='" + voteId + '\'' +
+                '}';
+    }
+}
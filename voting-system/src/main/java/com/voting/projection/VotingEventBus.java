@@ -0,0 +1,30 @@
+package com.voting.projection;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process publish/subscribe stream of voting events.
+ * Listeners are invoked synchronously, in registration order, on the publishing thread.
+ */
+public class VotingEventBus {
+    
+    private final List<VotingEventListener> listeners = new CopyOnWriteArrayList<>();
+    
+    public void subscribe(VotingEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+    
+    public void unsubscribe(VotingEventListener listener) {
+        listeners.remove(listener);
+    }
+    
+    public void publish(VotingEvent event) {
+        for (VotingEventListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.voting.projection;
+
+/**
+ * Consumer of the internal voting event stream
+ */
+@FunctionalInterface
+public interface VotingEventListener {
+    
+    /**
+     * Handle a published event. Called on the publishing thread.
+     * @param event The event
+     */
+    void onEvent(VotingEvent event);
+}
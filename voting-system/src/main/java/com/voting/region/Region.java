@@ -0,0 +1,67 @@
+package com.voting.region;
+
+import com.voting.model.Flyweights;
+import java.util.Objects;
+
+/**
+ * A node in the reporting geography, such as a state, county or precinct.
+ * The level is a free-form label, so the hierarchy can have any depth.
+ */
+public final class Region {
+    private final String regionId;
+    private final String name;
+    private final String level;
+    // Null for a top-level region
+    private final String parentId;
+    
+    public Region(String regionId, String name, String level, String parentId) {
+        this.regionId = Flyweights.id(regionId);
+        this.name = name;
+        this.level = Flyweights.label(level);
+        this.parentId = Flyweights.id(parentId);
+    }
+    
+    // Getters
+    public String getRegionId() {
+        return regionId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getLevel() {
+        return level;
+    }
+    
+    public String getParentId() {
+        return parentId;
+    }
+    
+    public boolean isRoot() {
+        return parentId == null;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Region region = (Region) o;
+        return Objects.equals(regionId, region.regionId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(regionId);
+    }
+    
+    @Override
+    public String toString() {
+        return "Region{" +
+                "regionId='" + regionId + '\'' +
+                ", name='" + name + '\'' +
+                ", level='" + level + '\'' +
+                ", parentId='" + parentId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,135 @@
+package com.voting.region;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * The reporting geography as a tree of regions, e.g. state, county, precinct.
+ *
+ * Regions are only ever added, never moved or removed, so each region's path to
+ * the root is fixed when it is added and is kept precomputed; tally roll-ups walk
+ * that path on every vote. Lookups are safe from any thread while regions are
+ * being added.
+ */
+public class RegionTree {
+    
+    private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+    private final List<Region> roots = new CopyOnWriteArrayList<>();
+    // Every region in the order it was added, so parents always come before children
+    private final Queue<Region> order = new ConcurrentLinkedQueue<>();
+    
+    /**
+     * Add a region below an existing parent, or as a top-level region
+     * @param region The region; its parent, if any, must already be in the tree
+     * @return The added region
+     */
+    public synchronized Region add(Region region) {
+        if (region == null || region.getRegionId() == null || region.getRegionId().isBlank()) {
+            throw new IllegalArgumentException("Region ID cannot be empty");
+        }
+        if (nodes.containsKey(region.getRegionId())) {
+            throw new IllegalArgumentException("Region " + region.getRegionId() + " already exists");
+        }
+        Node parent = null;
+        if (!region.isRoot()) {
+            parent = nodes.get(region.getParentId());
+            if (parent == null) {
+                throw new IllegalArgumentException("Parent region " + region.getParentId() + " does not exist");
+            }
+        }
+        String[] path;
+        if (parent == null) {
+            path = new String[] {region.getRegionId()};
+        } else {
+            path = new String[parent.path.length + 1];
+            path[0] = region.getRegionId();
+            System.arraycopy(parent.path, 0, path, 1, parent.path.length);
+        }
+        nodes.put(region.getRegionId(), new Node(region, path));
+        if (parent == null) {
+            roots.add(region);
+        } else {
+            parent.children.add(region);
+        }
+        order.add(region);
+        return region;
+    }
+    
+    public Optional<Region> getRegion(String regionId) {
+        Node node = regionId != null ? nodes.get(regionId) : null;
+        return node != null ? Optional.of(node.region) : Optional.empty();
+    }
+    
+    public boolean contains(String regionId) {
+        return regionId != null && nodes.containsKey(regionId);
+    }
+    
+    public List<Region> getRoots() {
+        return Collections.unmodifiableList(roots);
+    }
+    
+    /**
+     * @return The region's direct children in the order they were added; empty for an unknown region
+     */
+    public List<Region> getChildren(String regionId) {
+        Node node = regionId != null ? nodes.get(regionId) : null;
+        return node != null ? Collections.unmodifiableList(node.children) : Collections.emptyList();
+    }
+    
+    /**
+     * IDs of a region and its ancestors, the region itself first and the top-level region last
+     * @param regionId The region ID
+     * @return The path, or null for an unknown region. The array is shared and must not be modified.
+     */
+    public String[] pathToRoot(String regionId) {
+        Node node = regionId != null ? nodes.get(regionId) : null;
+        return node != null ? node.path : null;
+    }
+    
+    /**
+     * The region followed by its ancestors up to the top level
+     * @param regionId The region ID
+     * @return The regions on the path; empty for an unknown region
+     */
+    public List<Region> getAncestry(String regionId) {
+        String[] path = pathToRoot(regionId);
+        if (path == null) {
+            return Collections.emptyList();
+        }
+        List<Region> ancestry = new ArrayList<>(path.length);
+        for (String id : path) {
+            ancestry.add(nodes.get(id).region);
+        }
+        return ancestry;
+    }
+    
+    /**
+     * @return Every region, parents before their children
+     */
+    public Stream<Region> stream() {
+        return order.stream();
+    }
+    
+    public int size() {
+        return nodes.size();
+    }
+    
+    private static final class Node {
+        private final Region region;
+        private final String[] path;
+        private final List<Region> children = new CopyOnWriteArrayList<>();
+        
+        Node(Region region, String[] path) {
+            this.region = region;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.voting.service;
+
+import com.voting.model.Vote;
+import java.util.List;
+
+/**
+ * Outcome of a multi-contest ballot: one recorded vote per contest, or the reason
+ * the whole ballot was turned away and the contest that caused it.
+ */
+public final class BallotResult {
+    
+    private static final BallotResult[] VOTER_REJECTIONS = new BallotResult[CastVoteResult.Status.values().length];
+    
+    static {
+        for (CastVoteResult.Status status : CastVoteResult.Status.values()) {
+            if (status != CastVoteResult.Status.ACCEPTED) {
+                VOTER_REJECTIONS[status.ordinal()] = new BallotResult(status, null, List.of());
+            }
+        }
+    }
+    
+    private final CastVoteResult.Status status;
+    private final String electionId;
+    private final List<Vote> votes;
+    
+    private BallotResult(CastVoteResult.Status status, String electionId, List<Vote> votes) {
+        this.status = status;
+        this.electionId = electionId;
+        this.votes = votes;
+    }
+    
+    static BallotResult accepted(List<Vote> votes) {
+        return new BallotResult(CastVoteResult.Status.ACCEPTED, null, List.copyOf(votes));
+    }
+    
+    /**
+     * @param electionId The contest that was rejected, or null if the ballot as a whole was
+     */
+    static BallotResult rejected(CastVoteResult.Status status, String electionId) {
+        if (status == CastVoteResult.Status.ACCEPTED) {
+            throw new IllegalArgumentException("An accepted result needs votes");
+        }
+        return electionId == null
+                ? VOTER_REJECTIONS[status.ordinal()]
+                : new BallotResult(status, electionId, List.of());
+    }
+    
+    public CastVoteResult.Status getStatus() {
+        return status;
+    }
+    
+    public boolean isAccepted() {
+        return status == CastVoteResult.Status.ACCEPTED;
+    }
+    
+    /**
+     * @return The election whose selection was rejected, or null
+     */
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    /**
+     * @return The recorded votes in ballot order; empty if the ballot was rejected
+     */
+    public List<Vote> getVotes() {
+        return votes;
+    }
+    
+    public String getMessage() {
+        return electionId == null ? status.getMessage() : status.getMessage() + " (election " + electionId + ")";
+    }
+    
+    /**
+     * Unwrap an accepted result, or throw the rejection as an exception
+     * @return The recorded votes
+     */
+    public List<Vote> orElseThrow() {
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            throw new IllegalArgumentException(getMessage());
+        }
+        return votes;
+    }
+    
+    @Override
+    public String toString() {
+        return "BallotResult{" +
+                "status=" + status +
+                ", electionId='" + electionId + '\'' +
+                ", votes=" + votes.size() +
+                '}';
+    }
+}
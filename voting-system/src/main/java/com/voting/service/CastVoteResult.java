@@ -0,0 +1,125 @@
+package com.voting.service;
+
+import com.voting.model.Vote;
+import java.util.Optional;
+
+/**
+ * Outcome of a vote request: the recorded vote, or the reason it was turned away.
+ * Every rejection is a shared instance per status, so rejecting allocates nothing.
+ */
+public final class CastVoteResult {
+    
+    public enum Status {
+        ACCEPTED("Vote cast successfully"),
+        SOURCE_RATE_LIMITED("Too many requests from this source"),
+        VOTER_RATE_LIMITED("Too many attempts for this voter"),
+        VOTER_NOT_FOUND("Voter not found"),
+        VOTER_NOT_ACTIVE("Voter is not active"),
+        ALREADY_VOTED("Voter has already voted"),
+        ELECTION_NOT_FOUND("Election not found"),
+        ELECTION_NOT_ACTIVE("Election is not active"),
+        REGISTERED_AFTER_CUTOFF("Voter registered after the election's registration cutoff"),
+        NOT_RANKED_CHOICE("Election does not use ranked-choice voting"),
+        EMPTY_RANKING("Ranking must list at least one candidate"),
+        CANDIDATE_NOT_FOUND("Candidate not found"),
+        CANDIDATE_NOT_IN_ELECTION("Candidate is not part of this election"),
+        DUPLICATE_RANKING("Candidate is ranked more than once"),
+        EMPTY_BALLOT("Ballot must include at least one contest"),
+        IDEMPOTENCY_KEY_REUSED("Request key was already used for a different vote"),
+        VOTE_RETRACTED("The vote recorded for this request has been retracted");
+        
+        private final String message;
+        
+        Status(String message) {
+            this.message = message;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+    
+    private static final CastVoteResult[] REJECTIONS = new CastVoteResult[Status.values().length];
+    
+    static {
+        for (Status status : Status.values()) {
+            if (status != Status.ACCEPTED) {
+                REJECTIONS[status.ordinal()] = new CastVoteResult(status, null, false);
+            }
+        }
+    }
+    
+    private final Status status;
+    private final Vote vote;
+    private final boolean replay;
+    
+    private CastVoteResult(Status status, Vote vote, boolean replay) {
+        this.status = status;
+        this.vote = vote;
+        this.replay = replay;
+    }
+    
+    static CastVoteResult accepted(Vote vote) {
+        return new CastVoteResult(Status.ACCEPTED, vote, false);
+    }
+    
+    /**
+     * The same outcome, handed to a retry of the request that produced it
+     */
+    CastVoteResult asReplay() {
+        return replay ? this : new CastVoteResult(status, vote, true);
+    }
+    
+    static CastVoteResult rejected(Status status) {
+        if (status == Status.ACCEPTED) {
+            throw new IllegalArgumentException("An accepted result needs a vote");
+        }
+        return REJECTIONS[status.ordinal()];
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public boolean isAccepted() {
+        return status == Status.ACCEPTED;
+    }
+    
+    /**
+     * @return True if this is the outcome of an earlier request with the same idempotency key
+     */
+    public boolean isReplay() {
+        return replay;
+    }
+    
+    /**
+     * @return Optional containing the recorded vote if the request was accepted
+     */
+    public Optional<Vote> getVote() {
+        return Optional.ofNullable(vote);
+    }
+    
+    public String getMessage() {
+        return status.getMessage();
+    }
+    
+    /**
+     * Unwrap an accepted result, or throw the rejection as an exception
+     * @return The recorded vote
+     */
+    public Vote orElseThrow() {
+        if (vote == null) {
+            throw new IllegalArgumentException(status.getMessage());
+        }
+        return vote;
+    }
+    
+    @Override
+    public String toString() {
+        return "CastVoteResult{" +
+                "status=" + status +
+                ", voteId='" + (vote != null ? vote.getVoteId() : null) + '\'' +
+                ", replay=" + replay +
+                '}';
+    }
+}
@@ -0,0 +1,167 @@
+package com.voting.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Outcomes of recent vote requests by client-supplied idempotency key, so a retried
+ * request gets the receipt of the original instead of a second attempt.
+ *
+ * The first request with a key runs; requests arriving with the same key while it
+ * is in flight wait for it and share its outcome. An accepted vote is remembered
+ * until its entry expires or is evicted to keep the cache within its size; a
+ * rejection is forgotten at once, so a retry after, say, the election opens is
+ * tried again. Every key is tied to the request it was first used with, and reusing
+ * it for a different request is refused. A retry of a vote that has since been
+ * retracted is told so rather than handed the retracted vote or allowed to cast
+ * it again.
+ *
+ * Accepted entries are queued as they complete, which is close to the order they
+ * expire in, so expiry and eviction both take from the head of one queue, a little
+ * at a time as new votes are accepted. Rejected requests never enter the queue, and
+ * it is kept to the maximum number of entries.
+ */
+final class IdempotencyCache {
+    
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> byAge = new ConcurrentLinkedQueue<>();
+    // Size of byAge, which is not constant-time to ask the queue for
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong replays = new AtomicLong();
+    
+    IdempotencyCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::currentTimeMillis);
+    }
+    
+    IdempotencyCache(Duration ttl, int maxEntries, LongSupplier clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be positive");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+    
+    /**
+     * Run a request once per key
+     * @param key The client's idempotency key
+     * @param fingerprint What the request asks for; a key may only be reused for the same request
+     * @param request Runs the request
+     * @return The outcome of this request or of the earlier one with the same key
+     */
+    CastVoteResult execute(String key, String fingerprint, Supplier<CastVoteResult> request) {
+        while (true) {
+            long now = clock.getAsLong();
+            Entry entry = new Entry(key, fingerprint, now + ttlMillis);
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing != null && existing.expiresAt <= now) {
+                // Expired but not yet swept; replace it and try again
+                entries.remove(key, existing);
+                continue;
+            }
+            if (existing != null) {
+                if (!existing.fingerprint.equals(fingerprint)) {
+                    return CastVoteResult.rejected(CastVoteResult.Status.IDEMPOTENCY_KEY_REUSED);
+                }
+                CastVoteResult earlier = existing.outcome.join();
+                if (earlier == null) {
+                    // The earlier request was rejected or failed and gave the key up
+                    continue;
+                }
+                return replay(earlier);
+            }
+            CastVoteResult result = null;
+            try {
+                result = request.get();
+                return result;
+            } finally {
+                if (result == null || !result.isAccepted()) {
+                    entries.remove(key, entry);
+                    entry.outcome.complete(null);
+                } else {
+                    entry.outcome.complete(result);
+                    byAge.add(entry);
+                    queued.incrementAndGet();
+                    sweep(clock.getAsLong());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Answer a retry of a request that has already been accepted, without waiting or running anything
+     * @param key The client's idempotency key
+     * @param fingerprint What the request asks for
+     * @return The earlier outcome, or null if no accepted request with this key and fingerprint is remembered
+     */
+    CastVoteResult findReplay(String key, String fingerprint) {
+        Entry existing = entries.get(key);
+        if (existing == null || existing.expiresAt <= clock.getAsLong() || !existing.outcome.isDone()
+                || !existing.fingerprint.equals(fingerprint)) {
+            return null;
+        }
+        CastVoteResult earlier = existing.outcome.join();
+        return earlier != null ? replay(earlier) : null;
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    /**
+     * @return Requests answered with an earlier request's outcome
+     */
+    long getReplayCount() {
+        return replays.get();
+    }
+    
+    private CastVoteResult replay(CastVoteResult earlier) {
+        if (earlier.getVote().filter(vote -> !vote.isValid()).isPresent()) {
+            return CastVoteResult.rejected(CastVoteResult.Status.VOTE_RETRACTED);
+        }
+        replays.incrementAndGet();
+        return earlier.asReplay();
+    }
+    
+    private void sweep(long now) {
+        for (Entry oldest = byAge.peek(); oldest != null; oldest = byAge.peek()) {
+            boolean live = entries.get(oldest.key) == oldest;
+            if (live && oldest.expiresAt > now && queued.get() <= maxEntries) {
+                return;
+            }
+            if (byAge.remove(oldest)) {
+                queued.decrementAndGet();
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final String key;
+        private final String fingerprint;
+        private final long expiresAt;
+        // Completed with the accepted result, or with null if the key was given up
+        private final CompletableFuture<CastVoteResult> outcome = new CompletableFuture<>();
+        
+        Entry(String key, String fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,41 +1,265 @@
 package com.voting.service;
 
+import com.voting.admission.AdmissionController;
+import com.voting.dao.BloomFilteredVoterDAO;
+import com.voting.dao.Page;
+import com.voting.dao.SnapshotVoterDAO;
+import com.voting.dao.VoteLog;
 import com.voting.dao.VoterDAO;
 import com.voting.dao.VoterDAOImpl;
+import com.voting.export.ExportFormat;
+import com.voting.export.ResultRecord;
+import com.voting.export.StreamingExporter;
+import com.voting.index.NameSearchIndex;
+import com.voting.index.RegistrationDateIndex;
+import com.voting.index.VoteIndex;
+import com.voting.ledger.InclusionProof;
+import com.voting.ledger.LedgerCheckpoint;
+import com.voting.ledger.VoteLedger;
+import com.voting.metrics.VoteRateRecorder;
+import com.voting.metrics.VoteRateSeries;
 import com.voting.model.*;
+import com.voting.projection.ElectionResultsView;
+import com.voting.projection.RegionResultsProjection;
+import com.voting.projection.RegionResultsView;
+import com.voting.projection.ResultsProjection;
+import com.voting.projection.SystemStatisticsView;
+import com.voting.projection.VotingEvent;
+import com.voting.projection.VotingEventBus;
+import com.voting.projection.VotingEventListener;
+import com.voting.region.Region;
+import com.voting.region.RegionTree;
+import com.voting.snapshot.SnapshotWriter;
+import com.voting.snapshot.VotingSnapshot;
+import com.voting.tally.BallotPatternStore;
+import com.voting.tally.InstantRunoffTabulator;
+import com.voting.tally.RunoffResult;
+import com.voting.tally.TallyAuditReport;
+import com.voting.tally.TallyAuditor;
+import com.voting.trace.CastVoteEvent;
+import com.voting.trace.ElectionLifecycleEvent;
+import com.voting.trace.RegisterVoterEvent;
+import com.voting.trace.ResultsQueryEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Main service class for managing voting operations
  */
 public class VotingService {
     
+    private static final int MAX_RETRACTION_REASON_LENGTH = 1000;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    private static final Duration IDEMPOTENCY_KEY_TTL = Duration.ofMinutes(15);
+    private static final int MAX_IDEMPOTENCY_KEYS = 1 << 18;
+    
     private final VoterDAO voterDAO;
-    private final Map<String, Election> elections;
-    private final Map<String, Candidate> candidates;
-    private final Map<String, Vote> votes;
+    // Sorted by ID so listings can be paged with a stable order
+    private final ConcurrentNavigableMap<String, Election> elections;
+    private final ConcurrentNavigableMap<String, Candidate> candidates;
+    private final VoteIndex voteIndex;
+    private final IdempotencyCache idempotencyCache;
+    private final VoteLog voteLog;
+    private final TallyAuditor tallyAuditor;
+    // Order of the retractions made by this service, by vote ID, so an audit can tell
+    // which of them its cut includes
+    private final Map<String, Long> retractionSequences;
+    private final AtomicLong retractionCount;
+    private final VoteLedger voteLedger;
+    private final VoteRateRecorder voteRates;
+    private final StreamingExporter exporter;
+    private final AdmissionController admissionController;
+    private final AtomicLong idSequence;
+    // Registrations for the same email serialize on one stripe so the uniqueness check holds
+    private final Object[] registrationLocks;
+    private final Map<String, BallotPatternStore> rankedBallots;
+    private final InstantRunoffTabulator runoffTabulator;
+    private final VotingEventBus eventBus;
+    private final ResultsProjection resultsProjection;
+    private final RegionTree regionTree;
+    private final RegionResultsProjection regionProjection;
+    // Write-side changes and their events are published under the read lock;
+    // the write lock gives a consistent cut for rebuilding read models.
+    private final ReentrantReadWriteLock commitLock;
+    private final NameSearchIndex voterNameIndex;
+    private final NameSearchIndex candidateNameIndex;
+    // False while voters loaded from an existing roll are not yet in the name index
+    private volatile boolean voterNameIndexLoaded;
+    private final RegistrationDateIndex registrationIndex;
+    private volatile boolean registrationIndexLoaded;
+    // Set when restored from a snapshot: its votes are decoded lazily by the vote log and
+    // indexed in the background, and its tallies seed the read model. Retracting a snapshot
+    // vote takes it off these tallies too, so later rebuilds do not count it again.
+    private final VotingSnapshot snapshot;
+    private final Map<String, Map<String, Integer>> restoredTallies;
+    private final Map<String, Map<String, Map<String, Integer>>> restoredRegionTallies;
+    private final CountDownLatch votesHydrated;
+    private volatile boolean votesHydrationDone;
+    private volatile RuntimeException votesHydrationFailure;
     
     public VotingService() {
-        this.voterDAO = new VoterDAOImpl();
-        this.elections = new ConcurrentHashMap<>();
-        this.candidates = new ConcurrentHashMap<>();
-        this.votes = new ConcurrentHashMap<>();
+        this(new BloomFilteredVoterDAO(new VoterDAOImpl()));
+    }
+    
+    /**
+     * Create a service on top of the given voter store, which may already hold a voter roll
+     * @param voterDAO The voter store
+     */
+    public VotingService(VoterDAO voterDAO) {
+        this(voterDAO, new AdmissionController());
+    }
+    
+    /**
+     * Create a service with custom admission limits for {@link #tryCastVote}
+     * @param voterDAO The voter store
+     * @param admissionController Rate limits applied before vote validation
+     */
+    public VotingService(VoterDAO voterDAO, AdmissionController admissionController) {
+        this(voterDAO, admissionController, null);
+    }
+    
+    /**
+     * Restore a service from a snapshot written by {@link #writeSnapshot(Path)}. The service
+     * is ready as soon as the file is mapped; voters and votes are decoded on first access
+     * and loaded onto the heap in the background while requests are served.
+     * @param snapshotFile The snapshot file
+     * @return The restored service
+     * @throws IOException if the snapshot cannot be read
+     */
+    public static VotingService restore(Path snapshotFile) throws IOException {
+        VotingSnapshot snapshot = VotingSnapshot.open(snapshotFile);
+        return new VotingService(new SnapshotVoterDAO(snapshot), new AdmissionController(), snapshot);
+    }
+    
+    private VotingService(VoterDAO voterDAO, AdmissionController admissionController, VotingSnapshot snapshot) {
+        if (voterDAO == null) {
+            throw new IllegalArgumentException("Voter DAO cannot be null");
+        }
+        if (admissionController == null) {
+            throw new IllegalArgumentException("Admission controller cannot be null");
+        }
+        this.voterDAO = voterDAO;
+        this.elections = new ConcurrentSkipListMap<>();
+        this.candidates = new ConcurrentSkipListMap<>();
+        this.voteIndex = new VoteIndex();
+        this.idempotencyCache = new IdempotencyCache(IDEMPOTENCY_KEY_TTL, MAX_IDEMPOTENCY_KEYS);
+        this.voteLog = snapshot != null ? new VoteLog(snapshot.getVoteCount(), snapshot::readVote) : new VoteLog();
+        this.tallyAuditor = new TallyAuditor();
+        this.retractionSequences = new ConcurrentHashMap<>();
+        this.retractionCount = new AtomicLong();
+        this.voteLedger = new VoteLedger();
+        this.voteRates = new VoteRateRecorder();
+        this.exporter = new StreamingExporter();
+        this.admissionController = admissionController;
+        this.idSequence = new AtomicLong(snapshot != null ? snapshot.getIdSequence() : 0);
+        this.registrationLocks = new Object[64];
+        for (int i = 0; i < registrationLocks.length; i++) {
+            registrationLocks[i] = new Object();
+        }
+        this.rankedBallots = new ConcurrentHashMap<>();
+        this.runoffTabulator = new InstantRunoffTabulator();
+        this.eventBus = new VotingEventBus();
+        this.resultsProjection = new ResultsProjection();
+        this.regionTree = new RegionTree();
+        this.regionProjection = new RegionResultsProjection(regionTree);
+        this.commitLock = new ReentrantReadWriteLock();
+        this.voterNameIndex = new NameSearchIndex();
+        this.candidateNameIndex = new NameSearchIndex();
+        this.registrationIndex = new RegistrationDateIndex();
+        this.snapshot = snapshot;
+        this.restoredTallies = new ConcurrentHashMap<>(snapshot != null ? snapshot.readTallies() : Map.of());
+        this.restoredRegionTallies =
+                new ConcurrentHashMap<>(snapshot != null ? snapshot.readRegionTallies() : Map.of());
+        this.votesHydrated = new CountDownLatch(snapshot != null ? 1 : 0);
+        this.votesHydrationDone = snapshot == null;
+        eventBus.subscribe(resultsProjection);
+        eventBus.subscribe(regionProjection);
+        if (snapshot != null) {
+            for (Region region : snapshot.readRegions()) {
+                regionTree.add(region);
+            }
+            for (Candidate candidate : snapshot.readCandidates()) {
+                candidates.put(candidate.getCandidateId(), candidate);
+                candidateNameIndex.add(candidate.getCandidateId(), candidate.getFirstName(), candidate.getLastName());
+            }
+            for (Election election : snapshot.readElections(candidates)) {
+                elections.put(election.getElectionId(), election);
+            }
+        }
+        if (voterDAO.count() > 0 || snapshot != null) {
+            rebuildProjections();
+        } else {
+            voterNameIndexLoaded = true;
+            registrationIndexLoaded = true;
+        }
+        if (snapshot != null) {
+            Thread hydrator = new Thread(this::hydrateVotes, "vote-hydrator");
+            hydrator.setDaemon(true);
+            hydrator.start();
+        }
     }
     
     // Voter Management
     public Voter registerVoter(String firstName, String lastName, String email, String phoneNumber) {
-        // Check if voter already exists by email
-        Optional<Voter> existingVoter = voterDAO.findByEmail(email);
-        if (existingVoter.isPresent()) {
-            throw new IllegalArgumentException("Voter with email " + email + " already exists");
+        return registerVoter(firstName, lastName, email, phoneNumber, null);
+    }
+    
+    /**
+     * Register a voter in a precinct
+     * @param precinctId The region the voter's votes are reported under, or null for none
+     * @return The registered voter
+     */
+    public Voter registerVoter(String firstName, String lastName, String email, String phoneNumber,
+                               String precinctId) {
+        RegisterVoterEvent trace = RegisterVoterEvent.start();
+        String registeredId = null;
+        try {
+            checkPrecinct(precinctId);
+            Object registrationLock =
+                    registrationLocks[Math.floorMod(Objects.hashCode(email), registrationLocks.length)];
+            synchronized (registrationLock) {
+                trace.lockAcquired();
+                // Check if voter already exists by email
+                Optional<Voter> existingVoter = voterDAO.findByEmail(email);
+                trace.duplicateChecked();
+                if (existingVoter.isPresent()) {
+                    throw new IllegalArgumentException("Voter with email " + email + " already exists");
+                }
+                
+                String voterId = generateVoterId();
+                Voter voter = new Voter(voterId, firstName, lastName, email, phoneNumber);
+                voter.setPrecinctId(precinctId);
+                commitLock.readLock().lock();
+                try {
+                    voterDAO.save(voter);
+                    trace.saved();
+                    voterNameIndex.add(voterId, firstName, lastName);
+                    registrationIndex.add(voterId, voter.getRegistrationDate());
+                    trace.indexed();
+                    eventBus.publish(VotingEvent.voterRegistered(voterId, voter.getFullName()));
+                    trace.published();
+                } finally {
+                    commitLock.readLock().unlock();
+                }
+                registeredId = voterId;
+                return voter;
+            }
+        } finally {
+            trace.finish(registeredId, precinctId);
         }
-        
-        String voterId = generateVoterId();
-        Voter voter = new Voter(voterId, firstName, lastName, email, phoneNumber);
-        return voterDAO.save(voter);
     }
     
     public Optional<Voter> getVoter(String voterId) {
@@ -46,19 +270,216 @@ public class VotingService {
         return voterDAO.findAll();
     }
     
+    public Page<Voter> getVotersPage(String cursor, int limit) {
+        return voterDAO.findPage(cursor, limit);
+    }
+    
+    public Stream<Voter> streamVoters() {
+        return voterDAO.streamAll();
+    }
+    
+    /**
+     * Search voters by partial or misspelled name
+     * @param query Name query, e.g. "smi" or "jon smtih"
+     * @param limit Maximum number of results
+     * @return Matching voters, best match first
+     */
+    public List<Voter> searchVoters(String query, int limit) {
+        ensureVoterNameIndex();
+        List<Voter> result = new ArrayList<>();
+        for (String voterId : voterNameIndex.search(query, limit)) {
+            voterDAO.findById(voterId).ifPresent(result::add);
+        }
+        return result;
+    }
+    
+    private void ensureVoterNameIndex() {
+        if (voterNameIndexLoaded) {
+            return;
+        }
+        synchronized (voterNameIndex) {
+            if (!voterNameIndexLoaded) {
+                // Registrations index themselves, so re-adding them here is harmless
+                try (Stream<Voter> voters = voterDAO.streamAll()) {
+                    voters.forEach(voter -> voterNameIndex.add(voter.getVoterId(),
+                            voter.getFirstName(), voter.getLastName()));
+                }
+                voterNameIndexLoaded = true;
+            }
+        }
+    }
+    
+    /**
+     * Count the voters who registered in a time range
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return The number of registrations
+     */
+    public int countRegistrations(LocalDateTime from, LocalDateTime to) {
+        ensureRegistrationIndex();
+        return registrationIndex.countBetween(from, to);
+    }
+    
+    /**
+     * Voters who registered in a time range, most recent first
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @param limit Maximum number of voters to return
+     * @return The voters
+     */
+    public List<Voter> getVotersRegisteredBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        ensureRegistrationIndex();
+        try (Stream<String> voterIds = registrationIndex.streamBetweenDescending(from, to)) {
+            return voterIds.limit(limit)
+                    .map(voterDAO::findById)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    private void ensureRegistrationIndex() {
+        if (registrationIndexLoaded) {
+            return;
+        }
+        synchronized (registrationIndex) {
+            if (!registrationIndexLoaded) {
+                // Registrations index themselves, so re-adding them here is harmless
+                try (Stream<Voter> voters = voterDAO.streamAll()) {
+                    voters.filter(voter -> voter.getRegistrationDate() != null)
+                            .forEach(voter -> registrationIndex.add(voter.getVoterId(),
+                                    voter.getRegistrationDate()));
+                }
+                registrationIndexLoaded = true;
+            }
+        }
+    }
+    
     public boolean updateVoterStatus(String voterId, Voter.VoterStatus status) {
-        return voterDAO.updateStatus(voterId, status);
+        commitLock.readLock().lock();
+        try {
+            boolean updated = voterDAO.updateStatus(voterId, status);
+            if (updated) {
+                eventBus.publish(VotingEvent.voterStatusChanged(voterId, status));
+            }
+            return updated;
+        } finally {
+            commitLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Move a voter to another precinct. Votes already cast stay in the precinct
+     * they were cast in; later votes are reported under the new one.
+     * @param voterId The voter ID
+     * @param precinctId The new precinct, or null for none
+     * @return true if the voter exists and was updated
+     */
+    public boolean assignVoterPrecinct(String voterId, String precinctId) {
+        checkPrecinct(precinctId);
+        Optional<Voter> voter = voterId != null ? voterDAO.findById(voterId) : Optional.empty();
+        if (voter.isEmpty()) {
+            return false;
+        }
+        commitLock.readLock().lock();
+        try {
+            voter.get().setPrecinctId(precinctId);
+            voterDAO.save(voter.get());
+            eventBus.publish(VotingEvent.voterPrecinctChanged(voterId, precinctId));
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        return true;
+    }
+    
+    private void checkPrecinct(String precinctId) {
+        if (precinctId != null && !regionTree.contains(precinctId)) {
+            throw new IllegalArgumentException("Precinct " + precinctId + " does not exist");
+        }
+    }
+    
+    // Regions
+    /**
+     * Add a region to the reporting hierarchy
+     * @param regionId The region's code, e.g. a county FIPS code or precinct number
+     * @param name Display name
+     * @param level Level label, e.g. "State", "County" or "Precinct"
+     * @param parentId The enclosing region, or null for a top-level region
+     * @return The new region
+     */
+    public Region addRegion(String regionId, String name, String level, String parentId) {
+        Region region = new Region(regionId, name, level, parentId);
+        commitLock.readLock().lock();
+        try {
+            regionTree.add(region);
+            eventBus.publish(VotingEvent.regionAdded(regionId, name));
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        return region;
+    }
+    
+    public Optional<Region> getRegion(String regionId) {
+        return regionTree.getRegion(regionId);
+    }
+    
+    public List<Region> getTopLevelRegions() {
+        return regionTree.getRoots();
+    }
+    
+    public List<Region> getChildRegions(String regionId) {
+        return regionTree.getChildren(regionId);
+    }
+    
+    /**
+     * Results for a region, covering every precinct below it
+     * @param regionId The region ID
+     * @param electionId The election ID
+     * @return Optional containing the results, empty if the region does not exist
+     */
+    public Optional<RegionResultsView> getRegionResults(String regionId, String electionId) {
+        ResultsQueryEvent trace = ResultsQueryEvent.start();
+        Optional<RegionResultsView> view = regionProjection.getRegionView(regionId, electionId);
+        trace.finish("getRegionResults", electionId, regionId, view.isPresent());
+        return view;
+    }
+    
+    /**
+     * Results for each direct sub-region of a region, e.g. the counties of a state
+     * @param regionId The region ID
+     * @param electionId The election ID
+     * @return One result per child region
+     */
+    public List<RegionResultsView> getRegionBreakdown(String regionId, String electionId) {
+        ResultsQueryEvent trace = ResultsQueryEvent.start();
+        List<RegionResultsView> views = regionProjection.getChildViews(regionId, electionId);
+        trace.finish("getRegionBreakdown", electionId, regionId, !views.isEmpty());
+        return views;
     }
     
     // Election Management
     public Election createElection(String title, String description, LocalDateTime startDate, LocalDateTime endDate) {
+        return createElection(title, description, startDate, endDate, Election.VotingMethod.PLURALITY);
+    }
+    
+    public Election createElection(String title, String description, LocalDateTime startDate, LocalDateTime endDate,
+                                   Election.VotingMethod votingMethod) {
         if (startDate.isAfter(endDate)) {
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
         
+        ElectionLifecycleEvent trace = ElectionLifecycleEvent.start();
         String electionId = generateElectionId();
         Election election = new Election(electionId, title, description, startDate, endDate);
-        elections.put(electionId, election);
+        election.setVotingMethod(votingMethod != null ? votingMethod : Election.VotingMethod.PLURALITY);
+        commitLock.readLock().lock();
+        try {
+            elections.put(electionId, election);
+            eventBus.publish(VotingEvent.electionCreated(electionId, title, startDate, endDate,
+                    election.getStatus()));
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        trace.finish(electionId, null, election.getStatus(), true);
         return election;
     }
     
@@ -70,35 +491,108 @@ public class VotingService {
         return new ArrayList<>(elections.values());
     }
     
+    public Page<Election> getElectionsPage(String cursor, int limit) {
+        return Page.fromSorted(elections, cursor, limit);
+    }
+    
+    public Stream<Election> streamElections() {
+        return elections.values().stream();
+    }
+    
     public List<Election> getActiveElections() {
-        return elections.values().stream()
-                .filter(Election::isActive)
+        return resultsProjection.getActiveElectionViews(LocalDateTime.now()).stream()
+                .map(view -> elections.get(view.getElectionId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
     
+    public List<ElectionResultsView> getActiveElectionViews() {
+        return resultsProjection.getActiveElectionViews(LocalDateTime.now());
+    }
+    
     public boolean startElection(String electionId) {
-        Election election = elections.get(electionId);
-        if (election != null && election.getStatus() == Election.ElectionStatus.SCHEDULED) {
-            election.setStatus(Election.ElectionStatus.ACTIVE);
-            return true;
-        }
-        return false;
+        return changeElectionStatus(electionId, Election.ElectionStatus.SCHEDULED, Election.ElectionStatus.ACTIVE);
     }
     
     public boolean endElection(String electionId) {
-        Election election = elections.get(electionId);
-        if (election != null && election.getStatus() == Election.ElectionStatus.ACTIVE) {
-            election.setStatus(Election.ElectionStatus.COMPLETED);
+        return changeElectionStatus(electionId, Election.ElectionStatus.ACTIVE, Election.ElectionStatus.COMPLETED);
+    }
+    
+    private boolean changeElectionStatus(String electionId, Election.ElectionStatus from, Election.ElectionStatus to) {
+        ElectionLifecycleEvent trace = ElectionLifecycleEvent.start();
+        boolean changed = false;
+        try {
+            Election election = elections.get(electionId);
+            if (election == null) {
+                return false;
+            }
+            commitLock.readLock().lock();
+            try {
+                if (!election.transitionStatus(from, to)) {
+                    return false;
+                }
+                eventBus.publish(VotingEvent.electionStatusChanged(electionId, to));
+                changed = true;
+                return true;
+            } finally {
+                commitLock.readLock().unlock();
+            }
+        } finally {
+            trace.finish(electionId, from, to, changed);
+        }
+    }
+    
+    /**
+     * Require voters to have registered before a cutoff to vote in an election, e.g.
+     * 30 days before it starts. The cutoff can only be changed while the election is scheduled.
+     * @param electionId The election ID
+     * @param cutoff The time voters must have registered before, or null to remove the requirement
+     * @return True if the cutoff was set; false if the election does not exist or has already started
+     */
+    public boolean setRegistrationCutoff(String electionId, LocalDateTime cutoff) {
+        Election election = electionId != null ? elections.get(electionId) : null;
+        if (election == null) {
+            return false;
+        }
+        commitLock.readLock().lock();
+        try {
+            if (!election.setRegistrationCutoffIfStatus(Election.ElectionStatus.SCHEDULED, cutoff)) {
+                return false;
+            }
+            eventBus.publish(VotingEvent.registrationCutoffChanged(electionId, cutoff));
             return true;
+        } finally {
+            commitLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Count the voters who may vote in an election under its registration cutoff
+     * @param electionId The election ID
+     * @return Voters registered before the cutoff, or all voters if the election has none
+     */
+    public int getEligibleVoterCount(String electionId) {
+        Election election = electionId != null ? elections.get(electionId) : null;
+        LocalDateTime cutoff = election != null ? election.getRegistrationCutoff() : null;
+        if (cutoff == null) {
+            return resultsProjection.getStatistics().getTotalVoters();
         }
-        return false;
+        ensureRegistrationIndex();
+        return registrationIndex.countBefore(cutoff);
     }
     
     // Candidate Management
     public Candidate addCandidate(String firstName, String lastName, String party, String position) {
         String candidateId = generateCandidateId();
         Candidate candidate = new Candidate(candidateId, firstName, lastName, party, position);
-        candidates.put(candidateId, candidate);
+        commitLock.readLock().lock();
+        try {
+            candidates.put(candidateId, candidate);
+            candidateNameIndex.add(candidateId, firstName, lastName);
+            eventBus.publish(VotingEvent.candidateRegistered(candidateId, candidate.getFullName()));
+        } finally {
+            commitLock.readLock().unlock();
+        }
         return candidate;
     }
     
@@ -106,12 +600,20 @@ public class VotingService {
         Election election = elections.get(electionId);
         Candidate candidate = candidates.get(candidateId);
         
-        if (election != null && candidate != null && 
-            election.getStatus() == Election.ElectionStatus.SCHEDULED) {
-            election.addCandidate(candidate);
+        if (election == null || candidate == null) {
+            return false;
+        }
+        commitLock.readLock().lock();
+        try {
+            if (!election.addCandidateIfStatus(Election.ElectionStatus.SCHEDULED, candidate)) {
+                return false;
+            }
+            eventBus.publish(VotingEvent.candidateAddedToElection(electionId, candidateId,
+                    candidate.getFullName()));
             return true;
+        } finally {
+            commitLock.readLock().unlock();
         }
-        return false;
     }
     
     public Optional<Candidate> getCandidate(String candidateId) {
@@ -122,111 +624,1027 @@ public class VotingService {
         return new ArrayList<>(candidates.values());
     }
     
+    public Page<Candidate> getCandidatesPage(String cursor, int limit) {
+        return Page.fromSorted(candidates, cursor, limit);
+    }
+    
+    public Stream<Candidate> streamCandidates() {
+        return candidates.values().stream();
+    }
+    
+    public List<Candidate> searchCandidates(String query, int limit) {
+        return candidateNameIndex.search(query, limit).stream()
+                .map(candidates::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
     // Voting Operations
     public Vote castVote(String voterId, String candidateId, String electionId) {
-        // Validate voter
-        Optional<Voter> voterOpt = voterDAO.findById(voterId);
-        if (voterOpt.isEmpty()) {
-            throw new IllegalArgumentException("Voter not found");
+        return submitVote(voterId, candidateId, electionId).orElseThrow();
+    }
+    
+    /**
+     * Cast a vote that the client may retry, throwing if it is rejected
+     * @see #submitVote(String, String, String, String)
+     */
+    public Vote castVote(String voterId, String candidateId, String electionId, String idempotencyKey) {
+        return submitVote(voterId, candidateId, electionId, idempotencyKey).orElseThrow();
+    }
+    
+    /**
+     * Cast a vote, reporting a rejection as a result code instead of an exception
+     * @param voterId The voter
+     * @param candidateId The candidate voted for
+     * @param electionId The election
+     * @return The recorded vote, or the reason the vote was rejected
+     */
+    public CastVoteResult submitVote(String voterId, String candidateId, String electionId) {
+        CastVoteEvent trace = CastVoteEvent.start();
+        CastVoteResult result = submitVote(voterId, candidateId, electionId, trace);
+        trace.finish(electionId, false, result.getStatus());
+        return result;
+    }
+    
+    private CastVoteResult submitVote(String voterId, String candidateId, String electionId, CastVoteEvent trace) {
+        Voter voter = findVoter(voterId);
+        CastVoteResult.Status status = checkVoter(voter);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return CastVoteResult.rejected(status);
         }
-        
-        Voter voter = voterOpt.get();
-        if (voter.getStatus() != Voter.VoterStatus.ACTIVE) {
-            throw new IllegalArgumentException("Voter is not active");
+        Election election = electionId != null ? elections.get(electionId) : null;
+        // One consistent version of status, window and roster for the whole check
+        ElectionSnapshot config = election != null ? election.getSnapshot() : null;
+        status = checkElection(config, voter);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return CastVoteResult.rejected(status);
         }
-        
-        if (voter.hasVoted()) {
-            throw new IllegalArgumentException("Voter has already voted");
+        if (hasVoted(voterId, electionId)) {
+            return CastVoteResult.rejected(CastVoteResult.Status.ALREADY_VOTED);
         }
-        
-        // Validate election
-        Election election = elections.get(electionId);
+        status = checkCandidate(config, candidateId);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return CastVoteResult.rejected(status);
+        }
+        trace.validated();
+        // A single choice on a ranked-choice election is a one-candidate ranking
+        List<String> ranking = config.isRankedChoice() ? List.of(candidateId) : null;
+        return recordVote(voter, candidates.get(candidateId), election, ranking, trace);
+    }
+    
+    /**
+     * Cast a vote that the client may retry. The first request with a key is carried out;
+     * a retry with the same key gets the original receipt back instead of "already voted",
+     * for as long as the key is remembered (at least 15 minutes under normal load).
+     * @param voterId The voter
+     * @param candidateId The candidate voted for
+     * @param electionId The election
+     * @param idempotencyKey A key the client generates once per vote and sends with every
+     *                       attempt, or null to cast without one
+     * @return The recorded vote, or the reason the vote was rejected; a rejected request
+     *         is not remembered, so retrying it runs it again. A retry after the recorded
+     *         vote was retracted gets {@link CastVoteResult.Status#VOTE_RETRACTED}.
+     */
+    public CastVoteResult submitVote(String voterId, String candidateId, String electionId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return submitVote(voterId, candidateId, electionId);
+        }
+        checkIdempotencyKey(idempotencyKey);
+        return idempotencyCache.execute(idempotencyKey, fingerprint(voterId, electionId, candidateId),
+                () -> submitVote(voterId, candidateId, electionId));
+    }
+    
+    /**
+     * Cast a vote on behalf of an untrusted caller. Requests over the per-source or
+     * per-voter rate are turned away before any validation work is done.
+     * @param voterId The voter
+     * @param candidateId The candidate voted for
+     * @param electionId The election
+     * @param source The calling client or address, or null for trusted local callers
+     * @return The recorded vote, or the reason the request was rejected
+     */
+    public CastVoteResult tryCastVote(String voterId, String candidateId, String electionId, String source) {
+        return tryCastVote(voterId, candidateId, electionId, source, null);
+    }
+    
+    /**
+     * Cast a vote on behalf of an untrusted caller that may retry. A retry of a vote that
+     * has already been recorded is answered from the idempotency cache before the rate
+     * limits are applied, so retrying cannot lock a client out of its own receipt; any
+     * other attempt counts against the limits.
+     * @param voterId The voter
+     * @param candidateId The candidate voted for
+     * @param electionId The election
+     * @param source The calling client or address, or null for trusted local callers
+     * @param idempotencyKey The key sent with every attempt at this vote, or null for none
+     * @return The recorded vote, or the reason the request was rejected
+     * @see #submitVote(String, String, String, String)
+     */
+    public CastVoteResult tryCastVote(String voterId, String candidateId, String electionId, String source,
+                                      String idempotencyKey) {
+        if (idempotencyKey != null) {
+            checkIdempotencyKey(idempotencyKey);
+            CastVoteResult earlier =
+                    idempotencyCache.findReplay(idempotencyKey, fingerprint(voterId, electionId, candidateId));
+            if (earlier != null) {
+                return earlier;
+            }
+        }
+        AdmissionController.Decision decision = admissionController.admit(source, voterId);
+        if (decision == AdmissionController.Decision.SOURCE_LIMITED) {
+            return CastVoteResult.rejected(CastVoteResult.Status.SOURCE_RATE_LIMITED);
+        }
+        if (decision == AdmissionController.Decision.VOTER_LIMITED) {
+            return CastVoteResult.rejected(CastVoteResult.Status.VOTER_RATE_LIMITED);
+        }
+        return submitVote(voterId, candidateId, electionId, idempotencyKey);
+    }
+    
+    /**
+     * Cast a ranked-choice ballot
+     * @param voterId The voter
+     * @param rankedCandidateIds Candidate IDs in order of preference, most preferred first
+     * @param electionId A ranked-choice election
+     * @return The recorded vote; its candidate is the first preference
+     */
+    public Vote castRankedVote(String voterId, List<String> rankedCandidateIds, String electionId) {
+        return submitRankedVote(voterId, rankedCandidateIds, electionId).orElseThrow();
+    }
+    
+    /**
+     * Cast a ranked-choice ballot that the client may retry
+     * @param voterId The voter
+     * @param rankedCandidateIds Candidate IDs in order of preference, most preferred first
+     * @param electionId A ranked-choice election
+     * @param idempotencyKey The key sent with every attempt at this ballot, or null for none
+     * @return The recorded vote, or the reason the ballot was rejected
+     * @see #submitVote(String, String, String, String)
+     */
+    public CastVoteResult submitRankedVote(String voterId, List<String> rankedCandidateIds, String electionId,
+                                           String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return submitRankedVote(voterId, rankedCandidateIds, electionId);
+        }
+        checkIdempotencyKey(idempotencyKey);
+        String ranking = rankedCandidateIds != null ? String.join(",", rankedCandidateIds) : null;
+        return idempotencyCache.execute(idempotencyKey, fingerprint(voterId, electionId, ranking),
+                () -> submitRankedVote(voterId, rankedCandidateIds, electionId));
+    }
+    
+    private void checkIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH
+                    + " characters");
+        }
+    }
+    
+    private static String fingerprint(String voterId, String electionId, String choice) {
+        return voterId + '\u0000' + electionId + '\u0000' + choice;
+    }
+    
+    /**
+     * Cast a ranked-choice ballot, reporting a rejection as a result code
+     * @param voterId The voter
+     * @param rankedCandidateIds Candidate IDs in order of preference, most preferred first
+     * @param electionId A ranked-choice election
+     * @return The recorded vote, or the reason the ballot was rejected
+     */
+    public CastVoteResult submitRankedVote(String voterId, List<String> rankedCandidateIds, String electionId) {
+        CastVoteEvent trace = CastVoteEvent.start();
+        CastVoteResult result = submitRankedVote(voterId, rankedCandidateIds, electionId, trace);
+        trace.finish(electionId, true, result.getStatus());
+        return result;
+    }
+    
+    private CastVoteResult submitRankedVote(String voterId, List<String> rankedCandidateIds, String electionId,
+                                            CastVoteEvent trace) {
+        Voter voter = findVoter(voterId);
+        CastVoteResult.Status status = checkVoter(voter);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return CastVoteResult.rejected(status);
+        }
+        Election election = electionId != null ? elections.get(electionId) : null;
+        ElectionSnapshot config = election != null ? election.getSnapshot() : null;
+        status = checkElection(config, voter);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return CastVoteResult.rejected(status);
+        }
+        if (hasVoted(voterId, electionId)) {
+            return CastVoteResult.rejected(CastVoteResult.Status.ALREADY_VOTED);
+        }
+        status = checkRanking(config, rankedCandidateIds);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return CastVoteResult.rejected(status);
+        }
+        trace.validated();
+        Candidate firstChoice = candidates.get(rankedCandidateIds.get(0));
+        return recordVote(voter, firstChoice, election, rankedCandidateIds, trace);
+    }
+    
+    /**
+     * Cast a ballot covering several contests. The voter is validated once and the
+     * ballot is recorded in every contest or in none.
+     * @param ballot The ballot
+     * @return The recorded votes, one per contest in ballot order
+     */
+    public List<Vote> castBallot(Ballot ballot) {
+        return submitBallot(ballot).orElseThrow();
+    }
+    
+    /**
+     * Cast a multi-contest ballot, reporting a rejection as a result code
+     * @param ballot The ballot
+     * @return The recorded votes, or the reason the ballot was rejected and the contest at fault
+     */
+    public BallotResult submitBallot(Ballot ballot) {
+        if (ballot == null) {
+            throw new IllegalArgumentException("Ballot cannot be null");
+        }
+        List<Ballot.Contest> contests = ballot.getContests();
+        if (contests.isEmpty()) {
+            return BallotResult.rejected(CastVoteResult.Status.EMPTY_BALLOT, null);
+        }
+        String voterId = ballot.getVoterId();
+        Voter voter = findVoter(voterId);
+        CastVoteResult.Status status = checkVoter(voter);
+        if (status != CastVoteResult.Status.ACCEPTED) {
+            return BallotResult.rejected(status, null);
+        }
+        List<Election> targets = new ArrayList<>(contests.size());
+        List<List<String>> rankings = new ArrayList<>(contests.size());
+        for (Ballot.Contest contest : contests) {
+            String electionId = contest.getElectionId();
+            Election election = elections.get(electionId);
+            ElectionSnapshot config = election != null ? election.getSnapshot() : null;
+            status = checkElection(config, voter);
+            if (status == CastVoteResult.Status.ACCEPTED && hasVoted(voterId, electionId)) {
+                status = CastVoteResult.Status.ALREADY_VOTED;
+            }
+            List<String> candidateIds = contest.getCandidateIds();
+            if (status == CastVoteResult.Status.ACCEPTED) {
+                status = contest.isRanked()
+                        ? checkRanking(config, candidateIds)
+                        : checkCandidate(config, candidateIds.get(0));
+            }
+            if (status != CastVoteResult.Status.ACCEPTED) {
+                return BallotResult.rejected(status, electionId);
+            }
+            targets.add(election);
+            rankings.add(config.isRankedChoice() ? candidateIds : null);
+        }
+        return recordBallot(voter, contests, targets, rankings);
+    }
+    
+    private boolean hasVoted(String voterId, String electionId) {
+        if (voteIndex.hasVoted(voterId, electionId)) {
+            return true;
+        }
+        // Until the snapshot's votes are indexed, its voter records say who has voted where
+        return !votesHydrationDone && snapshot.hasVoted(voterId, electionId);
+    }
+    
+    private Voter findVoter(String voterId) {
+        return voterId != null ? voterDAO.findById(voterId).orElse(null) : null;
+    }
+    
+    private CastVoteResult.Status checkVoter(Voter voter) {
+        if (voter == null) {
+            return CastVoteResult.Status.VOTER_NOT_FOUND;
+        }
+        if (voter.getStatus() != Voter.VoterStatus.ACTIVE) {
+            return CastVoteResult.Status.VOTER_NOT_ACTIVE;
+        }
+        return CastVoteResult.Status.ACCEPTED;
+    }
+    
+    private CastVoteResult.Status checkElection(ElectionSnapshot election, Voter voter) {
         if (election == null) {
-            throw new IllegalArgumentException("Election not found");
+            return CastVoteResult.Status.ELECTION_NOT_FOUND;
         }
-        
-        if (!election.isActive()) {
-            throw new IllegalArgumentException("Election is not active");
+        if (!election.isActive(LocalDateTime.now())) {
+            return CastVoteResult.Status.ELECTION_NOT_ACTIVE;
         }
-        
-        // Validate candidate
-        Candidate candidate = candidates.get(candidateId);
-        if (candidate == null) {
-            throw new IllegalArgumentException("Candidate not found");
+        if (!election.isRegistrationEligible(voter.getRegistrationDate())) {
+            return CastVoteResult.Status.REGISTERED_AFTER_CUTOFF;
         }
-        
-        if (!election.getCandidates().contains(candidate)) {
-            throw new IllegalArgumentException("Candidate is not part of this election");
+        return CastVoteResult.Status.ACCEPTED;
+    }
+    
+    private CastVoteResult.Status checkRanking(ElectionSnapshot election, List<String> rankedCandidateIds) {
+        if (!election.isRankedChoice()) {
+            return CastVoteResult.Status.NOT_RANKED_CHOICE;
         }
-        
-        // Cast vote
+        if (rankedCandidateIds == null || rankedCandidateIds.isEmpty()) {
+            return CastVoteResult.Status.EMPTY_RANKING;
+        }
+        for (int i = 0; i < rankedCandidateIds.size(); i++) {
+            String candidateId = rankedCandidateIds.get(i);
+            CastVoteResult.Status status = checkCandidate(election, candidateId);
+            if (status != CastVoteResult.Status.ACCEPTED) {
+                return status;
+            }
+            // Rankings are short; a pairwise scan avoids building a set per ballot
+            for (int j = 0; j < i; j++) {
+                if (candidateId.equals(rankedCandidateIds.get(j))) {
+                    return CastVoteResult.Status.DUPLICATE_RANKING;
+                }
+            }
+        }
+        return CastVoteResult.Status.ACCEPTED;
+    }
+    
+    private CastVoteResult.Status checkCandidate(ElectionSnapshot election, String candidateId) {
+        if (candidateId == null || !candidates.containsKey(candidateId)) {
+            return CastVoteResult.Status.CANDIDATE_NOT_FOUND;
+        }
+        if (!election.hasCandidate(candidateId)) {
+            return CastVoteResult.Status.CANDIDATE_NOT_IN_ELECTION;
+        }
+        return CastVoteResult.Status.ACCEPTED;
+    }
+    
+    /**
+     * Commit a validated vote. The voter's place in the election is claimed atomically
+     * here, so concurrent requests for the same voter cannot both be recorded.
+     */
+    private CastVoteResult recordVote(Voter voter, Candidate candidate, Election election, List<String> ranking,
+                                      CastVoteEvent trace) {
+        String voterId = voter.getVoterId();
+        String candidateId = candidate.getCandidateId();
+        String electionId = election.getElectionId();
         String voteId = generateVoteId();
         Vote vote = new Vote(voteId, voterId, candidateId, electionId);
-        votes.put(voteId, vote);
-        
-        // Update counts
-        candidate.incrementVoteCount();
-        election.incrementTotalVotes();
-        voterDAO.markAsVoted(voterId);
+        vote.setPrecinctId(voter.getPrecinctId());
+        trace.idGenerated();
+        commitLock.readLock().lock();
+        try {
+            trace.lockAcquired();
+            BallotPatternStore patterns = null;
+            if (ranking != null) {
+                patterns = rankedBallots.computeIfAbsent(electionId, id -> new BallotPatternStore());
+                vote.setRankedCandidateIds(patterns.add(ranking));
+            }
+            if (!voteIndex.add(vote)) {
+                if (patterns != null) {
+                    patterns.remove(ranking);
+                }
+                return CastVoteResult.rejected(CastVoteResult.Status.ALREADY_VOTED);
+            }
+            trace.indexed();
+            voteLog.append(vote);
+            voteLedger.appendVote(vote);
+            trace.logged();
+            
+            // Update counts
+            candidate.incrementVoteCount();
+            election.incrementTotalVotes();
+            trace.counted();
+            voterDAO.markAsVoted(voterId);
+            trace.voterUpdated();
+            eventBus.publish(VotingEvent.voteCast(vote));
+            trace.published();
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        voteRates.record(electionId, candidateId);
         
+        return CastVoteResult.accepted(vote);
+    }
+    
+    /**
+     * Commit a validated ballot. The voter's places in all its elections are claimed in
+     * one step, and the votes go to the log and ledger as one batch under a single
+     * acquisition of the commit lock.
+     */
+    private BallotResult recordBallot(Voter voter, List<Ballot.Contest> contests,
+                                      List<Election> targets, List<List<String>> rankings) {
+        String voterId = voter.getVoterId();
+        int size = contests.size();
+        // The votes share one cast time and one block of the ID sequence
+        LocalDateTime castAt = LocalDateTime.now();
+        String idPrefix = "VOTE" + System.currentTimeMillis() + "_";
+        long firstSequence = idSequence.getAndAdd(size) + 1;
+        List<Vote> votes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Vote vote = new Vote(idPrefix + (firstSequence + i), voterId, contests.get(i).getCandidateIds().get(0),
+                    targets.get(i).getElectionId(), castAt);
+            vote.setPrecinctId(voter.getPrecinctId());
+            votes.add(vote);
+        }
+        commitLock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (rankings.get(i) != null) {
+                    Vote vote = votes.get(i);
+                    BallotPatternStore patterns =
+                            rankedBallots.computeIfAbsent(vote.getElectionId(), id -> new BallotPatternStore());
+                    vote.setRankedCandidateIds(patterns.add(rankings.get(i)));
+                }
+            }
+            if (!voteIndex.addAll(votes)) {
+                for (int i = 0; i < size; i++) {
+                    if (rankings.get(i) != null) {
+                        rankedBallots.get(votes.get(i).getElectionId()).remove(rankings.get(i));
+                    }
+                }
+                for (Vote vote : votes) {
+                    if (voteIndex.hasVoted(voterId, vote.getElectionId())) {
+                        return BallotResult.rejected(CastVoteResult.Status.ALREADY_VOTED, vote.getElectionId());
+                    }
+                }
+                return BallotResult.rejected(CastVoteResult.Status.ALREADY_VOTED, null);
+            }
+            voteLog.appendAll(votes);
+            voteLedger.appendVotes(votes);
+            
+            for (int i = 0; i < size; i++) {
+                Vote vote = votes.get(i);
+                candidates.get(vote.getCandidateId()).incrementVoteCount();
+                targets.get(i).incrementTotalVotes();
+            }
+            voterDAO.markAsVoted(voterId);
+            for (Vote vote : votes) {
+                eventBus.publish(VotingEvent.voteCast(vote));
+            }
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        for (Vote vote : votes) {
+            voteRates.record(vote.getElectionId(), vote.getCandidateId());
+        }
+        return BallotResult.accepted(votes);
+    }
+    
+    // Vote Receipts
+    /**
+     * Look up a vote by the receipt ID returned when it was cast
+     * @param voteId The vote ID
+     * @return Optional containing the vote if found
+     */
+    public Optional<Vote> getVote(String voteId) {
+        Optional<Vote> vote = voteIndex.findById(voteId);
+        if (vote.isEmpty() && !votesHydrationDone && voteId != null) {
+            // A snapshot vote's record number is its position in the vote log
+            long sequence = snapshot.findVote(voteId);
+            if (sequence >= 0) {
+                return Optional.of(voteLog.get(sequence));
+            }
+        }
         return vote;
     }
     
-    // Results and Statistics
+    public List<Vote> getVotesByVoter(String voterId) {
+        awaitVoteHydration();
+        return voteIndex.findByVoter(voterId);
+    }
+    
+    public Optional<Vote> getVoterBallot(String voterId, String electionId) {
+        awaitVoteHydration();
+        return voteIndex.findByVoterAndElection(voterId, electionId);
+    }
+    
+    /**
+     * Stream the counted votes in an election, in commit order; retracted votes are left out
+     * @param electionId The election ID
+     * @return Stream of the election's valid votes
+     */
+    public Stream<Vote> streamVotesByElection(String electionId) {
+        awaitVoteHydration();
+        return voteIndex.streamByElection(electionId).filter(Vote::isValid);
+    }
+    
+    // Vote Retraction
+    /**
+     * Retract a counted vote, for example after a successful challenge. The vote stays on
+     * record, marked invalid, and is taken off its candidate's and election's counts and
+     * every results view; the voter may vote in that election again.
+     * @param voteId The vote receipt ID
+     * @param reason Why the vote is retracted, recorded in the ledger and the event stream; may be null
+     * @return true if the vote was retracted; false if there is no such vote or it was already retracted
+     */
+    public boolean retractVote(String voteId, String reason) {
+        checkRetractionReason(reason);
+        awaitVoteHydration();
+        Optional<Vote> vote = voteIndex.findById(voteId);
+        if (vote.isEmpty()) {
+            return false;
+        }
+        commitLock.readLock().lock();
+        try {
+            return retract(vote.get(), reason);
+        } finally {
+            commitLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retract every counted vote that matches a filter, for example all votes of a voter
+     * found to be registered twice. Each vote is retracted as by {@link #retractVote};
+     * votes cast after the call starts are not considered.
+     * @param filter Selects the votes to retract
+     * @param reason Why the votes are retracted; may be null
+     * @return The votes that were retracted, in commit order
+     */
+    public List<Vote> retractVotes(Predicate<Vote> filter, String reason) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        checkRetractionReason(reason);
+        awaitVoteHydration();
+        long size = voteLog.size();
+        List<Vote> retracted = new ArrayList<>();
+        commitLock.readLock().lock();
+        try {
+            for (long sequence = 0; sequence < size; sequence++) {
+                Vote vote = voteLog.get(sequence);
+                if (vote != null && vote.isValid() && filter.test(vote) && retract(vote, reason)) {
+                    retracted.add(vote);
+                }
+            }
+        } finally {
+            commitLock.readLock().unlock();
+        }
+        return retracted;
+    }
+    
+    private void checkRetractionReason(String reason) {
+        if (reason != null && reason.length() > MAX_RETRACTION_REASON_LENGTH) {
+            throw new IllegalArgumentException("Retraction reason cannot be longer than "
+                    + MAX_RETRACTION_REASON_LENGTH + " characters");
+        }
+    }
+    
+    /**
+     * Undo a vote's effect on the counts. Called under the commit read lock; releasing
+     * the voter's place is the claim, so a vote is only ever retracted once.
+     */
+    private boolean retract(Vote vote, String reason) {
+        if (!voteIndex.release(vote)) {
+            return false;
+        }
+        // Sequenced before the vote is marked invalid, so a recount that sees it invalid finds the sequence
+        retractionSequences.put(vote.getVoteId(), retractionCount.getAndIncrement());
+        vote.setValid(false);
+        List<String> ranking = vote.getRankedCandidateIds();
+        BallotPatternStore patterns = ranking != null ? rankedBallots.get(vote.getElectionId()) : null;
+        if (patterns != null) {
+            patterns.remove(ranking);
+        }
+        Candidate candidate = candidates.get(vote.getCandidateId());
+        if (candidate != null) {
+            candidate.decrementVoteCount();
+        }
+        Election election = elections.get(vote.getElectionId());
+        if (election != null) {
+            election.decrementTotalVotes();
+        }
+        if (snapshot != null && snapshot.findVote(vote.getVoteId()) >= 0) {
+            forgetRestoredVote(vote);
+        }
+        String voterId = vote.getVoterId();
+        if (voteIndex.findByVoter(voterId).isEmpty()) {
+            voterDAO.clearVoted(voterId);
+            // A vote indexed before the reset marks the voter after indexing; mark again in case it came first
+            if (!voteIndex.findByVoter(voterId).isEmpty()) {
+                voterDAO.markAsVoted(voterId);
+            }
+        }
+        voteLedger.appendRetraction(vote, reason, LocalDateTime.now());
+        eventBus.publish(VotingEvent.voteRetracted(vote, reason));
+        return true;
+    }
+    
+    /**
+     * Take a retracted snapshot vote off the snapshot tallies that rebuilds start from.
+     * Each election's counts are changed inside its map entry, so retractions in the
+     * same election are applied one at a time.
+     */
+    private void forgetRestoredVote(Vote vote) {
+        String candidateId = vote.getCandidateId();
+        restoredTallies.computeIfPresent(vote.getElectionId(), (electionId, tallies) -> {
+            tallies.computeIfPresent(candidateId, (id, votes) -> votes - 1);
+            return tallies;
+        });
+        String precinctId = vote.getPrecinctId();
+        if (precinctId != null) {
+            restoredRegionTallies.computeIfPresent(vote.getElectionId(), (electionId, byRegion) -> {
+                Map<String, Integer> tallies = byRegion.get(precinctId);
+                if (tallies != null) {
+                    tallies.computeIfPresent(candidateId, (id, votes) -> votes - 1);
+                }
+                return byRegion;
+            });
+        }
+    }
+    
+    // Vote Rates
+    /**
+     * Vote arrivals in an election over a recent window
+     * @param electionId The election ID
+     * @param window How far back to look; longer windows come back in coarser buckets
+     * @return Optional containing the series, empty if no vote has arrived yet
+     */
+    public Optional<VoteRateSeries> getVoteRate(String electionId, Duration window) {
+        return voteRates.getElectionRate(electionId, window);
+    }
+    
+    public Optional<VoteRateSeries> getCandidateVoteRate(String electionId, String candidateId, Duration window) {
+        return voteRates.getCandidateRate(electionId, candidateId, window);
+    }
+    
+    // Results and Statistics (served from the read model)
+    public Optional<ElectionResultsView> getElectionResultsView(String electionId) {
+        ResultsQueryEvent trace = ResultsQueryEvent.start();
+        Optional<ElectionResultsView> view = resultsProjection.getElectionView(electionId);
+        trace.finish("getElectionResultsView", electionId, null, view.isPresent());
+        return view;
+    }
+    
     public Map<String, Integer> getElectionResults(String electionId) {
-        Election election = elections.get(electionId);
-        if (election == null) {
-            return new HashMap<>();
+        ResultsQueryEvent trace = ResultsQueryEvent.start();
+        Optional<ElectionResultsView> view = resultsProjection.getElectionView(electionId);
+        trace.finish("getElectionResults", electionId, null, view.isPresent());
+        return view.map(ElectionResultsView::getResults)
+                .orElseGet(HashMap::new);
+    }
+    
+    /**
+     * Run an instant-runoff count over the ranked ballots cast so far
+     * @param electionId A ranked-choice election
+     * @return Optional containing the round-by-round result, empty if the election is not ranked-choice
+     */
+    public Optional<RunoffResult> getRankedChoiceResults(String electionId) {
+        ResultsQueryEvent trace = ResultsQueryEvent.start();
+        Election election = electionId != null ? elections.get(electionId) : null;
+        if (election == null || !election.isRankedChoice()) {
+            trace.finish("getRankedChoiceResults", electionId, null, false);
+            return Optional.empty();
         }
-        
-        return election.getCandidates().stream()
-                .collect(Collectors.toMap(
-                    Candidate::getFullName,
-                    Candidate::getVoteCount
-                ));
+        List<String> roster = election.getCandidates().stream()
+                .map(Candidate::getCandidateId)
+                .collect(Collectors.toList());
+        awaitVoteHydration();
+        BallotPatternStore store = rankedBallots.computeIfAbsent(electionId, id -> new BallotPatternStore());
+        RunoffResult result = runoffTabulator.tabulate(electionId, store.snapshot(), roster);
+        trace.finish("getRankedChoiceResults", electionId, null, true);
+        return Optional.of(result);
     }
     
     public Optional<Candidate> getElectionWinner(String electionId) {
-        Election election = elections.get(electionId);
-        return election != null ? Optional.ofNullable(election.getWinner()) : Optional.empty();
+        ResultsQueryEvent trace = ResultsQueryEvent.start();
+        Optional<ElectionResultsView> view = resultsProjection.getElectionView(electionId);
+        Optional<Candidate> winner = Optional.empty();
+        if (view.isPresent() && view.get().isCompleted(LocalDateTime.now())) {
+            winner = view.get().getLeader()
+                    .map(tally -> candidates.get(tally.getCandidateId()));
+        }
+        trace.finish("getElectionWinner", electionId, null, winner.isPresent());
+        return winner;
     }
     
     public int getTotalVotesInElection(String electionId) {
-        Election election = elections.get(electionId);
-        return election != null ? election.getTotalVotes() : 0;
+        return resultsProjection.getElectionView(electionId)
+                .map(ElectionResultsView::getTotalVotes)
+                .orElse(0);
     }
     
     public double getVoterTurnout(String electionId) {
-        int totalVoters = voterDAO.findAll().size();
+        int totalVoters = getEligibleVoterCount(electionId);
         int totalVotes = getTotalVotesInElection(electionId);
         return totalVoters > 0 ? (double) totalVotes / totalVoters * 100 : 0.0;
     }
     
+    /**
+     * Rebuild all read-model views from scratch by replaying the current write-side state.
+     * Writers are held off for the duration of the replay so the views match a single cut.
+     */
+    public void rebuildProjections() {
+        commitLock.writeLock().lock();
+        try {
+            List<VotingEvent> events = replayEvents();
+            resultsProjection.rebuild(events);
+            regionProjection.rebuild(events);
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Recount every election from the vote records and compare against the live counters.
+     * Writers are held off only while the cut and the live counters are captured;
+     * the recount itself runs in parallel while voting continues. A vote retracted after
+     * the cut is still counted, as it was when the counters were captured.
+     * @return The audit report
+     */
+    public TallyAuditReport auditTallies() {
+        long cut;
+        long retractionCut;
+        Map<String, Long> electionTotals = new HashMap<>();
+        Map<String, Long> candidateCounts = new HashMap<>();
+        Map<String, Map<String, Long>> viewTallies = new HashMap<>();
+        commitLock.writeLock().lock();
+        try {
+            cut = voteLog.size();
+            retractionCut = retractionCount.get();
+            for (Election election : elections.values()) {
+                electionTotals.put(election.getElectionId(), (long) election.getTotalVotes());
+            }
+            for (Candidate candidate : candidates.values()) {
+                candidateCounts.put(candidate.getCandidateId(), (long) candidate.getVoteCount());
+            }
+            for (ElectionResultsView view : resultsProjection.getElectionViews()) {
+                Map<String, Long> tallies = new HashMap<>();
+                for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+                    tallies.put(tally.getCandidateId(), (long) tally.getVotes());
+                }
+                viewTallies.put(view.getElectionId(), tallies);
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        return tallyAuditor.audit(voteLog, cut, vote -> wasCounted(vote, retractionCut), electionTotals,
+                candidateCounts, viewTallies);
+    }
+    
+    /**
+     * Whether a vote was still counted when only the first retractionCut retractions had been made.
+     * Votes restored from a snapshot already retracted have no sequence and stay uncounted.
+     */
+    private boolean wasCounted(Vote vote, long retractionCut) {
+        if (vote.isValid()) {
+            return true;
+        }
+        Long sequence = retractionSequences.get(vote.getVoteId());
+        return sequence != null && sequence >= retractionCut;
+    }
+    
+    // Vote Ledger
+    public LedgerCheckpoint getLedgerCheckpoint() {
+        awaitVoteHydration();
+        return voteLedger.checkpoint();
+    }
+    
+    /**
+     * Prove that a vote receipt is recorded in the ledger
+     * @param voteId The vote receipt ID
+     * @return Optional containing the inclusion proof, empty if no such vote was recorded
+     */
+    public Optional<InclusionProof> getVoteInclusionProof(String voteId) {
+        awaitVoteHydration();
+        return voteLedger.getInclusionProof(voteId);
+    }
+    
+    /**
+     * Prove that a later ledger checkpoint extends an earlier one
+     * @param firstSize The earlier checkpoint's tree size
+     * @param secondSize The later checkpoint's tree size
+     * @return The consistency proof
+     */
+    public List<byte[]> getLedgerConsistencyProof(long firstSize, long secondSize) {
+        return voteLedger.getConsistencyProof(firstSize, secondSize);
+    }
+    
+    /**
+     * Check every vote record against the ledger
+     * @return IDs of votes whose current fields no longer match what was committed
+     */
+    public List<String> verifyVoteIntegrity() {
+        awaitVoteHydration();
+        long size = voteLog.size();
+        List<String> tampered = new ArrayList<>();
+        for (long sequence = 0; sequence < size; sequence++) {
+            Vote vote = voteLog.get(sequence);
+            if (vote != null && !voteLedger.verifyVote(vote)) {
+                tampered.add(vote.getVoteId());
+            }
+        }
+        if (!voteLedger.verifyChain()) {
+            throw new IllegalStateException("Vote ledger hash chain is broken");
+        }
+        return tampered;
+    }
+    
+    // Snapshots
+    /**
+     * Write the whole system state to a snapshot that {@link #restore(Path)} can start from.
+     * Writers are held off while the snapshot is written so it captures a single cut.
+     * @param snapshotFile Where to write the snapshot; an existing file is replaced
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeSnapshot(Path snapshotFile) throws IOException {
+        awaitVoteHydration();
+        commitLock.writeLock().lock();
+        try (SnapshotWriter writer = new SnapshotWriter(snapshotFile)) {
+            writer.writeCandidates(candidates.values());
+            writer.writeElections(elections.values(), this::currentTallies);
+            writer.writeVoters(voterDAO.streamAll(), voterId -> voteIndex.findByVoter(voterId).stream()
+                    .map(Vote::getElectionId)
+                    .collect(Collectors.toList()));
+            writer.writeVotes(voteLog.stream());
+            writer.writeRegions(regionTree.stream());
+            writer.writeRegionTallies(regionProjection.getOwnTallies());
+            writer.commit(idSequence.get());
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+    
+    // Export
+    /**
+     * Export every vote cast so far. Writers are held off only while the cut is taken;
+     * votes are then read straight from the vote log while voting continues.
+     * @param target The file to write; an existing file is replaced
+     * @param format The file format
+     * @return The number of votes exported
+     * @throws IOException if the file cannot be written
+     */
+    public long exportVotes(Path target, ExportFormat format) throws IOException {
+        long cut;
+        commitLock.writeLock().lock();
+        try {
+            cut = voteLog.size();
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        return exporter.exportVotes(target, format, cut, voteLog::get);
+    }
+    
+    /**
+     * Export the read-model results: one row per candidate for each election, followed
+     * by one row per candidate for each region with votes in that election
+     * @param target The file to write; an existing file is replaced
+     * @param format The file format
+     * @return The number of rows exported
+     * @throws IOException if the file cannot be written
+     */
+    public long exportResults(Path target, ExportFormat format) throws IOException {
+        List<ResultRecord> rows = new ArrayList<>();
+        List<Region> regions = regionTree.stream().collect(Collectors.toList());
+        commitLock.writeLock().lock();
+        try {
+            for (ElectionResultsView view : resultsProjection.getElectionViews()) {
+                String electionId = view.getElectionId();
+                for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+                    rows.add(new ResultRecord(electionId, view.getTitle(), null,
+                            tally.getCandidateId(), tally.getFullName(), tally.getVotes()));
+                }
+                for (Region region : regions) {
+                    RegionResultsView regionView = regionProjection.getRegionView(region.getRegionId(), electionId)
+                            .orElse(null);
+                    if (regionView == null || regionView.getTotalVotes() == 0) {
+                        continue;
+                    }
+                    for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+                        rows.add(new ResultRecord(electionId, view.getTitle(), region.getRegionId(),
+                                tally.getCandidateId(), tally.getFullName(),
+                                regionView.getVotes(tally.getCandidateId())));
+                    }
+                }
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        return exporter.exportResults(target, format, rows);
+    }
+    
+    /**
+     * Whether all votes from the snapshot the service was restored from are indexed
+     * @return True once background loading has finished, or if the service was not restored
+     */
+    public boolean isFullyLoaded() {
+        return votesHydrationDone
+                && (!(voterDAO instanceof SnapshotVoterDAO) || ((SnapshotVoterDAO) voterDAO).isHydrated());
+    }
+    
+    private Map<String, Integer> currentTallies(String electionId) {
+        Map<String, Integer> tallies = new HashMap<>();
+        resultsProjection.getElectionView(electionId).ifPresent(view -> {
+            for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+                tallies.put(tally.getCandidateId(), tally.getVotes());
+            }
+        });
+        return tallies;
+    }
+    
+    /**
+     * Index the snapshot's votes, rebuild ranked-ballot patterns and re-append the
+     * votes to the ledger, while new votes are already being accepted
+     */
+    private void hydrateVotes() {
+        try {
+            long restored = voteLog.restoredCount();
+            for (long sequence = 0; sequence < restored; sequence++) {
+                Vote vote = voteLog.get(sequence);
+                if (!vote.isValid()) {
+                    // Retracted before the snapshot: on record, but not counted and holding no place
+                    voteIndex.addRetracted(vote);
+                    voteLedger.appendVote(vote);
+                    voteLedger.appendRetraction(vote, null, null);
+                    continue;
+                }
+                List<String> ranking = vote.getRankedCandidateIds();
+                if (ranking != null) {
+                    BallotPatternStore patterns =
+                            rankedBallots.computeIfAbsent(vote.getElectionId(), id -> new BallotPatternStore());
+                    vote.setRankedCandidateIds(patterns.add(ranking));
+                }
+                voteIndex.add(vote);
+                voteLedger.appendVote(vote);
+            }
+        } catch (RuntimeException e) {
+            votesHydrationFailure = e;
+        } finally {
+            votesHydrationDone = votesHydrationFailure == null;
+            votesHydrated.countDown();
+        }
+    }
+    
+    private void awaitVoteHydration() {
+        if (votesHydrationDone) {
+            return;
+        }
+        try {
+            votesHydrated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading votes from the snapshot", e);
+        }
+        if (votesHydrationFailure != null) {
+            throw new IllegalStateException("Votes could not be loaded from " + snapshot.getPath(),
+                    votesHydrationFailure);
+        }
+    }
+    
+    public void addEventListener(VotingEventListener listener) {
+        eventBus.subscribe(listener);
+    }
+    
+    private List<VotingEvent> replayEvents() {
+        List<VotingEvent> events = new ArrayList<>();
+        events.add(VotingEvent.voterRollLoaded(voterDAO.count()));
+        for (Candidate candidate : candidates.values()) {
+            events.add(VotingEvent.candidateRegistered(candidate.getCandidateId(), candidate.getFullName()));
+        }
+        for (Election election : elections.values()) {
+            events.add(VotingEvent.electionCreated(election.getElectionId(), election.getTitle(),
+                    election.getStartDate(), election.getEndDate(), election.getStatus()));
+            for (Candidate candidate : election.getCandidates()) {
+                events.add(VotingEvent.candidateAddedToElection(election.getElectionId(),
+                        candidate.getCandidateId(), candidate.getFullName()));
+            }
+        }
+        // Snapshot votes enter as per-candidate counts rather than one event each: one count
+        // per region that votes were recorded against, and the rest without a region
+        restoredTallies.forEach((electionId, tallies) -> {
+            Map<String, Map<String, Integer>> byRegion = restoredRegionTallies.getOrDefault(electionId, Map.of());
+            tallies.forEach((candidateId, votes) -> {
+                int unassigned = votes;
+                for (Map.Entry<String, Map<String, Integer>> region : byRegion.entrySet()) {
+                    int regionVotes = region.getValue().getOrDefault(candidateId, 0);
+                    if (regionVotes > 0) {
+                        events.add(VotingEvent.votesRestored(electionId, candidateId, region.getKey(), regionVotes));
+                        unassigned -= regionVotes;
+                    }
+                }
+                if (unassigned > 0) {
+                    events.add(VotingEvent.votesRestored(electionId, candidateId, unassigned));
+                }
+            });
+        });
+        LongStream.range(voteLog.restoredCount(), voteLog.size())
+                .mapToObj(voteLog::get)
+                .filter(vote -> vote != null && vote.isValid())
+                .forEach(vote -> events.add(VotingEvent.voteCast(vote)));
+        return events;
+    }
+    
     // Utility methods
+    // The sequence keeps IDs unique when several are generated within the same millisecond
     private String generateVoterId() {
-        return "V" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return "V" + System.currentTimeMillis() + "_" + idSequence.incrementAndGet();
     }
     
     private String generateElectionId() {
-        return "E" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return "E" + System.currentTimeMillis() + "_" + idSequence.incrementAndGet();
     }
     
     private String generateCandidateId() {
-        return "C" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return "C" + System.currentTimeMillis() + "_" + idSequence.incrementAndGet();
     }
     
     private String generateVoteId() {
-        return "VOTE" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return "VOTE" + System.currentTimeMillis() + "_" + idSequence.incrementAndGet();
     }
     
     // System Statistics
     public Map<String, Object> getSystemStatistics() {
+        SystemStatisticsView view = resultsProjection.getStatistics();
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalVoters", voterDAO.findAll().size());
-        stats.put("totalElections", elections.size());
-        stats.put("totalCandidates", candidates.size());
-        stats.put("totalVotes", votes.size());
-        stats.put("activeElections", getActiveElections().size());
+        stats.put("totalVoters", view.getTotalVoters());
+        stats.put("totalElections", view.getTotalElections());
+        stats.put("totalCandidates", view.getTotalCandidates());
+        stats.put("totalVotes", view.getTotalVotes());
+        stats.put("activeElections", resultsProjection.getActiveElectionViews(LocalDateTime.now()).size());
         return stats;
     }
 }
\ No newline at end of file
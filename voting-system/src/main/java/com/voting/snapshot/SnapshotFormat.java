@@ -0,0 +1,48 @@
+package com.voting.snapshot;
+
+/**
+ * Layout constants shared by the snapshot writer and reader.
+ *
+ * A snapshot file starts with a fixed header followed by a section index; each
+ * index entry gives a section's type, record count, offset and length. Variable
+ * length record sections are paired with an offsets table (one long per record)
+ * and, where records are looked up by ID, an order table (one int per record,
+ * record numbers sorted by ID) that supports binary search without decoding
+ * the records in between.
+ */
+final class SnapshotFormat {
+    
+    static final int MAGIC = 0x56534E50;  // "VSNP"
+    static final int VERSION = 3;
+    
+    // Header: magic, version, section count, reserved, created-at millis, ID sequence
+    static final int HEADER_FIXED_SIZE = 32;
+    static final int MAX_SECTIONS = 16;
+    // Index entry: type, reserved, record count, offset, length
+    static final int INDEX_ENTRY_SIZE = 32;
+    static final int HEADER_SIZE = HEADER_FIXED_SIZE + MAX_SECTIONS * INDEX_ENTRY_SIZE;
+    
+    // A single record never exceeds this, so mapped chunks that overlap by this much
+    // always hold a whole record starting inside them
+    static final int MAX_RECORD_BYTES = 1 << 20;
+    static final int CHUNK_BITS = 30;
+    static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    
+    static final long NULL_TIME = Long.MIN_VALUE;
+    
+    enum Section {
+        CANDIDATES,
+        ELECTIONS,
+        VOTERS,
+        VOTER_OFFSETS,
+        VOTER_ORDER,
+        VOTES,
+        VOTE_OFFSETS,
+        VOTE_ORDER,
+        REGIONS,
+        REGION_TALLIES
+    }
+    
+    private SnapshotFormat() {
+    }
+}
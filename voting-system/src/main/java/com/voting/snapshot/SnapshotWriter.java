@@ -0,0 +1,431 @@
+package com.voting.snapshot;
+
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Vote;
+import com.voting.model.Voter;
+import com.voting.region.Region;
+import com.voting.snapshot.SnapshotFormat.Section;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a binary snapshot of the voting system state.
+ *
+ * Sections are streamed to a temporary file next to the target and the header
+ * is filled in last; {@link #commit(long)} then moves the file into place, so a
+ * reader never sees a half-written snapshot.
+ */
+public class SnapshotWriter implements Closeable {
+    
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer record = ByteBuffer.allocate(SnapshotFormat.MAX_RECORD_BYTES);
+    // Per section type: record count, offset, length; null until the section is written
+    private final long[][] index = new long[Section.values().length][];
+    // File position of the next byte, counting what is still buffered
+    private long position;
+    private boolean committed;
+    
+    /**
+     * Start writing a snapshot
+     * @param target Where the finished snapshot will be placed
+     * @throws IOException if the temporary file cannot be created
+     */
+    public SnapshotWriter(Path target) throws IOException {
+        if (target == null) {
+            throw new IllegalArgumentException("Snapshot path cannot be null");
+        }
+        this.target = target.toAbsolutePath();
+        this.temp = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.position = SnapshotFormat.HEADER_SIZE;
+        channel.position(position);
+    }
+    
+    public void writeCandidates(Collection<Candidate> candidates) throws IOException {
+        long start = position;
+        for (Candidate candidate : candidates) {
+            record.clear();
+            putString(candidate.getCandidateId());
+            putString(candidate.getFirstName());
+            putString(candidate.getLastName());
+            putString(candidate.getParty());
+            putString(candidate.getPosition());
+            putString(candidate.getBiography());
+            putInt(candidate.getVoteCount());
+            putByte(candidate.isActive() ? 1 : 0);
+            emitRecord();
+        }
+        endSection(Section.CANDIDATES, candidates.size(), start);
+    }
+    
+    /**
+     * Write the elections with their rosters and read-model tallies
+     * @param elections The elections
+     * @param tallies Votes per candidate ID for an election ID
+     */
+    public void writeElections(Collection<Election> elections,
+                               Function<String, Map<String, Integer>> tallies) throws IOException {
+        long start = position;
+        for (Election election : elections) {
+            Map<String, Integer> electionTallies = tallies.apply(election.getElectionId());
+            List<Candidate> roster = election.getCandidates();
+            record.clear();
+            putString(election.getElectionId());
+            putString(election.getTitle());
+            putString(election.getDescription());
+            putTime(election.getStartDate());
+            putTime(election.getEndDate());
+            putByte(election.getStatus().ordinal());
+            putByte(election.getVotingMethod().ordinal());
+            putTime(election.getRegistrationCutoff());
+            putInt(election.getTotalVotes());
+            putInt(roster.size());
+            for (Candidate candidate : roster) {
+                putString(candidate.getCandidateId());
+                putInt(electionTallies.getOrDefault(candidate.getCandidateId(), 0));
+            }
+            emitRecord();
+        }
+        endSection(Section.ELECTIONS, elections.size(), start);
+    }
+    
+    /**
+     * Write the voter roll
+     * @param voters The voters, in any order
+     * @param votedElections IDs of the elections a voter has a ballot in
+     */
+    public void writeVoters(Stream<Voter> voters, Function<String, List<String>> votedElections) throws IOException {
+        long start = position;
+        LongList offsets = new LongList();
+        List<String> ids = new ArrayList<>();
+        Iterator<Voter> iterator = voters.iterator();
+        while (iterator.hasNext()) {
+            Voter voter = iterator.next();
+            List<String> voted = votedElections.apply(voter.getVoterId());
+            record.clear();
+            putString(voter.getVoterId());
+            putString(voter.getFirstName());
+            putString(voter.getLastName());
+            putString(voter.getEmail());
+            putString(voter.getPhoneNumber());
+            putTime(voter.getRegistrationDate());
+            putByte(voter.getStatus().ordinal());
+            putByte(voter.hasVoted() ? 1 : 0);
+            putString(voter.getPrecinctId());
+            putInt(voted.size());
+            for (String electionId : voted) {
+                putString(electionId);
+            }
+            offsets.add(position);
+            ids.add(voter.getVoterId());
+            emitRecord();
+        }
+        endSection(Section.VOTERS, ids.size(), start);
+        writeTables(Section.VOTER_OFFSETS, Section.VOTER_ORDER, offsets, ids);
+    }
+    
+    /**
+     * Write the votes; a vote's record number in the snapshot is its position in the stream
+     * @param votes The votes in log order
+     */
+    public void writeVotes(Stream<Vote> votes) throws IOException {
+        long start = position;
+        LongList offsets = new LongList();
+        List<String> ids = new ArrayList<>();
+        Iterator<Vote> iterator = votes.iterator();
+        while (iterator.hasNext()) {
+            Vote vote = iterator.next();
+            List<String> ranking = vote.getRankedCandidateIds();
+            record.clear();
+            putString(vote.getVoteId());
+            putString(vote.getVoterId());
+            putString(vote.getCandidateId());
+            putString(vote.getElectionId());
+            putTime(vote.getTimestamp());
+            putByte(vote.isValid() ? 1 : 0);
+            putString(vote.getPrecinctId());
+            if (ranking == null) {
+                putInt(-1);
+            } else {
+                putInt(ranking.size());
+                for (String candidateId : ranking) {
+                    putString(candidateId);
+                }
+            }
+            offsets.add(position);
+            ids.add(vote.getVoteId());
+            emitRecord();
+        }
+        endSection(Section.VOTES, ids.size(), start);
+        writeTables(Section.VOTE_OFFSETS, Section.VOTE_ORDER, offsets, ids);
+    }
+    
+    /**
+     * Write the region tree
+     * @param regions The regions, parents before their children
+     */
+    public void writeRegions(Stream<Region> regions) throws IOException {
+        long start = position;
+        long count = 0;
+        Iterator<Region> iterator = regions.iterator();
+        while (iterator.hasNext()) {
+            Region region = iterator.next();
+            record.clear();
+            putString(region.getRegionId());
+            putString(region.getName());
+            putString(region.getLevel());
+            putString(region.getParentId());
+            emitRecord();
+            count++;
+        }
+        endSection(Section.REGIONS, count, start);
+    }
+    
+    /**
+     * Write the votes recorded directly against each region; roll-ups are rebuilt on restore
+     * @param tallies Votes per candidate ID, per region ID, per election ID
+     */
+    public void writeRegionTallies(Map<String, Map<String, Map<String, Integer>>> tallies) throws IOException {
+        long start = position;
+        long count = 0;
+        for (Map.Entry<String, Map<String, Map<String, Integer>>> election : tallies.entrySet()) {
+            for (Map.Entry<String, Map<String, Integer>> region : election.getValue().entrySet()) {
+                record.clear();
+                putString(election.getKey());
+                putString(region.getKey());
+                putInt(region.getValue().size());
+                for (Map.Entry<String, Integer> candidate : region.getValue().entrySet()) {
+                    putString(candidate.getKey());
+                    putInt(candidate.getValue());
+                }
+                emitRecord();
+                count++;
+            }
+        }
+        endSection(Section.REGION_TALLIES, count, start);
+    }
+    
+    /**
+     * Finish the header, flush to disk and move the snapshot into place
+     * @param idSequence The service's ID sequence, restored so new IDs stay unique
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void commit(long idSequence) throws IOException {
+        for (Section section : Section.values()) {
+            if (index[section.ordinal()] == null) {
+                throw new IllegalStateException("Snapshot section " + section + " was not written");
+            }
+        }
+        flush();
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+        header.putInt(SnapshotFormat.MAGIC);
+        header.putInt(SnapshotFormat.VERSION);
+        header.putInt(index.length);
+        header.putInt(0);
+        header.putLong(System.currentTimeMillis());
+        header.putLong(idSequence);
+        for (int type = 0; type < index.length; type++) {
+            header.putInt(type);
+            header.putInt(0);
+            header.putLong(index[type][0]);
+            header.putLong(index[type][1]);
+            header.putLong(index[type][2]);
+        }
+        header.clear();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+    
+    /**
+     * Abandon the snapshot unless it was committed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private void writeTables(Section offsetsSection, Section orderSection,
+                             LongList offsets, List<String> ids) throws IOException {
+        long start = position;
+        for (int i = 0; i < offsets.size(); i++) {
+            record.clear();
+            record.putLong(offsets.get(i));
+            emitRecord();
+        }
+        endSection(offsetsSection, offsets.size(), start);
+        
+        int[] order = sortedOrder(ids);
+        start = position;
+        for (int recordNumber : order) {
+            record.clear();
+            record.putInt(recordNumber);
+            emitRecord();
+        }
+        endSection(orderSection, order.length, start);
+    }
+    
+    private void endSection(Section section, long count, long start) {
+        if (index[section.ordinal()] != null) {
+            throw new IllegalStateException("Snapshot section " + section + " was already written");
+        }
+        index[section.ordinal()] = new long[] {count, start, position - start};
+    }
+    
+    private void emitRecord() throws IOException {
+        record.flip();
+        if (out.remaining() < record.remaining()) {
+            flush();
+        }
+        position += record.remaining();
+        out.put(record);
+    }
+    
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+    
+    private void putString(String value) {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        try {
+            record.put(bytes);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Snapshot record is larger than "
+                    + SnapshotFormat.MAX_RECORD_BYTES + " bytes");
+        }
+    }
+    
+    private void putTime(LocalDateTime time) {
+        if (time == null) {
+            putLong(SnapshotFormat.NULL_TIME);
+            putInt(0);
+        } else {
+            putLong(time.toEpochSecond(ZoneOffset.UTC));
+            putInt(time.getNano());
+        }
+    }
+    
+    private void putLong(long value) {
+        ensureRoom(Long.BYTES);
+        record.putLong(value);
+    }
+    
+    private void putInt(int value) {
+        ensureRoom(Integer.BYTES);
+        record.putInt(value);
+    }
+    
+    private void putByte(int value) {
+        ensureRoom(1);
+        record.put((byte) value);
+    }
+    
+    private void ensureRoom(int bytes) {
+        if (record.remaining() < bytes) {
+            throw new IllegalArgumentException("Snapshot record is larger than "
+                    + SnapshotFormat.MAX_RECORD_BYTES + " bytes");
+        }
+    }
+    
+    /**
+     * Record numbers sorted by ID, so readers can binary search through the offsets table
+     */
+    private static int[] sortedOrder(List<String> ids) {
+        String[] keys = ids.toArray(new String[0]);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[order.length], 0, order.length, keys);
+        return order;
+    }
+    
+    private static void mergeSort(int[] order, int[] scratch, int from, int to, String[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(order, scratch, from, middle, keys);
+        mergeSort(order, scratch, middle, to, keys);
+        if (keys[order[middle - 1]].compareTo(keys[order[middle]]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && keys[scratch[left]].compareTo(keys[scratch[right]]) <= 0)) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+    
+    /**
+     * Growable list of record offsets without boxing
+     */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+        
+        void add(long value) {
+            if (size == values.length) {
+                if (size == Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Too many records for one snapshot section");
+                }
+                values = Arrays.copyOf(values, (int) Math.min((long) size * 2, Integer.MAX_VALUE - 8));
+            }
+            values[size++] = value;
+        }
+        
+        long get(int i) {
+            return values[i];
+        }
+        
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.voting.snapshot;
+
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Vote;
+import com.voting.model.Voter;
+import com.voting.region.Region;
+import com.voting.snapshot.SnapshotFormat.Section;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a snapshot written by {@link SnapshotWriter}.
+ *
+ * Opening a snapshot maps the file and reads only the header, so it costs the
+ * same for ten voters as for ten million. Records are decoded on request:
+ * voters and votes are found by ID with a binary search over the order table,
+ * touching a handful of pages. Instances are safe for use from many threads.
+ */
+public final class VotingSnapshot {
+    
+    private static final Election.ElectionStatus[] ELECTION_STATUSES = Election.ElectionStatus.values();
+    private static final Election.VotingMethod[] VOTING_METHODS = Election.VotingMethod.values();
+    private static final Voter.VoterStatus[] VOTER_STATUSES = Voter.VoterStatus.values();
+    
+    private final Path path;
+    // Consecutive chunks of the file, each overlapping the next by one maximum record
+    private final ByteBuffer[] chunks;
+    private final long createdAt;
+    private final long idSequence;
+    private final long[] counts = new long[Section.values().length];
+    private final long[] offsets = new long[Section.values().length];
+    
+    private VotingSnapshot(Path path, ByteBuffer[] chunks) throws IOException {
+        this.path = path;
+        this.chunks = chunks;
+        ByteBuffer header = chunks[0];
+        if (header.getInt(0) != SnapshotFormat.MAGIC) {
+            throw new IOException("Not a voting snapshot: " + path);
+        }
+        if (header.getInt(4) != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version " + header.getInt(4) + ": " + path);
+        }
+        int sectionCount = header.getInt(8);
+        if (sectionCount < 0 || sectionCount > SnapshotFormat.MAX_SECTIONS) {
+            throw new IOException("Corrupt snapshot section index: " + path);
+        }
+        this.createdAt = header.getLong(16);
+        this.idSequence = header.getLong(24);
+        boolean[] present = new boolean[counts.length];
+        for (int i = 0; i < sectionCount; i++) {
+            int entry = SnapshotFormat.HEADER_FIXED_SIZE + i * SnapshotFormat.INDEX_ENTRY_SIZE;
+            int type = header.getInt(entry);
+            // Sections added by later versions are skipped
+            if (type >= 0 && type < counts.length) {
+                counts[type] = header.getLong(entry + 8);
+                offsets[type] = header.getLong(entry + 16);
+                present[type] = true;
+            }
+        }
+        for (Section section : Section.values()) {
+            if (!present[section.ordinal()]) {
+                throw new IOException("Snapshot is missing section " + section + ": " + path);
+            }
+        }
+    }
+    
+    /**
+     * Map a snapshot file
+     * @param path The snapshot file
+     * @return The opened snapshot
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static VotingSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SnapshotFormat.HEADER_SIZE) {
+                throw new IOException("Not a voting snapshot: " + path);
+            }
+            int chunkCount = (int) ((size + SnapshotFormat.CHUNK_SIZE - 1) >>> SnapshotFormat.CHUNK_BITS);
+            ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long start = (long) i << SnapshotFormat.CHUNK_BITS;
+                long length = Math.min(SnapshotFormat.CHUNK_SIZE + SnapshotFormat.MAX_RECORD_BYTES, size - start);
+                // The mapping stays valid after the channel is closed
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+            return new VotingSnapshot(path, chunks);
+        }
+    }
+    
+    public Path getPath() {
+        return path;
+    }
+    
+    /**
+     * When the snapshot was written, in milliseconds since the epoch
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+    
+    public long getIdSequence() {
+        return idSequence;
+    }
+    
+    public int getCandidateCount() {
+        return (int) counts[Section.CANDIDATES.ordinal()];
+    }
+    
+    public int getElectionCount() {
+        return (int) counts[Section.ELECTIONS.ordinal()];
+    }
+    
+    public int getVoterCount() {
+        return (int) counts[Section.VOTERS.ordinal()];
+    }
+    
+    public long getVoteCount() {
+        return counts[Section.VOTES.ordinal()];
+    }
+    
+    // Candidates and elections are few and decoded in full
+    public List<Candidate> readCandidates() {
+        List<Candidate> candidates = new ArrayList<>(getCandidateCount());
+        Cursor cursor = new Cursor(offsets[Section.CANDIDATES.ordinal()]);
+        for (int i = 0; i < getCandidateCount(); i++) {
+            Candidate candidate = new Candidate(cursor.readString(), cursor.readString(), cursor.readString(),
+                    cursor.readString(), cursor.readString());
+            candidate.setBiography(cursor.readString());
+            candidate.setVoteCount(cursor.readInt());
+            candidate.setActive(cursor.readByte() != 0);
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+    
+    /**
+     * Decode the elections, resolving rosters against already-decoded candidates
+     * @param candidates Candidates by ID
+     * @return The elections, with their status and total vote counters restored
+     */
+    public List<Election> readElections(Map<String, Candidate> candidates) {
+        List<Election> elections = new ArrayList<>(getElectionCount());
+        Cursor cursor = new Cursor(offsets[Section.ELECTIONS.ordinal()]);
+        for (int i = 0; i < getElectionCount(); i++) {
+            Election election = new Election(cursor.readString(), cursor.readString(), cursor.readString(),
+                    cursor.readTime(), cursor.readTime());
+            election.setStatus(ELECTION_STATUSES[cursor.readByte()]);
+            election.setVotingMethod(VOTING_METHODS[cursor.readByte()]);
+            election.setRegistrationCutoff(cursor.readTime());
+            election.setTotalVotes(cursor.readInt());
+            int rosterSize = cursor.readInt();
+            List<Candidate> roster = new ArrayList<>(rosterSize);
+            for (int j = 0; j < rosterSize; j++) {
+                String candidateId = cursor.readString();
+                cursor.readInt();
+                Candidate candidate = candidates.get(candidateId);
+                if (candidate == null) {
+                    throw new IllegalStateException("Snapshot election " + election.getElectionId()
+                            + " refers to unknown candidate " + candidateId);
+                }
+                roster.add(candidate);
+            }
+            election.setCandidates(roster);
+            elections.add(election);
+        }
+        return elections;
+    }
+    
+    /**
+     * Read-model tallies captured with the snapshot
+     * @return Votes per candidate ID, in roster order, for each election ID
+     */
+    public Map<String, Map<String, Integer>> readTallies() {
+        Map<String, Map<String, Integer>> tallies = new LinkedHashMap<>();
+        Cursor cursor = new Cursor(offsets[Section.ELECTIONS.ordinal()]);
+        for (int i = 0; i < getElectionCount(); i++) {
+            String electionId = cursor.readString();
+            cursor.skipString();
+            cursor.skipString();
+            cursor.readTime();
+            cursor.readTime();
+            cursor.readByte();
+            cursor.readByte();
+            cursor.readTime();
+            cursor.readInt();
+            int rosterSize = cursor.readInt();
+            Map<String, Integer> electionTallies = new LinkedHashMap<>();
+            for (int j = 0; j < rosterSize; j++) {
+                electionTallies.put(cursor.readString(), cursor.readInt());
+            }
+            tallies.put(electionId, electionTallies);
+        }
+        return tallies;
+    }
+    
+    /**
+     * Decode the region tree
+     * @return The regions, parents before their children
+     */
+    public List<Region> readRegions() {
+        int count = (int) counts[Section.REGIONS.ordinal()];
+        List<Region> regions = new ArrayList<>(count);
+        Cursor cursor = new Cursor(offsets[Section.REGIONS.ordinal()]);
+        for (int i = 0; i < count; i++) {
+            regions.add(new Region(cursor.readString(), cursor.readString(), cursor.readString(),
+                    cursor.readString()));
+        }
+        return regions;
+    }
+    
+    /**
+     * Votes recorded directly against each region when the snapshot was written
+     * @return Votes per candidate ID, per region ID, per election ID
+     */
+    public Map<String, Map<String, Map<String, Integer>>> readRegionTallies() {
+        Map<String, Map<String, Map<String, Integer>>> tallies = new LinkedHashMap<>();
+        Cursor cursor = new Cursor(offsets[Section.REGION_TALLIES.ordinal()]);
+        for (long i = 0; i < counts[Section.REGION_TALLIES.ordinal()]; i++) {
+            String electionId = cursor.readString();
+            String regionId = cursor.readString();
+            int candidateCount = cursor.readInt();
+            Map<String, Integer> regionTallies = new LinkedHashMap<>();
+            for (int j = 0; j < candidateCount; j++) {
+                regionTallies.put(cursor.readString(), cursor.readInt());
+            }
+            tallies.computeIfAbsent(electionId, id -> new LinkedHashMap<>()).put(regionId, regionTallies);
+        }
+        return tallies;
+    }
+    
+    // Voters
+    /**
+     * Find a voter's record number
+     * @param voterId The voter ID
+     * @return The record number, or -1 if the voter is not in the snapshot
+     */
+    public long findVoter(String voterId) {
+        return find(Section.VOTERS, Section.VOTER_OFFSETS, Section.VOTER_ORDER, voterId);
+    }
+    
+    /**
+     * Find a voter's record number by email; a linear scan that decodes only the email field
+     * @param email The email address
+     * @return The record number, or -1 if no voter in the snapshot has that email
+     */
+    public long findVoterByEmail(String email) {
+        if (email == null) {
+            return -1;
+        }
+        for (long record = 0; record < getVoterCount(); record++) {
+            Cursor cursor = record(Section.VOTER_OFFSETS, record);
+            cursor.skipString();
+            cursor.skipString();
+            cursor.skipString();
+            if (email.equals(cursor.readString())) {
+                return record;
+            }
+        }
+        return -1;
+    }
+    
+    public String readVoterId(long record) {
+        return record(Section.VOTER_OFFSETS, record).readString();
+    }
+    
+    public Voter readVoter(long record) {
+        Cursor cursor = record(Section.VOTER_OFFSETS, record);
+        Voter voter = new Voter(cursor.readString(), cursor.readString(), cursor.readString(),
+                cursor.readString(), cursor.readString());
+        voter.setRegistrationDate(cursor.readTime());
+        voter.setStatus(VOTER_STATUSES[cursor.readByte()]);
+        voter.setHasVoted(cursor.readByte() != 0);
+        voter.setPrecinctId(cursor.readString());
+        return voter;
+    }
+    
+    /**
+     * Check whether the snapshot holds a ballot from a voter in an election,
+     * without needing the votes themselves to be loaded
+     * @param voterId The voter ID
+     * @param electionId The election ID
+     * @return True if the voter had voted in the election when the snapshot was written
+     */
+    public boolean hasVoted(String voterId, String electionId) {
+        long record = findVoter(voterId);
+        if (record < 0) {
+            return false;
+        }
+        Cursor cursor = record(Section.VOTER_OFFSETS, record);
+        for (int i = 0; i < 5; i++) {
+            cursor.skipString();
+        }
+        cursor.readTime();
+        cursor.readByte();
+        cursor.readByte();
+        cursor.skipString();
+        int voted = cursor.readInt();
+        for (int i = 0; i < voted; i++) {
+            if (electionId.equals(cursor.readString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Votes
+    /**
+     * Find a vote's record number, which is also its position in the vote log
+     * @param voteId The vote ID
+     * @return The record number, or -1 if the vote is not in the snapshot
+     */
+    public long findVote(String voteId) {
+        return find(Section.VOTES, Section.VOTE_OFFSETS, Section.VOTE_ORDER, voteId);
+    }
+    
+    public Vote readVote(long record) {
+        Cursor cursor = record(Section.VOTE_OFFSETS, record);
+        Vote vote = new Vote(cursor.readString(), cursor.readString(), cursor.readString(), cursor.readString());
+        vote.setTimestamp(cursor.readTime());
+        vote.setValid(cursor.readByte() != 0);
+        vote.setPrecinctId(cursor.readString());
+        int rankingSize = cursor.readInt();
+        if (rankingSize >= 0) {
+            List<String> ranking = new ArrayList<>(rankingSize);
+            for (int i = 0; i < rankingSize; i++) {
+                ranking.add(cursor.readString());
+            }
+            vote.setRankedCandidateIds(ranking);
+        }
+        return vote;
+    }
+    
+    private long find(Section records, Section offsetsTable, Section orderTable, String id) {
+        if (id == null) {
+            return -1;
+        }
+        long orderStart = offsets[orderTable.ordinal()];
+        long low = 0;
+        long high = counts[records.ordinal()] - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long record = new Cursor(orderStart + middle * Integer.BYTES).readInt();
+            int comparison = record(offsetsTable, record).readString().compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return record;
+            }
+        }
+        return -1;
+    }
+    
+    private Cursor record(Section offsetsTable, long record) {
+        long count = counts[offsetsTable.ordinal()];
+        if (record < 0 || record >= count) {
+            throw new IndexOutOfBoundsException("No snapshot record " + record + " in " + offsetsTable);
+        }
+        long offset = new Cursor(offsets[offsetsTable.ordinal()] + record * Long.BYTES).readLong();
+        return new Cursor(offset);
+    }
+    
+    /**
+     * Sequential reader over one record. Reads are absolute, so cursors on the
+     * same mapped chunk do not interfere with each other.
+     */
+    private final class Cursor {
+        private final ByteBuffer chunk;
+        private int position;
+        
+        Cursor(long offset) {
+            this.chunk = chunks[(int) (offset >>> SnapshotFormat.CHUNK_BITS)];
+            this.position = (int) (offset & (SnapshotFormat.CHUNK_SIZE - 1));
+        }
+        
+        byte readByte() {
+            return chunk.get(position++);
+        }
+        
+        int readInt() {
+            int value = chunk.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+        
+        long readLong() {
+            long value = chunk.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+        
+        String readString() {
+            int length = readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            chunk.get(position, bytes);
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        
+        void skipString() {
+            int length = readInt();
+            if (length > 0) {
+                position += length;
+            }
+        }
+        
+        LocalDateTime readTime() {
+            long seconds = readLong();
+            int nanos = readInt();
+            return seconds == SnapshotFormat.NULL_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.voting.tally;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compact store of ranked ballots for one election. Identical rankings are kept
+ * once as a ballot pattern with a multiplicity, so memory grows with the number of
+ * distinct rankings rather than with the number of ballots cast.
+ */
+public class BallotPatternStore {
+    
+    private final Map<String, Integer> candidateIndex = new ConcurrentHashMap<>();
+    private final List<String> candidateIds = new CopyOnWriteArrayList<>();
+    private final Map<PatternKey, Pattern> patterns = new ConcurrentHashMap<>();
+    private final LongAdder ballots = new LongAdder();
+    
+    /**
+     * Record one ranked ballot
+     * @param rankedCandidateIds Candidate IDs, most preferred first, without duplicates
+     * @return The shared, immutable copy of the ranking stored for this pattern
+     */
+    public List<String> add(List<String> rankedCandidateIds) {
+        Pattern pattern = intern(rankedCandidateIds);
+        pattern.count.increment();
+        ballots.increment();
+        return pattern.ranking;
+    }
+    
+    /**
+     * Remove one previously recorded ballot with this ranking
+     * @param rankedCandidateIds The ranking of the ballot to remove
+     * @return true if a ballot with this ranking was removed
+     */
+    public boolean remove(List<String> rankedCandidateIds) {
+        PatternKey key = keyOf(rankedCandidateIds, false);
+        Pattern pattern = key != null ? patterns.get(key) : null;
+        if (pattern == null) {
+            return false;
+        }
+        synchronized (pattern) {
+            if (pattern.count.sum() <= 0) {
+                return false;
+            }
+            pattern.count.decrement();
+        }
+        ballots.decrement();
+        return true;
+    }
+    
+    public long getBallotCount() {
+        return ballots.sum();
+    }
+    
+    public int getPatternCount() {
+        return patterns.size();
+    }
+    
+    /**
+     * Copy the current patterns and multiplicities into flat arrays for tabulation
+     * @return A point-in-time snapshot
+     */
+    public Snapshot snapshot() {
+        List<int[]> rankings = new ArrayList<>(patterns.size());
+        List<Long> weights = new ArrayList<>(patterns.size());
+        for (Pattern pattern : patterns.values()) {
+            long weight = pattern.count.sum();
+            if (weight > 0) {
+                rankings.add(pattern.key.ranks);
+                weights.add(weight);
+            }
+        }
+        long[] weightArray = new long[weights.size()];
+        for (int i = 0; i < weightArray.length; i++) {
+            weightArray[i] = weights.get(i);
+        }
+        return new Snapshot(candidateIds.toArray(new String[0]), rankings.toArray(new int[0][]), weightArray);
+    }
+    
+    private Pattern intern(List<String> rankedCandidateIds) {
+        PatternKey key = keyOf(rankedCandidateIds, true);
+        return patterns.computeIfAbsent(key, k -> new Pattern(k, rankedCandidateIds));
+    }
+    
+    private PatternKey keyOf(List<String> rankedCandidateIds, boolean register) {
+        if (rankedCandidateIds == null || rankedCandidateIds.isEmpty()) {
+            throw new IllegalArgumentException("Ranking must list at least one candidate");
+        }
+        int[] ranks = new int[rankedCandidateIds.size()];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < ranks.length; i++) {
+            String candidateId = rankedCandidateIds.get(i);
+            if (candidateId == null || !seen.add(candidateId)) {
+                throw new IllegalArgumentException("Ranking contains a missing or repeated candidate");
+            }
+            Integer index = register ? indexOf(candidateId) : candidateIndex.get(candidateId);
+            if (index == null) {
+                return null;
+            }
+            ranks[i] = index;
+        }
+        return new PatternKey(ranks);
+    }
+    
+    private Integer indexOf(String candidateId) {
+        Integer index = candidateIndex.get(candidateId);
+        if (index != null) {
+            return index;
+        }
+        synchronized (candidateIds) {
+            return candidateIndex.computeIfAbsent(candidateId, id -> {
+                candidateIds.add(id);
+                return candidateIds.size() - 1;
+            });
+        }
+    }
+    
+    /**
+     * Flat, immutable view of the ballot patterns
+     */
+    public static final class Snapshot {
+        private final String[] candidateIds;
+        private final int[][] rankings;
+        private final long[] weights;
+        
+        Snapshot(String[] candidateIds, int[][] rankings, long[] weights) {
+            this.candidateIds = candidateIds;
+            this.rankings = rankings;
+            this.weights = weights;
+        }
+        
+        /** Candidate IDs by the index used in {@link #getRankings()} */
+        public String[] getCandidateIds() {
+            return candidateIds;
+        }
+        
+        /** Each pattern's ranking as candidate indexes, most preferred first */
+        public int[][] getRankings() {
+            return rankings;
+        }
+        
+        /** Number of ballots carrying each pattern */
+        public long[] getWeights() {
+            return weights;
+        }
+    }
+    
+    private static final class PatternKey {
+        private final int[] ranks;
+        private final int hash;
+        
+        PatternKey(int[] ranks) {
+            this.ranks = ranks;
+            this.hash = Arrays.hashCode(ranks);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PatternKey && Arrays.equals(ranks, ((PatternKey) o).ranks);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
+    private static final class Pattern {
+        private final PatternKey key;
+        private final List<String> ranking;
+        private final LongAdder count = new LongAdder();
+        
+        Pattern(PatternKey key, List<String> ranking) {
+            this.key = key;
+            this.ranking = Collections.unmodifiableList(new ArrayList<>(ranking));
+        }
+    }
+}
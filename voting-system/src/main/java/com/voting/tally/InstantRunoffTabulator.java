@@ -0,0 +1,260 @@
+package com.voting.tally;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Instant-runoff tabulation over deduplicated ballot patterns.
+ *
+ * Each ballot pattern sits in the pile of the candidate it currently counts for.
+ * When a candidate is eliminated only that candidate's pile is walked and moved
+ * to each pattern's next continuing preference; other piles are never rescanned.
+ * The first-round assignment of patterns to piles is split across a fork/join pool.
+ *
+ * Ties for last place are broken by the lower first-round count, then by the
+ * candidate listed later in the roster.
+ */
+public class InstantRunoffTabulator {
+    
+    /** Patterns per leaf task in the parallel first round */
+    private static final int FIRST_ROUND_GRAIN = 16_384;
+    
+    private final ForkJoinPool pool;
+    
+    public InstantRunoffTabulator() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    public InstantRunoffTabulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * Run the instant-runoff count
+     * @param electionId The election being counted
+     * @param ballots Snapshot of the election's ballot patterns
+     * @param roster IDs of the candidates standing, in roster order
+     * @return Round-by-round results and the winner
+     */
+    public RunoffResult tabulate(String electionId, BallotPatternStore.Snapshot ballots, Collection<String> roster) {
+        String[] storeIds = ballots.getCandidateIds();
+        int[][] rankings = ballots.getRankings();
+        long[] weights = ballots.getWeights();
+        
+        // Map store candidate indexes onto roster positions; ranks for candidates not standing are skipped
+        List<String> standing = new ArrayList<>(roster);
+        int candidates = standing.size();
+        int[] rosterPosition = new int[storeIds.length];
+        Arrays.fill(rosterPosition, -1);
+        for (int i = 0; i < storeIds.length; i++) {
+            rosterPosition[i] = standing.indexOf(storeIds[i]);
+        }
+        boolean[] continuing = new boolean[candidates];
+        Arrays.fill(continuing, true);
+        int[] cursor = new int[rankings.length];
+        
+        FirstRound first = pool.invoke(new FirstRoundTask(rankings, weights, rosterPosition, cursor,
+                candidates, 0, rankings.length));
+        long[] tallies = first.tallies;
+        IntList[] piles = first.piles;
+        long exhausted = first.exhausted;
+        long[] firstRound = tallies.clone();
+        long totalBallots = exhausted;
+        for (long tally : tallies) {
+            totalBallots += tally;
+        }
+        
+        List<RunoffRound> rounds = new ArrayList<>();
+        int remaining = candidates;
+        String winner = null;
+        while (remaining > 0) {
+            long active = 0;
+            int leader = -1;
+            int loser = -1;
+            for (int c = 0; c < candidates; c++) {
+                if (!continuing[c]) {
+                    continue;
+                }
+                active += tallies[c];
+                if (leader < 0 || tallies[c] > tallies[leader]) {
+                    leader = c;
+                }
+                if (loser < 0 || tallies[c] < tallies[loser]
+                        || (tallies[c] == tallies[loser] && firstRound[c] <= firstRound[loser])) {
+                    loser = c;
+                }
+            }
+            Map<String, Long> roundTallies = tallyMap(standing, continuing, tallies);
+            if (active == 0) {
+                rounds.add(new RunoffRound(rounds.size() + 1, roundTallies, exhausted, null, new LinkedHashMap<>()));
+                break;
+            }
+            if (tallies[leader] * 2 > active || remaining == 1) {
+                winner = standing.get(leader);
+                rounds.add(new RunoffRound(rounds.size() + 1, roundTallies, exhausted, null, new LinkedHashMap<>()));
+                break;
+            }
+            
+            // Eliminate the last-placed candidate and move only that pile
+            continuing[loser] = false;
+            remaining--;
+            long[] moved = new long[candidates];
+            IntList pile = piles[loser];
+            for (int i = 0; i < pile.size; i++) {
+                int p = pile.values[i];
+                int next = advance(rankings[p], cursor, p, rosterPosition, continuing);
+                if (next >= 0) {
+                    piles[next].add(p);
+                    tallies[next] += weights[p];
+                    moved[next] += weights[p];
+                } else {
+                    exhausted += weights[p];
+                }
+            }
+            piles[loser] = null;
+            tallies[loser] = 0;
+            Map<String, Long> transfers = new LinkedHashMap<>();
+            for (int c = 0; c < candidates; c++) {
+                if (moved[c] > 0) {
+                    transfers.put(standing.get(c), moved[c]);
+                }
+            }
+            rounds.add(new RunoffRound(rounds.size() + 1, roundTallies, exhausted, standing.get(loser), transfers));
+        }
+        return new RunoffResult(electionId, totalBallots, rounds, winner);
+    }
+    
+    /**
+     * Move a pattern's cursor to its next continuing preference
+     * @return The roster position of that candidate, or -1 if the ballot is exhausted
+     */
+    private static int advance(int[] ranking, int[] cursor, int pattern, int[] rosterPosition, boolean[] continuing) {
+        for (int r = cursor[pattern] + 1; r < ranking.length; r++) {
+            int position = rosterPosition[ranking[r]];
+            if (position >= 0 && continuing[position]) {
+                cursor[pattern] = r;
+                return position;
+            }
+        }
+        cursor[pattern] = ranking.length;
+        return -1;
+    }
+    
+    private static Map<String, Long> tallyMap(List<String> standing, boolean[] continuing, long[] tallies) {
+        Integer[] order = new Integer[standing.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(tallies[b], tallies[a]));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int c : order) {
+            if (continuing[c]) {
+                result.put(standing.get(c), tallies[c]);
+            }
+        }
+        return result;
+    }
+    
+    private static final class FirstRound {
+        final long[] tallies;
+        final IntList[] piles;
+        long exhausted;
+        
+        FirstRound(int candidates) {
+            this.tallies = new long[candidates];
+            this.piles = new IntList[candidates];
+            for (int c = 0; c < candidates; c++) {
+                piles[c] = new IntList();
+            }
+        }
+        
+        FirstRound merge(FirstRound other) {
+            for (int c = 0; c < tallies.length; c++) {
+                tallies[c] += other.tallies[c];
+                piles[c].addAll(other.piles[c]);
+            }
+            exhausted += other.exhausted;
+            return this;
+        }
+    }
+    
+    /**
+     * Assigns each pattern in a range to its first standing preference
+     */
+    private static final class FirstRoundTask extends RecursiveTask<FirstRound> {
+        private static final long serialVersionUID = 1L;
+        private final int[][] rankings;
+        private final long[] weights;
+        private final int[] rosterPosition;
+        private final int[] cursor;
+        private final int candidates;
+        private final int from;
+        private final int to;
+        
+        FirstRoundTask(int[][] rankings, long[] weights, int[] rosterPosition, int[] cursor,
+                       int candidates, int from, int to) {
+            this.rankings = rankings;
+            this.weights = weights;
+            this.rosterPosition = rosterPosition;
+            this.cursor = cursor;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected FirstRound compute() {
+            if (to - from <= FIRST_ROUND_GRAIN) {
+                FirstRound result = new FirstRound(candidates);
+                boolean[] all = new boolean[candidates];
+                Arrays.fill(all, true);
+                for (int p = from; p < to; p++) {
+                    cursor[p] = -1;
+                    int first = advance(rankings[p], cursor, p, rosterPosition, all);
+                    if (first >= 0) {
+                        result.tallies[first] += weights[p];
+                        result.piles[first].add(p);
+                    } else {
+                        result.exhausted += weights[p];
+                    }
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            FirstRoundTask left = new FirstRoundTask(rankings, weights, rosterPosition, cursor, candidates, from, mid);
+            FirstRoundTask right = new FirstRoundTask(rankings, weights, rosterPosition, cursor, candidates, mid, to);
+            left.fork();
+            FirstRound rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+    
+    /**
+     * Growable int array used for candidate piles
+     */
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        void addAll(IntList other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, values.length * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.voting.tally;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome of an instant-runoff count with its round-by-round history
+ */
+public final class RunoffResult {
+    
+    private final String electionId;
+    private final long totalBallots;
+    private final List<RunoffRound> rounds;
+    private final String winnerCandidateId;
+    
+    RunoffResult(String electionId, long totalBallots, List<RunoffRound> rounds, String winnerCandidateId) {
+        this.electionId = electionId;
+        this.totalBallots = totalBallots;
+        this.rounds = Collections.unmodifiableList(rounds);
+        this.winnerCandidateId = winnerCandidateId;
+    }
+    
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public long getTotalBallots() {
+        return totalBallots;
+    }
+    
+    public List<RunoffRound> getRounds() {
+        return rounds;
+    }
+    
+    /**
+     * Candidate holding a majority of continuing ballots, or the last one standing
+     * @return Optional containing the winning candidate ID, empty if no ballots were cast
+     */
+    public Optional<String> getWinnerCandidateId() {
+        return Optional.ofNullable(winnerCandidateId);
+    }
+    
+    @Override
+    public String toString() {
+        return "RunoffResult{" +
+                "electionId='" + electionId + '\'' +
+                ", totalBallots=" + totalBallots +
+                ", rounds=" + rounds.size() +
+                ", winner='" + winnerCandidateId + '\'' +
+                '}';
+    }
+}
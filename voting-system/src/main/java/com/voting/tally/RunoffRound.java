@@ -0,0 +1,67 @@
+package com.voting.tally;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Tallies for one round of an instant-runoff count
+ */
+public final class RunoffRound {
+    
+    private final int roundNumber;
+    private final Map<String, Long> tallies;
+    private final long exhausted;
+    private final String eliminatedCandidateId;
+    private final Map<String, Long> transfers;
+    
+    RunoffRound(int roundNumber, Map<String, Long> tallies, long exhausted,
+                String eliminatedCandidateId, Map<String, Long> transfers) {
+        this.roundNumber = roundNumber;
+        this.tallies = Collections.unmodifiableMap(tallies);
+        this.exhausted = exhausted;
+        this.eliminatedCandidateId = eliminatedCandidateId;
+        this.transfers = Collections.unmodifiableMap(transfers);
+    }
+    
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+    
+    /**
+     * Votes held by each continuing candidate at the start of the round, highest first
+     */
+    public Map<String, Long> getTallies() {
+        return tallies;
+    }
+    
+    /**
+     * Ballots with no continuing candidate left, cumulative up to this round
+     */
+    public long getExhausted() {
+        return exhausted;
+    }
+    
+    /**
+     * Candidate eliminated at the end of this round, or null for the final round
+     */
+    public String getEliminatedCandidateId() {
+        return eliminatedCandidateId;
+    }
+    
+    /**
+     * Ballots moved from the eliminated candidate to each receiving candidate
+     */
+    public Map<String, Long> getTransfers() {
+        return transfers;
+    }
+    
+    @Override
+    public String toString() {
+        return "RunoffRound{" +
+                "roundNumber=" + roundNumber +
+                ", tallies=" + tallies +
+                ", exhausted=" + exhausted +
+                ", eliminated='" + eliminatedCandidateId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.voting.tally;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of recounting every election from the vote records at one cut of the vote log
+ */
+public final class TallyAuditReport {
+    
+    private final long cutSequence;
+    private final long votesScanned;
+    private final Map<String, Map<String, Long>> recount;
+    private final List<TallyDiscrepancy> discrepancies;
+    private final long durationMillis;
+    
+    TallyAuditReport(long cutSequence, long votesScanned, Map<String, Map<String, Long>> recount,
+                     List<TallyDiscrepancy> discrepancies, long durationMillis) {
+        this.cutSequence = cutSequence;
+        this.votesScanned = votesScanned;
+        this.recount = Collections.unmodifiableMap(recount);
+        this.discrepancies = Collections.unmodifiableList(discrepancies);
+        this.durationMillis = durationMillis;
+    }
+    
+    /**
+     * Votes with a sequence number below this value were audited
+     */
+    public long getCutSequence() {
+        return cutSequence;
+    }
+    
+    /**
+     * Valid votes counted by the recount
+     */
+    public long getVotesScanned() {
+        return votesScanned;
+    }
+    
+    /**
+     * Recounted votes per election, then per candidate
+     */
+    public Map<String, Map<String, Long>> getRecount() {
+        return recount;
+    }
+    
+    public List<TallyDiscrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+    
+    public boolean isClean() {
+        return discrepancies.isEmpty();
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return "TallyAuditReport{" +
+                "cutSequence=" + cutSequence +
+                ", votesScanned=" + votesScanned +
+                ", discrepancies=" + discrepancies.size() +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
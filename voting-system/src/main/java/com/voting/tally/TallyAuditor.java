@@ -0,0 +1,171 @@
+package com.voting.tally;
+
+import com.voting.dao.VoteLog;
+import com.voting.model.Vote;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Recounts every election from the vote log and checks the live counters against it.
+ *
+ * The recount covers a fixed prefix of the log, so it can run while new votes keep
+ * being appended. The caller captures the cut and the live counters together and says
+ * which votes counted at that cut, since a vote may be retracted while the scan runs;
+ * the scan itself is split across a fork/join pool and needs no lock.
+ */
+public class TallyAuditor {
+    
+    /** Log entries per leaf task */
+    private static final int RECOUNT_GRAIN = 65_536;
+    
+    private final ForkJoinPool pool;
+    
+    public TallyAuditor() {
+        this(ForkJoinPool.commonPool());
+    }
+    
+    public TallyAuditor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * Recount the log up to a cut and compare against live counters taken at the same cut
+     * @param log The vote log
+     * @param cut Number of log entries to recount
+     * @param counted Whether a vote in the recounted prefix was valid at the cut
+     * @param electionTotals Live total votes per election ID
+     * @param candidateCounts Live vote count per candidate ID, across all elections
+     * @param viewTallies Read-model votes per election ID, then per candidate ID
+     * @return The audit report
+     */
+    public TallyAuditReport audit(VoteLog log, long cut, Predicate<Vote> counted,
+                                  Map<String, Long> electionTotals, Map<String, Long> candidateCounts,
+                                  Map<String, Map<String, Long>> viewTallies) {
+        if (cut < 0 || cut > log.size()) {
+            throw new IllegalArgumentException("Cut is outside the vote log");
+        }
+        long started = System.nanoTime();
+        Recount recount = pool.invoke(new RecountTask(log, counted, 0, cut));
+        
+        Map<String, Map<String, Long>> byElection = new HashMap<>();
+        Map<String, Long> byCandidate = new HashMap<>();
+        Map<String, Long> totals = new HashMap<>();
+        for (Map.Entry<String, Map<String, long[]>> election : recount.counts.entrySet()) {
+            Map<String, Long> tallies = new HashMap<>();
+            long total = 0;
+            for (Map.Entry<String, long[]> candidate : election.getValue().entrySet()) {
+                long votes = candidate.getValue()[0];
+                tallies.put(candidate.getKey(), votes);
+                byCandidate.merge(candidate.getKey(), votes, Long::sum);
+                total += votes;
+            }
+            byElection.put(election.getKey(), tallies);
+            totals.put(election.getKey(), total);
+        }
+        
+        List<TallyDiscrepancy> discrepancies = new ArrayList<>();
+        for (String electionId : union(totals.keySet(), electionTotals.keySet())) {
+            long recounted = totals.getOrDefault(electionId, 0L);
+            long live = electionTotals.getOrDefault(electionId, 0L);
+            if (recounted != live) {
+                discrepancies.add(new TallyDiscrepancy(TallyDiscrepancy.Kind.ELECTION_TOTAL,
+                        electionId, null, recounted, live));
+            }
+        }
+        for (String candidateId : union(byCandidate.keySet(), candidateCounts.keySet())) {
+            long recounted = byCandidate.getOrDefault(candidateId, 0L);
+            long live = candidateCounts.getOrDefault(candidateId, 0L);
+            if (recounted != live) {
+                discrepancies.add(new TallyDiscrepancy(TallyDiscrepancy.Kind.CANDIDATE_COUNT,
+                        null, candidateId, recounted, live));
+            }
+        }
+        for (String electionId : union(byElection.keySet(), viewTallies.keySet())) {
+            Map<String, Long> recounted = byElection.getOrDefault(electionId, Map.of());
+            Map<String, Long> live = viewTallies.getOrDefault(electionId, Map.of());
+            for (String candidateId : union(recounted.keySet(), live.keySet())) {
+                long expected = recounted.getOrDefault(candidateId, 0L);
+                long actual = live.getOrDefault(candidateId, 0L);
+                if (expected != actual) {
+                    discrepancies.add(new TallyDiscrepancy(TallyDiscrepancy.Kind.RESULTS_VIEW,
+                            electionId, candidateId, expected, actual));
+                }
+            }
+        }
+        
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        return new TallyAuditReport(cut, recount.scanned, byElection, discrepancies, durationMillis);
+    }
+    
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> keys = new HashSet<>(a);
+        keys.addAll(b);
+        return keys;
+    }
+    
+    /**
+     * Partial recount: votes per election, then per candidate, held in mutable cells
+     */
+    private static final class Recount {
+        final Map<String, Map<String, long[]>> counts = new HashMap<>();
+        long scanned;
+        
+        void add(Vote vote) {
+            counts.computeIfAbsent(vote.getElectionId(), id -> new HashMap<>())
+                    .computeIfAbsent(vote.getCandidateId(), id -> new long[1])[0]++;
+            scanned++;
+        }
+        
+        Recount merge(Recount other) {
+            for (Map.Entry<String, Map<String, long[]>> election : other.counts.entrySet()) {
+                Map<String, long[]> mine = counts.computeIfAbsent(election.getKey(), id -> new HashMap<>());
+                for (Map.Entry<String, long[]> candidate : election.getValue().entrySet()) {
+                    mine.computeIfAbsent(candidate.getKey(), id -> new long[1])[0] += candidate.getValue()[0];
+                }
+            }
+            scanned += other.scanned;
+            return this;
+        }
+    }
+    
+    private static final class RecountTask extends RecursiveTask<Recount> {
+        private static final long serialVersionUID = 1L;
+        private final VoteLog log;
+        private final Predicate<Vote> counted;
+        private final long from;
+        private final long to;
+        
+        RecountTask(VoteLog log, Predicate<Vote> counted, long from, long to) {
+            this.log = log;
+            this.counted = counted;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Recount compute() {
+            if (to - from <= RECOUNT_GRAIN) {
+                Recount recount = new Recount();
+                for (long sequence = from; sequence < to; sequence++) {
+                    Vote vote = log.get(sequence);
+                    if (vote != null && counted.test(vote)) {
+                        recount.add(vote);
+                    }
+                }
+                return recount;
+            }
+            long mid = (from + to) >>> 1;
+            RecountTask left = new RecountTask(log, counted, from, mid);
+            left.fork();
+            Recount right = new RecountTask(log, counted, mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
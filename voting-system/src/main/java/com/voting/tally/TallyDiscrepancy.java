@@ -0,0 +1,68 @@
+package com.voting.tally;
+
+/**
+ * A live counter that disagrees with the count recomputed from vote records
+ */
+public final class TallyDiscrepancy {
+    
+    public enum Kind {
+        /** Election.totalVotes differs from the recount */
+        ELECTION_TOTAL,
+        /** Candidate.voteCount differs from the recount across all elections */
+        CANDIDATE_COUNT,
+        /** The read-model tally for a candidate in an election differs from the recount */
+        RESULTS_VIEW
+    }
+    
+    private final Kind kind;
+    private final String electionId;
+    private final String candidateId;
+    private final long recounted;
+    private final long live;
+    
+    public TallyDiscrepancy(Kind kind, String electionId, String candidateId, long recounted, long live) {
+        this.kind = kind;
+        this.electionId = electionId;
+        this.candidateId = candidateId;
+        this.recounted = recounted;
+        this.live = live;
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    public String getElectionId() {
+        return electionId;
+    }
+    
+    public String getCandidateId() {
+        return candidateId;
+    }
+    
+    public long getRecounted() {
+        return recounted;
+    }
+    
+    public long getLive() {
+        return live;
+    }
+    
+    /**
+     * Live value minus recounted value
+     */
+    public long getDrift() {
+        return live - recounted;
+    }
+    
+    @Override
+    public String toString() {
+        return "TallyDiscrepancy{" +
+                "kind=" + kind +
+                ", electionId='" + electionId + '\'' +
+                ", candidateId='" + candidateId + '\'' +
+                ", recounted=" + recounted +
+                ", live=" + live +
+                '}';
+    }
+}
@@ -0,0 +1,161 @@
+package com.voting.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one castVote call, with the time spent in each stage.
+ *
+ * The stage methods are called in order as the vote moves through the service;
+ * each one records the time since the previous stage ended. When no recording
+ * has the event enabled they return after a single check, without reading the
+ * clock.
+ */
+@Name("com.voting.CastVote")
+@Label("Cast Vote")
+@Category({"Voting", "Votes"})
+@Description("A vote submitted to the voting service, with the time spent in each stage")
+@StackTrace(false)
+public class CastVoteEvent extends Event {
+    
+    @Label("Election ID")
+    private String electionId;
+    
+    @Label("Ranked")
+    private boolean ranked;
+    
+    @Label("Status")
+    @Description("ACCEPTED, or the reason the vote was rejected")
+    private String status;
+    
+    @Label("Validation")
+    @Description("Looking up and checking the voter, election and candidates")
+    @Timespan(Timespan.NANOSECONDS)
+    private long validationTime;
+    
+    @Label("ID Generation")
+    @Timespan(Timespan.NANOSECONDS)
+    private long idGenerationTime;
+    
+    @Label("Lock Wait")
+    @Description("Waiting for the commit lock")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lockWaitTime;
+    
+    @Label("Index Insertion")
+    @Description("Claiming the voter's place in the vote index")
+    @Timespan(Timespan.NANOSECONDS)
+    private long indexTime;
+    
+    @Label("Log Append")
+    @Description("Appending to the vote log and the ledger")
+    @Timespan(Timespan.NANOSECONDS)
+    private long logTime;
+    
+    @Label("Count Update")
+    @Timespan(Timespan.NANOSECONDS)
+    private long countTime;
+    
+    @Label("Voter Update")
+    @Description("Marking the voter as having voted in the voter DAO")
+    @Timespan(Timespan.NANOSECONDS)
+    private long voterUpdateTime;
+    
+    @Label("Event Publishing")
+    @Description("Delivering the vote to the projections and other listeners")
+    @Timespan(Timespan.NANOSECONDS)
+    private long publishTime;
+    
+    private transient long mark;
+    
+    /**
+     * Start timing a castVote call
+     */
+    public static CastVoteEvent start() {
+        CastVoteEvent event = new CastVoteEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.mark = System.nanoTime();
+        }
+        return event;
+    }
+    
+    public void validated() {
+        if (isEnabled()) {
+            validationTime = lap();
+        }
+    }
+    
+    public void idGenerated() {
+        if (isEnabled()) {
+            idGenerationTime = lap();
+        }
+    }
+    
+    public void lockAcquired() {
+        if (isEnabled()) {
+            lockWaitTime = lap();
+        }
+    }
+    
+    public void indexed() {
+        if (isEnabled()) {
+            indexTime = lap();
+        }
+    }
+    
+    public void logged() {
+        if (isEnabled()) {
+            logTime = lap();
+        }
+    }
+    
+    public void counted() {
+        if (isEnabled()) {
+            countTime = lap();
+        }
+    }
+    
+    public void voterUpdated() {
+        if (isEnabled()) {
+            voterUpdateTime = lap();
+        }
+    }
+    
+    public void published() {
+        if (isEnabled()) {
+            publishTime = lap();
+        }
+    }
+    
+    /**
+     * Commit the event if the recording wants it
+     * @param electionId The election voted in
+     * @param ranked Whether the vote was a ranked-choice ballot
+     * @param status ACCEPTED or the reason for rejection
+     */
+    public void finish(String electionId, boolean ranked, Enum<?> status) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.electionId = electionId;
+            this.ranked = ranked;
+            this.status = status.name();
+            commit();
+        }
+    }
+    
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
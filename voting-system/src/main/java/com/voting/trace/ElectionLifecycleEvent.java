@@ -0,0 +1,63 @@
+package com.voting.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for an election being created, started or ended
+ */
+@Name("com.voting.ElectionLifecycle")
+@Label("Election Lifecycle")
+@Category({"Voting", "Elections"})
+@Description("An election being created or moved to a new status")
+@StackTrace(false)
+public class ElectionLifecycleEvent extends Event {
+    
+    @Label("Election ID")
+    private String electionId;
+    
+    @Label("From Status")
+    @Description("Status the election had to be in, or null for a new election")
+    private String fromStatus;
+    
+    @Label("To Status")
+    private String toStatus;
+    
+    @Label("Changed")
+    @Description("False if the election did not exist or was not in the expected status")
+    private boolean changed;
+    
+    /**
+     * Start timing a lifecycle change
+     */
+    public static ElectionLifecycleEvent start() {
+        ElectionLifecycleEvent event = new ElectionLifecycleEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Commit the event if the recording wants it
+     * @param electionId The election
+     * @param from The status the election had to be in, or null for creation
+     * @param to The new status
+     * @param changed Whether the change took place
+     */
+    public void finish(String electionId, Enum<?> from, Enum<?> to, boolean changed) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.electionId = electionId;
+            this.fromStatus = from != null ? from.name() : null;
+            this.toStatus = to.name();
+            this.changed = changed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.voting.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one voter registration, with the time spent in each
+ * stage. Stages are timed the same way as in {@link CastVoteEvent}.
+ */
+@Name("com.voting.RegisterVoter")
+@Label("Register Voter")
+@Category({"Voting", "Voters"})
+@Description("A voter registration, with the time spent in each stage")
+@StackTrace(false)
+public class RegisterVoterEvent extends Event {
+    
+    @Label("Voter ID")
+    private String voterId;
+    
+    @Label("Precinct ID")
+    private String precinctId;
+    
+    @Label("Registered")
+    @Description("False if the registration was refused, e.g. for a duplicate email address")
+    private boolean registered;
+    
+    @Label("Lock Wait")
+    @Description("Waiting for the registration lock of the email address")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lockWaitTime;
+    
+    @Label("Duplicate Check")
+    @Description("Looking up the email address in the voter DAO")
+    @Timespan(Timespan.NANOSECONDS)
+    private long duplicateCheckTime;
+    
+    @Label("Save")
+    @Description("Saving the voter, including waiting for the commit lock")
+    @Timespan(Timespan.NANOSECONDS)
+    private long saveTime;
+    
+    @Label("Name Indexing")
+    @Timespan(Timespan.NANOSECONDS)
+    private long indexTime;
+    
+    @Label("Event Publishing")
+    @Timespan(Timespan.NANOSECONDS)
+    private long publishTime;
+    
+    private transient long mark;
+    
+    /**
+     * Start timing a registration
+     */
+    public static RegisterVoterEvent start() {
+        RegisterVoterEvent event = new RegisterVoterEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.mark = System.nanoTime();
+        }
+        return event;
+    }
+    
+    public void lockAcquired() {
+        if (isEnabled()) {
+            lockWaitTime = lap();
+        }
+    }
+    
+    public void duplicateChecked() {
+        if (isEnabled()) {
+            duplicateCheckTime = lap();
+        }
+    }
+    
+    public void saved() {
+        if (isEnabled()) {
+            saveTime = lap();
+        }
+    }
+    
+    public void indexed() {
+        if (isEnabled()) {
+            indexTime = lap();
+        }
+    }
+    
+    public void published() {
+        if (isEnabled()) {
+            publishTime = lap();
+        }
+    }
+    
+    /**
+     * Commit the event if the recording wants it
+     * @param voterId The new voter's ID, or null if the registration was refused
+     * @param precinctId The voter's precinct, or null for none
+     */
+    public void finish(String voterId, String precinctId) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.voterId = voterId;
+            this.precinctId = precinctId;
+            this.registered = voterId != null;
+            commit();
+        }
+    }
+    
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,63 @@
+package com.voting.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a results query against the voting service
+ */
+@Name("com.voting.ResultsQuery")
+@Label("Results Query")
+@Category({"Voting", "Results"})
+@Description("A query for election or regional results")
+@StackTrace(false)
+public class ResultsQueryEvent extends Event {
+    
+    @Label("Query")
+    @Description("The service method that was called")
+    private String query;
+    
+    @Label("Election ID")
+    private String electionId;
+    
+    @Label("Region ID")
+    private String regionId;
+    
+    @Label("Found")
+    @Description("False if the query found nothing to report")
+    private boolean found;
+    
+    /**
+     * Start timing a query
+     */
+    public static ResultsQueryEvent start() {
+        ResultsQueryEvent event = new ResultsQueryEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Commit the event if the recording wants it
+     * @param query The service method name
+     * @param electionId The election queried
+     * @param regionId The region queried, or null for election-wide results
+     * @param found Whether there was anything to report
+     */
+    public void finish(String query, String electionId, String regionId, boolean found) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.query = query;
+            this.electionId = electionId;
+            this.regionId = regionId;
+            this.found = found;
+            commit();
+        }
+    }
+}
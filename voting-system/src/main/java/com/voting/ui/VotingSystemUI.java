@@ -1,12 +1,29 @@
 package com.voting.ui;
 
+import com.voting.dao.Page;
+import com.voting.export.ExportFormat;
+import com.voting.ledger.InclusionProof;
+import com.voting.metrics.VoteRateSeries;
 import com.voting.model.*;
+import com.voting.projection.ElectionResultsView;
+import com.voting.projection.RegionResultsView;
+import com.voting.region.Region;
+import com.voting.service.BallotResult;
 import com.voting.service.VotingService;
+import com.voting.tally.RunoffResult;
+import com.voting.tally.RunoffRound;
+import com.voting.tally.TallyAuditReport;
+import com.voting.tally.TallyDiscrepancy;
 import com.voting.util.SampleDataInitializer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Console-based user interface for the Voting System
@@ -18,8 +35,18 @@ public class VotingSystemUI {
     private final DateTimeFormatter dateFormatter;
     private final SampleDataInitializer sampleDataInitializer;
     
+    private static final int PAGE_SIZE = 20;
+    
     public VotingSystemUI() {
-        this.votingService = new VotingService();
+        this(new VotingService());
+    }
+    
+    /**
+     * Run the console against an existing service, such as one restored from a snapshot
+     * @param votingService The service
+     */
+    public VotingSystemUI(VotingService votingService) {
+        this.votingService = votingService;
         this.scanner = new Scanner(System.in);
         this.dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
         this.sampleDataInitializer = new SampleDataInitializer(votingService);
@@ -30,12 +57,14 @@ public class VotingSystemUI {
         System.out.println("   VOTING SYSTEM MANAGEMENT");
         System.out.println("=================================");
         
-        // Ask if user wants to load sample data
-        System.out.print("Would you like to load sample data? (y/n): ");
-        String loadSample = scanner.nextLine().trim().toLowerCase();
-        if (loadSample.equals("y") || loadSample.equals("yes")) {
-            sampleDataInitializer.initializeSampleData();
-            sampleDataInitializer.displaySampleDataInfo();
+        // Ask if user wants to load sample data; a restored system already has its data
+        if (votingService.getAllElections().isEmpty()) {
+            System.out.print("Would you like to load sample data? (y/n): ");
+            String loadSample = scanner.nextLine().trim().toLowerCase();
+            if (loadSample.equals("y") || loadSample.equals("yes")) {
+                sampleDataInitializer.initializeSampleData();
+                sampleDataInitializer.displaySampleDataInfo();
+            }
         }
         
         while (true) {
@@ -50,6 +79,9 @@ public class VotingSystemUI {
                     case 4 -> handleVoting();
                     case 5 -> handleResults();
                     case 6 -> displaySystemStatistics();
+                    case 7 -> auditTallies();
+                    case 8 -> saveSnapshot();
+                    case 9 -> exportData();
                     case 0 -> {
                         System.out.println("Thank you for using the Voting System!");
                         return;
@@ -73,6 +105,9 @@ public class VotingSystemUI {
         System.out.println("4. Cast Vote");
         System.out.println("5. View Results");
         System.out.println("6. System Statistics");
+        System.out.println("7. Audit Tallies");
+        System.out.println("8. Save Snapshot");
+        System.out.println("9. Export Data");
         System.out.println("0. Exit");
         System.out.println("==================");
     }
@@ -83,6 +118,9 @@ public class VotingSystemUI {
         System.out.println("2. View All Voters");
         System.out.println("3. Search Voter");
         System.out.println("4. Update Voter Status");
+        System.out.println("5. Check Vote Receipt");
+        System.out.println("6. Retract Vote");
+        System.out.println("7. Registration Report");
         System.out.println("0. Back to Main Menu");
         
         int choice = getIntInput("Enter your choice: ");
@@ -92,6 +130,9 @@ public class VotingSystemUI {
             case 2 -> displayAllVoters();
             case 3 -> searchVoter();
             case 4 -> updateVoterStatus();
+            case 5 -> checkVoteReceipt();
+            case 6 -> retractVote();
+            case 7 -> displayRegistrationReport();
             case 0 -> { /* Return to main menu */ }
             default -> System.out.println("Invalid choice.");
         }
@@ -111,8 +152,17 @@ public class VotingSystemUI {
         System.out.print("Phone Number: ");
         String phoneNumber = scanner.nextLine().trim();
         
+        String precinctId = null;
+        if (!votingService.getTopLevelRegions().isEmpty()) {
+            System.out.print("Precinct ID (blank for none): ");
+            precinctId = scanner.nextLine().trim();
+            if (precinctId.isEmpty()) {
+                precinctId = null;
+            }
+        }
+        
         try {
-            Voter voter = votingService.registerVoter(firstName, lastName, email, phoneNumber);
+            Voter voter = votingService.registerVoter(firstName, lastName, email, phoneNumber, precinctId);
             System.out.println("Voter registered successfully!");
             System.out.println("Voter ID: " + voter.getVoterId());
         } catch (Exception e) {
@@ -122,9 +172,9 @@ public class VotingSystemUI {
     
     private void displayAllVoters() {
         System.out.println("\n=== ALL VOTERS ===");
-        List<Voter> voters = votingService.getAllVoters();
+        Page<Voter> page = votingService.getVotersPage(null, PAGE_SIZE);
         
-        if (voters.isEmpty()) {
+        if (page.getItems().isEmpty()) {
             System.out.println("No voters registered.");
             return;
         }
@@ -133,21 +183,49 @@ public class VotingSystemUI {
                          "Voter ID", "Name", "Email", "Voted", "Status");
         System.out.println("-".repeat(85));
         
-        for (Voter voter : voters) {
-            System.out.printf("%-15s %-20s %-30s %-10s %-10s%n",
-                             voter.getVoterId(),
-                             voter.getFullName(),
-                             voter.getEmail(),
-                             voter.hasVoted() ? "Yes" : "No",
-                             voter.getStatus());
+        while (true) {
+            for (Voter voter : page.getItems()) {
+                System.out.printf("%-15s %-20s %-30s %-10s %-10s%n",
+                                 voter.getVoterId(),
+                                 voter.getFullName(),
+                                 voter.getEmail(),
+                                 voter.hasVoted() ? "Yes" : "No",
+                                 voter.getStatus());
+            }
+            if (!page.hasNext()) {
+                return;
+            }
+            System.out.print("-- Press Enter for more, or 'q' to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            page = votingService.getVotersPage(page.getNextCursor(), PAGE_SIZE);
         }
     }
     
     private void searchVoter() {
-        System.out.print("Enter Voter ID: ");
-        String voterId = scanner.nextLine().trim();
+        System.out.print("Enter Voter ID or name: ");
+        String query = scanner.nextLine().trim();
+        
+        Optional<Voter> voterOpt = votingService.getVoter(query);
+        if (voterOpt.isEmpty()) {
+            List<Voter> matches = votingService.searchVoters(query, PAGE_SIZE);
+            if (matches.size() > 1) {
+                System.out.println("\n=== MATCHING VOTERS ===");
+                System.out.printf("%-15s %-20s %-30s %-10s%n", "Voter ID", "Name", "Email", "Status");
+                System.out.println("-".repeat(75));
+                for (Voter voter : matches) {
+                    System.out.printf("%-15s %-20s %-30s %-10s%n",
+                                     voter.getVoterId(),
+                                     voter.getFullName(),
+                                     voter.getEmail(),
+                                     voter.getStatus());
+                }
+                return;
+            }
+            voterOpt = matches.stream().findFirst();
+        }
         
-        Optional<Voter> voterOpt = votingService.getVoter(voterId);
         if (voterOpt.isPresent()) {
             Voter voter = voterOpt.get();
             System.out.println("\n=== VOTER DETAILS ===");
@@ -192,6 +270,67 @@ public class VotingSystemUI {
         }
     }
     
+    private void checkVoteReceipt() {
+        System.out.print("Enter Vote ID: ");
+        String voteId = scanner.nextLine().trim();
+        
+        Optional<Vote> voteOpt = votingService.getVote(voteId);
+        if (voteOpt.isEmpty()) {
+            System.out.println("No vote found with that receipt.");
+            return;
+        }
+        Vote vote = voteOpt.get();
+        String election = votingService.getElection(vote.getElectionId())
+                .map(Election::getTitle)
+                .orElse(vote.getElectionId());
+        System.out.println("Election: " + election);
+        System.out.println("Candidate: " + candidateName(vote.getCandidateId()));
+        System.out.println("Cast At: " + vote.getTimestamp().format(dateFormatter));
+        System.out.println("Status: " + (vote.isValid() ? "Counted" : "Retracted"));
+        
+        Optional<InclusionProof> proof = votingService.getVoteInclusionProof(voteId);
+        if (proof.isPresent() && proof.get().verify()) {
+            System.out.println("Recorded in ledger: yes (root " + proof.get().getCheckpoint().getRootHex() + ")");
+        } else {
+            System.out.println("Recorded in ledger: NOT VERIFIED");
+        }
+    }
+    
+    private void retractVote() {
+        System.out.print("Enter Vote ID: ");
+        String voteId = scanner.nextLine().trim();
+        System.out.print("Reason: ");
+        String reason = scanner.nextLine().trim();
+        
+        if (votingService.retractVote(voteId, reason.isEmpty() ? null : reason)) {
+            System.out.println("Vote retracted. The voter may vote in this election again.");
+        } else {
+            System.out.println("No counted vote found with that receipt.");
+        }
+    }
+    
+    private void displayRegistrationReport() {
+        System.out.println("\n=== REGISTRATION REPORT ===");
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime today = now.toLocalDate().atStartOfDay();
+        LocalDateTime end = now.plusSeconds(1);
+        System.out.println("Registered today: " + votingService.countRegistrations(today, end));
+        System.out.println("Last 7 days: " + votingService.countRegistrations(today.minusDays(6), end));
+        System.out.println("Last 30 days: " + votingService.countRegistrations(today.minusDays(29), end));
+        
+        List<Voter> recent = votingService.getVotersRegisteredBetween(today.minusDays(6), end, 20);
+        if (recent.isEmpty()) {
+            return;
+        }
+        System.out.println("\nMost recent registrations this week:");
+        System.out.printf("%-20s %-25s %-20s%n", "Voter ID", "Name", "Registered");
+        System.out.println("-".repeat(67));
+        for (Voter voter : recent) {
+            System.out.printf("%-20s %-25s %-20s%n", voter.getVoterId(), voter.getFullName(),
+                    voter.getRegistrationDate().format(dateFormatter));
+        }
+    }
+    
     private void handleElectionManagement() {
         System.out.println("\n=== ELECTION MANAGEMENT ===");
         System.out.println("1. Create New Election");
@@ -199,6 +338,8 @@ public class VotingSystemUI {
         System.out.println("3. Start Election");
         System.out.println("4. End Election");
         System.out.println("5. Add Candidate to Election");
+        System.out.println("6. Add Region");
+        System.out.println("7. Set Registration Cutoff");
         System.out.println("0. Back to Main Menu");
         
         int choice = getIntInput("Enter your choice: ");
@@ -209,6 +350,8 @@ public class VotingSystemUI {
             case 3 -> startElection();
             case 4 -> endElection();
             case 5 -> addCandidateToElection();
+            case 6 -> addRegion();
+            case 7 -> setRegistrationCutoff();
             case 0 -> { /* Return to main menu */ }
             default -> System.out.println("Invalid choice.");
         }
@@ -225,8 +368,13 @@ public class VotingSystemUI {
         LocalDateTime startDate = getDateTimeInput("Start Date (yyyy-MM-dd HH:mm): ");
         LocalDateTime endDate = getDateTimeInput("End Date (yyyy-MM-dd HH:mm): ");
         
+        System.out.print("Use ranked-choice voting? (y/n): ");
+        String rankedChoice = scanner.nextLine().trim().toLowerCase();
+        Election.VotingMethod votingMethod = rankedChoice.equals("y") || rankedChoice.equals("yes")
+                ? Election.VotingMethod.RANKED_CHOICE : Election.VotingMethod.PLURALITY;
+        
         try {
-            Election election = votingService.createElection(title, description, startDate, endDate);
+            Election election = votingService.createElection(title, description, startDate, endDate, votingMethod);
             System.out.println("Election created successfully!");
             System.out.println("Election ID: " + election.getElectionId());
         } catch (Exception e) {
@@ -281,6 +429,34 @@ public class VotingSystemUI {
         }
     }
     
+    private void setRegistrationCutoff() {
+        System.out.print("Enter Election ID: ");
+        String electionId = scanner.nextLine().trim();
+        Optional<Election> election = votingService.getElection(electionId);
+        if (election.isEmpty()) {
+            System.out.println("Election not found.");
+            return;
+        }
+        System.out.print("Voters must register at least how many days before the start? (blank for no cutoff): ");
+        String days = scanner.nextLine().trim();
+        LocalDateTime cutoff;
+        try {
+            cutoff = days.isEmpty() ? null : election.get().getStartDate().minusDays(Integer.parseInt(days));
+        } catch (NumberFormatException e) {
+            System.out.println("Please enter a whole number of days.");
+            return;
+        }
+        
+        if (!votingService.setRegistrationCutoff(electionId, cutoff)) {
+            System.out.println("Failed to set cutoff. The election must still be scheduled.");
+        } else if (cutoff == null) {
+            System.out.println("Registration cutoff removed.");
+        } else {
+            System.out.println("Voters registered before " + cutoff.format(dateFormatter) + " may vote: "
+                    + votingService.getEligibleVoterCount(electionId) + " eligible so far.");
+        }
+    }
+    
     private void handleCandidateManagement() {
         System.out.println("\n=== CANDIDATE MANAGEMENT ===");
         System.out.println("1. Add New Candidate");
@@ -354,6 +530,28 @@ public class VotingSystemUI {
         }
     }
     
+    private void addRegion() {
+        System.out.println("\n=== ADD REGION ===");
+        System.out.print("Region ID: ");
+        String regionId = scanner.nextLine().trim();
+        
+        System.out.print("Name: ");
+        String name = scanner.nextLine().trim();
+        
+        System.out.print("Level (e.g. State, County, Precinct): ");
+        String level = scanner.nextLine().trim();
+        
+        System.out.print("Parent Region ID (blank for a top-level region): ");
+        String parentId = scanner.nextLine().trim();
+        
+        try {
+            votingService.addRegion(regionId, name, level, parentId.isEmpty() ? null : parentId);
+            System.out.println("Region added successfully!");
+        } catch (Exception e) {
+            System.out.println("Failed to add region: " + e.getMessage());
+        }
+    }
+    
     private void handleVoting() {
         System.out.println("\n=== CAST VOTE ===");
         
@@ -369,8 +567,12 @@ public class VotingSystemUI {
             System.out.println("ID: " + election.getElectionId() + " - " + election.getTitle());
         }
         
-        System.out.print("Enter Election ID: ");
+        System.out.print("Enter Election ID (or 'all' to fill in one ballot for every election): ");
         String electionId = scanner.nextLine().trim();
+        if (electionId.equalsIgnoreCase("all")) {
+            castFullBallot(activeElections);
+            return;
+        }
         
         // Display candidates for the election
         Optional<Election> electionOpt = votingService.getElection(electionId);
@@ -396,11 +598,20 @@ public class VotingSystemUI {
         System.out.print("Enter Voter ID: ");
         String voterId = scanner.nextLine().trim();
         
-        System.out.print("Enter Candidate ID: ");
-        String candidateId = scanner.nextLine().trim();
-        
         try {
-            Vote vote = votingService.castVote(voterId, candidateId, electionId);
+            Vote vote;
+            if (election.isRankedChoice()) {
+                System.out.print("Enter Candidate IDs in order of preference (comma-separated): ");
+                List<String> ranking = Arrays.stream(scanner.nextLine().split(","))
+                        .map(String::trim)
+                        .filter(id -> !id.isEmpty())
+                        .toList();
+                vote = votingService.castRankedVote(voterId, ranking, electionId);
+            } else {
+                System.out.print("Enter Candidate ID: ");
+                String candidateId = scanner.nextLine().trim();
+                vote = votingService.castVote(voterId, candidateId, electionId);
+            }
             System.out.println("Vote cast successfully!");
             System.out.println("Vote ID: " + vote.getVoteId());
         } catch (Exception e) {
@@ -408,35 +619,181 @@ public class VotingSystemUI {
         }
     }
     
+    /**
+     * Collect a selection for each active election and cast them together, so the
+     * ballot is recorded in every contest or in none
+     */
+    private void castFullBallot(List<Election> activeElections) {
+        System.out.print("Enter Voter ID: ");
+        String voterId = scanner.nextLine().trim();
+        Ballot ballot = new Ballot(voterId);
+        for (Election election : activeElections) {
+            System.out.println("\n" + election.getTitle() + (election.isRankedChoice() ? " (ranked choice)" : ""));
+            for (Candidate candidate : election.getCandidates()) {
+                System.out.println("ID: " + candidate.getCandidateId() +
+                                 " - " + candidate.getFullName() +
+                                 " (" + candidate.getParty() + ")");
+            }
+            if (election.isRankedChoice()) {
+                System.out.print("Candidate IDs in order of preference (comma-separated, blank to skip): ");
+                List<String> ranking = Arrays.stream(scanner.nextLine().split(","))
+                        .map(String::trim)
+                        .filter(id -> !id.isEmpty())
+                        .toList();
+                if (!ranking.isEmpty()) {
+                    ballot.rank(election.getElectionId(), ranking);
+                }
+            } else {
+                System.out.print("Candidate ID (blank to skip): ");
+                String candidateId = scanner.nextLine().trim();
+                if (!candidateId.isEmpty()) {
+                    ballot.select(election.getElectionId(), candidateId);
+                }
+            }
+        }
+        
+        BallotResult result = votingService.submitBallot(ballot);
+        if (!result.isAccepted()) {
+            System.out.println("Ballot rejected, nothing was recorded: " + result.getMessage());
+            return;
+        }
+        System.out.println("Ballot cast successfully!");
+        for (Vote vote : result.getVotes()) {
+            String title = votingService.getElection(vote.getElectionId())
+                    .map(Election::getTitle)
+                    .orElse(vote.getElectionId());
+            System.out.println(title + " - Vote ID: " + vote.getVoteId());
+        }
+    }
+    
     private void handleResults() {
         System.out.println("\n=== ELECTION RESULTS ===");
         System.out.print("Enter Election ID: ");
         String electionId = scanner.nextLine().trim();
         
-        Map<String, Integer> results = votingService.getElectionResults(electionId);
-        if (results.isEmpty()) {
+        // Print tallies and total from one view so they always agree
+        Optional<ElectionResultsView> viewOpt = votingService.getElectionResultsView(electionId);
+        if (viewOpt.isEmpty() || viewOpt.get().getTallies().isEmpty()) {
             System.out.println("No results found for this election.");
             return;
         }
+        ElectionResultsView view = viewOpt.get();
         
         System.out.println("\nResults:");
         System.out.printf("%-30s %-10s%n", "Candidate", "Votes");
         System.out.println("-".repeat(40));
         
-        results.entrySet().stream()
+        view.getResults().entrySet().stream()
                 .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
                 .forEach(entry -> System.out.printf("%-30s %-10d%n", 
                         entry.getKey(), entry.getValue()));
         
-        Optional<Candidate> winner = votingService.getElectionWinner(electionId);
-        if (winner.isPresent()) {
-            System.out.println("\nWinner: " + winner.get().getFullName());
+        Optional<RunoffResult> runoff = votingService.getRankedChoiceResults(electionId);
+        if (runoff.isPresent()) {
+            displayRunoffRounds(runoff.get());
+        } else {
+            Optional<Candidate> winner = votingService.getElectionWinner(electionId);
+            if (winner.isPresent()) {
+                System.out.println("\nWinner: " + winner.get().getFullName());
+            }
         }
         
-        int totalVotes = votingService.getTotalVotesInElection(electionId);
         double turnout = votingService.getVoterTurnout(electionId);
-        System.out.println("Total Votes: " + totalVotes);
+        System.out.println("Total Votes: " + view.getTotalVotes());
         System.out.println("Voter Turnout: " + String.format("%.2f%%", turnout));
+        displayVoteRate(view);
+        displayRegionResults(view);
+    }
+    
+    private void displayRegionResults(ElectionResultsView view) {
+        List<Region> topLevel = votingService.getTopLevelRegions();
+        if (topLevel.isEmpty()) {
+            return;
+        }
+        System.out.print("\nRegion ID for a regional breakdown (blank to skip, top level: "
+                + topLevel.stream().map(Region::getRegionId).collect(Collectors.joining(", ")) + "): ");
+        String regionId = scanner.nextLine().trim();
+        if (regionId.isEmpty()) {
+            return;
+        }
+        Optional<RegionResultsView> regionView = votingService.getRegionResults(regionId, view.getElectionId());
+        if (regionView.isEmpty()) {
+            System.out.println("Region not found.");
+            return;
+        }
+        
+        List<RegionResultsView> rows = new ArrayList<>();
+        rows.add(regionView.get());
+        rows.addAll(votingService.getRegionBreakdown(regionId, view.getElectionId()));
+        System.out.printf("%n%-24s", "Region");
+        for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+            System.out.printf(" %12s", abbreviate(tally.getFullName(), 12));
+        }
+        System.out.printf(" %8s%n", "Total");
+        for (int i = 0; i < rows.size(); i++) {
+            RegionResultsView row = rows.get(i);
+            String name = votingService.getRegion(row.getRegionId()).map(Region::getName).orElse(row.getRegionId());
+            // Sub-regions are indented under the selected region
+            System.out.printf("%-24s", abbreviate(i == 0 ? name : "  " + name, 24));
+            for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+                System.out.printf(" %12d", row.getVotes(tally.getCandidateId()));
+            }
+            System.out.printf(" %8d%n", row.getTotalVotes());
+        }
+    }
+    
+    private static String abbreviate(String text, int width) {
+        return text.length() <= width ? text : text.substring(0, width - 1) + ".";
+    }
+    
+    private void displayVoteRate(ElectionResultsView view) {
+        Optional<VoteRateSeries> lastMinute = votingService.getVoteRate(view.getElectionId(), Duration.ofMinutes(1));
+        if (lastMinute.isEmpty()) {
+            return;
+        }
+        VoteRateSeries lastHour = votingService.getVoteRate(view.getElectionId(), Duration.ofHours(1)).get();
+        System.out.println("\nVote Rate:");
+        System.out.println("Last minute: " + lastMinute.get().getTotal() + " votes" +
+                String.format(" (peak %.1f/s)", lastMinute.get().getPeakPerSecond()));
+        System.out.println("Last hour:   " + lastHour.getTotal() + " votes " + sparkline(lastHour.getCounts()));
+        for (ElectionResultsView.CandidateTally tally : view.getTallies()) {
+            votingService.getCandidateVoteRate(view.getElectionId(), tally.getCandidateId(), Duration.ofHours(1))
+                    .ifPresent(series -> System.out.printf("  %-28s %6d %s%n", tally.getFullName(),
+                            series.getTotal(), sparkline(series.getCounts())));
+        }
+    }
+    
+    private static String sparkline(long[] counts) {
+        final String bars = "\u2581\u2582\u2583\u2584\u2585\u2586\u2587\u2588";
+        long peak = Arrays.stream(counts).max().orElse(0);
+        StringBuilder line = new StringBuilder(counts.length);
+        for (long count : counts) {
+            line.append(peak == 0 ? bars.charAt(0) : bars.charAt((int) (count * (bars.length() - 1) / peak)));
+        }
+        return line.toString();
+    }
+    
+    private void displayRunoffRounds(RunoffResult result) {
+        System.out.println("\nInstant-runoff rounds:");
+        for (RunoffRound round : result.getRounds()) {
+            System.out.println("Round " + round.getRoundNumber() + ":");
+            round.getTallies().forEach((candidateId, votes) ->
+                    System.out.printf("  %-30s %-10d%n", candidateName(candidateId), votes));
+            if (round.getExhausted() > 0) {
+                System.out.printf("  %-30s %-10d%n", "(exhausted)", round.getExhausted());
+            }
+            if (round.getEliminatedCandidateId() != null) {
+                System.out.println("  Eliminated: " + candidateName(round.getEliminatedCandidateId()));
+            }
+        }
+        result.getWinnerCandidateId().ifPresent(candidateId ->
+                System.out.println("\nRanked-choice winner: " + candidateName(candidateId)));
+    }
+    
+    private String candidateName(String candidateId) {
+        return votingService.getCandidate(candidateId)
+                .map(Candidate::getFullName)
+                .orElse(candidateId);
     }
     
     private void displaySystemStatistics() {
@@ -450,6 +807,83 @@ public class VotingSystemUI {
         System.out.println("Active Elections: " + stats.get("activeElections"));
     }
     
+    private void auditTallies() {
+        System.out.println("\n=== TALLY AUDIT ===");
+        TallyAuditReport report = votingService.auditTallies();
+        
+        System.out.println("Votes Recounted: " + report.getVotesScanned());
+        System.out.println("Audit Time: " + report.getDurationMillis() + " ms");
+        if (report.isClean()) {
+            System.out.println("All tallies match the vote records.");
+            return;
+        }
+        System.out.println("Discrepancies found: " + report.getDiscrepancies().size());
+        for (TallyDiscrepancy discrepancy : report.getDiscrepancies()) {
+            String subject = discrepancy.getCandidateId() != null
+                    ? candidateName(discrepancy.getCandidateId())
+                    : discrepancy.getElectionId();
+            System.out.println("- " + discrepancy.getKind() + " " + subject +
+                    ": recounted " + discrepancy.getRecounted() + ", live " + discrepancy.getLive());
+        }
+    }
+    
+    private void saveSnapshot() {
+        System.out.println("\n=== SAVE SNAPSHOT ===");
+        System.out.print("Snapshot file: ");
+        String file = scanner.nextLine().trim();
+        if (file.isEmpty()) {
+            System.out.println("No file given.");
+            return;
+        }
+        Path path = Paths.get(file);
+        long start = System.nanoTime();
+        try {
+            votingService.writeSnapshot(path);
+        } catch (IOException e) {
+            System.out.println("Snapshot could not be written: " + e.getMessage());
+            return;
+        }
+        System.out.println("Snapshot saved to " + path.toAbsolutePath() + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println("Start the application with this file as its argument to restore it.");
+    }
+    
+    private void exportData() {
+        System.out.println("\n=== EXPORT DATA ===");
+        System.out.println("1. Vote records");
+        System.out.println("2. Results by election and region");
+        int what = getIntInput("Export: ");
+        if (what != 1 && what != 2) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+        ExportFormat[] formats = ExportFormat.values();
+        for (int i = 0; i < formats.length; i++) {
+            System.out.println((i + 1) + ". " + formats[i]);
+        }
+        int formatChoice = getIntInput("Format: ");
+        if (formatChoice < 1 || formatChoice > formats.length) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+        ExportFormat format = formats[formatChoice - 1];
+        String defaultName = (what == 1 ? "votes." : "results.") + format.getExtension();
+        System.out.print("Output file [" + defaultName + "]: ");
+        String file = scanner.nextLine().trim();
+        Path path = Paths.get(file.isEmpty() ? defaultName : file);
+        
+        long start = System.nanoTime();
+        long records;
+        try {
+            records = what == 1 ? votingService.exportVotes(path, format) : votingService.exportResults(path, format);
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+            return;
+        }
+        System.out.println("Exported " + records + (what == 1 ? " votes" : " result rows") + " to "
+                + path.toAbsolutePath() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+    
     private int getIntInput(String prompt) {
         while (true) {
             try {
@@ -21,6 +21,9 @@ public class SampleDataInitializer {
     public void initializeSampleData() {
         System.out.println("Initializing sample data...");
         
+        // Build the reporting regions voters are registered in
+        initializeRegions();
+        
         // Register sample voters
         initializeVoters();
         
@@ -33,13 +36,28 @@ public class SampleDataInitializer {
         System.out.println("Sample data initialized successfully!");
     }
     
+    private void initializeRegions() {
+        try {
+            votingService.addRegion("ST", "Sample State", "State", null);
+            votingService.addRegion("ST-N", "North County", "County", "ST");
+            votingService.addRegion("ST-N-1", "North Precinct 1", "Precinct", "ST-N");
+            votingService.addRegion("ST-N-2", "North Precinct 2", "Precinct", "ST-N");
+            votingService.addRegion("ST-S", "South County", "County", "ST");
+            votingService.addRegion("ST-S-1", "South Precinct 1", "Precinct", "ST-S");
+            
+            System.out.println("Sample regions added.");
+        } catch (Exception e) {
+            System.out.println("Error adding sample regions: " + e.getMessage());
+        }
+    }
+    
     private void initializeVoters() {
         try {
-            votingService.registerVoter("John", "Doe", "john.doe@email.com", "123-456-7890");
-            votingService.registerVoter("Jane", "Smith", "jane.smith@email.com", "123-456-7891");
-            votingService.registerVoter("Mike", "Johnson", "mike.johnson@email.com", "123-456-7892");
-            votingService.registerVoter("Sarah", "Williams", "sarah.williams@email.com", "123-456-7893");
-            votingService.registerVoter("David", "Brown", "david.brown@email.com", "123-456-7894");
+            votingService.registerVoter("John", "Doe", "john.doe@email.com", "123-456-7890", "ST-N-1");
+            votingService.registerVoter("Jane", "Smith", "jane.smith@email.com", "123-456-7891", "ST-N-1");
+            votingService.registerVoter("Mike", "Johnson", "mike.johnson@email.com", "123-456-7892", "ST-N-2");
+            votingService.registerVoter("Sarah", "Williams", "sarah.williams@email.com", "123-456-7893", "ST-S-1");
+            votingService.registerVoter("David", "Brown", "david.brown@email.com", "123-456-7894", "ST-S-1");
             
             System.out.println("Sample voters registered.");
         } catch (Exception e) {
@@ -106,7 +124,7 @@ public class SampleDataInitializer {
     public void displaySampleDataInfo() {
         System.out.println("\n=== SAMPLE DATA INFORMATION ===");
         System.out.println("The system has been initialized with:");
-        System.out.println("- 5 sample voters");
+        System.out.println("- 5 sample voters in 3 precincts across 2 counties");
         System.out.println("- 5 sample candidates");
         System.out.println("- 2 sample elections");
         System.out.println();
@@ -0,0 +1,107 @@
+package com.voting;
+
+import com.voting.audit.AuditLog;
+import com.voting.dao.VoterDAOImpl;
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Voter;
+import com.voting.service.VotingService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures castVote latency with and without an audit log subscribed, with
+ * several threads casting votes at once.
+ *
+ * Usage: java -cp out com.voting.AuditLogBenchmark [votes] [threads]
+ */
+public class AuditLogBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        int votes = args.length > 0 ? Integer.parseInt(args[0]) : 400_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        System.out.println("Running audit log benchmark with " + votes + " votes on " + threads + " threads...");
+        
+        Path directory = Files.createTempDirectory("audit-benchmark");
+        try {
+            // Warm up both paths before measuring
+            run(null, votes / 10, threads, false);
+            run(directory, votes / 10, threads, false);
+            run(null, votes, threads, true);
+            run(directory, votes, threads, true);
+        } finally {
+            for (Path file : AuditLog.listFiles(directory)) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+    
+    private static void run(Path auditDirectory, int voteCount, int threadCount, boolean print) throws Exception {
+        List<Voter> voters = new ArrayList<>(voteCount);
+        for (int i = 0; i < voteCount; i++) {
+            voters.add(new Voter(String.format("V%09d", i), "First" + i, "Last" + i,
+                    "voter" + i + "@example.com", "555-" + i));
+        }
+        VoterDAOImpl voterDAO = new VoterDAOImpl();
+        voterDAO.saveAll(voters);
+        VotingService service = new VotingService(voterDAO);
+        AuditLog auditLog = auditDirectory != null ? new AuditLog(auditDirectory) : null;
+        if (auditLog != null) {
+            service.addEventListener(auditLog);
+        }
+        Election election = service.createElection("Benchmark", "Audit overhead",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        Candidate candidate = service.addCandidate("Ada", "Lovelace", "Independent", "Mayor");
+        service.addCandidateToElection(election.getElectionId(), candidate.getCandidateId());
+        service.startElection(election.getElectionId());
+        
+        long[] latencies = new long[voteCount];
+        Thread[] threads = new Thread[threadCount];
+        long start = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            int first = t;
+            threads[t] = new Thread(() -> {
+                for (int i = first; i < voteCount; i += threadCount) {
+                    long begin = System.nanoTime();
+                    service.castVote(voters.get(i).getVoterId(), candidate.getCandidateId(),
+                            election.getElectionId());
+                    latencies[i] = System.nanoTime() - begin;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (auditLog != null) {
+            auditLog.close();
+        }
+        if (print) {
+            report(auditLog != null ? "castVote with audit log" : "castVote without audit log",
+                    latencies, elapsed, auditLog);
+        }
+    }
+    
+    private static void report(String operation, long[] latencies, long elapsedNanos, AuditLog auditLog)
+            throws IOException {
+        Arrays.sort(latencies);
+        System.out.printf("%-28s %10.0f ops/s  p50 %6.1f us  p99 %7.1f us  p99.9 %7.1f us%n", operation,
+                latencies.length / (elapsedNanos / 1e9), percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 0.999));
+        if (auditLog != null) {
+            System.out.printf("%-28s %10d events written, %d publisher stalls%n", "",
+                    auditLog.getWrittenCount(), auditLog.getStallCount());
+        }
+    }
+    
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1000.0;
+    }
+}
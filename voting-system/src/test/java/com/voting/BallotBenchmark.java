@@ -0,0 +1,84 @@
+package com.voting;
+
+import com.voting.dao.VoterDAOImpl;
+import com.voting.model.Ballot;
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Voter;
+import com.voting.service.VotingService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares casting a multi-contest ballot with castBallot against issuing one
+ * castVote per contest, for the same voters and selections.
+ *
+ * Usage: java -cp out com.voting.BallotBenchmark [voters] [contests]
+ */
+public class BallotBenchmark {
+    
+    public static void main(String[] args) {
+        int voters = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int contests = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        System.out.println("Running ballot benchmark with " + voters + " voters and "
+                + contests + " contests per ballot...");
+        
+        // Warm up both paths before measuring
+        run(false, voters / 10, contests, false);
+        run(true, voters / 10, contests, false);
+        run(false, voters, contests, true);
+        run(true, voters, contests, true);
+    }
+    
+    private static void run(boolean ballots, int voterCount, int contestCount, boolean print) {
+        List<Voter> voters = new ArrayList<>(voterCount);
+        for (int i = 0; i < voterCount; i++) {
+            voters.add(new Voter(String.format("V%09d", i), "First" + i, "Last" + i,
+                    "voter" + i + "@example.com", "555-" + i));
+        }
+        VoterDAOImpl voterDAO = new VoterDAOImpl();
+        voterDAO.saveAll(voters);
+        VotingService service = new VotingService(voterDAO);
+        
+        // One candidate pair per contest, for offices such as President, Mayor and a measure
+        String[] electionIds = new String[contestCount];
+        String[][] candidateIds = new String[contestCount][2];
+        for (int c = 0; c < contestCount; c++) {
+            Election election = service.createElection("Contest " + c, "Benchmark contest",
+                    LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+            electionIds[c] = election.getElectionId();
+            for (int k = 0; k < 2; k++) {
+                Candidate candidate = service.addCandidate("Candidate" + k, "Contest" + c, "Independent", "Office " + c);
+                service.addCandidateToElection(election.getElectionId(), candidate.getCandidateId());
+                candidateIds[c][k] = candidate.getCandidateId();
+            }
+            service.startElection(election.getElectionId());
+        }
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < voterCount; i++) {
+            String voterId = voters.get(i).getVoterId();
+            if (ballots) {
+                Ballot ballot = new Ballot(voterId);
+                for (int c = 0; c < contestCount; c++) {
+                    ballot.select(electionIds[c], candidateIds[c][(i + c) & 1]);
+                }
+                service.castBallot(ballot);
+            } else {
+                for (int c = 0; c < contestCount; c++) {
+                    service.castVote(voterId, candidateIds[c][(i + c) & 1], electionIds[c]);
+                }
+            }
+        }
+        if (print) {
+            report(ballots ? "castBallot" : "castVote per contest", voterCount, start);
+        }
+    }
+    
+    private static void report(String operation, int ballots, long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        System.out.printf("%-30s %10.1f ms %12.0f ballots/s%n", operation, millis,
+                ballots / (millis / 1000.0));
+    }
+}
@@ -0,0 +1,123 @@
+package com.voting;
+
+import com.voting.dao.BloomFilteredVoterDAO;
+import com.voting.dao.MappedVoterDAO;
+import com.voting.dao.VoterDAO;
+import com.voting.dao.VoterDAOImpl;
+import com.voting.index.ScalableBloomFilter;
+import com.voting.model.Voter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures duplicate checks for new voters with and without a Bloom filter in front
+ * of the in-memory and memory-mapped voter DAOs, and how the filter's false-positive
+ * rate holds up as it grows far past its initial capacity.
+ *
+ * Usage: java -cp out com.voting.BloomFilterBenchmark [voters] [lookups]
+ */
+public class BloomFilterBenchmark {
+    
+    public static void main(String[] args) throws IOException {
+        int voterCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        System.out.println("Running Bloom filter benchmark with " + voterCount + " voters and "
+                + lookups + " lookups...");
+        List<Voter> voters = new ArrayList<>(voterCount);
+        for (int i = 0; i < voterCount; i++) {
+            voters.add(new Voter(String.format("V%09d", i), "First" + i, "Last" + i,
+                    "voter" + i + "@example.com", "555-" + i));
+        }
+        
+        VoterDAOImpl heap = new VoterDAOImpl();
+        heap.saveAll(voters);
+        // The in-memory DAO scans for emails, so it gets fewer lookups
+        compare("VoterDAOImpl", heap, Math.max(1, lookups / 1000), lookups);
+        
+        Path directory = Files.createTempDirectory("bloom-benchmark");
+        try (MappedVoterDAO mapped = new MappedVoterDAO(directory)) {
+            mapped.saveAll(voters);
+            compare("MappedVoterDAO", mapped, lookups, lookups);
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        
+        growth();
+    }
+    
+    private static void compare(String name, VoterDAO store, int emailLookups, int idLookups) {
+        long start = System.nanoTime();
+        BloomFilteredVoterDAO filtered = new BloomFilteredVoterDAO(store);
+        long loadNanos = System.nanoTime() - start;
+        System.out.printf("%n=== %s (filters loaded in %d ms, %.1f MB) ===%n", name, loadNanos / 1_000_000,
+                filtered.getFilterBytes() / 1e6);
+        // Warm up both paths before measuring
+        newEmailLookups(store, emailLookups / 10 + 1);
+        newEmailLookups(filtered, emailLookups / 10 + 1);
+        report("findByEmail, new voter", emailLookups, newEmailLookups(store, emailLookups),
+                newEmailLookups(filtered, emailLookups));
+        report("existsById, unknown ID", idLookups, unknownIdLookups(store, idLookups),
+                unknownIdLookups(filtered, idLookups));
+        System.out.printf("%-26s %s, observed false-positive rate %.4f%n", "email filter",
+                filtered.getEmailStats(), filtered.getEmailStats().getFalsePositiveRate());
+    }
+    
+    private static long newEmailLookups(VoterDAO dao, int count) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (dao.findByEmail("new" + i + "@example.org").isPresent()) {
+                found++;
+            }
+        }
+        if (found != 0) {
+            throw new IllegalStateException("Unexpected match");
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private static long unknownIdLookups(VoterDAO dao, int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (dao.existsById("X" + i)) {
+                throw new IllegalStateException("Unexpected match");
+            }
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private static void report(String operation, int count, long plainNanos, long filteredNanos) {
+        System.out.printf("%-26s %10.2f us unfiltered  %8.2f us filtered  (%.0fx)%n", operation,
+                plainNanos / 1000.0 / count, filteredNanos / 1000.0 / count, (double) plainNanos / filteredNanos);
+    }
+    
+    private static void growth() {
+        System.out.println("\n=== Growth from an initial capacity of 10,000 at a 1% target ===");
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.01);
+        int added = 0;
+        for (int target = 10_000; target <= 5_120_000; target *= 4) {
+            while (added < target) {
+                filter.add("member" + added++);
+            }
+            int falsePositives = 0;
+            int probes = 200_000;
+            for (int i = 0; i < probes; i++) {
+                if (filter.mightContain("absent" + i)) {
+                    falsePositives++;
+                }
+            }
+            System.out.printf("%,10d keys  %2d stages  %7.1f MB  observed fp %.4f  expected %.4f%n", added,
+                    filter.getStageCount(), filter.getBitArrayBytes() / 1e6, (double) falsePositives / probes,
+                    filter.getExpectedFalsePositiveRate());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.voting;
+
+import com.voting.dao.VoterDAOImpl;
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Voter;
+import com.voting.service.CastVoteResult;
+import com.voting.service.VotingService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the exception-throwing castVote with the result-code submitVote
+ * under a request mix where 30% of ballots are rejected.
+ *
+ * Usage: java -cp out com.voting.CastVoteBenchmark [requests]
+ */
+public class CastVoteBenchmark {
+    
+    private static final double REJECTION_RATE = 0.30;
+    
+    public static void main(String[] args) {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        System.out.println("Running castVote benchmark with " + requests + " requests, "
+                + (int) (REJECTION_RATE * 100) + "% rejected...");
+        
+        // Warm up both paths before measuring
+        run(false, requests / 10, false);
+        run(true, requests / 10, false);
+        run(false, requests, true);
+        run(true, requests, true);
+    }
+    
+    private static void run(boolean resultCodes, int requests, boolean print) {
+        // Build the request mix up front: fresh voters are accepted, the rest are rejected
+        // for an unknown voter, a repeat vote, or a candidate not on the ballot
+        Random random = new Random(42);
+        boolean[] accepted = new boolean[requests];
+        List<Voter> voters = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            accepted[i] = random.nextDouble() >= REJECTION_RATE || i == 0;
+            if (accepted[i]) {
+                voters.add(new Voter(String.format("V%09d", i), "First" + i, "Last" + i,
+                        "voter" + i + "@example.com", "555-" + i));
+            }
+        }
+        VoterDAOImpl voterDAO = new VoterDAOImpl();
+        voterDAO.saveAll(voters);
+        VotingService service = new VotingService(voterDAO);
+        Election election = service.createElection("Benchmark", "Rejection mix",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        Candidate standing = service.addCandidate("Ada", "Lovelace", "Independent", "Mayor");
+        Candidate notStanding = service.addCandidate("Alan", "Turing", "Independent", "Mayor");
+        service.addCandidateToElection(election.getElectionId(), standing.getCandidateId());
+        service.startElection(election.getElectionId());
+        
+        List<String[]> mix = new ArrayList<>(requests);
+        int next = 0;
+        for (int i = 0; i < requests; i++) {
+            if (accepted[i]) {
+                mix.add(new String[] {voters.get(next++).getVoterId(), standing.getCandidateId()});
+                continue;
+            }
+            String earlier = voters.get(random.nextInt(next)).getVoterId();
+            switch (random.nextInt(3)) {
+                case 0 -> mix.add(new String[] {"UNKNOWN" + i, standing.getCandidateId()});
+                case 1 -> mix.add(new String[] {earlier, standing.getCandidateId()});
+                default -> mix.add(new String[] {earlier, notStanding.getCandidateId()});
+            }
+        }
+        
+        String electionId = election.getElectionId();
+        int rejected = 0;
+        long start = System.nanoTime();
+        for (String[] request : mix) {
+            if (resultCodes) {
+                CastVoteResult result = service.submitVote(request[0], request[1], electionId);
+                if (!result.isAccepted()) {
+                    rejected++;
+                }
+            } else {
+                try {
+                    service.castVote(request[0], request[1], electionId);
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                }
+            }
+        }
+        if (print) {
+            report(resultCodes ? "submitVote (result codes)" : "castVote (exceptions)", requests, rejected, start);
+        }
+    }
+    
+    private static void report(String operation, int count, int rejected, long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        System.out.printf("%-30s %10.1f ms %12.0f ops/s %8d rejected%n", operation, millis,
+                count / (millis / 1000.0), rejected);
+    }
+}
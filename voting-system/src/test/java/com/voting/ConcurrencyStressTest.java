@@ -0,0 +1,373 @@
+package com.voting;
+
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Vote;
+import com.voting.model.Voter;
+import com.voting.projection.ElectionResultsView;
+import com.voting.service.CastVoteResult;
+import com.voting.service.VotingService;
+import com.voting.tally.TallyAuditReport;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Randomized concurrency stress test for VotingService and the in-memory voter DAO.
+ *
+ * Each round builds a random schedule: a list of operations per thread over a small
+ * pool of voters, so threads collide on the same voters, candidates and elections.
+ * Random yields between operations vary the interleaving. After every run the
+ * invariants below are checked; a failing schedule is shrunk by dropping threads
+ * and operations while it still fails, and the minimal schedule is printed.
+ *
+ * - each election's totalVotes, its results view and its recount equal the accepted votes
+ *   that were not retracted
+ * - each candidate's voteCount equals the counted votes for that candidate
+ * - at most one counted vote per voter per election, and each vote is retracted at most once
+ * - every accepted vote has a distinct ID that resolves to that vote
+ * - a retried vote gets back the same vote as the first attempt with its key
+ * - at most one voter per email address
+ * - the tally audit is clean and the ledger matches every vote
+ *
+ * Usage: java -cp out com.voting.ConcurrencyStressTest [seed] [rounds]
+ */
+public class ConcurrencyStressTest {
+    
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 150;
+    private static final int VOTERS = 40;
+    private static final int ELECTIONS = 2;
+    private static final int CANDIDATES = 3;
+    private static final int NEW_EMAILS = 10;
+    private static final int SHRINK_ATTEMPTS = 30;
+    
+    private enum Kind { CAST, RETRY, RETRACT, REGISTER, SUSPEND, REACTIVATE, READ_RESULTS, AUDIT }
+    
+    private static final class Op {
+        final Kind kind;
+        final int voter;
+        final int election;
+        final int candidate;
+        final int yields;
+        
+        Op(Kind kind, int voter, int election, int candidate, int yields) {
+            this.kind = kind;
+            this.voter = voter;
+            this.election = election;
+            this.candidate = candidate;
+            this.yields = yields;
+        }
+        
+        @Override
+        public String toString() {
+            return switch (kind) {
+                case CAST, RETRY -> kind + "(voter=" + voter + ", election=" + election
+                        + ", candidate=" + candidate + ")";
+                case REGISTER -> "REGISTER(email=" + voter + ")";
+                case RETRACT -> "RETRACT(voter=" + voter + ", election=" + election + ")";
+                case SUSPEND, REACTIVATE -> kind + "(voter=" + voter + ")";
+                case READ_RESULTS -> "READ_RESULTS(election=" + election + ")";
+                case AUDIT -> "AUDIT";
+            };
+        }
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        System.out.println("Running concurrency stress test: seed=" + seed + ", rounds=" + rounds);
+        
+        for (int round = 0; round < rounds; round++) {
+            List<List<Op>> schedule = randomSchedule(new Random(seed + round));
+            String failure = run(schedule);
+            if (failure != null) {
+                System.out.println("\nRound " + round + " failed: " + failure);
+                System.out.println("Shrinking schedule...");
+                List<List<Op>> minimal = shrink(schedule);
+                System.out.println("Minimal failing schedule (" + size(minimal) + " ops):");
+                for (int t = 0; t < minimal.size(); t++) {
+                    System.out.println("  Thread " + t + ": " + minimal.get(t));
+                }
+                System.out.println("Reproduce with seed " + (seed + round) + " and 1 round.");
+                System.exit(1);
+            }
+        }
+        System.out.println("All " + rounds + " rounds passed.");
+    }
+    
+    private static List<List<Op>> randomSchedule(Random random) {
+        List<List<Op>> schedule = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<Op> ops = new ArrayList<>();
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                int roll = random.nextInt(100);
+                Kind kind = roll < 50 ? Kind.CAST
+                        : roll < 65 ? Kind.RETRY
+                        : roll < 70 ? Kind.RETRACT
+                        : roll < 78 ? Kind.REGISTER
+                        : roll < 84 ? Kind.SUSPEND
+                        : roll < 92 ? Kind.REACTIVATE
+                        : roll < 98 ? Kind.READ_RESULTS
+                        : Kind.AUDIT;
+                int voter = kind == Kind.REGISTER ? random.nextInt(NEW_EMAILS) : random.nextInt(VOTERS);
+                ops.add(new Op(kind, voter, random.nextInt(ELECTIONS), random.nextInt(CANDIDATES),
+                        random.nextInt(3)));
+            }
+            schedule.add(ops);
+        }
+        return schedule;
+    }
+    
+    /**
+     * Execute a schedule against a fresh service
+     * @return A description of the first violated invariant, or null if all hold
+     */
+    private static String run(List<List<Op>> schedule) throws InterruptedException {
+        VotingService service = new VotingService();
+        List<String> voterIds = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            voterIds.add(service.registerVoter("Voter", "Number" + i, "voter" + i + "@example.com", "555-" + i)
+                    .getVoterId());
+        }
+        List<String> candidateIds = new ArrayList<>();
+        for (int i = 0; i < CANDIDATES; i++) {
+            candidateIds.add(service.addCandidate("Candidate", "Number" + i, "Party" + i, "Mayor").getCandidateId());
+        }
+        List<String> electionIds = new ArrayList<>();
+        for (int i = 0; i < ELECTIONS; i++) {
+            Election election = service.createElection("Election " + i, "Stress", LocalDateTime.now().minusMinutes(1),
+                    LocalDateTime.now().plusHours(1),
+                    i % 2 == 0 ? Election.VotingMethod.PLURALITY : Election.VotingMethod.RANKED_CHOICE);
+            for (String candidateId : candidateIds) {
+                service.addCandidateToElection(election.getElectionId(), candidateId);
+            }
+            service.startElection(election.getElectionId());
+            electionIds.add(election.getElectionId());
+        }
+        
+        Queue<Vote> accepted = new ConcurrentLinkedQueue<>();
+        Queue<Vote> retracted = new ConcurrentLinkedQueue<>();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        Map<String, Vote> receipts = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (List<Op> ops : schedule) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (Op op : ops) {
+                        for (int y = 0; y < op.yields; y++) {
+                            Thread.yield();
+                        }
+                        execute(service, op, voterIds, candidateIds, electionIds, accepted, retracted, receipts,
+                                failures);
+                    }
+                } catch (Throwable e) {
+                    failures.add("Unexpected " + e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            return failures.peek();
+        }
+        return checkInvariants(service, candidateIds, electionIds, accepted, retracted);
+    }
+    
+    private static void execute(VotingService service, Op op, List<String> voterIds, List<String> candidateIds,
+                                List<String> electionIds, Queue<Vote> accepted, Queue<Vote> retracted,
+                                Map<String, Vote> receipts, Queue<String> failures) {
+        String voterId = voterIds.get(op.voter % voterIds.size());
+        String electionId = electionIds.get(op.election);
+        switch (op.kind) {
+            case CAST -> {
+                CastVoteResult result = service.submitVote(voterId, candidateIds.get(op.candidate), electionId);
+                result.getVote().ifPresent(accepted::add);
+            }
+            case RETRY -> {
+                // Keyed by the request, so every thread retrying it shares one key
+                String key = op.voter + "/" + op.election + "/" + op.candidate;
+                CastVoteResult result = service.submitVote(voterId, candidateIds.get(op.candidate), electionId, key);
+                result.getVote().ifPresent(vote -> {
+                    if (!result.isReplay()) {
+                        accepted.add(vote);
+                    }
+                    Vote first = receipts.putIfAbsent(key, vote);
+                    if (first != null && first != vote) {
+                        failures.add("Retry of " + key + " returned vote " + vote.getVoteId()
+                                + " but the first attempt recorded " + first.getVoteId());
+                    }
+                });
+            }
+            case RETRACT -> service.getVoterBallot(voterId, electionId).ifPresent(vote -> {
+                if (service.retractVote(vote.getVoteId(), "Stress")) {
+                    retracted.add(vote);
+                }
+            });
+            case REGISTER -> {
+                try {
+                    service.registerVoter("New", "Voter" + op.voter, "new" + op.voter + "@example.com", "555-0000");
+                } catch (IllegalArgumentException e) {
+                    // Duplicate email; rejecting it is the expected outcome
+                }
+            }
+            case SUSPEND -> service.updateVoterStatus(voterId, Voter.VoterStatus.SUSPENDED);
+            case REACTIVATE -> service.updateVoterStatus(voterId, Voter.VoterStatus.ACTIVE);
+            case READ_RESULTS -> service.getElectionResultsView(electionId).ifPresent(view -> {
+                int sum = view.getTallies().stream().mapToInt(ElectionResultsView.CandidateTally::getVotes).sum();
+                if (sum != view.getTotalVotes()) {
+                    failures.add("Results view for " + electionId + " sums to " + sum
+                            + " but reports " + view.getTotalVotes());
+                }
+            });
+            case AUDIT -> {
+                TallyAuditReport report = service.auditTallies();
+                if (!report.isClean()) {
+                    failures.add("Online audit found " + report.getDiscrepancies());
+                }
+            }
+        }
+    }
+    
+    private static String checkInvariants(VotingService service, List<String> candidateIds, List<String> electionIds,
+                                          Queue<Vote> accepted, Queue<Vote> retracted) {
+        Set<String> retractedIds = new HashSet<>();
+        for (Vote vote : retracted) {
+            if (!retractedIds.add(vote.getVoteId())) {
+                return "Vote " + vote.getVoteId() + " was retracted more than once";
+            }
+            if (vote.isValid()) {
+                return "Retracted vote " + vote.getVoteId() + " is still marked valid";
+            }
+        }
+        Map<String, Integer> perElection = new HashMap<>();
+        Map<String, Integer> perCandidate = new HashMap<>();
+        Set<String> voterElections = new HashSet<>();
+        Set<String> voteIds = new HashSet<>();
+        for (Vote vote : accepted) {
+            if (!voteIds.add(vote.getVoteId())) {
+                return "Vote ID " + vote.getVoteId() + " was issued more than once";
+            }
+            if (service.getVote(vote.getVoteId()).orElse(null) != vote) {
+                return "Receipt " + vote.getVoteId() + " does not resolve to its vote";
+            }
+            if (retractedIds.contains(vote.getVoteId())) {
+                continue;
+            }
+            perElection.merge(vote.getElectionId(), 1, Integer::sum);
+            perCandidate.merge(vote.getCandidateId(), 1, Integer::sum);
+            if (!voterElections.add(vote.getVoterId() + "/" + vote.getElectionId())) {
+                return "Voter " + vote.getVoterId() + " has more than one counted vote in " + vote.getElectionId();
+            }
+        }
+        for (String electionId : electionIds) {
+            int expected = perElection.getOrDefault(electionId, 0);
+            int total = service.getElection(electionId).map(Election::getTotalVotes).orElse(-1);
+            if (total != expected) {
+                return "Election " + electionId + " totalVotes=" + total + " but " + expected + " votes are counted";
+            }
+            int viewTotal = service.getTotalVotesInElection(electionId);
+            if (viewTotal != expected) {
+                return "Results view for " + electionId + " shows " + viewTotal + " but " + expected + " are counted";
+            }
+            long indexed = service.streamVotesByElection(electionId).count();
+            if (indexed != expected) {
+                return "Vote index lists " + indexed + " votes for " + electionId + " but " + expected + " are counted";
+            }
+        }
+        for (String candidateId : candidateIds) {
+            int expected = perCandidate.getOrDefault(candidateId, 0);
+            int count = service.getCandidate(candidateId).map(Candidate::getVoteCount).orElse(-1);
+            if (count != expected) {
+                return "Candidate " + candidateId + " voteCount=" + count + " but " + expected + " votes are counted";
+            }
+        }
+        Map<String, Voter> byEmail = new HashMap<>();
+        for (Voter voter : service.getAllVoters()) {
+            Voter other = byEmail.put(voter.getEmail(), voter);
+            if (other != null) {
+                return "Voters " + other.getVoterId() + " and " + voter.getVoterId() + " share " + voter.getEmail();
+            }
+        }
+        TallyAuditReport report = service.auditTallies();
+        if (!report.isClean()) {
+            return "Final audit found " + report.getDiscrepancies();
+        }
+        List<String> tampered = service.verifyVoteIntegrity();
+        if (!tampered.isEmpty()) {
+            return "Ledger does not match votes " + tampered;
+        }
+        return null;
+    }
+    
+    /**
+     * Drop threads, then runs of operations, for as long as the schedule still fails
+     */
+    private static List<List<Op>> shrink(List<List<Op>> schedule) throws InterruptedException {
+        List<List<Op>> current = copy(schedule);
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int t = 0; t < current.size() && current.size() > 1; t++) {
+                List<List<Op>> candidate = copy(current);
+                candidate.remove(t);
+                if (stillFails(candidate)) {
+                    current = candidate;
+                    progress = true;
+                    t--;
+                }
+            }
+            for (int t = 0; t < current.size(); t++) {
+                for (int chunk = Math.max(1, current.get(t).size() / 2); chunk >= 1; chunk /= 2) {
+                    for (int from = 0; from + chunk <= current.get(t).size() && current.get(t).size() > 1; ) {
+                        List<List<Op>> candidate = copy(current);
+                        candidate.get(t).subList(from, from + chunk).clear();
+                        if (stillFails(candidate)) {
+                            current = candidate;
+                            progress = true;
+                        } else {
+                            from += chunk;
+                        }
+                    }
+                }
+            }
+        }
+        return current;
+    }
+    
+    private static boolean stillFails(List<List<Op>> schedule) throws InterruptedException {
+        for (int attempt = 0; attempt < SHRINK_ATTEMPTS; attempt++) {
+            if (run(schedule) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static List<List<Op>> copy(List<List<Op>> schedule) {
+        List<List<Op>> copy = new ArrayList<>();
+        for (List<Op> ops : schedule) {
+            copy.add(new ArrayList<>(ops));
+        }
+        return copy;
+    }
+    
+    private static int size(List<List<Op>> schedule) {
+        return schedule.stream().mapToInt(List::size).sum();
+    }
+}
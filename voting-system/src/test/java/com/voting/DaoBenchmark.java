@@ -0,0 +1,90 @@
+package com.voting;
+
+import com.voting.dao.ConnectionPool;
+import com.voting.dao.JdbcSchema;
+import com.voting.dao.JdbcVoterDAO;
+import com.voting.dao.VoterDAO;
+import com.voting.dao.VoterDAOImpl;
+import com.voting.model.Voter;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the in-memory and JDBC voter DAOs on bulk load, lookups and status updates.
+ *
+ * Usage: java -cp out:&lt;driver.jar&gt; com.voting.DaoBenchmark [jdbcUrl] [voterCount]
+ * e.g.   jdbc:h2:./bench/voting   or   jdbc:sqlite:bench-voting.db
+ */
+public class DaoBenchmark {
+    
+    private static final int LOOKUPS = 5_000;
+    
+    public static void main(String[] args) {
+        String url = args.length > 0 ? args[0] : "jdbc:h2:./bench/voting";
+        int voterCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        
+        System.out.println("Running DAO benchmark with " + voterCount + " voters...");
+        List<Voter> voters = generateVoters(voterCount);
+        
+        run("VoterDAOImpl (in-memory)", new VoterDAOImpl(), voters);
+        
+        try {
+            DriverManager.getDriver(url);
+        } catch (SQLException e) {
+            System.out.println("\nNo JDBC driver on the classpath for " + url + "; skipping JDBC run.");
+            return;
+        }
+        try (ConnectionPool pool = new ConnectionPool(url, 4)) {
+            JdbcSchema.create(pool);
+            run("JdbcVoterDAO (" + url + ")", new JdbcVoterDAO(pool), voters);
+        }
+    }
+    
+    private static void run(String name, VoterDAO dao, List<Voter> voters) {
+        System.out.println("\n=== " + name + " ===");
+        Random random = new Random(42);
+        
+        long start = System.nanoTime();
+        dao.saveAll(voters);
+        report("Bulk saveAll", voters.size(), start);
+        
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            dao.findById(voters.get(random.nextInt(voters.size())).getVoterId());
+        }
+        report("findById", LOOKUPS, start);
+        
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            dao.findByEmail(voters.get(random.nextInt(voters.size())).getEmail());
+        }
+        report("findByEmail", LOOKUPS, start);
+        
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            dao.updateStatus(voters.get(random.nextInt(voters.size())).getVoterId(), Voter.VoterStatus.ACTIVE);
+        }
+        report("updateStatus", LOOKUPS, start);
+        
+        start = System.nanoTime();
+        int active = dao.findByStatus(Voter.VoterStatus.ACTIVE).size();
+        report("findByStatus (" + active + " rows)", 1, start);
+    }
+    
+    private static List<Voter> generateVoters(int count) {
+        List<Voter> voters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            voters.add(new Voter(String.format("V%09d", i), "First" + i, "Last" + i,
+                    "voter" + i + "@example.com", "555-" + i));
+        }
+        return voters;
+    }
+    
+    private static void report(String operation, int count, long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        System.out.printf("%-35s %10.1f ms %12.0f ops/s%n", operation, millis, count / (millis / 1000.0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.voting;
+
+import com.voting.export.ExportFormat;
+import com.voting.export.StreamingExporter;
+import com.voting.model.Vote;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Measures StreamingExporter throughput for each format against a plain
+ * BufferedWriter that builds one string per vote.
+ *
+ * Usage: java -cp out com.voting.ExportBenchmark [votes]
+ */
+public class ExportBenchmark {
+    
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("Running export benchmark with " + count + " votes...");
+        
+        Vote[] votes = new Vote[count];
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            votes[i] = new Vote("VOTE" + i, "V" + i, "C" + (i % 7), "E1", start.plusNanos(i));
+            votes[i].setPrecinctId("P" + (i % 1000));
+        }
+        Path dir = Files.createTempDirectory("export-benchmark");
+        try {
+            // Warm up every path before measuring
+            run(dir, votes, false);
+            run(dir, votes, true);
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+    
+    private static void run(Path dir, Vote[] votes, boolean print) throws IOException {
+        StreamingExporter exporter = new StreamingExporter();
+        for (ExportFormat format : ExportFormat.values()) {
+            Path file = dir.resolve("votes." + format.getExtension());
+            long start = System.nanoTime();
+            exporter.exportVotes(file, format, votes.length, position -> votes[(int) position]);
+            report(print, "StreamingExporter " + format, start, Files.size(file), votes.length);
+        }
+        
+        Path file = dir.resolve("naive.csv");
+        long start = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("vote_id,voter_id,candidate_id,election_id,precinct_id,cast_at,valid,ranking\n");
+            for (Vote vote : votes) {
+                writer.write(vote.getVoteId() + "," + vote.getVoterId() + "," + vote.getCandidateId() + ","
+                        + vote.getElectionId() + "," + vote.getPrecinctId() + "," + vote.getTimestamp() + ","
+                        + vote.isValid() + ",\n");
+            }
+        }
+        report(print, "BufferedWriter CSV", start, Files.size(file), votes.length);
+    }
+    
+    private static void report(boolean print, String label, long startNanos, long bytes, int records) {
+        if (!print) {
+            return;
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-28s %8.0f ms  %7.0f MB/s  %10.0f votes/s%n",
+                label, seconds * 1000, bytes / 1e6 / seconds, records / seconds);
+    }
+}
@@ -0,0 +1,150 @@
+package com.voting;
+
+import com.voting.model.Candidate;
+import com.voting.model.Flyweights;
+import com.voting.model.Vote;
+import com.voting.model.Voter;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.ref.Reference;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the heap saved by sharing repeated strings through {@link Flyweights}.
+ *
+ * Builds a realistically sized roll and vote set the way the snapshot and database
+ * loaders do, decoding every field into a fresh string, and measures the retained
+ * heap once with canonicalization off and once with it on, each in its own JVM.
+ *
+ * Usage: java -cp out com.voting.FlyweightHeapReport [votes] [voters]
+ */
+public class FlyweightHeapReport {
+    
+    private static final int ELECTIONS = 6;
+    private static final int CANDIDATES_PER_ELECTION = 10;
+    private static final int PRECINCTS = 400;
+    private static final String[] PARTIES = {"Democratic", "Republican", "Green", "Libertarian", "Independent"};
+    private static final String[] POSITIONS = {"President", "Senator", "Governor", "Mayor", "Council Member",
+            "Sheriff"};
+    
+    public static void main(String[] args) throws Exception {
+        int votes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int voters = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        if (args.length > 2 && args[2].equals("--measure")) {
+            measure(votes, voters);
+            return;
+        }
+        System.out.println("Measuring retained heap for " + votes + " votes and " + voters + " voters...");
+        long without = runMeasurement(votes, voters, false);
+        long with = runMeasurement(votes, voters, true);
+        System.out.printf("%-24s %10.1f MB%n", "Without flyweights", without / 1e6);
+        System.out.printf("%-24s %10.1f MB%n", "With flyweights", with / 1e6);
+        System.out.printf("%-24s %10.1f MB (%.0f%%), %.0f bytes per vote%n", "Saved", (without - with) / 1e6,
+                100.0 * (without - with) / without, (double) (without - with) / votes);
+    }
+    
+    /**
+     * Run the measurement in a fresh JVM so each configuration starts from an empty heap
+     */
+    private static long runMeasurement(int votes, int voters, boolean flyweights) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-Dvoting.flyweights=" + flyweights,
+                "-cp", System.getProperty("java.class.path"), FlyweightHeapReport.class.getName(),
+                String.valueOf(votes), String.valueOf(voters), "--measure")
+                .redirectErrorStream(true)
+                .start();
+        long retained = -1;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            for (String line = output.readLine(); line != null; line = output.readLine()) {
+                if (line.startsWith("retained=")) {
+                    retained = Long.parseLong(line.substring("retained=".length()));
+                } else {
+                    System.out.println(line);
+                }
+            }
+        }
+        if (process.waitFor() != 0 || retained < 0) {
+            throw new IllegalStateException("Measurement failed with exit code " + process.exitValue());
+        }
+        return retained;
+    }
+    
+    private static void measure(int voteCount, int voterCount) {
+        long baseline = usedHeap();
+        
+        List<Candidate> candidates = new ArrayList<>();
+        String[] electionIds = new String[ELECTIONS];
+        for (int e = 0; e < ELECTIONS; e++) {
+            electionIds[e] = "E1792388301031_" + e;
+            for (int c = 0; c < CANDIDATES_PER_ELECTION; c++) {
+                int n = e * CANDIDATES_PER_ELECTION + c;
+                candidates.add(new Candidate(decode("C1792388300900_" + n), "First" + n, "Last" + n,
+                        decode(PARTIES[n % PARTIES.length]), decode(POSITIONS[e % POSITIONS.length])));
+            }
+        }
+        List<Voter> voters = new ArrayList<>(voterCount);
+        for (int i = 0; i < voterCount; i++) {
+            Voter voter = new Voter(decode("V1792388301058_" + i), "First" + i, "Last" + i,
+                    "voter" + i + "@example.com", "555-" + i);
+            voter.setPrecinctId(decode("PCT-" + (i % PRECINCTS)));
+            voters.add(voter);
+        }
+        Vote[] votes = new Vote[voteCount];
+        LocalDateTime castAt = LocalDateTime.now();
+        for (int i = 0; i < voteCount; i++) {
+            int election = i % ELECTIONS;
+            Candidate candidate = candidates.get(election * CANDIDATES_PER_ELECTION + (i / ELECTIONS) % 7);
+            Voter voter = voters.get(i / ELECTIONS % voterCount);
+            // Every field decoded into its own string, as a loader would
+            votes[i] = new Vote(decode("VOTE1792388301063_" + i), decode(voter.getVoterId()),
+                    decode(candidate.getCandidateId()), decode(electionIds[election]), castAt.plusNanos(i));
+            votes[i].setPrecinctId(decode(voter.getPrecinctId()));
+        }
+        
+        long retained = usedHeap() - baseline;
+        System.out.printf("  flyweights %-5s retained %8.1f MB, getFullName allocates %d bytes per call%n",
+                Flyweights.isEnabled(), retained / 1e6, fullNameAllocation(candidates));
+        System.out.println("retained=" + retained);
+        // Keep the data reachable until it has been measured
+        Reference.reachabilityFence(votes);
+        Reference.reachabilityFence(voters);
+    }
+    
+    private static long fullNameAllocation(List<Candidate> candidates) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int calls = 1_000_000;
+        long sink = 0;
+        for (int i = 0; i < calls; i++) {
+            sink += candidates.get(i % candidates.size()).getFullName().length();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < calls; i++) {
+            sink += candidates.get(i % candidates.size()).getFullName().length();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        return sink > 0 ? allocated / calls : -1;
+    }
+    
+    private static String decode(String value) {
+        return new String(value.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,148 @@
+package com.voting;
+
+import com.voting.index.NameSearchIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures name-search latency on a large roll: prefix queries, exact full names,
+ * and queries with a typo in the surname or in both names.
+ *
+ * Names are built from syllables, so the roll has tens of thousands of distinct
+ * surnames with a few very common ones, roughly as a national roll does. Each query
+ * is timed on its own and the percentiles are reported against the 1 ms target.
+ * Ten million names fit in a 4 GB heap.
+ *
+ * Usage: java -Xmx4g -cp out com.voting.NameSearchBenchmark [names] [queries]
+ */
+public class NameSearchBenchmark {
+    
+    private static final String[] SYLLABLES = {
+        "an", "ber", "cal", "dor", "el", "fin", "gar", "har", "is", "jon", "kel", "lin", "mar", "nor",
+        "ol", "per", "quin", "ros", "sam", "tor", "ul", "ven", "wil", "yar", "zen", "bri", "cor", "dan",
+        "ev", "fer", "gil", "hol", "ing", "kra", "lo", "mo", "nel", "os", "ra", "son"
+    };
+    private static final long TARGET_NANOS = 1_000_000;
+    private static final int LIMIT = 10;
+    
+    public static void main(String[] args) {
+        int nameCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        System.out.println("Running name search benchmark with " + nameCount + " names and "
+                + queryCount + " queries per kind...");
+        Random random = new Random(42);
+        String[] firstNames = names(2, 2);
+        String[] lastNames = names(2, 3);
+        
+        NameSearchIndex index = new NameSearchIndex();
+        long start = System.nanoTime();
+        int[] first = new int[nameCount];
+        int[] last = new int[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            first[i] = skewed(random, firstNames.length);
+            last[i] = skewed(random, lastNames.length);
+            index.add("V" + i, firstNames[first[i]], lastNames[last[i]]);
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("Indexed %,d names (%,d distinct surnames) in %d ms, heap in use %,d MB%n", nameCount,
+                lastNames.length, elapsed, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        
+        List<String> prefixes = new ArrayList<>();
+        List<String> exact = new ArrayList<>();
+        List<String> surnameTypos = new ArrayList<>();
+        List<String> fullTypos = new ArrayList<>();
+        for (int q = 0; q < queryCount; q++) {
+            int i = random.nextInt(nameCount);
+            String firstName = firstNames[first[i]];
+            String lastName = lastNames[last[i]];
+            prefixes.add(lastName.substring(0, 3));
+            exact.add(firstName + " " + lastName);
+            surnameTypos.add(typo(random, lastName));
+            fullTypos.add(typo(random, firstName) + " " + typo(random, lastName));
+        }
+        
+        // Warm up every path before measuring
+        for (List<String> queries : List.of(prefixes, exact, surnameTypos, fullTypos)) {
+            run(index, queries);
+        }
+        System.out.println();
+        report("prefix (3 letters)", run(index, prefixes));
+        report("exact full name", run(index, exact));
+        report("surname, one typo", run(index, surnameTypos));
+        report("full name, two typos", run(index, fullTypos));
+    }
+    
+    /**
+     * Every combination of the given numbers of syllables
+     */
+    private static String[] names(int minSyllables, int maxSyllables) {
+        List<String> names = new ArrayList<>();
+        List<String> current = List.of("");
+        for (int syllables = 1; syllables <= maxSyllables; syllables++) {
+            List<String> next = new ArrayList<>();
+            for (String prefix : current) {
+                for (String syllable : SYLLABLES) {
+                    next.add(prefix + syllable);
+                }
+            }
+            if (syllables >= minSyllables) {
+                names.addAll(next);
+            }
+            current = next;
+        }
+        return names.toArray(new String[0]);
+    }
+    
+    /**
+     * Index skewed towards the start of the range, so a few names are very common
+     */
+    private static int skewed(Random random, int bound) {
+        return random.nextInt(random.nextInt(bound) + 1);
+    }
+    
+    /**
+     * Substitute one letter or swap two adjacent letters
+     */
+    private static String typo(Random random, String word) {
+        char[] chars = word.toCharArray();
+        int i = 1 + random.nextInt(chars.length - 2);
+        if (random.nextBoolean()) {
+            char swapped = chars[i];
+            chars[i] = chars[i + 1];
+            chars[i + 1] = swapped;
+        } else {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+    
+    private static long[] run(NameSearchIndex index, List<String> queries) {
+        long[] nanos = new long[queries.size()];
+        int empty = 0;
+        for (int q = 0; q < nanos.length; q++) {
+            long start = System.nanoTime();
+            List<String> result = index.search(queries.get(q), LIMIT);
+            nanos[q] = System.nanoTime() - start;
+            if (result.isEmpty()) {
+                empty++;
+            }
+        }
+        if (empty > 0) {
+            System.out.println("  " + empty + " of " + nanos.length + " queries found nothing");
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+    
+    private static void report(String kind, long[] sorted) {
+        long p50 = sorted[sorted.length / 2];
+        long p99 = sorted[(int) (sorted.length * 0.99)];
+        long max = sorted[sorted.length - 1];
+        System.out.printf("%-22s p50 %7.1f us  p99 %7.1f us  max %8.1f us  %s%n", kind, p50 / 1000.0,
+                p99 / 1000.0, max / 1000.0, p99 < TARGET_NANOS ? "within 1 ms" : "OVER 1 ms at p99");
+    }
+}
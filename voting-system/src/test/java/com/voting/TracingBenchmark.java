@@ -0,0 +1,121 @@
+package com.voting;
+
+import com.voting.dao.VoterDAOImpl;
+import com.voting.model.Candidate;
+import com.voting.model.Election;
+import com.voting.model.Voter;
+import com.voting.service.VotingService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Measures castVote latency with no flight recording running and with the voting
+ * events being recorded, then prints the average time per castVote stage from
+ * the recording.
+ *
+ * Usage: java -cp out com.voting.TracingBenchmark [votes]
+ */
+public class TracingBenchmark {
+    
+    private static final String[] STAGES = {"validationTime", "idGenerationTime", "lockWaitTime", "indexTime",
+            "logTime", "countTime", "voterUpdateTime", "publishTime"};
+    
+    public static void main(String[] args) throws Exception {
+        int votes = args.length > 0 ? Integer.parseInt(args[0]) : 400_000;
+        System.out.println("Running tracing benchmark with " + votes + " votes...");
+        
+        // Warm up both paths before measuring
+        run(votes / 10, false, false);
+        run(votes / 10, true, false);
+        run(votes, false, true);
+        run(votes, true, true);
+    }
+    
+    private static void run(int voteCount, boolean recorded, boolean print) throws Exception {
+        List<Voter> voters = new ArrayList<>(voteCount);
+        for (int i = 0; i < voteCount; i++) {
+            voters.add(new Voter(String.format("V%09d", i), "First" + i, "Last" + i,
+                    "voter" + i + "@example.com", "555-" + i));
+        }
+        VoterDAOImpl voterDAO = new VoterDAOImpl();
+        voterDAO.saveAll(voters);
+        VotingService service = new VotingService(voterDAO);
+        Election election = service.createElection("Benchmark", "Tracing overhead",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        Candidate candidate = service.addCandidate("Ada", "Lovelace", "Independent", "Mayor");
+        service.addCandidateToElection(election.getElectionId(), candidate.getCandidateId());
+        service.startElection(election.getElectionId());
+        
+        Recording recording = null;
+        if (recorded) {
+            recording = new Recording();
+            recording.enable("com.voting.CastVote").withThreshold(Duration.ZERO);
+            recording.start();
+        }
+        long[] latencies = new long[voteCount];
+        long start = System.nanoTime();
+        for (int i = 0; i < voteCount; i++) {
+            long begin = System.nanoTime();
+            service.castVote(voters.get(i).getVoterId(), candidate.getCandidateId(), election.getElectionId());
+            latencies[i] = System.nanoTime() - begin;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (recording == null) {
+            if (print) {
+                report("castVote, not recording", latencies, elapsed);
+            }
+            return;
+        }
+        recording.stop();
+        Path file = Files.createTempFile("voting-trace", ".jfr");
+        try {
+            recording.dump(file);
+            recording.close();
+            if (print) {
+                report("castVote, recording", latencies, elapsed);
+                reportStages(file);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    private static void report(String operation, long[] latencies, long elapsedNanos) {
+        Arrays.sort(latencies);
+        System.out.printf("%-26s %10.0f ops/s  p50 %6.1f us  p99 %7.1f us  p99.9 %7.1f us%n", operation,
+                latencies.length / (elapsedNanos / 1e9), percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 0.999));
+    }
+    
+    private static void reportStages(Path file) throws Exception {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        long events = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (!event.getEventType().getName().equals("com.voting.CastVote")) {
+                continue;
+            }
+            events++;
+            for (String stage : STAGES) {
+                totals.merge(stage, event.getDuration(stage).toNanos(), Long::sum);
+            }
+        }
+        System.out.printf("%-26s %10d events recorded%n", "", events);
+        for (Map.Entry<String, Long> stage : totals.entrySet()) {
+            System.out.printf("%-26s %10.2f us%n", "  " + stage.getKey(), stage.getValue() / 1000.0 / events);
+        }
+    }
+    
+    private static double percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))] / 1000.0;
+    }
+}
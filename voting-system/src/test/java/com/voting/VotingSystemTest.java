@@ -1,8 +1,34 @@
 package com.voting;
 
+import com.voting.audit.AuditLog;
+import com.voting.audit.AuditLogReader;
+import com.voting.audit.AuditRecord;
+import com.voting.dao.MappedVoterDAO;
+import com.voting.ledger.InclusionProof;
+import com.voting.ledger.LedgerCheckpoint;
+import com.voting.ledger.MerkleTree;
 import com.voting.model.*;
+import com.voting.projection.RegionResultsView;
+import com.voting.projection.VotingEvent;
+import com.voting.service.BallotResult;
+import com.voting.service.CastVoteResult;
 import com.voting.service.VotingService;
+import com.voting.tally.RunoffResult;
+import com.voting.tally.RunoffRound;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Simple test class for the Voting System
@@ -27,11 +53,43 @@ public class VotingSystemTest {
             // Test voting process
             testVotingProcess(votingService);
             
+            // Test that a multi-contest ballot is recorded in every contest or none
+            testBallotAtomicity();
+            
+            // Test the registration cutoff
+            testRegistrationCutoff();
+            
+            // Test name search
+            testNameSearch();
+            
+            // Test the memory-mapped voter store
+            testMappedVoterDAO();
+            
+            // Test instant-runoff tabulation
+            testInstantRunoff();
+            
+            // Test ledger proofs
+            testMerkleProofs();
+            testLedgerProofs();
+            
+            // Test snapshot round trip
+            testSnapshotRoundTrip();
+            
+            // Test retracting a vote restored from a snapshot
+            testRestoredVoteRetraction();
+            
+            // Test retrying a vote request after the vote was retracted
+            testRetryAfterRetraction();
+            
+            // Test the fields audit records carry
+            testAuditRecordFields();
+            
             System.out.println("\nAll tests completed successfully!");
             
         } catch (Exception e) {
             System.err.println("Test failed: " + e.getMessage());
             e.printStackTrace();
+            System.exit(1);
         }
     }
     
@@ -141,4 +199,663 @@ public class VotingSystemTest {
         double turnout = votingService.getVoterTurnout(electionId);
         System.out.println("Voter turnout: " + String.format("%.2f%%", turnout));
     }
-}
\ No newline at end of file
+    
+    private static void testBallotAtomicity() {
+        System.out.println("\n=== Testing Ballot Atomicity ===");
+        
+        VotingService votingService = new VotingService();
+        String mayorId = votingService.addCandidate("Mara", "Mayor", "Party M", "Mayor").getCandidateId();
+        String sheriffId = votingService.addCandidate("Shay", "Sheriff", "Party S", "Sheriff").getCandidateId();
+        String[] electionIds = new String[2];
+        String[] candidateIds = {mayorId, sheriffId};
+        for (int i = 0; i < electionIds.length; i++) {
+            electionIds[i] = votingService.createElection("Ballot Contest " + i, "Multi-contest ballot",
+                    LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1)).getElectionId();
+            votingService.addCandidateToElection(electionIds[i], candidateIds[i]);
+            votingService.startElection(electionIds[i]);
+        }
+        String voterId = votingService.registerVoter("Ballot", "Voter", "ballot@example.com", "555-0600")
+                .getVoterId();
+        
+        Ballot badContest = new Ballot(voterId);
+        badContest.select(electionIds[0], mayorId);
+        badContest.select(electionIds[1], mayorId);
+        BallotResult rejected = votingService.submitBallot(badContest);
+        check(rejected.getStatus() == CastVoteResult.Status.CANDIDATE_NOT_IN_ELECTION
+                && electionIds[1].equals(rejected.getElectionId()) && rejected.getVotes().isEmpty(),
+                "Ballot with a bad contest returned " + rejected);
+        try {
+            votingService.castBallot(badContest);
+            throw new IllegalStateException("castBallot accepted a ballot with a bad contest");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        checkNoVotes(votingService, voterId, electionIds);
+        System.out.println("✓ A rejected contest keeps the other contests from being recorded");
+        
+        String otherVoterId = votingService.registerVoter("Second", "Voter", "second@example.com", "555-0601")
+                .getVoterId();
+        votingService.castVote(otherVoterId, sheriffId, electionIds[1]);
+        Ballot alreadyVoted = new Ballot(otherVoterId);
+        alreadyVoted.select(electionIds[0], mayorId);
+        alreadyVoted.select(electionIds[1], sheriffId);
+        BallotResult duplicate = votingService.submitBallot(alreadyVoted);
+        check(duplicate.getStatus() == CastVoteResult.Status.ALREADY_VOTED
+                && electionIds[1].equals(duplicate.getElectionId()), "Ballot repeating a vote returned " + duplicate);
+        check(votingService.getVoterBallot(otherVoterId, electionIds[0]).isEmpty()
+                && totalVotes(votingService, electionIds[0]) == 0, "Ballot repeating a vote was partly recorded");
+        System.out.println("✓ A contest already voted in keeps the rest of the ballot from being recorded");
+        
+        Ballot valid = new Ballot(voterId);
+        valid.select(electionIds[0], mayorId);
+        valid.select(electionIds[1], sheriffId);
+        List<Vote> votes = votingService.castBallot(valid);
+        check(votes.size() == 2 && votes.get(0).getElectionId().equals(electionIds[0])
+                && votes.get(1).getElectionId().equals(electionIds[1]), "Valid ballot recorded " + votes);
+        check(totalVotes(votingService, electionIds[0]) == 1 && totalVotes(votingService, electionIds[1]) == 2,
+                "Valid ballot was not counted in both contests");
+        System.out.println("✓ A valid ballot is recorded in every contest");
+    }
+    
+    private static void testRegistrationCutoff() {
+        System.out.println("\n=== Testing Registration Cutoff ===");
+        
+        VotingService votingService = new VotingService();
+        Election election = votingService.createElection("Cutoff Election", "Registration cutoff",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        String electionId = election.getElectionId();
+        String candidateId = votingService.addCandidate("Cora", "Cutoff", "Party C", "Mayor").getCandidateId();
+        votingService.addCandidateToElection(electionId, candidateId);
+        Voter early = votingService.registerVoter("Early", "Voter", "early@example.com", "555-0800");
+        // Make sure the next registration is strictly later than this one
+        while (!LocalDateTime.now().isAfter(early.getRegistrationDate())) {
+            Thread.onSpinWait();
+        }
+        Voter onCutoff = votingService.registerVoter("OnCutoff", "Voter", "oncutoff@example.com", "555-0801");
+        check(votingService.setRegistrationCutoff(electionId, onCutoff.getRegistrationDate()), "Cutoff was not set");
+        Voter late = votingService.registerVoter("Late", "Voter", "late@example.com", "555-0802");
+        votingService.startElection(electionId);
+        
+        CastVoteResult accepted = votingService.submitVote(early.getVoterId(), candidateId, electionId);
+        check(accepted.isAccepted(), "Voter registered before the cutoff got " + accepted);
+        System.out.println("✓ Voter registered before the cutoff can vote");
+        
+        for (Voter voter : List.of(onCutoff, late)) {
+            CastVoteResult rejected = votingService.submitVote(voter.getVoterId(), candidateId, electionId);
+            check(rejected.getStatus() == CastVoteResult.Status.REGISTERED_AFTER_CUTOFF,
+                    voter.getFirstName() + " voter got " + rejected);
+        }
+        check(totalVotes(votingService, electionId) == 1, "Voters registered after the cutoff were counted");
+        check(votingService.getEligibleVoterCount(electionId) == 1,
+                "Eligible voters were " + votingService.getEligibleVoterCount(electionId));
+        System.out.println("✓ Voters registered on or after the cutoff get REGISTERED_AFTER_CUTOFF");
+    }
+    
+    private static void checkNoVotes(VotingService votingService, String voterId, String... electionIds) {
+        for (String electionId : electionIds) {
+            check(votingService.getVoterBallot(voterId, electionId).isEmpty(),
+                    "Rejected ballot recorded a vote in " + electionId);
+            check(totalVotes(votingService, electionId) == 0, "Rejected ballot changed the count in " + electionId);
+        }
+    }
+    
+    private static int totalVotes(VotingService votingService, String electionId) {
+        return votingService.getElectionResults(electionId).values().stream().mapToInt(Integer::intValue).sum();
+    }
+    
+    private static void testNameSearch() {
+        System.out.println("\n=== Testing Name Search ===");
+        
+        VotingService votingService = new VotingService();
+        String smith = votingService.registerVoter("Anna", "Smith", "anna@example.com", "555-0600").getVoterId();
+        String smithers = votingService.registerVoter("Ben", "Smithers", "ben@example.com", "555-0601").getVoterId();
+        String smyth = votingService.registerVoter("Cara", "Smyth", "cara@example.com", "555-0602").getVoterId();
+        String jones = votingService.registerVoter("Dan", "Jones", "dan@example.com", "555-0603").getVoterId();
+        
+        List<String> prefix = voterIds(votingService.searchVoters("smi", 10));
+        check(prefix.containsAll(List.of(smith, smithers)) && !prefix.contains(smyth) && !prefix.contains(jones),
+                "Prefix search returned " + prefix);
+        System.out.println("✓ Prefix query finds every name starting with it");
+        
+        List<String> ranked = voterIds(votingService.searchVoters("smith", 10));
+        check(ranked.equals(List.of(smith, smithers, smyth)), "Search for smith returned " + ranked);
+        System.out.println("✓ Exact match ranks before prefix match, which ranks before a typo");
+        
+        List<String> typo = voterIds(votingService.searchVoters("smtih", 10));
+        check(typo.equals(List.of(smith)), "Search with a transposition returned " + typo);
+        check(voterIds(votingService.searchVoters("ana smith", 10)).equals(List.of(smith)),
+                "Search with a dropped letter did not find Anna Smith");
+        System.out.println("✓ One typo still finds the voter");
+        
+        String candidateId = votingService.addCandidate("John", "Smith", "Party S", "Mayor").getCandidateId();
+        List<Candidate> candidates = votingService.searchCandidates("jon smtih", 5);
+        check(candidates.size() == 1 && candidates.get(0).getCandidateId().equals(candidateId),
+                "Candidate search returned " + candidates);
+        System.out.println("✓ Candidate search tolerates a typo in each word");
+        
+        // A misspelt first name that is also the start of a common one is still matched by typo
+        for (int i = 0; i < 100; i++) {
+            votingService.registerVoter("Annor", "Kel", "annor" + i + "@example.com", "555-0610");
+        }
+        String anlo = votingService.registerVoter("Anlo", "Isdor", "anlo@example.com", "555-0611").getVoterId();
+        List<String> shadowed = voterIds(votingService.searchVoters("anno isdor", 10));
+        check(shadowed.equals(List.of(anlo)), "Typo shadowed by a common prefix returned " + shadowed);
+        System.out.println("✓ A typo is found even when it is the prefix of a common name");
+    }
+    
+    private static List<String> voterIds(List<Voter> voters) {
+        return voters.stream().map(Voter::getVoterId).collect(Collectors.toList());
+    }
+    
+    private static void testMappedVoterDAO() throws IOException {
+        System.out.println("\n=== Testing Memory-Mapped Voter Store ===");
+        
+        // More voters than the initial index holds, so both tables are resized
+        int voters = 3_000;
+        Path directory = Files.createTempDirectory("voter-roll");
+        try {
+            try (MappedVoterDAO dao = new MappedVoterDAO(directory)) {
+                for (int i = 0; i < voters; i++) {
+                    // Every other voter registers without an email
+                    Voter voter = new Voter("MV" + i, "Mapped", "Voter" + i, i % 2 == 0 ? "mapped" + i + "@example.com"
+                            : null, "555-0600");
+                    voter.setPrecinctId("P" + (i % 7));
+                    dao.save(voter);
+                }
+                check(dao.count() == voters, "Expected " + voters + " voters but counted " + dao.count());
+                
+                // Adding an email to every voter without one grows the email table on update
+                for (int i = 1; i < voters; i += 2) {
+                    Voter voter = dao.findById("MV" + i).orElseThrow();
+                    voter.setEmail("added" + i + "@example.com");
+                    dao.save(voter);
+                }
+                // Replacing every email leaves tombstones that push the email table past its
+                // load limit, so it must be resized during updates as well
+                long indexBytes = Files.size(directory.resolve("voters.idx"));
+                for (String prefix : new String[] {"moved", "again", "changed"}) {
+                    for (int i = 0; i < voters; i++) {
+                        Voter voter = dao.findById("MV" + i).orElseThrow();
+                        voter.setEmail(prefix + i + "@example.com");
+                        dao.save(voter);
+                    }
+                }
+                check(Files.size(directory.resolve("voters.idx")) > indexBytes, "Email index did not grow on update");
+                for (String old : new String[] {"mapped0@example.com", "added1@example.com", "moved2@example.com"}) {
+                    check(dao.findByEmail(old).isEmpty(), "Replaced email " + old + " still finds a voter");
+                }
+                
+                check(dao.deleteById("MV2"), "Voter could not be deleted");
+                check(!dao.deleteById("MV2"), "Voter was deleted twice");
+                dao.updateStatus("MV4", Voter.VoterStatus.SUSPENDED);
+                dao.markAsVoted("MV6");
+            }
+            System.out.println("✓ Saved " + voters + " voters, added and changed emails, deleted a voter");
+            
+            checkReopenedRoll(directory, voters);
+            System.out.println("✓ Reopened roll finds every voter by ID and email");
+            
+            // A lost index is rebuilt from the records
+            Files.delete(directory.resolve("voters.idx"));
+            checkReopenedRoll(directory, voters);
+            System.out.println("✓ Roll with its index removed is reindexed on open");
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+    
+    private static void checkReopenedRoll(Path directory, int voters) throws IOException {
+        try (MappedVoterDAO dao = new MappedVoterDAO(directory)) {
+            check(dao.count() == voters - 1, "Reopened roll holds " + dao.count() + " voters");
+            for (int i = 0; i < voters; i++) {
+                String voterId = "MV" + i;
+                String email = "changed" + i + "@example.com";
+                Optional<Voter> byId = dao.findById(voterId);
+                Optional<Voter> byEmail = dao.findByEmail(email);
+                if (i == 2) {
+                    check(byId.isEmpty() && byEmail.isEmpty(), "Deleted voter came back");
+                    continue;
+                }
+                check(byId.isPresent() && email.equals(byId.get().getEmail())
+                        && ("P" + (i % 7)).equals(byId.get().getPrecinctId()), "Voter " + voterId + " not restored");
+                check(byEmail.map(Voter::getVoterId).equals(Optional.of(voterId)), "Email " + email + " not indexed");
+            }
+            check(dao.findById("MV4").orElseThrow().getStatus() == Voter.VoterStatus.SUSPENDED, "Status not kept");
+            check(dao.findById("MV6").orElseThrow().hasVoted(), "Voted flag not kept");
+            try (Stream<Voter> all = dao.streamAll()) {
+                check(all.count() == voters - 1, "streamAll does not return every live voter");
+            }
+        }
+    }
+    
+    private static void testInstantRunoff() {
+        System.out.println("\n=== Testing Instant-Runoff Tabulation ===");
+        
+        VotingService votingService = new VotingService();
+        Election election = votingService.createElection("Runoff Election", "A ranked-choice election",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1),
+                Election.VotingMethod.RANKED_CHOICE);
+        String electionId = election.getElectionId();
+        List<String> roster = new ArrayList<>();
+        for (String name : new String[] {"Alpha", "Bravo", "Charlie", "Delta"}) {
+            String candidateId = votingService.addCandidate(name, "Candidate", "Party " + name, "Mayor")
+                    .getCandidateId();
+            votingService.addCandidateToElection(electionId, candidateId);
+            roster.add(candidateId);
+        }
+        votingService.startElection(electionId);
+        String a = roster.get(0);
+        String b = roster.get(1);
+        String c = roster.get(2);
+        String d = roster.get(3);
+        
+        // Round 1: A 4, B 4, C 2, D 2. C and D tie on first-round votes too, so D, later in the roster, goes.
+        // Round 2: A 4, B 4, C 4. C has the fewest first-round votes and goes; two ballots exhaust.
+        // Round 3: B 6 of the 10 continuing ballots wins.
+        castRanked(votingService, electionId, 4, List.of(a));
+        castRanked(votingService, electionId, 3, List.of(b, a));
+        castRanked(votingService, electionId, 1, List.of(b));
+        castRanked(votingService, electionId, 2, List.of(c, b));
+        castRanked(votingService, electionId, 2, List.of(d, c));
+        
+        RunoffResult result = votingService.getRankedChoiceResults(electionId).orElseThrow();
+        List<RunoffRound> rounds = result.getRounds();
+        System.out.println("Runoff result: " + result);
+        check(result.getTotalBallots() == 12, "Expected 12 ballots but counted " + result.getTotalBallots());
+        check(rounds.size() == 3, "Expected 3 rounds but got " + rounds.size());
+        
+        RunoffRound first = rounds.get(0);
+        check(first.getTallies().equals(Map.of(a, 4L, b, 4L, c, 2L, d, 2L)),
+                "Unexpected first-round tallies " + first.getTallies());
+        check(d.equals(first.getEliminatedCandidateId()), "Tie on last place should eliminate the later candidate");
+        check(first.getTransfers().equals(Map.of(c, 2L)), "Unexpected round 1 transfers " + first.getTransfers());
+        System.out.println("✓ Tie on elimination broken by roster order");
+        
+        RunoffRound second = rounds.get(1);
+        check(second.getTallies().equals(Map.of(a, 4L, b, 4L, c, 4L)),
+                "Unexpected second-round tallies " + second.getTallies());
+        check(c.equals(second.getEliminatedCandidateId()),
+                "Tie on last place should eliminate the fewest first-round votes");
+        check(second.getTransfers().equals(Map.of(b, 2L)), "Unexpected round 2 transfers " + second.getTransfers());
+        check(second.getExhausted() == 2, "Expected 2 exhausted ballots but got " + second.getExhausted());
+        System.out.println("✓ Tie on elimination broken by first-round votes, exhausted ballots set aside");
+        
+        RunoffRound last = rounds.get(2);
+        check(last.getTallies().equals(Map.of(b, 6L, a, 4L)), "Unexpected final tallies " + last.getTallies());
+        check(last.getEliminatedCandidateId() == null, "Final round should not eliminate anyone");
+        check(result.getWinnerCandidateId().equals(Optional.of(b)), "Expected Bravo to win");
+        System.out.println("✓ Majority of continuing ballots wins in round 3");
+    }
+    
+    private static void testMerkleProofs() {
+        System.out.println("\n=== Testing Merkle Proofs ===");
+        
+        int maxSize = 17;
+        MerkleTree tree = new MerkleTree();
+        List<byte[]> leaves = new ArrayList<>();
+        for (int i = 0; i < maxSize; i++) {
+            byte[] leaf = MerkleTree.leafHash(("leaf " + i).getBytes(StandardCharsets.UTF_8));
+            tree.append(leaf);
+            leaves.add(leaf);
+        }
+        byte[] tampered = MerkleTree.leafHash("forged".getBytes(StandardCharsets.UTF_8));
+        for (int size = 1; size <= maxSize; size++) {
+            byte[] root = tree.rootHash(size);
+            check(Arrays.equals(root, referenceRoot(leaves.subList(0, size))), "Root of size " + size
+                    + " differs from the RFC 6962 definition");
+            for (int index = 0; index < size; index++) {
+                List<byte[]> proof = tree.inclusionProof(index, size);
+                check(MerkleTree.verifyInclusion(leaves.get(index), index, size, proof, root),
+                        "Inclusion proof of leaf " + index + " in size " + size + " does not verify");
+                check(!MerkleTree.verifyInclusion(tampered, index, size, proof, root),
+                        "Tampered leaf " + index + " in size " + size + " verifies");
+                if (size > 1) {
+                    check(!MerkleTree.verifyInclusion(leaves.get(index), (index + 1) % size, size, proof, root),
+                            "Leaf " + index + " in size " + size + " verifies at the wrong index");
+                }
+            }
+        }
+        System.out.println("✓ Inclusion proofs verify for every leaf of trees of size 1 to " + maxSize);
+        System.out.println("✓ Tampered leaves and wrong indexes are rejected");
+        
+        for (int first = 1; first <= maxSize; first++) {
+            for (int second = first; second <= maxSize; second++) {
+                List<byte[]> proof = tree.consistencyProof(first, second);
+                byte[] firstRoot = tree.rootHash(first);
+                byte[] secondRoot = tree.rootHash(second);
+                check(MerkleTree.verifyConsistency(first, second, firstRoot, secondRoot, proof),
+                        "Consistency proof " + first + " -> " + second + " does not verify");
+                byte[] rewritten = firstRoot.clone();
+                rewritten[0] ^= 1;
+                check(!MerkleTree.verifyConsistency(first, second, rewritten, secondRoot, proof),
+                        "Consistency proof " + first + " -> " + second + " verifies against a rewritten earlier root");
+            }
+        }
+        System.out.println("✓ Consistency proofs verify between every pair of sizes and reject a rewritten root");
+    }
+    
+    private static void testLedgerProofs() {
+        System.out.println("\n=== Testing Ledger Proofs ===");
+        
+        VotingService votingService = new VotingService();
+        Election election = votingService.createElection("Ledger Election", "Proof checks",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        String candidateId = votingService.addCandidate("Lena", "Ledger", "Party L", "Mayor").getCandidateId();
+        votingService.addCandidateToElection(election.getElectionId(), candidateId);
+        votingService.startElection(election.getElectionId());
+        
+        List<Vote> votes = new ArrayList<>();
+        LedgerCheckpoint earlier = null;
+        for (int i = 0; i < 5; i++) {
+            String voterId = votingService.registerVoter("Ledger", "Voter" + i, "ledger" + i + "@example.com",
+                    "555-0200").getVoterId();
+            votes.add(votingService.castVote(voterId, candidateId, election.getElectionId()));
+            if (i == 2) {
+                earlier = votingService.getLedgerCheckpoint();
+            }
+        }
+        LedgerCheckpoint checkpoint = votingService.getLedgerCheckpoint();
+        check(checkpoint.getTreeSize() == 5, "Expected 5 ledger entries but found " + checkpoint.getTreeSize());
+        
+        for (Vote vote : votes) {
+            InclusionProof proof = votingService.getVoteInclusionProof(vote.getVoteId()).orElseThrow();
+            check(proof.verify(), "Inclusion proof for " + vote.getVoteId() + " does not verify");
+            check(Arrays.equals(proof.getCheckpoint().getRootHash(), checkpoint.getRootHash()),
+                    "Inclusion proof for " + vote.getVoteId() + " is not against the current checkpoint");
+            byte[] forged = proof.getLeafHash().clone();
+            forged[0] ^= 1;
+            check(!MerkleTree.verifyInclusion(forged, proof.getLeafIndex(), checkpoint.getTreeSize(),
+                    proof.getAuditPath(), checkpoint.getRootHash()),
+                    "Tampered leaf for " + vote.getVoteId() + " verifies");
+        }
+        check(votingService.getVoteInclusionProof("NO_SUCH_VOTE").isEmpty(), "Unknown receipt has a proof");
+        System.out.println("✓ Every receipt has an inclusion proof against the checkpoint root");
+        
+        List<byte[]> consistency = votingService.getLedgerConsistencyProof(earlier.getTreeSize(),
+                checkpoint.getTreeSize());
+        check(MerkleTree.verifyConsistency(earlier.getTreeSize(), checkpoint.getTreeSize(), earlier.getRootHash(),
+                checkpoint.getRootHash(), consistency), "Checkpoint of size 5 does not extend the one of size 3");
+        System.out.println("✓ Later checkpoint is proven to extend the earlier one");
+    }
+    
+    private static void testSnapshotRoundTrip() throws IOException {
+        System.out.println("\n=== Testing Snapshot Round Trip ===");
+        
+        VotingService original = new VotingService();
+        original.addRegion("ST", "State", "State", null);
+        original.addRegion("CN", "North County", "County", "ST");
+        original.addRegion("CS", "South County", "County", "ST");
+        original.addRegion("P1", "Precinct 1", "Precinct", "CN");
+        original.addRegion("P2", "Precinct 2", "Precinct", "CS");
+        Election plurality = original.createElection("Snapshot Election", "Plurality",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        Election ranked = original.createElection("Snapshot Runoff", "Ranked choice",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1),
+                Election.VotingMethod.RANKED_CHOICE);
+        List<String> candidateIds = new ArrayList<>();
+        for (String name : new String[] {"Sam", "Sue", "Sid"}) {
+            String candidateId = original.addCandidate(name, "Snapshot", "Party " + name, "Mayor").getCandidateId();
+            original.addCandidateToElection(plurality.getElectionId(), candidateId);
+            original.addCandidateToElection(ranked.getElectionId(), candidateId);
+            candidateIds.add(candidateId);
+        }
+        original.startElection(plurality.getElectionId());
+        original.startElection(ranked.getElectionId());
+        
+        // Enough votes that background loading is still running when the first requests arrive
+        int voters = 5_000;
+        List<String> voterIds = new ArrayList<>();
+        List<Vote> votes = new ArrayList<>();
+        for (int i = 0; i < voters; i++) {
+            String voterId = original.registerVoter("Snap", "Voter" + i, "snap" + i + "@example.com", "555-0300",
+                    i % 2 == 0 ? "P1" : "P2").getVoterId();
+            voterIds.add(voterId);
+            if (i % 10 == 9) {
+                continue; // Some voters are left to vote after the restore
+            }
+            votes.add(original.castVote(voterId, candidateIds.get(i % 3), plurality.getElectionId()));
+            if (i % 4 == 0) {
+                original.castRankedVote(voterId, List.of(candidateIds.get(i % 3), candidateIds.get((i + 1) % 3)),
+                        ranked.getElectionId());
+            }
+        }
+        String retracted = votes.get(1).getVoteId();
+        original.retractVote(retracted, "Challenged");
+        
+        Path file = Files.createTempFile("voting-snapshot", ".bin");
+        try {
+            original.writeSnapshot(file);
+            VotingService restored = VotingService.restore(file);
+            
+            // Requests served while the votes are still being loaded
+            boolean loading = !restored.isFullyLoaded();
+            CastVoteResult again = restored.submitVote(voterIds.get(0), candidateIds.get(1), plurality.getElectionId());
+            check(again.getStatus() == CastVoteResult.Status.ALREADY_VOTED,
+                    "Voter from the snapshot could vote again: " + again);
+            CastVoteResult early = restored.submitVote(voterIds.get(9), candidateIds.get(2),
+                    plurality.getElectionId());
+            check(early.isAccepted(), "Vote cast during loading was rejected: " + early);
+            Vote receipt = restored.getVote(votes.get(votes.size() - 1).getVoteId()).orElse(null);
+            check(receipt != null && receipt.getCandidateId().equals(votes.get(votes.size() - 1).getCandidateId()),
+                    "Receipt from the snapshot not found during loading");
+            System.out.println("✓ Double votes refused, new votes accepted and receipts found"
+                    + (loading ? " while loading" : " (loading had already finished)"));
+            
+            // Everything as it was, plus the vote cast during loading
+            restored.getVotesByVoter(voterIds.get(0));
+            check(restored.isFullyLoaded(), "Snapshot votes were not all loaded");
+            Map<String, Integer> expected = new HashMap<>(original.getElectionResults(plurality.getElectionId()));
+            expected.merge(original.getCandidate(candidateIds.get(2)).orElseThrow().getFullName(), 1, Integer::sum);
+            check(expected.equals(restored.getElectionResults(plurality.getElectionId())),
+                    "Restored results " + restored.getElectionResults(plurality.getElectionId())
+                    + " differ from " + expected);
+            String runoff = original.getRankedChoiceResults(ranked.getElectionId()).orElseThrow()
+                    .getRounds().toString();
+            String restoredRunoff = restored.getRankedChoiceResults(ranked.getElectionId()).orElseThrow()
+                    .getRounds().toString();
+            check(runoff.equals(restoredRunoff), "Restored runoff " + restoredRunoff + " differs from " + runoff);
+            System.out.println("✓ Election and runoff results match the original");
+            
+            RegionResultsView state = restored.getRegionResults("ST", plurality.getElectionId()).orElseThrow();
+            check(state.getTotalVotes() == votes.size(), "State total " + state.getTotalVotes()
+                    + " but " + votes.size() + " votes are counted");
+            List<RegionResultsView> before = original.getRegionBreakdown("ST", plurality.getElectionId());
+            List<RegionResultsView> after = restored.getRegionBreakdown("ST", plurality.getElectionId());
+            check(after.size() == 2, "Expected two counties but found " + after.size());
+            for (int i = 0; i < after.size(); i++) {
+                Map<String, Integer> tallies = new HashMap<>(before.get(i).getTallies());
+                if (after.get(i).getRegionId().equals("CS")) {
+                    // The vote cast during loading came from precinct P2
+                    tallies.merge(candidateIds.get(2), 1, Integer::sum);
+                }
+                check(tallies.equals(after.get(i).getTallies()), "Region " + after.get(i).getRegionId()
+                        + " shows " + after.get(i).getTallies() + " instead of " + tallies);
+            }
+            System.out.println("✓ Region results and breakdowns match the original");
+            
+            for (Vote vote : votes) {
+                Vote found = restored.getVote(vote.getVoteId()).orElse(null);
+                check(found != null && found.getVoterId().equals(vote.getVoterId())
+                        && found.getCandidateId().equals(vote.getCandidateId())
+                        && found.isValid() == vote.isValid(), "Receipt " + vote.getVoteId() + " did not survive");
+            }
+            check(!restored.getVote(retracted).orElseThrow().isValid(), "Retracted vote is counted again");
+            check(restored.getVote(early.getVote().orElseThrow().getVoteId()).isPresent(),
+                    "Vote cast during loading has no receipt");
+            System.out.println("✓ All " + votes.size() + " receipts resolve to the original votes");
+            
+            CastVoteResult late = restored.submitVote(voterIds.get(2), candidateIds.get(0), plurality.getElectionId());
+            check(late.getStatus() == CastVoteResult.Status.ALREADY_VOTED, "Voter could vote again: " + late);
+            check(restored.auditTallies().isClean(), "Audit of the restored service is not clean");
+            System.out.println("✓ Double votes refused after loading, and the tally audit is clean");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    private static void testRestoredVoteRetraction() throws IOException {
+        System.out.println("\n=== Testing Retraction of Restored Votes ===");
+        
+        VotingService original = new VotingService();
+        original.addRegion("RT", "Retraction County", "County", null);
+        original.addRegion("RP", "Retraction Precinct", "Precinct", "RT");
+        Election election = original.createElection("Retraction Election", "Restore then retract",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        String electionId = election.getElectionId();
+        Candidate candidate = original.addCandidate("Cand", "One", "Party R", "Mayor");
+        original.addCandidateToElection(electionId, candidate.getCandidateId());
+        original.startElection(electionId);
+        List<String> voteIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            String voterId = original.registerVoter("Retract", "Voter" + i, "retract" + i + "@example.com",
+                    "555-0400", "RP").getVoterId();
+            voteIds.add(original.castVote(voterId, candidate.getCandidateId(), electionId).getVoteId());
+        }
+        
+        Path file = Files.createTempFile("voting-snapshot", ".bin");
+        Path rewritten = Files.createTempFile("voting-snapshot", ".bin");
+        try {
+            original.writeSnapshot(file);
+            VotingService restored = VotingService.restore(file);
+            check(restored.retractVote(voteIds.get(0), "Challenged"), "Restored vote could not be retracted");
+            Map<String, Integer> expected = Map.of(candidate.getFullName(), 1);
+            check(expected.equals(restored.getElectionResults(electionId)),
+                    "Results after retraction are " + restored.getElectionResults(electionId));
+            
+            restored.rebuildProjections();
+            check(expected.equals(restored.getElectionResults(electionId)),
+                    "Rebuild counted the retracted vote again: " + restored.getElectionResults(electionId));
+            check(restored.getRegionResults("RT", electionId).orElseThrow().getTotalVotes() == 1,
+                    "Rebuild counted the retracted vote again in its region");
+            check(restored.auditTallies().isClean(), "Audit after rebuild is not clean");
+            System.out.println("✓ Rebuilt results and region views leave the retracted vote out");
+            
+            restored.writeSnapshot(rewritten);
+            VotingService reopened = VotingService.restore(rewritten);
+            check(expected.equals(reopened.getElectionResults(electionId)),
+                    "Next restart counted the retracted vote again: " + reopened.getElectionResults(electionId));
+            check(reopened.getRegionResults("RT", electionId).orElseThrow().getTotalVotes() == 1,
+                    "Next restart counted the retracted vote again in its region");
+            check(reopened.auditTallies().isClean(), "Audit after the next restart is not clean");
+            System.out.println("✓ The retraction survives the next snapshot and restart");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(rewritten);
+        }
+    }
+    
+    private static void testRetryAfterRetraction() {
+        System.out.println("\n=== Testing Retry After Retraction ===");
+        
+        VotingService votingService = new VotingService();
+        Election election = votingService.createElection("Retry Election", "Idempotent retries",
+                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+        String electionId = election.getElectionId();
+        String candidateId = votingService.addCandidate("Rita", "Retry", "Party T", "Mayor").getCandidateId();
+        votingService.addCandidateToElection(electionId, candidateId);
+        votingService.startElection(electionId);
+        String voterId = votingService.registerVoter("Retry", "Voter", "retry@example.com", "555-0500")
+                .getVoterId();
+        
+        CastVoteResult first = votingService.submitVote(voterId, candidateId, electionId, "request-1");
+        CastVoteResult retry = votingService.submitVote(voterId, candidateId, electionId, "request-1");
+        check(retry.isReplay() && retry.getVote().equals(first.getVote()), "Retry did not return the original vote");
+        System.out.println("✓ Retry returns the original receipt");
+        
+        for (int i = 0; i < 10; i++) {
+            CastVoteResult untrusted = votingService.tryCastVote(voterId, candidateId, electionId, "client-1",
+                    "request-1");
+            check(untrusted.isReplay() && untrusted.getVote().equals(first.getVote()),
+                    "Retry " + (i + 1) + " through admission control returned " + untrusted);
+        }
+        System.out.println("✓ Repeated retries get the receipt instead of being rate limited");
+        
+        votingService.retractVote(first.getVote().orElseThrow().getVoteId(), "Challenged");
+        CastVoteResult afterRetraction = votingService.submitVote(voterId, candidateId, electionId, "request-1");
+        check(afterRetraction.getStatus() == CastVoteResult.Status.VOTE_RETRACTED,
+                "Retry after retraction returned " + afterRetraction);
+        check(votingService.getElectionResults(electionId).values().stream().mapToInt(Integer::intValue).sum() == 0,
+                "Retry after retraction cast the vote again");
+        System.out.println("✓ Retry after retraction is told the vote was retracted");
+    }
+    
+    private static void testAuditRecordFields() throws IOException {
+        System.out.println("\n=== Testing Audit Record Fields ===");
+        
+        Path directory = Files.createTempDirectory("audit-fields");
+        try {
+            VotingService votingService = new VotingService();
+            AuditLog auditLog = new AuditLog(directory);
+            votingService.addEventListener(auditLog);
+            votingService.addRegion("R1", "North County", "County", null);
+            Election election = votingService.createElection("Audit Election", "Audited fields",
+                    LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusDays(1));
+            String electionId = election.getElectionId();
+            LocalDateTime cutoff = LocalDateTime.now().plusHours(1);
+            check(votingService.setRegistrationCutoff(electionId, cutoff), "Cutoff was not set");
+            String candidateId = votingService.addCandidate("Audra", "Field", "Party F", "Mayor").getCandidateId();
+            votingService.addCandidateToElection(electionId, candidateId);
+            votingService.startElection(electionId);
+            String voterId = votingService.registerVoter("Audit", "Voter", "audit@example.com", "555-0700")
+                    .getVoterId();
+            Vote vote = votingService.castVote(voterId, candidateId, electionId);
+            votingService.retractVote(vote.getVoteId(), "Duplicate ballot");
+            auditLog.close();
+            
+            Map<VotingEvent.Type, AuditRecord> records = new HashMap<>();
+            for (Path file : AuditLog.listFiles(directory)) {
+                try (AuditLogReader reader = AuditLogReader.open(file)) {
+                    for (AuditRecord record = reader.next(); record != null; record = reader.next()) {
+                        records.put(record.getType(), record);
+                    }
+                }
+            }
+            AuditRecord region = records.get(VotingEvent.Type.REGION_ADDED);
+            check(region != null && "R1".equals(region.getRegionId()) && region.getPrecinctId() == null
+                    && "North County".equals(region.getName()), "Region record was " + region);
+            AuditRecord cutoffChange = records.get(VotingEvent.Type.REGISTRATION_CUTOFF_CHANGED);
+            check(cutoffChange != null && cutoff.equals(cutoffChange.getRegistrationCutoff())
+                    && cutoffChange.getStartDate() == null, "Cutoff record was " + cutoffChange);
+            AuditRecord retraction = records.get(VotingEvent.Type.VOTE_RETRACTED);
+            check(retraction != null && "Duplicate ballot".equals(retraction.getReason())
+                    && retraction.getName() == null, "Retraction record was " + retraction);
+            System.out.println("✓ Region, cutoff and retraction reason are logged in their own fields");
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Merkle tree hash computed directly from its RFC 6962 definition
+     */
+    private static byte[] referenceRoot(List<byte[]> leaves) {
+        if (leaves.size() == 1) {
+            return leaves.get(0);
+        }
+        int split = Integer.highestOneBit(leaves.size() - 1);
+        return MerkleTree.nodeHash(referenceRoot(leaves.subList(0, split)),
+                referenceRoot(leaves.subList(split, leaves.size())));
+    }
+    
+    private static void castRanked(VotingService votingService, String electionId, int ballots, List<String> ranking) {
+        for (int i = 0; i < ballots; i++) {
+            String email = "ranked" + votingService.getAllVoters().size() + "@example.com";
+            String voterId = votingService.registerVoter("Ranked", "Voter", email, "555-0100").getVoterId();
+            votingService.castRankedVote(voterId, ranking, electionId);
+        }
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}